@@ -0,0 +1,129 @@
+package com.heringer.linalg;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Picks the {@link Tuning} values for the machine it runs on with short micro-benchmarks.
+ * Every candidate block size is timed on the tiled multiplication, the blocked LU
+ * decomposition and the tiled transpose, keeping the fastest of a few repetitions;
+ * the parallel threshold is the smallest multiplication that runs faster when split
+ * across threads. A full run takes one to two seconds.
+ *
+ * <p>Run it explicitly with {@link #tuneAndSave()}, or let {@link Tuning} run it on
+ * first use with {@code -Dlinalg.tuning.auto=true}. Either way, the result is
+ * written to {@link Tuning#profilePath()} and later JVMs load it without measuring.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class AutoTuner {
+
+    /**
+     * The block sizes tried for every kernel.
+     */
+    static final int[] BLOCK_CANDIDATES = {16, 32, 48, 64, 96, 128, 256};
+
+    private static final int REPETITIONS = 3;
+
+    private AutoTuner() {
+    }
+
+    /**
+     * Measures the candidate configurations and returns the fastest one, without installing it.
+     *
+     * @return The tuning that won the micro-benchmarks.
+     */
+    public static Tuning tune() {
+        return tune(256, 384, 1024);
+    }
+
+    /**
+     * Measures the candidate configurations, saves the winner to {@link Tuning#profilePath()}
+     * and installs it with {@link Tuning#set(Tuning)}.
+     *
+     * @return The tuning that won the micro-benchmarks.
+     * @throws IOException if the profile cannot be written.
+     */
+    public static Tuning tuneAndSave() throws IOException {
+        Tuning tuning = tune();
+        tuning.save(Tuning.profilePath());
+        Tuning.set(tuning);
+        return tuning;
+    }
+
+    static Tuning tune(int gemmSize, int luSize, int transposeSize) {
+        Random random = new Random(42);
+        Matrix a = random(gemmSize, random);
+        Matrix b = random(gemmSize, random);
+        Matrix square = random(luSize, random);
+        double[][] wide = random(transposeSize, random).mtx;
+
+        int gemmBlock = fastest(block -> {
+            double[][] c = new double[gemmSize][gemmSize];
+            BlockedBackend.multiplyRows(a.mtx, b.mtx, c, 0, gemmSize, block);
+        });
+        int luBlock = fastest(block -> BlockedBackend.lu(square, block));
+        int transposeBlock = fastest(block -> Matrix.transpose(wide, transposeSize, transposeSize, block));
+        long threshold = parallelThreshold(gemmBlock, random);
+
+        return new Tuning(gemmBlock, luBlock, transposeBlock, threshold);
+    }
+
+    private static long parallelThreshold(int blockSize, Random random) {
+        if (Runtime.getRuntime().availableProcessors() < 2) {
+            return Long.MAX_VALUE;
+        }
+        for (int factor : new int[]{2, 3, 4, 6, 8}) {
+            int n = blockSize * factor;
+            if (n > 512) {
+                break;
+            }
+            Matrix a = random(n, random);
+            Matrix b = random(n, random);
+            long serial = time(() -> ParallelBackend.multiply(a, b, blockSize, Long.MAX_VALUE));
+            long parallel = time(() -> ParallelBackend.multiply(a, b, blockSize, 1));
+            if (parallel * 10 < serial * 9) {
+                return (long) n * n * n;
+            }
+        }
+        return Tuning.defaults().getParallelThreshold();
+    }
+
+    private interface Kernel {
+        void run(int blockSize);
+    }
+
+    private static int fastest(Kernel kernel) {
+        int best = BLOCK_CANDIDATES[0];
+        long bestTime = Long.MAX_VALUE;
+        for (int candidate : BLOCK_CANDIDATES) {
+            long elapsed = time(() -> kernel.run(candidate));
+            if (elapsed < bestTime) {
+                bestTime = elapsed;
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static long time(Runnable task) {
+        task.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < REPETITIONS; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static Matrix random(int n, Random random) {
+        double[][] data = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                data[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        return new Matrix(data);
+    }
+}
@@ -0,0 +1,46 @@
+package com.heringer.linalg;
+
+import java.util.Locale;
+
+/**
+ * Enumerates the operations that an {@link IBackend} can implement.
+ * Each operation can be dispatched to a different backend.
+ *
+ * @author Emílio Heringer
+ */
+public enum BackendOperation {
+    /**
+     * General matrix multiplication.
+     */
+    GEMM,
+    /**
+     * LU factorization with partial pivoting.
+     */
+    LU,
+    /**
+     * QR factorization.
+     */
+    QR,
+    /**
+     * Cholesky factorization of symmetric positive definite matrices.
+     */
+    CHOLESKY,
+    /**
+     * Eigenvalues and eigenvectors.
+     */
+    EIGEN,
+    /**
+     * Element-wise addition, subtraction and scaling.
+     */
+    ELEMENTWISE;
+
+    /**
+     * Gets the name used for this operation in system properties,
+     * for example {@code linalg.backend.gemm}.
+     *
+     * @return The lower-case operation name.
+     */
+    public String propertyName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
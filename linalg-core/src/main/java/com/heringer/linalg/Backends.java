@@ -0,0 +1,172 @@
+package com.heringer.linalg;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of compute backends and per-operation dispatcher.
+ * The built-in {@link ScalarBackend}, {@link BlockedBackend} and {@link ParallelBackend}
+ * are always available; further backends, such as the EJML backend of the
+ * {@code linalg-ejml} module, are discovered through {@link ServiceLoader}.
+ *
+ * <p>The backend for an operation is resolved in this order:</p>
+ * <ol>
+ *   <li>a backend set for that operation with {@link #setDefault(BackendOperation, IBackend)};</li>
+ *   <li>a backend set for all operations with {@link #setDefault(IBackend)};</li>
+ *   <li>the system property {@code linalg.backend.<operation>}, e.g. {@code linalg.backend.gemm=parallel};</li>
+ *   <li>the system property {@code linalg.backend};</li>
+ *   <li>the supporting backend with the highest non-negative priority.</li>
+ * </ol>
+ * <p>Backends that do not support an operation are skipped. Individual calls can
+ * also bypass the registry through the overloads that take an {@link IBackend}.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class Backends {
+
+    private static final Map<BackendOperation, IBackend> overrides = new EnumMap<>(BackendOperation.class);
+    private static IBackend globalDefault;
+    private static volatile IBackend[] resolved;
+
+    private Backends() {
+    }
+
+    /**
+     * Lazily discovers the available backends.
+     */
+    private static final class Registry {
+        static final Map<String, IBackend> BACKENDS = load();
+
+        private static Map<String, IBackend> load() {
+            Map<String, IBackend> backends = new LinkedHashMap<>();
+            for (IBackend backend : new IBackend[]{new ScalarBackend(), new BlockedBackend(), new ParallelBackend()}) {
+                backends.put(backend.name(), backend);
+            }
+            for (IBackend backend : ServiceLoader.load(IBackend.class)) {
+                backends.putIfAbsent(backend.name(), backend);
+            }
+            return Collections.unmodifiableMap(backends);
+        }
+    }
+
+    /**
+     * Gets all available backends.
+     *
+     * @return The available backends, in discovery order.
+     */
+    public static Collection<IBackend> available() {
+        return new ArrayList<>(Registry.BACKENDS.values());
+    }
+
+    /**
+     * Gets a backend by name.
+     *
+     * @param name The backend name.
+     * @return The backend with the given name.
+     * @throws IllegalArgumentException if no backend has this name.
+     */
+    public static IBackend get(String name) {
+        IBackend backend = Registry.BACKENDS.get(name);
+        if (backend == null) {
+            throw new IllegalArgumentException("Backend not found: " + name);
+        }
+        return backend;
+    }
+
+    /**
+     * Gets the backend that executes an operation.
+     *
+     * @param operation The operation.
+     * @return The backend selected for the operation.
+     */
+    public static IBackend forOperation(BackendOperation operation) {
+        IBackend[] current = resolved;
+        if (current == null) {
+            current = resolveAll();
+        }
+        return current[operation.ordinal()];
+    }
+
+    /**
+     * Sets the backend used for all operations it supports.
+     *
+     * @param backend The backend, or {@code null} to go back to automatic selection.
+     */
+    public static synchronized void setDefault(IBackend backend) {
+        globalDefault = backend;
+        resolved = null;
+    }
+
+    /**
+     * Sets the backend used for one operation.
+     *
+     * @param operation The operation.
+     * @param backend   The backend, or {@code null} to go back to the global selection.
+     * @throws IllegalArgumentException if the backend does not support the operation.
+     */
+    public static synchronized void setDefault(BackendOperation operation, IBackend backend) {
+        if (backend == null) {
+            overrides.remove(operation);
+        } else {
+            if (!backend.supports(operation)) {
+                throw new IllegalArgumentException("Backend " + backend.name() + " does not support " + operation + ".");
+            }
+            overrides.put(operation, backend);
+        }
+        resolved = null;
+    }
+
+    /**
+     * Clears every backend set through {@code setDefault}, going back to the
+     * system properties and automatic selection.
+     */
+    public static synchronized void reset() {
+        overrides.clear();
+        globalDefault = null;
+        resolved = null;
+    }
+
+    private static synchronized IBackend[] resolveAll() {
+        if (resolved != null) {
+            return resolved;
+        }
+        BackendOperation[] operations = BackendOperation.values();
+        IBackend[] result = new IBackend[operations.length];
+        for (BackendOperation operation : operations) {
+            result[operation.ordinal()] = resolve(operation);
+        }
+        resolved = result;
+        return result;
+    }
+
+    private static IBackend resolve(BackendOperation operation) {
+        IBackend backend = overrides.get(operation);
+        if (backend != null) {
+            return backend;
+        }
+        if (globalDefault != null && globalDefault.supports(operation)) {
+            return globalDefault;
+        }
+        for (String property : new String[]{"linalg.backend." + operation.propertyName(), "linalg.backend"}) {
+            String name = System.getProperty(property);
+            if (name != null && get(name).supports(operation)) {
+                return get(name);
+            }
+        }
+
+        IBackend best = null;
+        for (IBackend candidate : Registry.BACKENDS.values()) {
+            int priority = candidate.priority(operation);
+            if (candidate.supports(operation) && priority >= 0
+                    && (best == null || priority > best.priority(operation))) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
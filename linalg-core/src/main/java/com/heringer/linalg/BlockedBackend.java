@@ -0,0 +1,488 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+
+/**
+ * Backend with cache-blocked kernels. The multiplication walks the operands in
+ * square tiles and keeps the innermost loop on contiguous rows, which lets the
+ * JIT compiler vectorize it. The LU decomposition factors narrow panels and
+ * updates the trailing matrix with the same tiled multiply-add. Tile and panel
+ * sizes come from {@link Tuning}. The other factorizations are inherited from
+ * {@link ScalarBackend}.
+ *
+ * <p>This backend is never chosen automatically; select it with
+ * {@code -Dlinalg.backend=blocked} or through {@link Backends}.</p>
+ *
+ * @author Emílio Heringer
+ */
+public class BlockedBackend extends ScalarBackend {
+
+    /**
+     * Gets the name that identifies this backend.
+     *
+     * @return {@code "blocked"}.
+     */
+    @Override
+    public String name() {
+        return "blocked";
+    }
+
+    /**
+     * Gets the priority of this backend for an operation.
+     *
+     * @param operation The operation.
+     * @return {@code -1}, so that the backend is only used when selected explicitly.
+     */
+    @Override
+    public int priority(BackendOperation operation) {
+        return -1;
+    }
+
+    @Override
+    public Matrix multiply(Matrix a, Matrix b) {
+        double[][] result = new double[a.getRows()][b.getColumns()];
+        multiplyRows(a.mtx, b.mtx, result, 0, a.getRows(), Tuning.current().getGemmBlockSize());
+        return new Matrix(result);
+    }
+
+    @Override
+    public void gemm(double alpha, Matrix a, boolean transA, Matrix b, boolean transB, double beta, Matrix c) {
+        gemmRows(alpha, a.mtx, transA, b.mtx, transB, beta, c.mtx, 0, c.getRows(),
+                transA ? a.getRows() : a.getColumns(), Tuning.current().getGemmBlockSize());
+    }
+
+    @Override
+    public void gemv(double alpha, Matrix a, boolean transA, double[] x, double beta, double[] y) {
+        gemvRange(alpha, a.mtx, transA, x, beta, y, 0, y.length);
+    }
+
+    @Override
+    public void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c) {
+        int blockSize = Tuning.current().getGemmBlockSize();
+        syrkRows(alpha, a.mtx, transA, beta, c.mtx, 0, c.getRows(), transA ? a.getRows() : a.getColumns(), blockSize);
+        mirrorLower(c.mtx, blockSize);
+    }
+
+    @Override
+    public Matrix[] lu(Matrix a) {
+        return lu(a, Tuning.current().getLuBlockSize());
+    }
+
+    /**
+     * Accumulates the rows {@code [rowStart, rowEnd)} of a * b into c, tile by tile.
+     */
+    static void multiplyRows(double[][] a, double[][] b, double[][] c, int rowStart, int rowEnd, int blockSize) {
+        int inner = b.length;
+        int columns = b[0].length;
+        for (int ii = rowStart; ii < rowEnd; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, rowEnd);
+            for (int kk = 0; kk < inner; kk += blockSize) {
+                int kEnd = Math.min(kk + blockSize, inner);
+                for (int jj = 0; jj < columns; jj += blockSize) {
+                    int jEnd = Math.min(jj + blockSize, columns);
+                    for (int i = ii; i < iEnd; i++) {
+                        double[] rowA = a[i];
+                        double[] rowC = c[i];
+                        for (int k = kk; k < kEnd; k++) {
+                            double aik = rowA[k];
+                            double[] rowB = b[k];
+                            for (int j = jj; j < jEnd; j++) {
+                                rowC[j] += aik * rowB[j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the rows {@code [rowStart, rowEnd)} of {@code C = alpha * op(A) * op(B) + beta * C}
+     * in one pass, tile by tile. The innermost loop always streams a contiguous row of B into a
+     * row of C: a transposed B is packed one panel at a time into {@link Workspace} rows, and a
+     * transposed A is walked row by row over a tile of C that stays in cache.
+     */
+    static void gemmRows(double alpha, double[][] a, boolean transA, double[][] b, boolean transB,
+                         double beta, double[][] c, int rowStart, int rowEnd, int inner, int blockSize) {
+        if (rowEnd <= rowStart) {
+            return;
+        }
+        scaleRows(beta, c, rowStart, rowEnd);
+        if (alpha == 0 || inner == 0) {
+            return;
+        }
+        if (transB) {
+            gemmTransposedB(alpha, a, transA, b, c, rowStart, rowEnd, inner, blockSize);
+        } else if (transA) {
+            gemmTransposedA(alpha, a, b, 0, c, rowStart, rowEnd, 0, inner, blockSize);
+        } else {
+            gemmPlain(alpha, a, b, 0, c, rowStart, rowEnd, 0, inner, blockSize);
+        }
+    }
+
+    /**
+     * A * B over the rows {@code [rowStart, rowEnd)} of C and the range {@code [kStart, kStop)}
+     * of the inner dimension, where row k of B is {@code b[k - shift]}.
+     */
+    private static void gemmPlain(double alpha, double[][] a, double[][] b, int shift, double[][] c,
+                                  int rowStart, int rowEnd, int kStart, int kStop, int blockSize) {
+        int columns = c[rowStart].length;
+        for (int ii = rowStart; ii < rowEnd; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, rowEnd);
+            for (int kk = kStart; kk < kStop; kk += blockSize) {
+                int kEnd = Math.min(kk + blockSize, kStop);
+                for (int jj = 0; jj < columns; jj += blockSize) {
+                    int jEnd = Math.min(jj + blockSize, columns);
+                    for (int i = ii; i < iEnd; i++) {
+                        double[] rowA = a[i];
+                        double[] rowC = c[i];
+                        for (int k = kk; k < kEnd; k++) {
+                            double aik = alpha * rowA[k];
+                            double[] rowB = b[k - shift];
+                            for (int j = jj; j < jEnd; j++) {
+                                rowC[j] += aik * rowB[j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #gemmPlain} with A<sup>T</sup>: the loop over k walks the rows of {@code a},
+     * so that A is read contiguously while a tile of C is reused from cache.
+     */
+    private static void gemmTransposedA(double alpha, double[][] a, double[][] b, int shift, double[][] c,
+                                        int rowStart, int rowEnd, int kStart, int kStop, int blockSize) {
+        int columns = c[rowStart].length;
+        for (int ii = rowStart; ii < rowEnd; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, rowEnd);
+            for (int kk = kStart; kk < kStop; kk += blockSize) {
+                int kEnd = Math.min(kk + blockSize, kStop);
+                for (int jj = 0; jj < columns; jj += blockSize) {
+                    int jEnd = Math.min(jj + blockSize, columns);
+                    for (int k = kk; k < kEnd; k++) {
+                        double[] rowA = a[k];
+                        double[] rowB = b[k - shift];
+                        for (int i = ii; i < iEnd; i++) {
+                            double aik = alpha * rowA[i];
+                            double[] rowC = c[i];
+                            for (int j = jj; j < jEnd; j++) {
+                                rowC[j] += aik * rowB[j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * op(A) * B<sup>T</sup>: each panel of {@code blockSize} columns of B is copied into scratch
+     * rows indexed like the rows of C, so that the innermost loop reads both with the same
+     * index and is vectorized, and the panel is reused for every row of C.
+     */
+    private static void gemmTransposedB(double alpha, double[][] a, boolean transA, double[][] b, double[][] c,
+                                        int rowStart, int rowEnd, int inner, int blockSize) {
+        int columns = c[rowStart].length;
+        Workspace workspace = Workspace.current();
+        int mark = workspace.mark();
+        try {
+            double[][] panel = new double[Math.min(blockSize, inner)][];
+            for (int k = 0; k < panel.length; k++) {
+                panel[k] = workspace.doubles(columns);
+            }
+            for (int kk = 0; kk < inner; kk += blockSize) {
+                int kEnd = Math.min(kk + blockSize, inner);
+                for (int j = 0; j < columns; j++) {
+                    double[] rowB = b[j];
+                    for (int k = kk; k < kEnd; k++) {
+                        panel[k - kk][j] = rowB[k];
+                    }
+                }
+                if (transA) {
+                    gemmTransposedA(alpha, a, panel, kk, c, rowStart, rowEnd, kk, kEnd, blockSize);
+                } else {
+                    gemmPlain(alpha, a, panel, kk, c, rowStart, rowEnd, kk, kEnd, blockSize);
+                }
+            }
+        } finally {
+            workspace.release(mark);
+        }
+    }
+
+    /**
+     * Multiplies the rows {@code [rowStart, rowEnd)} of C by beta, clearing them when beta is zero.
+     * Kept apart from {@link #gemmRows} so that it does not disturb the compilation of the kernel.
+     */
+    private static void scaleRows(double beta, double[][] c, int rowStart, int rowEnd) {
+        if (beta == 1) {
+            return;
+        }
+        for (int i = rowStart; i < rowEnd; i++) {
+            double[] rowC = c[i];
+            if (beta == 0) {
+                Arrays.fill(rowC, 0.0);
+            } else {
+                for (int j = 0; j < rowC.length; j++) {
+                    rowC[j] *= beta;
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the elements {@code [start, end)} of {@code y = alpha * op(A) * x + beta * y}.
+     * Without transpose each element is a dot product with a row of A, split over four
+     * accumulators so that the additions do not wait on each other. With transpose the
+     * rows of A are added to the slice of y one at a time, which reads A contiguously.
+     */
+    static void gemvRange(double alpha, double[][] a, boolean transA, double[] x, double beta, double[] y,
+                          int start, int end) {
+        if (transA) {
+            for (int j = start; j < end; j++) {
+                y[j] = beta == 0 ? 0.0 : beta * y[j];
+            }
+            if (alpha == 0) {
+                return;
+            }
+            for (int k = 0; k < x.length; k++) {
+                double axk = alpha * x[k];
+                double[] rowA = a[k];
+                for (int j = start; j < end; j++) {
+                    y[j] += axk * rowA[j];
+                }
+            }
+            return;
+        }
+
+        int inner = x.length;
+        int unrolled = inner & ~3;
+        for (int i = start; i < end; i++) {
+            double[] rowA = a[i];
+            double s0 = 0.0;
+            double s1 = 0.0;
+            double s2 = 0.0;
+            double s3 = 0.0;
+            int k = 0;
+            for (; k < unrolled; k += 4) {
+                s0 += rowA[k] * x[k];
+                s1 += rowA[k + 1] * x[k + 1];
+                s2 += rowA[k + 2] * x[k + 2];
+                s3 += rowA[k + 3] * x[k + 3];
+            }
+            for (; k < inner; k++) {
+                s0 += rowA[k] * x[k];
+            }
+            double sum = (s0 + s1) + (s2 + s3);
+            y[i] = (beta == 0 ? 0.0 : beta * y[i]) + alpha * sum;
+        }
+    }
+
+    /**
+     * Computes the rows {@code [rowStart, rowEnd)} of the lower triangle of
+     * {@code C = alpha * op(A) * op(A)<sup>T</sup> + beta * C}, tile by tile, skipping the tiles
+     * above the diagonal. With transpose the loop over k walks the rows of A, as in
+     * {@link #gemmRows}; without it A is packed one panel at a time.
+     */
+    static void syrkRows(double alpha, double[][] a, boolean transA, double beta, double[][] c,
+                         int rowStart, int rowEnd, int inner, int blockSize) {
+        for (int i = rowStart; i < rowEnd; i++) {
+            double[] rowC = c[i];
+            for (int j = 0; j <= i; j++) {
+                rowC[j] = beta == 0 ? 0.0 : beta * rowC[j];
+            }
+        }
+        if (alpha == 0 || inner == 0) {
+            return;
+        }
+        if (transA) {
+            syrkTransposed(alpha, a, c, rowStart, rowEnd, inner, blockSize);
+        } else {
+            syrkPlain(alpha, a, c, rowStart, rowEnd, inner, blockSize);
+        }
+    }
+
+    /**
+     * A<sup>T</sup> * A: row k of A contributes {@code a[k][i] * a[k][j]} to every element of the
+     * triangle, so a tile of C stays in cache while rows of A stream through it.
+     */
+    private static void syrkTransposed(double alpha, double[][] a, double[][] c,
+                                       int rowStart, int rowEnd, int inner, int blockSize) {
+        for (int ii = rowStart; ii < rowEnd; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, rowEnd);
+            for (int kk = 0; kk < inner; kk += blockSize) {
+                int kEnd = Math.min(kk + blockSize, inner);
+                for (int jj = 0; jj < iEnd; jj += blockSize) {
+                    int jEnd = Math.min(jj + blockSize, iEnd);
+                    for (int k = kk; k < kEnd; k++) {
+                        double[] rowA = a[k];
+                        for (int i = Math.max(ii, jj); i < iEnd; i++) {
+                            double aki = alpha * rowA[i];
+                            double[] rowC = c[i];
+                            int end = Math.min(jEnd, i + 1);
+                            for (int j = jj; j < end; j++) {
+                                rowC[j] += aki * rowA[j];
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A * A<sup>T</sup>: as in {@link #gemmTransposedB}, each panel of {@code blockSize} columns
+     * of A is copied transposed into {@link Workspace} rows, so that the innermost loop is a
+     * vectorized row update instead of a dot product.
+     */
+    private static void syrkPlain(double alpha, double[][] a, double[][] c,
+                                  int rowStart, int rowEnd, int inner, int blockSize) {
+        Workspace workspace = Workspace.current();
+        int mark = workspace.mark();
+        try {
+            double[][] panel = new double[Math.min(blockSize, inner)][];
+            for (int k = 0; k < panel.length; k++) {
+                panel[k] = workspace.doubles(rowEnd);
+            }
+            for (int kk = 0; kk < inner; kk += blockSize) {
+                int kEnd = Math.min(kk + blockSize, inner);
+                for (int j = 0; j < rowEnd; j++) {
+                    double[] rowA = a[j];
+                    for (int k = kk; k < kEnd; k++) {
+                        panel[k - kk][j] = rowA[k];
+                    }
+                }
+                for (int ii = rowStart; ii < rowEnd; ii += blockSize) {
+                    int iEnd = Math.min(ii + blockSize, rowEnd);
+                    for (int jj = 0; jj < iEnd; jj += blockSize) {
+                        int jEnd = Math.min(jj + blockSize, iEnd);
+                        for (int i = Math.max(ii, jj); i < iEnd; i++) {
+                            double[] rowA = a[i];
+                            double[] rowC = c[i];
+                            int end = Math.min(jEnd, i + 1);
+                            for (int k = kk; k < kEnd; k++) {
+                                double aik = alpha * rowA[k];
+                                double[] rowP = panel[k - kk];
+                                for (int j = jj; j < end; j++) {
+                                    rowC[j] += aik * rowP[j];
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            workspace.release(mark);
+        }
+    }
+
+    /**
+     * Copies the strict lower triangle of a square matrix onto the upper one, in square tiles.
+     */
+    static void mirrorLower(double[][] c, int blockSize) {
+        int n = c.length;
+        for (int ii = 0; ii < n; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, n);
+            for (int jj = 0; jj <= ii; jj += blockSize) {
+                int jEnd = Math.min(jj + blockSize, n);
+                for (int i = ii; i < iEnd; i++) {
+                    double[] rowC = c[i];
+                    for (int j = jj; j < Math.min(jEnd, i); j++) {
+                        c[j][i] = rowC[j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Right-looking LU decomposition with partial pivoting, {@code blockSize} columns at a time.
+     * The pivots are chosen exactly as in {@link ScalarBackend#lu(Matrix)}.
+     */
+    static Matrix[] lu(Matrix a, int blockSize) {
+        int n = a.getRows();
+        double[][] lu = new double[n][];
+        for (int i = 0; i < n; i++) {
+            lu[i] = a.mtx[i].clone();
+        }
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+
+        for (int kb = 0; kb < n; kb += blockSize) {
+            int kEnd = Math.min(kb + blockSize, n);
+
+            // Fatora o painel: colunas [kb, kEnd), todas as linhas abaixo da diagonal.
+            for (int k = kb; k < kEnd; k++) {
+                int pivot = k;
+                for (int i = k + 1; i < n; i++) {
+                    if (Math.abs(lu[i][k]) > Math.abs(lu[pivot][k])) {
+                        pivot = i;
+                    }
+                }
+                if (pivot != k) {
+                    double[] temp = lu[k];
+                    lu[k] = lu[pivot];
+                    lu[pivot] = temp;
+                    int index = permutation[k];
+                    permutation[k] = permutation[pivot];
+                    permutation[pivot] = index;
+                }
+                double[] rowK = lu[k];
+                if (rowK[k] == 0) {
+                    continue;
+                }
+                for (int i = k + 1; i < n; i++) {
+                    double[] rowI = lu[i];
+                    double factor = rowI[k] / rowK[k];
+                    rowI[k] = factor;
+                    for (int j = k + 1; j < kEnd; j++) {
+                        rowI[j] -= factor * rowK[j];
+                    }
+                }
+            }
+            if (kEnd == n) {
+                break;
+            }
+
+            // U12 = L11^-1 * A12
+            for (int k = kb; k < kEnd; k++) {
+                double[] rowK = lu[k];
+                for (int i = k + 1; i < kEnd; i++) {
+                    double[] rowI = lu[i];
+                    double factor = rowI[k];
+                    for (int j = kEnd; j < n; j++) {
+                        rowI[j] -= factor * rowK[j];
+                    }
+                }
+            }
+
+            // A22 -= L21 * U12: cada linha de A22 é lida uma vez por painel, enquanto
+            // as linhas de U12 permanecem no cache.
+            for (int i = kEnd; i < n; i++) {
+                double[] rowI = lu[i];
+                for (int k = kb; k < kEnd; k++) {
+                    double factor = rowI[k];
+                    double[] rowK = lu[k];
+                    for (int j = kEnd; j < n; j++) {
+                        rowI[j] -= factor * rowK[j];
+                    }
+                }
+            }
+        }
+
+        double[][] l = new double[n][n];
+        double[][] u = new double[n][n];
+        double[][] p = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(lu[i], 0, l[i], 0, i);
+            l[i][i] = 1.0;
+            System.arraycopy(lu[i], i, u[i], i, n - i);
+            p[i][permutation[i]] = 1.0;
+        }
+        return new Matrix[]{new Matrix(l), new Matrix(u), new Matrix(p)};
+    }
+}
@@ -0,0 +1,365 @@
+package com.heringer.linalg;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Cursor over a memory-mapped region of a text file, with number parsers that do not allocate
+ * on the common path, and the helpers that split a file into line-aligned chunks and scan them
+ * in parallel.
+ *
+ * <p>Each chunk is mapped on its own when its task runs, so a file of any size is scanned with
+ * at most one chunk per worker resident at a time.</p>
+ *
+ * @author Emílio Heringer
+ */
+final class ByteScanner {
+
+    /**
+     * Nominal size of a chunk; the actual boundary is moved to the next line break.
+     */
+    static final long CHUNK_BYTES = 8L << 20;
+
+    // 10^0 a 10^22 são representados exatamente em double (caminho rápido de Clinger).
+    private static final double[] POWERS_OF_TEN = new double[23];
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+        }
+    }
+
+    /**
+     * Work on one chunk of a file.
+     */
+    @FunctionalInterface
+    interface ChunkTask {
+        void scan(int chunk, ByteScanner scanner) throws IOException;
+    }
+
+    private final ByteBuffer buffer;
+    private final long base;
+    private final byte delimiter;
+    private final int limit;
+    private int position;
+
+    /**
+     * @param buffer    The bytes to scan, from index 0 to the limit.
+     * @param base      File offset of index 0, used in error messages.
+     * @param delimiter Byte that separates fields besides blanks, or a blank if there is none.
+     */
+    ByteScanner(ByteBuffer buffer, long base, byte delimiter) {
+        this.buffer = buffer;
+        this.base = base;
+        this.delimiter = delimiter;
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Splits {@code [start, end)} into chunks of about {@code chunkBytes} that each end right after a
+     * line break, or at {@code end}.
+     *
+     * @return The boundaries; chunk {@code c} is {@code [bounds[c], bounds[c + 1])}.
+     */
+    static long[] split(FileChannel channel, long start, long end, long chunkBytes) throws IOException {
+        long[] bounds = new long[8];
+        int count = 0;
+        bounds[count++] = start;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long next = start + chunkBytes;
+        while (next < end) {
+            long boundary = -1;
+            for (long at = next - 1; boundary < 0 && at < end; at += probe.capacity()) {
+                probe.clear().limit((int) Math.min(probe.capacity(), end - at));
+                while (probe.hasRemaining()) {
+                    if (channel.read(probe, at + probe.position()) < 0) {
+                        throw new IOException("Unexpected end of file.");
+                    }
+                }
+                for (int i = 0; i < probe.limit(); i++) {
+                    if (probe.get(i) == '\n') {
+                        boundary = at + i + 1;
+                        break;
+                    }
+                }
+            }
+            if (boundary < 0 || boundary >= end) {
+                break;
+            }
+            if (count == bounds.length) {
+                bounds = Arrays.copyOf(bounds, 2 * count);
+            }
+            bounds[count++] = boundary;
+            next = boundary + chunkBytes;
+        }
+        if (count == bounds.length) {
+            bounds = Arrays.copyOf(bounds, count + 1);
+        }
+        bounds[count++] = end;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Maps and scans every chunk in parallel; the first failure is rethrown.
+     */
+    static void scan(FileChannel channel, long[] bounds, byte delimiter, ChunkTask task) throws IOException {
+        try {
+            IntStream.range(0, bounds.length - 1).parallel().forEach(chunk -> {
+                try {
+                    ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, bounds[chunk],
+                            bounds[chunk + 1] - bounds[chunk]);
+                    task.scan(chunk, new ByteScanner(region, bounds[chunk], delimiter));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Maps the start of a file, up to {@code maxBytes}, to read a header from it.
+     */
+    static ByteScanner head(FileChannel channel, long maxBytes, byte delimiter) throws IOException {
+        long size = Math.min(channel.size(), maxBytes);
+        return new ByteScanner(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), 0, delimiter);
+    }
+
+    boolean hasMore() {
+        return position < limit;
+    }
+
+    /**
+     * Offset in the file of the next byte.
+     */
+    long offset() {
+        return base + position;
+    }
+
+    /**
+     * Next byte, without consuming it, or -1 at the end.
+     */
+    int peek() {
+        return position < limit ? buffer.get(position) : -1;
+    }
+
+    /**
+     * Skips spaces and tabs.
+     */
+    void skipBlanks() {
+        while (position < limit) {
+            byte b = buffer.get(position);
+            if (b != ' ' && b != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Whether only blanks remain before the next line break.
+     */
+    boolean atLineEnd() {
+        skipBlanks();
+        if (position >= limit) {
+            return true;
+        }
+        byte b = buffer.get(position);
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * Moves past the next line break.
+     */
+    void nextLine() {
+        while (position < limit) {
+            if (buffer.get(position++) == '\n') {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the rest of the line, without the line break, and moves past it. Meant for headers.
+     */
+    String readLine() {
+        int start = position;
+        nextLine();
+        int end = position;
+        while (end > start && (buffer.get(end - 1) == '\n' || buffer.get(end - 1) == '\r')) {
+            end--;
+        }
+        return text(start, end);
+    }
+
+    /**
+     * Skips blanks and then one delimiter, if there is one.
+     *
+     * @return Whether a delimiter was skipped.
+     */
+    boolean skipDelimiter() {
+        skipBlanks();
+        if (position < limit && buffer.get(position) == delimiter) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    long nextLong() throws IOException {
+        skipBlanks();
+        int start = position;
+        boolean negative = false;
+        if (position < limit && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+            negative = buffer.get(position++) == '-';
+        }
+        long value = 0;
+        int digits = 0;
+        while (position < limit) {
+            int digit = buffer.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = 10 * value + digit;
+            position++;
+            if (++digits > 18) {
+                throw error("Integer too long", start);
+            }
+        }
+        if (digits == 0 || !atSeparator()) {
+            throw error("Expected an integer", start);
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a decimal number. When the digits fit in 53 bits and the decimal exponent is within
+     * 22, one exact multiplication or division gives the correctly rounded value; anything else,
+     * such as NaN, Infinity or long mantissas, goes through {@link Double#parseDouble(String)}.
+     */
+    double nextDouble() throws IOException {
+        skipBlanks();
+        int start = position;
+        boolean negative = false;
+        if (position < limit && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+            negative = buffer.get(position++) == '-';
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        boolean digits = false;
+        boolean exact = true;
+        while (position < limit) {
+            int digit = buffer.get(position) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = 10 * mantissa + digit;
+            } else {
+                exact = false;
+            }
+            digits = true;
+            position++;
+        }
+        if (position < limit && buffer.get(position) == '.') {
+            position++;
+            while (position < limit) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                    mantissa = 10 * mantissa + digit;
+                    exponent--;
+                } else {
+                    exact = false;
+                }
+                digits = true;
+                position++;
+            }
+        }
+        if (digits && position < limit && (buffer.get(position) | 0x20) == 'e') {
+            position++;
+            boolean negativeExponent = false;
+            if (position < limit && (buffer.get(position) == '-' || buffer.get(position) == '+')) {
+                negativeExponent = buffer.get(position++) == '-';
+            }
+            int written = 0;
+            int value = 0;
+            while (position < limit) {
+                int digit = buffer.get(position) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = Math.min(10 * value + digit, 100_000);
+                written++;
+                position++;
+            }
+            if (written == 0) {
+                exact = false;
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (digits && exact && atSeparator()) {
+            double value;
+            if (mantissa == 0) {
+                value = 0.0;
+            } else if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+                value = mantissa * POWERS_OF_TEN[exponent];
+            } else if (exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+                value = mantissa / POWERS_OF_TEN[-exponent];
+            } else {
+                return slowDouble(start);
+            }
+            return negative ? -value : value;
+        }
+        return slowDouble(start);
+    }
+
+    private double slowDouble(int start) throws IOException {
+        position = start;
+        while (position < limit && !atSeparator()) {
+            position++;
+        }
+        if (position == start) {
+            throw error("Expected a number", start);
+        }
+        try {
+            return Double.parseDouble(text(start, position));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + text(start, position) + "'", start);
+        }
+    }
+
+    private boolean atSeparator() {
+        if (position >= limit) {
+            return true;
+        }
+        byte b = buffer.get(position);
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r' || b == delimiter;
+    }
+
+    private String text(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    IOException error(String message, int at) {
+        return new IOException(message + " at byte " + (base + at) + ".");
+    }
+
+    IOException error(String message) {
+        return error(message, position);
+    }
+}
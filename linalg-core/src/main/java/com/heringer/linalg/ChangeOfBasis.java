@@ -0,0 +1,457 @@
+package com.heringer.linalg;
+
+import java.util.stream.IntStream;
+
+/**
+ * The coordinates of vectors relative to a basis: for a basis B with the basis vectors as columns,
+ * the coordinates of v are the c that solve B * c = v.
+ *
+ * <p>B is factorized once, when the object is created, and every conversion afterwards is a pair
+ * of triangular solves against the factors. A square basis is factorized as P * B = L * U, with
+ * partial pivoting. A basis with fewer vectors than their dimension is factorized as B = Q * R with
+ * Householder reflections, and the coordinates are those of the least-squares solution, that is,
+ * of the orthogonal projection of v onto the span. A basis whose vectors are orthonormal needs no
+ * factorization: the coordinates are B<sup>T</sup> * v, computed with {@link MatrixBatch#gemm}.</p>
+ *
+ * <p>The factors are stored column-major, so each step of a solve subtracts a multiple of one
+ * contiguous column of the factors from the vector. A {@link VectorBlock} is converted in tiles of
+ * a few vectors that share each column while it is in cache, and the tiles are split across the
+ * common pool for large blocks. Instances are immutable and may be shared between threads.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class ChangeOfBasis {
+
+    /**
+     * The largest difference between B<sup>T</sup> * B and the identity for which the basis is treated
+     * as orthonormal.
+     */
+    public static final double ORTHONORMAL_TOLERANCE = 1e-12;
+
+    /**
+     * Vectors converted together, sharing each column of the factors.
+     */
+    private static final int TILE = 8;
+
+    private final VectorBlock basis;
+    private final int dimension;
+    private final int count;
+    private final boolean orthonormal;
+    // Fatores em ordem de colunas: LU (n x n) ou os refletores de Householder abaixo da diagonal e R acima (d x n);
+    // para uma base ortonormal, B em ordem de linhas.
+    private final double[] factors;
+    private final int[] pivots;
+    private final double[] diagonal;
+    private final double[] betas;
+
+    /**
+     * Factorizes the basis formed by an array of vectors.
+     *
+     * @param basis The basis vectors, in order; they are copied.
+     * @throws IllegalArgumentException if the array is null or empty, the vectors have different lengths,
+     *                                  or there are more vectors than their dimension.
+     * @throws IllegalStateException    if the vectors are linearly dependent.
+     */
+    public ChangeOfBasis(Vector[] basis) {
+        this(VectorBlock.of(basis));
+    }
+
+    /**
+     * Factorizes the basis formed by the vectors of a block. The block is copied.
+     *
+     * @param basis The block with the basis vectors, in order.
+     * @throws IllegalArgumentException if the block is empty or has more vectors than their dimension.
+     * @throws IllegalStateException    if the vectors are linearly dependent.
+     */
+    public ChangeOfBasis(VectorBlock basis) {
+        this.dimension = basis.getDimension();
+        this.count = basis.getCount();
+        if (count == 0 || count > dimension) {
+            throw new IllegalArgumentException("A basis of vectors of dimension " + dimension
+                    + " must have between 1 and " + dimension + " vectors.");
+        }
+        this.basis = basis.copy();
+        this.orthonormal = isOrthonormal(this.basis.gram());
+        if (orthonormal) {
+            // B em ordem de linhas: a linha i tem o elemento i de cada vetor da base.
+            this.factors = new double[dimension * count];
+            for (int v = 0; v < count; v++) {
+                for (int i = 0; i < dimension; i++) {
+                    factors[i * count + v] = this.basis.data[v * dimension + i];
+                }
+            }
+            this.pivots = null;
+            this.diagonal = null;
+            this.betas = null;
+        } else if (count == dimension) {
+            this.factors = this.basis.data.clone();
+            this.pivots = new int[count];
+            this.diagonal = null;
+            this.betas = null;
+            OperationProbe probe = OperationProbe.begin("lu", count, count, count,
+                    2L * count * count * count / 3, "change-of-basis");
+            try {
+                factorLu();
+            } finally {
+                OperationProbe.end(probe);
+            }
+        } else {
+            this.factors = this.basis.data.clone();
+            this.pivots = null;
+            this.diagonal = new double[count];
+            this.betas = new double[count];
+            OperationProbe probe = OperationProbe.begin("qr", dimension, count, count,
+                    4L * dimension * count * count, "change-of-basis");
+            try {
+                factorQr();
+            } finally {
+                OperationProbe.end(probe);
+            }
+        }
+    }
+
+    /**
+     * The dimension of the vectors, which is the number of elements of the vectors converted to coordinates.
+     *
+     * @return The dimension.
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * The number of basis vectors, which is the number of coordinates of each vector.
+     *
+     * @return The number of basis vectors.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Checks if the basis vectors were found to be orthonormal, in which case the coordinates are
+     * computed with a transpose product instead of triangular solves.
+     *
+     * @return true if the basis is orthonormal.
+     */
+    public boolean isOrthonormal() {
+        return orthonormal;
+    }
+
+    /**
+     * A copy of the basis vectors.
+     *
+     * @return A new block with the basis vectors, in order.
+     */
+    public VectorBlock getBasis() {
+        return basis.copy();
+    }
+
+    /**
+     * The coordinates of a vector relative to the basis.
+     *
+     * @param vector The vector, with {@link #getDimension()} elements.
+     * @return A new Vector with {@link #getCount()} coordinates; the least-squares ones when the basis
+     *         spans a subspace and the vector is outside it.
+     * @throws IllegalArgumentException if the vector does not have the dimension of the basis.
+     */
+    public Vector coordinates(Vector vector) {
+        if (vector.getVector().length != dimension) {
+            throw new IllegalArgumentException("All base vectors must have the same dimension as the input vectors.");
+        }
+        return coordinates(VectorBlock.wrap(vector.getVector(), dimension, 1)).getVector(0);
+    }
+
+    /**
+     * The coordinates of each vector of an array relative to the basis.
+     *
+     * @param vectors The vectors, each with {@link #getDimension()} elements.
+     * @return A new array with the coordinates of each vector, in the same order.
+     * @throws IllegalArgumentException if the array is null or empty, or a vector does not have the dimension of the basis.
+     */
+    public Vector[] coordinates(Vector[] vectors) {
+        return coordinates(checkedBlock(vectors)).toArray();
+    }
+
+    /**
+     * The coordinates of every vector of a block relative to the basis, as a block of
+     * {@link #getCount()}-element vectors.
+     *
+     * @param vectors The block of vectors to convert.
+     * @return A new block with the coordinates of each vector, in the same order.
+     * @throws IllegalArgumentException if the block does not have the dimension of the basis.
+     */
+    public VectorBlock coordinates(VectorBlock vectors) {
+        if (vectors.getDimension() != dimension) {
+            throw new IllegalArgumentException("All base vectors must have the same dimension as the input vectors.");
+        }
+        VectorBlock result = new VectorBlock(count, vectors.getCount());
+        if (vectors.getCount() == 0) {
+            return result;
+        }
+        int tiles = (vectors.getCount() + TILE - 1) / TILE;
+        OperationProbe probe = OperationProbe.begin("solve", count, vectors.getCount(), dimension,
+                2L * vectors.getCount() * count * (orthonormal ? dimension : 2 * dimension - count),
+                orthonormal ? "transpose" : pivots != null ? "lu" : "qr");
+        try {
+            IntStream range = IntStream.range(0, tiles);
+            if ((long) vectors.getCount() * count * dimension >= Tuning.current().getParallelThreshold()) {
+                range = range.parallel();
+            }
+            range.forEach(tile -> solveTile(vectors.data, result.data, tile * TILE,
+                    Math.min(vectors.getCount(), (tile + 1) * TILE)));
+        } finally {
+            OperationProbe.end(probe);
+        }
+        return result;
+    }
+
+    /**
+     * The vector with the given coordinates, B * c.
+     *
+     * @param coordinates One coordinate per basis vector.
+     * @return A new Vector with {@link #getDimension()} elements.
+     * @throws IllegalArgumentException if there is not one coordinate per basis vector.
+     */
+    public Vector toVector(Vector coordinates) {
+        return basis.combine(coordinates.getVector());
+    }
+
+    /**
+     * The vectors with the coordinates of each vector of a block, B * C.
+     *
+     * @param coordinates A block of vectors with one coordinate per basis vector.
+     * @return A new block with the vectors, in the same order.
+     * @throws IllegalArgumentException if the vectors of the block do not have one coordinate per basis vector.
+     */
+    public VectorBlock toVectors(VectorBlock coordinates) {
+        if (coordinates.getDimension() != count) {
+            throw new IllegalArgumentException("There must be one coefficient per vector.");
+        }
+        VectorBlock result = new VectorBlock(dimension, coordinates.getCount());
+        if (coordinates.getCount() > 0) {
+            MatrixBatch.gemm(1.0, coordinates.rows(), false, basis.rows(), false, 0.0, result.rows());
+        }
+        return result;
+    }
+
+    private VectorBlock checkedBlock(Vector[] vectors) {
+        if (vectors == null || vectors.length == 0) {
+            throw new IllegalArgumentException("Vectors and newBase cannot be empty.");
+        }
+        for (Vector v : vectors) {
+            if (v.getVector().length != dimension) {
+                throw new IllegalArgumentException("All base vectors must have the same dimension as the input vectors.");
+            }
+        }
+        return VectorBlock.of(vectors);
+    }
+
+    private static boolean isOrthonormal(Matrix gram) {
+        for (int i = 0; i < gram.getRows(); i++) {
+            for (int j = 0; j < gram.getColumns(); j++) {
+                if (!(Math.abs(gram.mtx[i][j] - (i == j ? 1.0 : 0.0)) <= ORTHONORMAL_TOLERANCE)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The size below which a pivot, or a diagonal element of R, means that the basis vectors are dependent.
+     */
+    private double singularThreshold(double scale) {
+        return dimension * Math.ulp(1.0) * scale;
+    }
+
+    private void factorLu() {
+        int n = count;
+        double scale = 0.0;
+        for (double value : factors) {
+            scale = Math.max(scale, Math.abs(value));
+        }
+        double threshold = singularThreshold(scale);
+
+        for (int k = 0; k < n; k++) {
+            int column = k * n;
+            int pivot = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(factors[column + i]) > Math.abs(factors[column + pivot])) {
+                    pivot = i;
+                }
+            }
+            if (!(Math.abs(factors[column + pivot]) > threshold)) {
+                throw new IllegalStateException("The basis vectors are linearly dependent.");
+            }
+            pivots[k] = pivot;
+            if (pivot != k) {
+                for (int j = 0; j < n; j++) {
+                    double temp = factors[j * n + k];
+                    factors[j * n + k] = factors[j * n + pivot];
+                    factors[j * n + pivot] = temp;
+                }
+            }
+
+            double inverse = 1.0 / factors[column + k];
+            for (int i = k + 1; i < n; i++) {
+                factors[column + i] *= inverse;
+            }
+            for (int j = k + 1; j < n; j++) {
+                int other = j * n;
+                double factor = factors[other + k];
+                if (factor != 0) {
+                    for (int i = k + 1; i < n; i++) {
+                        factors[other + i] -= factor * factors[column + i];
+                    }
+                }
+            }
+        }
+    }
+
+    private void factorQr() {
+        int d = dimension;
+        double scale = 0.0;
+        for (int k = 0; k < count; k++) {
+            double norm = 0.0;
+            for (int i = 0; i < d; i++) {
+                norm += factors[k * d + i] * factors[k * d + i];
+            }
+            scale = Math.max(scale, Math.sqrt(norm));
+        }
+        double threshold = singularThreshold(scale);
+
+        for (int k = 0; k < count; k++) {
+            int column = k * d;
+            double norm = 0.0;
+            for (int i = k; i < d; i++) {
+                norm += factors[column + i] * factors[column + i];
+            }
+            norm = Math.sqrt(norm);
+            if (!(norm > threshold)) {
+                throw new IllegalStateException("The basis vectors are linearly dependent.");
+            }
+            double alpha = factors[column + k] > 0 ? -norm : norm;
+            // O refletor v = x - alpha * e_k fica no lugar da coluna; R[k][k] = alpha fica à parte.
+            factors[column + k] -= alpha;
+            double vNorm = 0.0;
+            for (int i = k; i < d; i++) {
+                vNorm += factors[column + i] * factors[column + i];
+            }
+            diagonal[k] = alpha;
+            betas[k] = 2.0 / vNorm;
+            for (int j = k + 1; j < count; j++) {
+                reflect(k, factors, j * d);
+            }
+        }
+    }
+
+    /**
+     * Applies the Householder reflector {@code k} to the {@code dimension} elements of {@code x} from {@code offset}.
+     */
+    private void reflect(int k, double[] x, int offset) {
+        int column = k * dimension;
+        double dot = 0.0;
+        for (int i = k; i < dimension; i++) {
+            dot += factors[column + i] * x[offset + i];
+        }
+        dot *= betas[k];
+        for (int i = k; i < dimension; i++) {
+            x[offset + i] -= dot * factors[column + i];
+        }
+    }
+
+    /**
+     * Writes the coordinates of vectors {@code from .. to} of {@code vectors} to {@code result}.
+     */
+    private void solveTile(double[] vectors, double[] result, int from, int to) {
+        if (orthonormal) {
+            // c = Bᵀv: soma de v[i] vezes a linha i de B, linha a linha.
+            for (int i = 0; i < dimension; i++) {
+                int row = i * count;
+                for (int v = from; v < to; v++) {
+                    double vi = vectors[v * dimension + i];
+                    int base = v * count;
+                    for (int j = 0; j < count; j++) {
+                        result[base + j] += vi * factors[row + j];
+                    }
+                }
+            }
+            return;
+        }
+        if (pivots != null) {
+            System.arraycopy(vectors, from * dimension, result, from * count, (to - from) * dimension);
+            solveLu(result, from, to);
+            return;
+        }
+        Workspace workspace = Workspace.current();
+        int mark = workspace.mark();
+        try {
+            int size = (to - from) * dimension;
+            double[] work = workspace.doubles(size);
+            System.arraycopy(vectors, from * dimension, work, 0, size);
+            for (int k = 0; k < count; k++) {
+                for (int v = 0; v < to - from; v++) {
+                    reflect(k, work, v * dimension);
+                }
+            }
+            backSubstitute(factors, dimension, diagonal, work, 0, to - from, dimension);
+            for (int v = 0; v < to - from; v++) {
+                System.arraycopy(work, v * dimension, result, (from + v) * count, count);
+            }
+        } finally {
+            workspace.release(mark);
+        }
+    }
+
+    private void solveLu(double[] x, int from, int to) {
+        int n = count;
+        for (int v = from; v < to; v++) {
+            int base = v * n;
+            for (int k = 0; k < n; k++) {
+                int pivot = pivots[k];
+                if (pivot != k) {
+                    double temp = x[base + k];
+                    x[base + k] = x[base + pivot];
+                    x[base + pivot] = temp;
+                }
+            }
+        }
+        // L tem diagonal unitária: x[i] -= x[k] * L[i][k] para i > k, coluna a coluna.
+        for (int k = 0; k < n; k++) {
+            int column = k * n;
+            for (int v = from; v < to; v++) {
+                int base = v * n;
+                double xk = x[base + k];
+                if (xk != 0) {
+                    for (int i = k + 1; i < n; i++) {
+                        x[base + i] -= xk * factors[column + i];
+                    }
+                }
+            }
+        }
+        backSubstitute(factors, n, null, x, from, to, n);
+    }
+
+    /**
+     * Solves R * c = x in place for vectors {@code from .. to} of {@code x}, spaced {@code stride} apart,
+     * where R is the upper triangle of the first {@link #count} columns of {@code r}, with columns of
+     * {@code rows} elements, and its diagonal is in {@code diagonal} when that is not null.
+     */
+    private void backSubstitute(double[] r, int rows, double[] diagonal, double[] x, int from, int to, int stride) {
+        for (int k = count - 1; k >= 0; k--) {
+            int column = k * rows;
+            double pivot = diagonal != null ? diagonal[k] : r[column + k];
+            for (int v = from; v < to; v++) {
+                int base = v * stride;
+                double xk = x[base + k] / pivot;
+                x[base + k] = xk;
+                if (xk != 0) {
+                    for (int i = 0; i < k; i++) {
+                        x[base + i] -= xk * r[column + i];
+                    }
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.heringer.linalg;
 
 import com.heringer.Complex;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Represents a matrix with complex number entries.
  * This class provides basic matrix operations such as addition, subtraction,
@@ -682,4 +685,24 @@ public class ComplexMatrix implements IComplexMatrix {
         }
     }
 
+    /**
+     * Saves this ComplexMatrix in the binary format of {@link MatrixFile}, replacing the file if it exists.
+     *
+     * @param path The file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        MatrixFile.write(path, this);
+    }
+
+    /**
+     * Loads a ComplexMatrix saved with {@link #save(Path)}.
+     *
+     * @param path The file.
+     * @return The ComplexMatrix stored in the file.
+     * @throws IOException if the file cannot be read, holds another kind of object or fails its checksum.
+     */
+    public static ComplexMatrix load(Path path) throws IOException {
+        return MatrixFile.readComplexMatrix(path);
+    }
 }
@@ -0,0 +1,327 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collector;
+
+/**
+ * Accumulates the mean, covariance and Gram matrix of a stream of rows without keeping the rows.
+ * Memory is O(d<sup>2</sup>) for rows of d elements, whatever the number of rows.
+ *
+ * <p>Single rows are added with Welford's update and blocks of rows are centered on their own
+ * mean before being merged with Chan's formula, so the result stays accurate when the mean is
+ * large compared to the spread. Every method is thread-safe; for heavy concurrent input it is
+ * cheaper to fill one accumulator per thread and {@link #merge} them, or to use
+ * {@link #collector(int)} with a parallel stream.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class CovarianceAccumulator {
+
+    private final int dimension;
+    private long count;
+    private final double[] mean;
+    /**
+     * Sums of centered cross products; only the lower triangle is kept up to date.
+     */
+    private final double[][] scatter;
+    private final double[] delta;
+
+    /**
+     * Creates an empty accumulator.
+     *
+     * @param dimension The number of elements of each row.
+     * @throws IllegalArgumentException if the dimension is not positive.
+     */
+    public CovarianceAccumulator(int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Dimension must be positive.");
+        }
+        this.dimension = dimension;
+        this.mean = new double[dimension];
+        this.scatter = new double[dimension][dimension];
+        this.delta = new double[dimension];
+    }
+
+    /**
+     * Creates a collector that accumulates a stream of rows. Parallel streams fill one
+     * accumulator per split and merge them.
+     *
+     * @param dimension The number of elements of each row.
+     * @return The collector.
+     */
+    public static Collector<double[], CovarianceAccumulator, CovarianceAccumulator> collector(int dimension) {
+        return Collector.of(() -> new CovarianceAccumulator(dimension), CovarianceAccumulator::add,
+                (left, right) -> {
+                    left.merge(right);
+                    return left;
+                }, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Merges partial accumulators, for example one per thread, in a parallel reduction tree.
+     * The partials are not modified.
+     *
+     * @param dimension The number of elements of each row.
+     * @param partials  The accumulators to merge.
+     * @return A new accumulator with the rows of all the partials.
+     * @throws IllegalArgumentException if a partial has a different dimension.
+     */
+    public static CovarianceAccumulator combine(int dimension, Collection<CovarianceAccumulator> partials) {
+        return partials.parallelStream()
+                .map(partial -> {
+                    CovarianceAccumulator copy = new CovarianceAccumulator(dimension);
+                    copy.merge(partial);
+                    return copy;
+                })
+                .reduce((left, right) -> {
+                    left.merge(right);
+                    return left;
+                })
+                .orElseGet(() -> new CovarianceAccumulator(dimension));
+    }
+
+    /**
+     * Gets the number of elements of each row.
+     *
+     * @return The dimension.
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Gets the number of rows added so far.
+     *
+     * @return The number of rows.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Adds one row.
+     *
+     * @param row The row, with {@link #getDimension()} elements. It is not kept.
+     * @throws IllegalArgumentException if the row has the wrong length.
+     */
+    public synchronized void add(double[] row) {
+        checkLength(row);
+        count++;
+        for (int i = 0; i < dimension; i++) {
+            delta[i] = row[i] - mean[i];
+            mean[i] += delta[i] / count;
+        }
+        // Welford: o produto do desvio antigo pelo novo mantém a soma centrada sem cancelamento.
+        for (int i = 0; i < dimension; i++) {
+            double[] rowS = scatter[i];
+            double di = delta[i];
+            for (int j = 0; j <= i; j++) {
+                rowS[j] += di * (row[j] - mean[j]);
+            }
+        }
+    }
+
+    /**
+     * Adds a block of rows. The block is processed in chunks: each chunk is centered on its own
+     * mean, its scatter is accumulated with the symmetric rank-k kernel and the chunk is then
+     * merged as in {@link #merge}.
+     *
+     * @param rows The rows, each with {@link #getDimension()} elements. They are not kept.
+     * @throws IllegalArgumentException if a row has the wrong length.
+     */
+    public synchronized void add(double[][] rows) {
+        for (double[] row : rows) {
+            checkLength(row);
+        }
+        int chunkSize = Tuning.current().getGemmBlockSize();
+        Workspace workspace = Workspace.current();
+        int mark = workspace.mark();
+        try {
+            double[][] centered = new double[Math.min(chunkSize, rows.length)][];
+            for (int r = 0; r < centered.length; r++) {
+                centered[r] = workspace.doubles(dimension);
+            }
+            double[] chunkMean = workspace.doubles(dimension);
+            for (int start = 0; start < rows.length; start += chunkSize) {
+                int size = Math.min(chunkSize, rows.length - start);
+                Arrays.fill(chunkMean, 0, dimension, 0.0);
+                for (int r = start; r < start + size; r++) {
+                    double[] row = rows[r];
+                    for (int j = 0; j < dimension; j++) {
+                        chunkMean[j] += row[j];
+                    }
+                }
+                for (int j = 0; j < dimension; j++) {
+                    chunkMean[j] /= size;
+                }
+                for (int r = 0; r < size; r++) {
+                    double[] row = rows[start + r];
+                    double[] target = centered[r];
+                    for (int j = 0; j < dimension; j++) {
+                        target[j] = row[j] - chunkMean[j];
+                    }
+                }
+                BlockedBackend.syrkRows(1.0, centered, true, 1.0, scatter, 0, dimension, size, chunkSize);
+                mergeMoments(size, chunkMean);
+            }
+        } finally {
+            workspace.release(mark);
+        }
+    }
+
+    /**
+     * Adds the rows of a Matrix.
+     *
+     * @param block The Matrix, with {@link #getDimension()} columns.
+     * @throws IllegalArgumentException if the number of columns is wrong.
+     * @see #add(double[][])
+     */
+    public void add(Matrix block) {
+        add(block.mtx);
+    }
+
+    /**
+     * Adds every row of another accumulator to this one, with Chan's pairwise formula.
+     * The other accumulator is not modified.
+     *
+     * @param other The accumulator to merge.
+     * @throws IllegalArgumentException if the dimensions differ or other is this accumulator.
+     */
+    public void merge(CovarianceAccumulator other) {
+        if (other.dimension != dimension) {
+            throw new IllegalArgumentException("The accumulators have different dimensions: "
+                    + dimension + " and " + other.dimension + ".");
+        }
+        if (other == this) {
+            throw new IllegalArgumentException("An accumulator cannot be merged with itself.");
+        }
+        // Copia o outro sob o seu próprio lock, para nunca segurar os dois ao mesmo tempo.
+        long otherCount;
+        double[] otherMean;
+        double[][] otherScatter = new double[dimension][];
+        synchronized (other) {
+            otherCount = other.count;
+            otherMean = other.mean.clone();
+            for (int i = 0; i < dimension; i++) {
+                otherScatter[i] = Arrays.copyOf(other.scatter[i], i + 1);
+            }
+        }
+        if (otherCount == 0) {
+            return;
+        }
+        synchronized (this) {
+            for (int i = 0; i < dimension; i++) {
+                double[] rowS = scatter[i];
+                double[] rowO = otherScatter[i];
+                for (int j = 0; j <= i; j++) {
+                    rowS[j] += rowO[j];
+                }
+            }
+            mergeMoments(otherCount, otherMean);
+        }
+    }
+
+    /**
+     * Gets the mean of the rows added so far.
+     *
+     * @return A new Vector with the mean.
+     * @throws IllegalStateException if no row was added.
+     */
+    public synchronized Vector getMean() {
+        if (count == 0) {
+            throw new IllegalStateException("No rows were added.");
+        }
+        return new Vector(mean.clone());
+    }
+
+    /**
+     * Gets the sample covariance matrix, with the unbiased {@code n - 1} denominator.
+     *
+     * @return A new symmetric Matrix of order {@link #getDimension()}.
+     * @throws IllegalStateException if fewer than two rows were added.
+     */
+    public synchronized Matrix getCovariance() {
+        if (count < 2) {
+            throw new IllegalStateException("At least two rows are needed for the sample covariance.");
+        }
+        return symmetric(1.0 / (count - 1), 0.0);
+    }
+
+    /**
+     * Gets the population covariance matrix, with the {@code n} denominator.
+     *
+     * @return A new symmetric Matrix of order {@link #getDimension()}.
+     * @throws IllegalStateException if no row was added.
+     */
+    public synchronized Matrix getPopulationCovariance() {
+        if (count == 0) {
+            throw new IllegalStateException("No rows were added.");
+        }
+        return symmetric(1.0 / count, 0.0);
+    }
+
+    /**
+     * Gets the scatter matrix, the sum of the outer products of the centered rows.
+     *
+     * @return A new symmetric Matrix of order {@link #getDimension()}.
+     */
+    public synchronized Matrix getScatter() {
+        return symmetric(1.0, 0.0);
+    }
+
+    /**
+     * Gets the Gram matrix X<sup>T</sup> * X of the uncentered rows, as {@link Matrix#gram}
+     * would compute it for the matrix X of all the rows.
+     *
+     * @return A new symmetric Matrix of order {@link #getDimension()}.
+     */
+    public synchronized Matrix getGram() {
+        return symmetric(1.0, count);
+    }
+
+    /**
+     * Chan: move the mean towards the mean of {@code otherCount} new rows and add the
+     * between-group term of the scatter. The within-group scatter is added by the caller.
+     */
+    private void mergeMoments(long otherCount, double[] otherMean) {
+        long total = count + otherCount;
+        double weight = (double) count * otherCount / total;
+        for (int i = 0; i < dimension; i++) {
+            delta[i] = otherMean[i] - mean[i];
+        }
+        for (int i = 0; i < dimension; i++) {
+            double[] rowS = scatter[i];
+            double di = weight * delta[i];
+            for (int j = 0; j <= i; j++) {
+                rowS[j] += di * delta[j];
+            }
+        }
+        for (int i = 0; i < dimension; i++) {
+            mean[i] += delta[i] * otherCount / total;
+        }
+        count = total;
+    }
+
+    /**
+     * Builds {@code scale * scatter + meanWeight * mean * mean<sup>T</sup>} from the lower triangle.
+     */
+    private Matrix symmetric(double scale, double meanWeight) {
+        double[][] result = new double[dimension][dimension];
+        for (int i = 0; i < dimension; i++) {
+            for (int j = 0; j <= i; j++) {
+                double value = scale * scatter[i][j] + meanWeight * mean[i] * mean[j];
+                result[i][j] = value;
+                result[j][i] = value;
+            }
+        }
+        return new Matrix(result);
+    }
+
+    private void checkLength(double[] row) {
+        if (row.length != dimension) {
+            throw new IllegalArgumentException("The row must have " + dimension + " elements, but has "
+                    + row.length + ".");
+        }
+    }
+}
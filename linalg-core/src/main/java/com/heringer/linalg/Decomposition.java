@@ -0,0 +1,385 @@
+package com.heringer.linalg;
+
+/**
+ * A utility class for performing vector decompositions and related operations.
+ * This class provides static methods to check orthogonality between vectors.
+ *
+ * @author Emílio Heringer
+ */
+public abstract class Decomposition implements IDecomposition {
+
+    private static final double TOLERANCE = 1e-6;
+
+    /**
+     * Checks if two vectors are orthogonal (perpendicular).
+     * Two vectors are orthogonal if their dot product is zero.
+     *
+     * @param a The first Vector.
+     * @param b The second Vector.
+     * @return true if the vectors are orthogonal, false otherwise.
+     */
+    public static boolean isOrthogonal(Vector a, Vector b) {
+        double dotProduct = Vector.dot(a, b);
+        return Math.abs(dotProduct) < TOLERANCE;
+    }
+
+    /**
+     * Applies the Gram-Schmidt process to a set of vectors to produce an orthonormal basis.
+     * The Gram-Schmidt process is a method for orthonormalizing a set of vectors in an inner product space.
+     * The vectors are copied into a {@link VectorBlock} and orthonormalized with
+     * {@link GramSchmidt.Method#REORTHOGONALIZED}, which keeps them orthogonal to working precision.
+     *
+     * @param vectors An array of Vector objects to orthonormalize.
+     * @return A new array of Vector objects representing the orthonormal basis.
+     * @throws IllegalArgumentException if the vectors have different lengths or a vector is left zero after the projections.
+     */
+    public static Vector[] gramSchmidt(Vector[] vectors) {
+        if (vectors == null || vectors.length == 0) {
+            return new Vector[0];
+        }
+
+        int dimension = vectors[0].getVector().length;
+        for (Vector v : vectors) {
+            if (v.getVector().length != dimension) {
+                throw new IllegalArgumentException("All vectors must have the same dimension.");
+            }
+        }
+
+        VectorBlock basis = VectorBlock.of(vectors);
+        GramSchmidt.orthonormalize(basis, GramSchmidt.Method.REORTHOGONALIZED);
+        return basis.toArray();
+    }
+
+    /**
+     * Applies the Gram-Schmidt process to a block of vectors, as {@link #gramSchmidt(Vector[])} does,
+     * on a copy of the block. Use {@link GramSchmidt#orthonormalize} to choose the variant, work in
+     * place or obtain R.
+     *
+     * @param vectors The block of vectors to orthonormalize. It is not modified.
+     * @return A new block with the orthonormal basis.
+     * @throws IllegalArgumentException if a vector is left exactly zero after the projections.
+     */
+    public static VectorBlock gramSchmidt(VectorBlock vectors) {
+        VectorBlock basis = vectors.copy();
+        if (basis.getCount() > 0) {
+            GramSchmidt.orthonormalize(basis, GramSchmidt.Method.REORTHOGONALIZED);
+        }
+        return basis;
+    }
+
+    /**
+     * Performs QR decomposition on a given matrix.
+     *
+     * @param matrix The Matrix to decompose.
+     * @return A new Matrix representing the Q matrix.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static Matrix qrDecomposition(Matrix matrix) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square for QR decomposition.");
+        }
+
+        // As colunas são ortonormalizadas como em gramSchmidt, no armazenamento contíguo de um VectorBlock.
+        VectorBlock columns = VectorBlock.ofColumns(matrix);
+        GramSchmidt.orthonormalize(columns, GramSchmidt.Method.REORTHOGONALIZED);
+        return columns.toMatrix();
+    }
+
+    /**
+     * Performs LU decomposition on a given matrix.
+     *
+     * @param matrix The Matrix to decompose.
+     * @return A new Matrix representing the L matrix.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static Matrix luDecomposition(Matrix matrix) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square for LU decomposition.");
+        }
+
+        int n = matrix.getRows();
+        double[][] a = matrix.getMatrix();
+        double[][] l = new double[n][n];
+
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < i; k++) {
+                l[i][k] = 0;
+                for (int j = 0; j < k; j++) {
+                    l[i][k] += l[i][j] * a[j][k];
+                }
+                l[i][k] = (a[i][k] - l[i][k]) / a[k][k];
+            }
+            l[i][i] = 1;
+            for (int k = i; k < n; k++) {
+                for (int j = 0; j < i; j++) {
+                    a[i][k] -= l[i][j] * a[j][k];
+                }
+            }
+        }
+
+        return new Matrix(l);
+    }
+
+    /**
+     * Performs LU decomposition with partial pivoting, P * A = L * U.
+     * The factorization is computed by the backend selected for {@link BackendOperation#LU}.
+     *
+     * @param matrix The Matrix to decompose. It is not modified.
+     * @return An array with the matrices L, U and P, in this order.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static Matrix[] lu(Matrix matrix) {
+        return lu(matrix, Backends.forOperation(BackendOperation.LU));
+    }
+
+    /**
+     * Performs LU decomposition with partial pivoting using a specific backend.
+     *
+     * @param matrix  The Matrix to decompose. It is not modified.
+     * @param backend The backend that performs the factorization.
+     * @return An array with the matrices L, U and P, in this order.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static Matrix[] lu(Matrix matrix, IBackend backend) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square for LU decomposition.");
+        }
+
+        OperationProbe probe = OperationProbe.begin("lu", matrix.getRows(), matrix.getColumns(), matrix.getColumns(),
+                2L * matrix.getRows() * matrix.getRows() * matrix.getRows() / 3, backend.name());
+        try {
+            return backend.lu(matrix);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Performs QR decomposition, A = Q * R, with Householder reflections.
+     * The factorization is computed by the backend selected for {@link BackendOperation#QR}.
+     *
+     * @param matrix The Matrix to decompose. It is not modified.
+     * @return An array with the orthogonal matrix Q and the upper triangular matrix R.
+     */
+    public static Matrix[] qr(Matrix matrix) {
+        return qr(matrix, Backends.forOperation(BackendOperation.QR));
+    }
+
+    /**
+     * Performs QR decomposition using a specific backend.
+     *
+     * @param matrix  The Matrix to decompose. It is not modified.
+     * @param backend The backend that performs the factorization.
+     * @return An array with the orthogonal matrix Q and the upper triangular matrix R.
+     */
+    public static Matrix[] qr(Matrix matrix, IBackend backend) {
+        OperationProbe probe = OperationProbe.begin("qr", matrix.getRows(), matrix.getColumns(), matrix.getColumns(),
+                4L * matrix.getRows() * matrix.getRows() * matrix.getColumns(), backend.name());
+        try {
+            return backend.qr(matrix);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Performs Cholesky decomposition, A = L * L<sup>T</sup>.
+     * The factorization is computed by the backend selected for {@link BackendOperation#CHOLESKY}.
+     *
+     * @param matrix The symmetric positive definite Matrix to decompose. It is not modified.
+     * @return The lower triangular matrix L.
+     * @throws IllegalArgumentException if the matrix is not square or not symmetric positive definite.
+     */
+    public static Matrix cholesky(Matrix matrix) {
+        return cholesky(matrix, Backends.forOperation(BackendOperation.CHOLESKY));
+    }
+
+    /**
+     * Performs Cholesky decomposition using a specific backend.
+     *
+     * @param matrix  The symmetric positive definite Matrix to decompose. It is not modified.
+     * @param backend The backend that performs the factorization.
+     * @return The lower triangular matrix L.
+     * @throws IllegalArgumentException if the matrix is not square or not symmetric positive definite.
+     */
+    public static Matrix cholesky(Matrix matrix, IBackend backend) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square for Cholesky decomposition.");
+        }
+
+        OperationProbe probe = OperationProbe.begin("cholesky", matrix.getRows(), matrix.getColumns(), matrix.getColumns(),
+                (long) matrix.getRows() * matrix.getRows() * matrix.getRows() / 3, backend.name());
+        try {
+            return backend.cholesky(matrix);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Performs LU decomposition with partial pivoting in place on a view, P * A = L * U.
+     * The view may be any m x n window, for example a panel of a larger matrix in a blocked
+     * factorization, and nothing is copied: on return its strictly lower part holds L, whose
+     * diagonal of ones is not stored, and its upper part holds U. Rows are swapped across the
+     * whole width of the view. A column without a nonzero pivot is left as it is, so singular
+     * matrices are factorized too.
+     *
+     * @param matrix The view to factorize, overwritten with L and U.
+     * @return The row interchanges: row {@code k} was swapped with row {@code pivots[k]}, in order of {@code k}.
+     */
+    public static int[] lu(MatrixView matrix) {
+        int rows = matrix.getRows();
+        int columns = matrix.getColumns();
+        int steps = Math.min(rows, columns);
+        int[] pivots = new int[steps];
+
+        OperationProbe probe = OperationProbe.begin("lu", rows, columns, steps,
+                2L * rows * columns * steps / 3, "view");
+        try {
+            for (int k = 0; k < steps; k++) {
+                int pivot = k;
+                for (int i = k + 1; i < rows; i++) {
+                    if (Math.abs(matrix.at(i, k)) > Math.abs(matrix.at(pivot, k))) {
+                        pivot = i;
+                    }
+                }
+                pivots[k] = pivot;
+                if (pivot != k) {
+                    for (int j = 0; j < columns; j++) {
+                        double temp = matrix.at(k, j);
+                        matrix.put(k, j, matrix.at(pivot, j));
+                        matrix.put(pivot, j, temp);
+                    }
+                }
+                double diagonal = matrix.at(k, k);
+                if (diagonal == 0) {
+                    continue;
+                }
+                VectorView rowK = matrix.row(k).slice(k + 1, columns);
+                for (int i = k + 1; i < rows; i++) {
+                    double factor = matrix.at(i, k) / diagonal;
+                    matrix.put(i, k, factor);
+                    if (factor != 0) {
+                        matrix.row(i).slice(k + 1, columns).axpy(-factor, rowK);
+                    }
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+        return pivots;
+    }
+
+    /**
+     * Performs QR decomposition with Householder reflections in place on a view, A = Q * R.
+     * Nothing is copied: on return the upper part of the view holds R, and below the diagonal of
+     * each column {@code k} is the reflector vector v<sub>k</sub>, whose first element, 1, is not
+     * stored. Q is the product of the reflectors H<sub>k</sub> = I - tau<sub>k</sub> v<sub>k</sub>
+     * v<sub>k</sub><sup>T</sup>.
+     *
+     * @param matrix The view to factorize, overwritten with R and the reflectors.
+     * @return The coefficient tau<sub>k</sub> of each reflector, one per column up to the number of rows.
+     */
+    public static double[] qr(MatrixView matrix) {
+        int rows = matrix.getRows();
+        int columns = matrix.getColumns();
+        int steps = Math.min(rows, columns);
+        double[] tau = new double[steps];
+
+        OperationProbe probe = OperationProbe.begin("qr", rows, columns, steps,
+                4L * rows * columns * steps, "view");
+        try {
+            for (int k = 0; k < steps; k++) {
+                VectorView tail = matrix.column(k).slice(k + 1, rows);
+                double alpha = matrix.at(k, k);
+                double tailNorm = tail.norm();
+                if (tailNorm == 0) {
+                    continue;
+                }
+                double beta = -Math.copySign(Math.hypot(alpha, tailNorm), alpha);
+                tau[k] = (beta - alpha) / beta;
+                tail.scale(1.0 / (alpha - beta));
+                matrix.put(k, k, beta);
+
+                for (int j = k + 1; j < columns; j++) {
+                    VectorView target = matrix.column(j).slice(k + 1, rows);
+                    double w = tau[k] * (matrix.at(k, j) + tail.dot(target));
+                    matrix.put(k, j, matrix.at(k, j) - w);
+                    target.axpy(-w, tail);
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+        return tau;
+    }
+
+    /**
+     * Performs Cholesky decomposition in place on a view, A = L * L<sup>T</sup>.
+     * Only the lower triangle of the view is read, and it is overwritten with L; the elements
+     * above the diagonal are not touched.
+     *
+     * @param matrix The square view of the symmetric positive definite matrix, overwritten with L.
+     * @throws IllegalArgumentException if the view is not square or the matrix is not positive definite.
+     */
+    public static void cholesky(MatrixView matrix) {
+        int n = matrix.getRows();
+        if (matrix.getColumns() != n) {
+            throw new IllegalArgumentException("Matrix must be square for Cholesky decomposition.");
+        }
+
+        OperationProbe probe = OperationProbe.begin("cholesky", n, n, n, (long) n * n * n / 3, "view");
+        try {
+            for (int j = 0; j < n; j++) {
+                VectorView rowJ = matrix.row(j).slice(0, j);
+                double diagonal = matrix.at(j, j) - rowJ.dot(rowJ);
+                if (!(diagonal > 0)) {
+                    throw new IllegalArgumentException("Matrix must be symmetric positive definite.");
+                }
+                diagonal = Math.sqrt(diagonal);
+                matrix.put(j, j, diagonal);
+                for (int i = j + 1; i < n; i++) {
+                    matrix.put(i, j, (matrix.at(i, j) - matrix.row(i).slice(0, j).dot(rowJ)) / diagonal);
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Performs spectral decomposition on a given matrix.
+     * The work is delegated to the backend selected for {@link BackendOperation#EIGEN}, which is
+     * the pure Java {@link ScalarBackend} unless a backend with a higher priority, such as the
+     * one in the {@code linalg-ejml} module, is found on the classpath.
+     *
+     * @param matrix The Matrix to decompose.
+     * @return An EigenDecomposition object representing the spectral decomposition.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static EigenDecomposition spectralDecomposition(Matrix matrix) {
+        return spectralDecomposition(matrix, Backends.forOperation(BackendOperation.EIGEN));
+    }
+
+    /**
+     * Performs spectral decomposition on a given matrix using a specific backend.
+     *
+     * @param matrix  The Matrix to decompose.
+     * @param backend The backend that computes the eigenvalues and eigenvectors.
+     * @return An EigenDecomposition object representing the spectral decomposition.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static EigenDecomposition spectralDecomposition(Matrix matrix, IBackend backend) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square for spectral decomposition.");
+        }
+
+        OperationProbe probe = OperationProbe.begin("eigen", matrix.getRows(), matrix.getColumns(), matrix.getColumns(),
+                10L * matrix.getRows() * matrix.getRows() * matrix.getRows(), backend.name());
+        try {
+            return backend.eigen(matrix);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.heringer.linalg;
+
+/**
+ * Holds the result of an eigen decomposition of a square matrix.
+ * Eigenvalues are stored as pairs of real and imaginary parts, and complex
+ * eigenvalues always appear as adjacent conjugate pairs.
+ *
+ * <p>Eigenvectors are only available for real eigenvalues; for complex
+ * eigenvalues {@link #getEigenvector(int)} returns {@code null}, mirroring
+ * the behaviour of the EJML bridge.</p>
+ *
+ * @author Emílio Heringer
+ */
+public class EigenDecomposition {
+
+    private final double[] real;
+    private final double[] imaginary;
+    private final Vector[] eigenvectors;
+
+    /**
+     * Constructs an EigenDecomposition from its eigenvalues and eigenvectors.
+     *
+     * @param real         The real parts of the eigenvalues.
+     * @param imaginary    The imaginary parts of the eigenvalues.
+     * @param eigenvectors The eigenvectors, with {@code null} entries for complex eigenvalues.
+     * @throws IllegalArgumentException if the arrays have different lengths.
+     */
+    public EigenDecomposition(double[] real, double[] imaginary, Vector[] eigenvectors) {
+        if (real.length != imaginary.length || real.length != eigenvectors.length) {
+            throw new IllegalArgumentException("Eigenvalues and eigenvectors must have the same length.");
+        }
+        this.real = real;
+        this.imaginary = imaginary;
+        this.eigenvectors = eigenvectors;
+    }
+
+    /**
+     * Gets the number of eigenvalues.
+     *
+     * @return The number of eigenvalues.
+     */
+    public int getNumberOfEigenvalues() {
+        return real.length;
+    }
+
+    /**
+     * Gets the real part of an eigenvalue.
+     *
+     * @param index The index of the eigenvalue.
+     * @return The real part of the eigenvalue.
+     */
+    public double getEigenvalueReal(int index) {
+        return real[index];
+    }
+
+    /**
+     * Gets the imaginary part of an eigenvalue.
+     *
+     * @param index The index of the eigenvalue.
+     * @return The imaginary part of the eigenvalue.
+     */
+    public double getEigenvalueImaginary(int index) {
+        return imaginary[index];
+    }
+
+    /**
+     * Checks if an eigenvalue is real.
+     *
+     * @param index The index of the eigenvalue.
+     * @return true if the imaginary part is zero, false otherwise.
+     */
+    public boolean isReal(int index) {
+        return imaginary[index] == 0.0;
+    }
+
+    /**
+     * Gets the unit eigenvector associated with an eigenvalue.
+     *
+     * @param index The index of the eigenvalue.
+     * @return The eigenvector, or {@code null} if the eigenvalue is complex.
+     */
+    public Vector getEigenvector(int index) {
+        return eigenvectors[index];
+    }
+}
@@ -0,0 +1,284 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Orthonormalizes the vectors of a {@link VectorBlock} in place, leaving A = Q * R with the
+ * orthonormal vectors Q in the block and the upper triangular R returned.
+ *
+ * <p>Three variants are available, see {@link Method}. All of them project the running residual
+ * rather than the original vector, work on the contiguous columns of the block without a
+ * {@code Vector} per projection, and are built from two kernels: the dot products of a range of
+ * columns with another range (Q<sup>T</sup> * P) and the subtraction of their combinations
+ * (P -= Q * H). Both kernels are split across the common pool once their work reaches the
+ * parallel threshold of {@link Tuning}: the dot products one per task, and the subtraction by
+ * column, or by ranges of rows when there is a single column.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class GramSchmidt {
+
+    /**
+     * The variants of the Gram-Schmidt process.
+     */
+    public enum Method {
+        /**
+         * Modified Gram-Schmidt: each vector is normalized and immediately removed from all the vectors
+         * after it. Loses orthogonality in proportion to the condition number of A.
+         */
+        MODIFIED,
+        /**
+         * Classical Gram-Schmidt applied twice to each vector (CGS2): h = Q<sup>T</sup>v, v -= Q * h,
+         * repeated once. Orthogonal to working precision unless A is numerically rank deficient.
+         */
+        REORTHOGONALIZED,
+        /**
+         * Block classical Gram-Schmidt with reorthogonalization over panels of vectors (BCGS2): each
+         * panel is projected against all the previous ones as a pair of matrix products and then
+         * orthonormalized inside with {@link #REORTHOGONALIZED}, and both steps are done twice.
+         */
+        BLOCK
+    }
+
+    /**
+     * The number of vectors in a panel of {@link Method#BLOCK}.
+     */
+    static final int PANEL = 32;
+
+    /**
+     * The rows of each task when a single column is updated in parallel.
+     */
+    private static final int ROW_CHUNK = 512;
+
+    private GramSchmidt() {
+    }
+
+    /**
+     * Orthonormalizes the vectors of a block in place.
+     *
+     * @param vectors The block, which receives the orthonormal vectors.
+     * @param method  The variant of the process.
+     * @return The upper triangular {@code count x count} matrix R such that the original block is Q * R.
+     * @throws IllegalArgumentException if the block is empty, or a vector is left exactly zero after the
+     *                                  projections; the vectors before it are already orthonormalized.
+     */
+    public static Matrix orthonormalize(VectorBlock vectors, Method method) {
+        return orthonormalize(vectors, method, PANEL);
+    }
+
+    static Matrix orthonormalize(VectorBlock vectors, Method method, int panel) {
+        int d = vectors.getDimension();
+        int k = vectors.getCount();
+        if (k == 0) {
+            throw new IllegalArgumentException("The block must have at least one vector.");
+        }
+        double[] r = new double[k * k];
+        OperationProbe probe = OperationProbe.begin("gram-schmidt", d, k, k,
+                (method == Method.MODIFIED ? 2L : 4L) * d * k * k, method.name().toLowerCase(Locale.ROOT));
+        try {
+            switch (method) {
+                case MODIFIED:
+                    modified(vectors.data, d, k, r);
+                    break;
+                case REORTHOGONALIZED:
+                    reorthogonalized(vectors.data, d, k, r);
+                    break;
+                default:
+                    block(vectors.data, d, k, r, panel);
+                    break;
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+
+        // r está em ordem de colunas: R[i][j] em r[j * k + i].
+        double[][] result = new double[k][k];
+        for (int j = 0; j < k; j++) {
+            for (int i = 0; i <= j; i++) {
+                result[i][j] = r[j * k + i];
+            }
+        }
+        return new Matrix(result);
+    }
+
+    private static void modified(double[] a, int d, int k, double[] r) {
+        double[] h = new double[k];
+        for (int i = 0; i < k; i++) {
+            r[i * k + i] = normalize(a, d, i);
+            int rest = k - i - 1;
+            if (rest > 0) {
+                dots(a, d, i, 1, i + 1, rest, h);
+                subtract(a, d, i, 1, i + 1, rest, h);
+                for (int c = 0; c < rest; c++) {
+                    r[(i + 1 + c) * k + i] = h[c];
+                }
+            }
+        }
+    }
+
+    /**
+     * CGS2 for every vector, against all the vectors before it.
+     */
+    private static void reorthogonalized(double[] a, int d, int k, double[] r) {
+        double[] h = new double[k];
+        for (int i = 0; i < k; i++) {
+            for (int pass = 0; pass < 2 && i > 0; pass++) {
+                dots(a, d, 0, i, i, 1, h);
+                subtract(a, d, 0, i, i, 1, h);
+                for (int j = 0; j < i; j++) {
+                    r[i * k + j] += h[j];
+                }
+            }
+            r[i * k + i] = normalize(a, d, i);
+        }
+    }
+
+    private static void block(double[] a, int d, int k, double[] r, int panel) {
+        double[] first = new double[k * Math.min(panel, k)];
+        double[] second = new double[first.length];
+        double[] t1 = new double[panel * panel];
+        double[] t2 = new double[panel * panel];
+        for (int p = 0; p < k; p += panel) {
+            int width = Math.min(panel, k - p);
+            // Duas passadas de projeção contra os vetores anteriores seguida de CGS2 dentro do painel:
+            // P = Q S1 + P1 T1 e P1 = Q S2 + P2 T2, logo P = Q (S1 + S2 T1) + P2 (T2 T1).
+            Arrays.fill(t1, 0.0);
+            Arrays.fill(t2, 0.0);
+            if (p > 0) {
+                dots(a, d, 0, p, p, width, first);
+                subtract(a, d, 0, p, p, width, first);
+            }
+            orthonormalizePanel(a, d, p, width, t1);
+            if (p > 0) {
+                dots(a, d, 0, p, p, width, second);
+                subtract(a, d, 0, p, p, width, second);
+            }
+            orthonormalizePanel(a, d, p, width, t2);
+
+            for (int c = 0; c < width; c++) {
+                int column = (p + c) * k;
+                for (int j = 0; j < p; j++) {
+                    double sum = first[c * p + j];
+                    for (int l = 0; l <= c; l++) {
+                        sum += second[l * p + j] * t1[c * width + l];
+                    }
+                    r[column + j] = sum;
+                }
+                for (int i = 0; i <= c; i++) {
+                    double sum = 0.0;
+                    for (int l = i; l <= c; l++) {
+                        sum += t2[l * width + i] * t1[c * width + l];
+                    }
+                    r[column + p + i] = sum;
+                }
+            }
+        }
+    }
+
+    /**
+     * CGS2 inside a panel, against the vectors of the panel only, leaving the {@code width x width}
+     * triangular factor in {@code t}, column-major.
+     */
+    private static void orthonormalizePanel(double[] a, int d, int p, int width, double[] t) {
+        double[] h = new double[width];
+        for (int c = 0; c < width; c++) {
+            int i = p + c;
+            for (int pass = 0; pass < 2 && c > 0; pass++) {
+                dots(a, d, p, c, i, 1, h);
+                subtract(a, d, p, c, i, 1, h);
+                for (int j = 0; j < c; j++) {
+                    t[c * width + j] += h[j];
+                }
+            }
+            t[c * width + c] = normalize(a, d, i);
+        }
+    }
+
+    /**
+     * H = Q<sup>T</sup> * P, where Q has the {@code m} columns from {@code q} and P the {@code b}
+     * columns from {@code p}; H is column-major, {@code m x b}.
+     */
+    private static void dots(double[] a, int d, int q, int m, int p, int b, double[] h) {
+        if ((long) m * b * d >= Tuning.current().getParallelThreshold()) {
+            IntStream.range(0, m * b).parallel().forEach(index -> h[index] = dot(a, d, q + index % m, p + index / m));
+            return;
+        }
+        for (int c = 0; c < b; c++) {
+            for (int j = 0; j < m; j++) {
+                h[c * m + j] = dot(a, d, q + j, p + c);
+            }
+        }
+    }
+
+    /**
+     * P -= Q * H, with the same shapes as in {@link #dots}.
+     */
+    private static void subtract(double[] a, int d, int q, int m, int p, int b, double[] h) {
+        if ((long) m * b * d >= Tuning.current().getParallelThreshold()) {
+            if (b > 1) {
+                IntStream.range(0, b).parallel().forEach(c -> subtractRows(a, d, q, m, p + c, h, c * m, 0, d));
+            } else {
+                IntStream.range(0, (d + ROW_CHUNK - 1) / ROW_CHUNK).parallel().forEach(chunk ->
+                        subtractRows(a, d, q, m, p, h, 0, chunk * ROW_CHUNK, Math.min(d, (chunk + 1) * ROW_CHUNK)));
+            }
+            return;
+        }
+        for (int c = 0; c < b; c++) {
+            subtractRows(a, d, q, m, p + c, h, c * m, 0, d);
+        }
+    }
+
+    private static void subtractRows(double[] a, int d, int q, int m, int column, double[] h, int offset,
+                                     int from, int to) {
+        int target = column * d;
+        for (int j = 0; j < m; j++) {
+            double coefficient = h[offset + j];
+            if (coefficient != 0) {
+                int source = (q + j) * d;
+                for (int i = from; i < to; i++) {
+                    a[target + i] -= coefficient * a[source + i];
+                }
+            }
+        }
+    }
+
+    private static double dot(double[] a, int d, int x, int y) {
+        int first = x * d;
+        int second = y * d;
+        // Quatro somas independentes, para que as adições não esperem umas pelas outras.
+        double s0 = 0.0;
+        double s1 = 0.0;
+        double s2 = 0.0;
+        double s3 = 0.0;
+        int i = 0;
+        for (; i + 3 < d; i += 4) {
+            s0 += a[first + i] * a[second + i];
+            s1 += a[first + i + 1] * a[second + i + 1];
+            s2 += a[first + i + 2] * a[second + i + 2];
+            s3 += a[first + i + 3] * a[second + i + 3];
+        }
+        for (; i < d; i++) {
+            s0 += a[first + i] * a[second + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Normalizes column {@code i} in place.
+     *
+     * @return Its norm before the normalization.
+     */
+    private static double normalize(double[] a, int d, int i) {
+        double norm = Math.sqrt(dot(a, d, i, i));
+        if (norm == 0) {
+            throw new IllegalArgumentException("Cannot normalize a zero vector.");
+        }
+        int column = i * d;
+        for (int t = 0; t < d; t++) {
+            a[column + t] /= norm;
+        }
+        return norm;
+    }
+}
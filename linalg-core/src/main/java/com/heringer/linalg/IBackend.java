@@ -0,0 +1,167 @@
+package com.heringer.linalg;
+
+/**
+ * Service provider interface for compute backends.
+ * A backend implements the numerical kernels used by {@link Matrix} and
+ * {@link Decomposition}. Backends are discovered through {@link java.util.ServiceLoader}
+ * and selected per operation by {@link Backends}.
+ *
+ * <p>Callers validate the dimensions of the operands before reaching a backend,
+ * so implementations can assume compatible shapes.</p>
+ *
+ * @author Emílio Heringer
+ */
+public interface IBackend {
+
+    /**
+     * Gets the name that identifies this backend, for example in the
+     * {@code linalg.backend} system property.
+     *
+     * @return The backend name.
+     */
+    String name();
+
+    /**
+     * Checks if this backend implements an operation.
+     *
+     * @param operation The operation to check.
+     * @return true if the operation is implemented, false otherwise.
+     */
+    boolean supports(BackendOperation operation);
+
+    /**
+     * Gets the priority of this backend for an operation. When no backend is
+     * configured, the supporting backend with the highest non-negative priority
+     * is used. A negative priority means the backend must be selected explicitly.
+     *
+     * @param operation The operation.
+     * @return The priority of this backend for the operation.
+     */
+    int priority(BackendOperation operation);
+
+    /**
+     * Multiplies two matrices.
+     *
+     * @param a The left Matrix.
+     * @param b The right Matrix.
+     * @return A new Matrix that is the result of a * b.
+     */
+    Matrix multiply(Matrix a, Matrix b);
+
+    /**
+     * General multiply-accumulate, {@code C = alpha * op(A) * op(B) + beta * C}, where
+     * {@code op(X)} is X or its transpose. C is updated in place; when {@code beta} is
+     * zero its previous contents are ignored. The default implementation is the
+     * cache-blocked kernel of {@link BlockedBackend}.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The left Matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param b      The right Matrix.
+     * @param transB Whether to use the transpose of B.
+     * @param beta   The multiple of the previous contents of C.
+     * @param c      The Matrix that receives the result. It must not be A or B.
+     */
+    default void gemm(double alpha, Matrix a, boolean transA, Matrix b, boolean transB, double beta, Matrix c) {
+        BlockedBackend.gemmRows(alpha, a.mtx, transA, b.mtx, transB, beta, c.mtx, 0, c.getRows(),
+                transA ? a.getRows() : a.getColumns(), Tuning.current().getGemmBlockSize());
+    }
+
+    /**
+     * General matrix-vector multiply-accumulate, {@code y = alpha * op(A) * x + beta * y}, where
+     * {@code op(A)} is A or its transpose. y is updated in place; when {@code beta} is zero its
+     * previous contents are ignored. The default implementation is the kernel of
+     * {@link ParallelBackend}: rows of A are read contiguously on the calling thread, and y is
+     * split in chunks across the common pool above {@link Tuning#getParallelThreshold()}.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The Matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param x      The elements of the input vector.
+     * @param beta   The multiple of the previous contents of y.
+     * @param y      The elements of the output vector. It must not be x.
+     */
+    default void gemv(double alpha, Matrix a, boolean transA, double[] x, double beta, double[] y) {
+        Tuning tuning = Tuning.current();
+        ParallelBackend.gemv(alpha, a, transA, x, beta, y, tuning.getGemmBlockSize(), tuning.getParallelThreshold());
+    }
+
+    /**
+     * Symmetric rank-k update, {@code C = alpha * op(A) * op(A)<sup>T</sup> + beta * C}, where
+     * {@code op(A)} is A or its transpose. Only the lower triangle of C is read and computed;
+     * it is then mirrored, so C is fully symmetric on return. When {@code beta} is zero the
+     * previous contents of C are ignored. The default implementation is the kernel of
+     * {@link ParallelBackend}: the triangle is computed in cache-sized tiles that read A by rows,
+     * split in blocks of rows across the common pool above {@link Tuning#getParallelThreshold()}.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The Matrix.
+     * @param transA Whether to use the transpose of A, which computes A<sup>T</sup> * A.
+     * @param beta   The multiple of the previous contents of C.
+     * @param c      The square Matrix that receives the result. It must not be A.
+     */
+    default void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c) {
+        Tuning tuning = Tuning.current();
+        ParallelBackend.syrk(alpha, a, transA, beta, c, tuning.getGemmBlockSize(), tuning.getParallelThreshold());
+    }
+
+    /**
+     * Computes the LU factorization with partial pivoting, P * A = L * U.
+     *
+     * @param a The square Matrix to factorize. It is not modified.
+     * @return An array with the matrices L, U and P, in this order.
+     */
+    Matrix[] lu(Matrix a);
+
+    /**
+     * Computes the QR factorization, A = Q * R.
+     *
+     * @param a The Matrix to factorize. It is not modified.
+     * @return An array with the orthogonal matrix Q and the upper triangular matrix R.
+     */
+    Matrix[] qr(Matrix a);
+
+    /**
+     * Computes the Cholesky factorization, A = L * L<sup>T</sup>.
+     *
+     * @param a The symmetric positive definite Matrix to factorize. It is not modified.
+     * @return The lower triangular matrix L.
+     * @throws IllegalArgumentException if the matrix is not symmetric positive definite.
+     */
+    Matrix cholesky(Matrix a);
+
+    /**
+     * Computes the eigenvalues and eigenvectors of a square matrix.
+     *
+     * @param a The Matrix to decompose. It is not modified.
+     * @return The eigen decomposition of the matrix.
+     */
+    EigenDecomposition eigen(Matrix a);
+
+    /**
+     * Adds two matrices element by element.
+     *
+     * @param a The first Matrix.
+     * @param b The second Matrix.
+     * @return A new Matrix that is the result of a + b.
+     */
+    Matrix add(Matrix a, Matrix b);
+
+    /**
+     * Subtracts two matrices element by element.
+     *
+     * @param a The first Matrix.
+     * @param b The second Matrix.
+     * @return A new Matrix that is the result of a - b.
+     */
+    Matrix subtract(Matrix a, Matrix b);
+
+    /**
+     * Multiplies every element of a matrix by a scalar.
+     *
+     * @param a      The Matrix to scale.
+     * @param scalar The scalar value.
+     * @return A new Matrix that is the result of a * scalar.
+     */
+    Matrix scale(Matrix a, double scalar);
+}
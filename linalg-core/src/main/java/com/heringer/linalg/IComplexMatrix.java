@@ -2,6 +2,9 @@ package com.heringer.linalg;
 
 import com.heringer.Complex;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Interface representing a complex matrix with various operations and utilities.
  * This interface provides methods for accessing and manipulating complex matrices,
@@ -232,4 +235,23 @@ public interface IComplexMatrix {
     static Complex determinant(ComplexMatrix matrix) {
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves this matrix in the binary format of {@link MatrixFile}.
+     *
+     * @param path The file.
+     * @throws IOException if the file cannot be written.
+     */
+    void save(Path path) throws IOException;
+
+    /**
+     * Loads a complex matrix saved with {@link #save(Path)}.
+     *
+     * @param path The file.
+     * @return A new ComplexMatrix with the elements stored in the file.
+     * @throws IOException if the file cannot be read or is not a complex matrix file.
+     */
+    static ComplexMatrix load(Path path) throws IOException {
+        return null;
+    }
+}
@@ -1,8 +1,5 @@
 package com.heringer.linalg;
 
-import org.ejml.simple.SimpleEVD;
-import org.ejml.simple.SimpleMatrix;
-
 /**
  * Interface for various matrix decomposition methods.
  * Provides static utility methods for performing common linear algebra operations
@@ -12,6 +9,7 @@ import org.ejml.simple.SimpleMatrix;
  * <ul>
  *   <li>QR Decomposition</li>
  *   <li>LU Decomposition</li>
+ *   <li>Cholesky Decomposition</li>
  *   <li>Spectral Decomposition</li>
  * </ul>
  * </p>
@@ -37,7 +35,19 @@ public interface IDecomposition {
         return null;
     }
 
-    static SimpleEVD<SimpleMatrix> spectralDecomposition(Matrix matrix) {
+    static Matrix[] lu(Matrix matrix) {
+        return new Matrix[0];
+    }
+
+    static Matrix[] qr(Matrix matrix) {
+        return new Matrix[0];
+    }
+
+    static Matrix cholesky(Matrix matrix) {
+        return null;
+    }
+
+    static EigenDecomposition spectralDecomposition(Matrix matrix) {
         return null;
     }
 }
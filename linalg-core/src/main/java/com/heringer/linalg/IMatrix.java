@@ -1,5 +1,8 @@
 package com.heringer.linalg;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Interface representing a matrix with various operations and utilities.
  * Provides methods for matrix manipulation such as addition, subtraction, 
@@ -18,6 +21,8 @@ public interface IMatrix {
     void showMatrix();
     Matrix subtract(Matrix other);
     Matrix multiply(Matrix other);
+    Vector multiply(Vector vector);
+    Vector multiplyTransposed(Vector vector);
     Matrix inverse();
     Matrix transpose();
     void diagonalMatrix();
@@ -30,12 +35,37 @@ public interface IMatrix {
     static Matrix multiply(Matrix a, Matrix b) {
         return null;
     }
+    static Matrix multiply(Matrix a, Matrix b, IBackend backend) {
+        return null;
+    }
+    static Matrix multiply(MatrixView a, MatrixView b) {
+        return null;
+    }
+    static void gemm(double alpha, Matrix a, boolean transA, Matrix b, boolean transB, double beta, Matrix c) {
+    }
+    static void gemm(double alpha, Matrix a, boolean transA, Matrix b, boolean transB, double beta, Matrix c,
+                     IBackend backend) {
+    }
+    static Matrix gram(Matrix a) {
+        return null;
+    }
+    static void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c) {
+    }
+    static void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c, IBackend backend) {
+    }
+    static void gemv(double alpha, Matrix a, boolean transA, Vector x, double beta, Vector y) {
+    }
+    static void gemv(double alpha, Matrix a, boolean transA, Vector x, double beta, Vector y, IBackend backend) {
+    }
     static Matrix I(int rows, int columns) {
         return null;
     }
     static Matrix inverse(Matrix a) {
         return null;
     }
+    static Matrix inverse(Matrix a, Workspace workspace) {
+        return null;
+    }
     static Matrix transpose(double[][] matrix) {
         return null;
     }
@@ -57,10 +87,20 @@ public interface IMatrix {
     static int rank(Matrix matrix) {
         return 0;
     }
+    static int rank(Matrix matrix, Workspace workspace) {
+        return 0;
+    }
     static Matrix multiplyByScalar(Matrix matrix, double scalar) {
         return null;
     }
     static double determinant(Matrix matrix) {
         return 0;
     }
-}
\ No newline at end of file
+    static double determinant(Matrix matrix, Workspace workspace) {
+        return 0;
+    }
+    void save(Path path) throws IOException;
+    static Matrix load(Path path) throws IOException {
+        return null;
+    }
+}
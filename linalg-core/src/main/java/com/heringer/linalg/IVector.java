@@ -1,5 +1,8 @@
 package com.heringer.linalg;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 /**
  * Interface representing a mathematical vector and providing various operations
  * for vector manipulation and computation.
@@ -95,4 +98,14 @@ public interface IVector {
     static int rank(Vector[] vectors) {
         return 0;
     }
+
+    static int rank(Vector[] vectors, Workspace workspace) {
+        return 0;
+    }
+
+    void save(Path path) throws IOException;
+
+    static Vector load(Path path) throws IOException {
+        return null;
+    }
 }
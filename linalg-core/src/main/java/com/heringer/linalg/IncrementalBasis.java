@@ -0,0 +1,234 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+
+/**
+ * An orthonormal basis of the span of the vectors added so far, built one vector at a time.
+ *
+ * <p>The basis is kept as the columns of a column-major matrix Q with orthonormal columns.
+ * {@link #add} orthogonalizes the candidate against Q twice (classical Gram-Schmidt with
+ * reorthogonalization, which keeps Q orthonormal to working precision) and accepts it when what
+ * is left has a norm above {@code tolerance * ||v||}. Each test costs O(d·r) for a span of
+ * dimension r in d dimensions, with no copy of the accepted vectors; once r reaches d every
+ * candidate is rejected immediately. {@link VectorSpace#getBase} and
+ * {@link VectorSpace#getDimension} stream their vectors through one instance.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class IncrementalBasis {
+
+    /**
+     * The relative tolerance used when none is given.
+     */
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+
+    private final int length;
+    private final double tolerance;
+    private double[] q;
+    private int rank;
+    private final double[] work;
+    private final double[] coefficients;
+
+    /**
+     * Creates an empty basis for vectors of {@code length} elements, with {@link #DEFAULT_TOLERANCE}.
+     *
+     * @param length The number of elements of the vectors.
+     * @throws IllegalArgumentException if the length is not positive.
+     */
+    public IncrementalBasis(int length) {
+        this(length, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Creates an empty basis for vectors of {@code length} elements.
+     *
+     * @param length    The number of elements of the vectors.
+     * @param tolerance A vector is accepted when the norm of its component orthogonal to the basis
+     *                  is above {@code tolerance} times its own norm.
+     * @throws IllegalArgumentException if the length is not positive or the tolerance is negative or NaN.
+     */
+    public IncrementalBasis(int length, double tolerance) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Vectors must have non-zero length.");
+        }
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("The tolerance cannot be negative.");
+        }
+        this.length = length;
+        this.tolerance = tolerance;
+        this.q = new double[length * Math.min(length, 16)];
+        this.work = new double[length];
+        this.coefficients = new double[length];
+    }
+
+    /**
+     * The dimension of the span, that is, the number of vectors accepted so far.
+     *
+     * @return The dimension, between 0 and the length of the vectors.
+     */
+    public int dimension() {
+        return rank;
+    }
+
+    /**
+     * The number of elements of the vectors.
+     *
+     * @return The length.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Gets the relative tolerance used by {@link #add} and {@link #contains(Vector)}.
+     *
+     * @return The tolerance.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Adds a vector to the basis if it is not in the span already: its component orthogonal to the
+     * basis is normalized and appended when its norm is above the tolerance times the norm of the
+     * vector. The vector itself is not kept.
+     *
+     * @param vector The candidate vector.
+     * @return true if the vector was accepted and the dimension grew.
+     * @throws IllegalArgumentException if the vector does not have the length of the basis.
+     */
+    public boolean add(Vector vector) {
+        return add(check(vector), 0);
+    }
+
+    /**
+     * Adds the vector stored at {@code data[offset .. offset + length)}, as {@link #add(Vector)}.
+     *
+     * @param data   The array that holds the vector.
+     * @param offset The index of its first element.
+     * @return true if the vector was accepted and the dimension grew.
+     */
+    boolean add(double[] data, int offset) {
+        if (rank == length) {
+            return false;
+        }
+        double norm = residual(data, offset);
+        double residual = norm(work);
+        if (!(residual > tolerance * norm)) {
+            return false;
+        }
+        if (q.length < (rank + 1) * length) {
+            q = Arrays.copyOf(q, Math.min(length, 2 * rank) * length);
+        }
+        int column = rank * length;
+        for (int i = 0; i < length; i++) {
+            q[column + i] = work[i] / residual;
+        }
+        rank++;
+        return true;
+    }
+
+    /**
+     * Checks if a vector is in the span, with the tolerance of the basis.
+     *
+     * @param vector The vector to test.
+     * @return true if the vector is in the span.
+     * @throws IllegalArgumentException if the vector does not have the length of the basis.
+     */
+    public boolean contains(Vector vector) {
+        return contains(vector, tolerance);
+    }
+
+    /**
+     * Checks if a vector is in the span: the norm of its component orthogonal to the basis is at
+     * most {@code tolerance} times its own norm. The zero vector is always contained.
+     *
+     * @param vector    The vector to test.
+     * @param tolerance The relative tolerance, used instead of the one of the basis.
+     * @return true if the vector is in the span.
+     * @throws IllegalArgumentException if the vector does not have the length of the basis.
+     */
+    public boolean contains(Vector vector, double tolerance) {
+        double norm = residual(check(vector), 0);
+        return norm(work) <= tolerance * norm;
+    }
+
+    /**
+     * The orthogonal projection of a vector onto the span.
+     *
+     * @param vector The vector to project.
+     * @return A new Vector with the projection; the zero vector if the basis is empty.
+     * @throws IllegalArgumentException if the vector does not have the length of the basis.
+     */
+    public Vector project(Vector vector) {
+        double[] data = check(vector);
+        double[] result = new double[length];
+        for (int j = 0; j < rank; j++) {
+            int column = j * length;
+            double dot = 0.0;
+            for (int i = 0; i < length; i++) {
+                dot += q[column + i] * data[i];
+            }
+            for (int i = 0; i < length; i++) {
+                result[i] += dot * q[column + i];
+            }
+        }
+        return new Vector(result);
+    }
+
+    /**
+     * Copies the orthonormal basis vectors, in the order they were accepted.
+     *
+     * @return A new block with {@link #dimension()} vectors.
+     */
+    public VectorBlock getBasis() {
+        return VectorBlock.wrap(Arrays.copyOf(q, rank * length), length, rank);
+    }
+
+    private double[] check(Vector vector) {
+        double[] data = vector.getVector();
+        if (data.length != length) {
+            throw new IllegalArgumentException("All vectors must have the same length.");
+        }
+        return data;
+    }
+
+    /**
+     * Leaves in {@code work} the component of the vector orthogonal to the basis, orthogonalizing twice.
+     *
+     * @return The norm of the vector.
+     */
+    private double residual(double[] data, int offset) {
+        System.arraycopy(data, offset, work, 0, length);
+        double norm = norm(work);
+        for (int pass = 0; pass < 2 && rank > 0; pass++) {
+            // Qᵀw de uma vez, seguido de w -= Q (Qᵀw): Gram-Schmidt clássico, reaplicado uma vez.
+            for (int j = 0; j < rank; j++) {
+                int column = j * length;
+                double dot = 0.0;
+                for (int i = 0; i < length; i++) {
+                    dot += q[column + i] * work[i];
+                }
+                coefficients[j] = dot;
+            }
+            for (int j = 0; j < rank; j++) {
+                int column = j * length;
+                double coefficient = coefficients[j];
+                for (int i = 0; i < length; i++) {
+                    work[i] -= coefficient * q[column + i];
+                }
+            }
+        }
+        return norm;
+    }
+
+    private static double norm(double[] values) {
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value * value;
+        }
+        return Math.sqrt(sum);
+    }
+}
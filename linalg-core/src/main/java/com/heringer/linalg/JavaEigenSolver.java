@@ -0,0 +1,478 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+
+/**
+ * Pure Java eigen solver used by {@link ScalarBackend}.
+ * Symmetric matrices are diagonalized with the cyclic Jacobi method, which yields
+ * orthonormal eigenvectors. General matrices are reduced to upper Hessenberg form
+ * and their eigenvalues are found with the Francis double-shift QR algorithm;
+ * eigenvectors of real eigenvalues are then obtained by inverse iteration.
+ *
+ * <p>Eigenvalues are returned in decreasing order of their real part, and complex
+ * conjugate pairs are adjacent with the positive imaginary part first.</p>
+ *
+ * @author Emílio Heringer
+ */
+public class JavaEigenSolver {
+
+    private static final double EPS = Math.ulp(1.0);
+    private static final int MAX_SWEEPS = 100;
+    private static final int MAX_ITERATIONS = 30;
+    private static final int MAX_INVERSE_ITERATIONS = 30;
+
+    /**
+     * Computes the eigenvalues and eigenvectors of a square matrix.
+     *
+     * @param matrix The Matrix to decompose. It is not modified.
+     * @return The eigen decomposition of the matrix.
+     * @throws IllegalArgumentException if the matrix is not square.
+     * @throws IllegalStateException    if the QR iteration does not converge.
+     */
+    public EigenDecomposition decompose(Matrix matrix) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square.");
+        }
+        double[][] a = copy(matrix.getMatrix());
+        if (isSymmetric(a)) {
+            return jacobi(a);
+        }
+        return hessenbergQR(a);
+    }
+
+    private static double[][] copy(double[][] data) {
+        double[][] result = new double[data.length][];
+        for (int i = 0; i < data.length; i++) {
+            result[i] = data[i].clone();
+        }
+        return result;
+    }
+
+    private static boolean isSymmetric(double[][] a) {
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double tolerance = 64 * EPS * (Math.abs(a[i][j]) + Math.abs(a[j][i]));
+                if (Math.abs(a[i][j] - a[j][i]) > tolerance) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cyclic Jacobi method for symmetric matrices.
+     */
+    private static EigenDecomposition jacobi(double[][] a) {
+        int n = a.length;
+        double[][] v = Matrix.I(n, n).getMatrix();
+
+        double total = 0.0;
+        for (double[] row : a) {
+            for (double x : row) {
+                total += x * x;
+            }
+        }
+
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            double off = 0.0;
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    off += a[p][q] * a[p][q];
+                }
+            }
+            if (off <= EPS * EPS * total) {
+                break;
+            }
+
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    if (a[p][q] == 0.0) {
+                        continue;
+                    }
+                    double theta = (a[q][q] - a[p][p]) / (2 * a[p][q]);
+                    double t = Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+                    if (theta == 0.0) {
+                        t = 1.0;
+                    }
+                    double c = 1 / Math.sqrt(t * t + 1);
+                    double s = t * c;
+
+                    for (int k = 0; k < n; k++) {
+                        double akp = a[k][p];
+                        double akq = a[k][q];
+                        a[k][p] = c * akp - s * akq;
+                        a[k][q] = s * akp + c * akq;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double apk = a[p][k];
+                        double aqk = a[q][k];
+                        a[p][k] = c * apk - s * aqk;
+                        a[q][k] = s * apk + c * aqk;
+                    }
+                    for (int k = 0; k < n; k++) {
+                        double vkp = v[k][p];
+                        double vkq = v[k][q];
+                        v[k][p] = c * vkp - s * vkq;
+                        v[k][q] = s * vkp + c * vkq;
+                    }
+                }
+            }
+        }
+
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
+        Vector[] vectors = new Vector[n];
+        for (int i = 0; i < n; i++) {
+            real[i] = a[i][i];
+            double[] column = new double[n];
+            for (int k = 0; k < n; k++) {
+                column[k] = v[k][i];
+            }
+            vectors[i] = new Vector(orientate(column));
+        }
+        return sorted(real, imaginary, vectors);
+    }
+
+    /**
+     * Hessenberg reduction followed by the Francis double-shift QR algorithm.
+     */
+    private static EigenDecomposition hessenbergQR(double[][] a) {
+        int n = a.length;
+        double[][] original = copy(a);
+        toHessenberg(a);
+
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
+        hqr(a, real, imaginary);
+
+        Vector[] vectors = new Vector[n];
+        for (int i = 0; i < n; i++) {
+            if (imaginary[i] == 0.0) {
+                vectors[i] = new Vector(inverseIteration(original, real[i]));
+            }
+        }
+        return sorted(real, imaginary, vectors);
+    }
+
+    /**
+     * Reduces a matrix to upper Hessenberg form by stabilized elimination.
+     */
+    private static void toHessenberg(double[][] a) {
+        int n = a.length;
+        for (int m = 1; m < n - 1; m++) {
+            double x = 0.0;
+            int pivot = m;
+            for (int j = m; j < n; j++) {
+                if (Math.abs(a[j][m - 1]) > Math.abs(x)) {
+                    x = a[j][m - 1];
+                    pivot = j;
+                }
+            }
+            if (pivot != m) {
+                for (int j = m - 1; j < n; j++) {
+                    double temp = a[pivot][j];
+                    a[pivot][j] = a[m][j];
+                    a[m][j] = temp;
+                }
+                for (int j = 0; j < n; j++) {
+                    double temp = a[j][pivot];
+                    a[j][pivot] = a[j][m];
+                    a[j][m] = temp;
+                }
+            }
+            if (x != 0.0) {
+                for (int i = m + 1; i < n; i++) {
+                    double y = a[i][m - 1];
+                    if (y != 0.0) {
+                        y /= x;
+                        a[i][m - 1] = 0.0;
+                        for (int j = m; j < n; j++) {
+                            a[i][j] -= y * a[m][j];
+                        }
+                        for (int j = 0; j < n; j++) {
+                            a[j][m] += y * a[j][i];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds all eigenvalues of an upper Hessenberg matrix. The matrix is destroyed.
+     */
+    private static void hqr(double[][] a, double[] wr, double[] wi) {
+        int n = a.length;
+        double anorm = 0.0;
+        for (int i = 0; i < n; i++) {
+            for (int j = Math.max(i - 1, 0); j < n; j++) {
+                anorm += Math.abs(a[i][j]);
+            }
+        }
+
+        int nn = n - 1;
+        double t = 0.0;
+        double p = 0.0, q = 0.0, r = 0.0, s, w, x, y, z = 0.0;
+        while (nn >= 0) {
+            int its = 0;
+            int l;
+            do {
+                for (l = nn; l > 0; l--) {
+                    s = Math.abs(a[l - 1][l - 1]) + Math.abs(a[l][l]);
+                    if (s == 0.0) {
+                        s = anorm;
+                    }
+                    if (Math.abs(a[l][l - 1]) <= EPS * s) {
+                        a[l][l - 1] = 0.0;
+                        break;
+                    }
+                }
+                x = a[nn][nn];
+                if (l == nn) {
+                    wr[nn] = x + t;
+                    wi[nn--] = 0.0;
+                } else {
+                    y = a[nn - 1][nn - 1];
+                    w = a[nn][nn - 1] * a[nn - 1][nn];
+                    if (l == nn - 1) {
+                        p = 0.5 * (y - x);
+                        q = p * p + w;
+                        z = Math.sqrt(Math.abs(q));
+                        x += t;
+                        if (q >= 0.0) {
+                            z = p + Math.copySign(z, p);
+                            wr[nn - 1] = wr[nn] = x + z;
+                            if (z != 0.0) {
+                                wr[nn] = x - w / z;
+                            }
+                            wi[nn - 1] = wi[nn] = 0.0;
+                        } else {
+                            wr[nn - 1] = wr[nn] = x + p;
+                            wi[nn - 1] = z;
+                            wi[nn] = -z;
+                        }
+                        nn -= 2;
+                    } else {
+                        if (its == MAX_ITERATIONS) {
+                            throw new IllegalStateException("Eigenvalue iteration did not converge.");
+                        }
+                        if (its == 10 || its == 20) {
+                            t += x;
+                            for (int i = 0; i <= nn; i++) {
+                                a[i][i] -= x;
+                            }
+                            s = Math.abs(a[nn][nn - 1]) + Math.abs(a[nn - 1][nn - 2]);
+                            y = x = 0.75 * s;
+                            w = -0.4375 * s * s;
+                        }
+                        ++its;
+                        int m;
+                        for (m = nn - 2; m >= l; m--) {
+                            z = a[m][m];
+                            r = x - z;
+                            s = y - z;
+                            p = (r * s - w) / a[m + 1][m] + a[m][m + 1];
+                            q = a[m + 1][m + 1] - z - r - s;
+                            r = a[m + 2][m + 1];
+                            s = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                            p /= s;
+                            q /= s;
+                            r /= s;
+                            if (m == l) {
+                                break;
+                            }
+                            double u = Math.abs(a[m][m - 1]) * (Math.abs(q) + Math.abs(r));
+                            double v = Math.abs(p) * (Math.abs(a[m - 1][m - 1]) + Math.abs(z) + Math.abs(a[m + 1][m + 1]));
+                            if (u <= EPS * v) {
+                                break;
+                            }
+                        }
+                        for (int i = m; i < nn - 1; i++) {
+                            a[i + 2][i] = 0.0;
+                            if (i != m) {
+                                a[i + 2][i - 1] = 0.0;
+                            }
+                        }
+                        for (int k = m; k < nn; k++) {
+                            if (k != m) {
+                                p = a[k][k - 1];
+                                q = a[k + 1][k - 1];
+                                r = 0.0;
+                                if (k + 1 != nn) {
+                                    r = a[k + 2][k - 1];
+                                }
+                                x = Math.abs(p) + Math.abs(q) + Math.abs(r);
+                                if (x != 0.0) {
+                                    p /= x;
+                                    q /= x;
+                                    r /= x;
+                                }
+                            }
+                            s = Math.copySign(Math.sqrt(p * p + q * q + r * r), p);
+                            if (s != 0.0) {
+                                if (k == m) {
+                                    if (l != m) {
+                                        a[k][k - 1] = -a[k][k - 1];
+                                    }
+                                } else {
+                                    a[k][k - 1] = -s * x;
+                                }
+                                p += s;
+                                x = p / s;
+                                y = q / s;
+                                z = r / s;
+                                q /= p;
+                                r /= p;
+                                for (int j = k; j <= nn; j++) {
+                                    p = a[k][j] + q * a[k + 1][j];
+                                    if (k + 1 != nn) {
+                                        p += r * a[k + 2][j];
+                                        a[k + 2][j] -= p * z;
+                                    }
+                                    a[k + 1][j] -= p * y;
+                                    a[k][j] -= p * x;
+                                }
+                                int mmin = Math.min(nn, k + 3);
+                                for (int i = l; i <= mmin; i++) {
+                                    p = x * a[i][k] + y * a[i][k + 1];
+                                    if (k + 1 != nn) {
+                                        p += z * a[i][k + 2];
+                                        a[i][k + 2] -= p * r;
+                                    }
+                                    a[i][k + 1] -= p * q;
+                                    a[i][k] -= p;
+                                }
+                            }
+                        }
+                    }
+                }
+            } while (l + 1 < nn);
+        }
+    }
+
+    /**
+     * Computes a unit eigenvector for a real eigenvalue by inverse iteration
+     * on the LU factorization of {@code A - lambda I}.
+     */
+    private static double[] inverseIteration(double[][] a, double lambda) {
+        int n = a.length;
+        double norm = 0.0;
+        double[][] lu = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                lu[i][j] = a[i][j];
+                norm = Math.max(norm, Math.abs(a[i][j]));
+            }
+            lu[i][i] -= lambda;
+        }
+        double tiny = EPS * Math.max(norm, 1.0);
+
+        int[] pivots = new int[n];
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(lu[i][k]) > Math.abs(lu[pivot][k])) {
+                    pivot = i;
+                }
+            }
+            pivots[k] = pivot;
+            double[] temp = lu[k];
+            lu[k] = lu[pivot];
+            lu[pivot] = temp;
+            if (Math.abs(lu[k][k]) < tiny) {
+                lu[k][k] = lu[k][k] < 0 ? -tiny : tiny;
+            }
+            for (int i = k + 1; i < n; i++) {
+                double factor = lu[i][k] / lu[k][k];
+                lu[i][k] = factor;
+                for (int j = k + 1; j < n; j++) {
+                    lu[i][j] -= factor * lu[k][j];
+                }
+            }
+        }
+
+        double[] x = new double[n];
+        Arrays.fill(x, 1.0 / Math.sqrt(n));
+        for (int iteration = 0; iteration < MAX_INVERSE_ITERATIONS; iteration++) {
+            for (int k = 0; k < n; k++) {
+                double temp = x[k];
+                x[k] = x[pivots[k]];
+                x[pivots[k]] = temp;
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < i; j++) {
+                    x[i] -= lu[i][j] * x[j];
+                }
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                for (int j = i + 1; j < n; j++) {
+                    x[i] -= lu[i][j] * x[j];
+                }
+                x[i] /= lu[i][i];
+            }
+            double length = 0.0;
+            for (double value : x) {
+                length += value * value;
+            }
+            length = Math.sqrt(length);
+            for (int i = 0; i < n; i++) {
+                x[i] /= length;
+            }
+
+            double residual = 0.0;
+            for (int i = 0; i < n; i++) {
+                double ax = -lambda * x[i];
+                for (int j = 0; j < n; j++) {
+                    ax += a[i][j] * x[j];
+                }
+                residual = Math.max(residual, Math.abs(ax));
+            }
+            if (residual <= 16 * n * tiny) {
+                break;
+            }
+        }
+        return orientate(x);
+    }
+
+    /**
+     * Flips the sign of a vector so that its largest component is positive.
+     */
+    private static double[] orientate(double[] x) {
+        int largest = 0;
+        for (int i = 1; i < x.length; i++) {
+            if (Math.abs(x[i]) > Math.abs(x[largest])) {
+                largest = i;
+            }
+        }
+        if (x[largest] < 0) {
+            for (int i = 0; i < x.length; i++) {
+                x[i] = -x[i];
+            }
+        }
+        return x;
+    }
+
+    private static EigenDecomposition sorted(double[] real, double[] imaginary, Vector[] vectors) {
+        int n = real.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> {
+            int byReal = Double.compare(real[j], real[i]);
+            return byReal != 0 ? byReal : Double.compare(imaginary[j], imaginary[i]);
+        });
+
+        double[] sortedReal = new double[n];
+        double[] sortedImaginary = new double[n];
+        Vector[] sortedVectors = new Vector[n];
+        for (int i = 0; i < n; i++) {
+            sortedReal[i] = real[order[i]];
+            sortedImaginary[i] = imaginary[order[i]];
+            sortedVectors[i] = vectors[order[i]];
+        }
+        return new EigenDecomposition(sortedReal, sortedImaginary, sortedVectors);
+    }
+}
@@ -0,0 +1,47 @@
+package com.heringer.linalg;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event emitted for every instrumented linear algebra call.
+ * The event duration is the elapsed time of the call. Enable it with
+ * {@code -XX:StartFlightRecording} and the setting {@code com.heringer.linalg.Operation#enabled=true}.
+ *
+ * @author Emílio Heringer
+ */
+@Name("com.heringer.linalg.Operation")
+@Label("Linear Algebra Operation")
+@Category({"LinAlg"})
+@Description("A multiplication, inversion, determinant, linear solve or eigen decomposition.")
+@StackTrace(false)
+class LinAlgEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Columns")
+    int columns;
+
+    @Label("Inner Dimension")
+    @Description("Shared dimension of a multiplication, or the column count of the input otherwise.")
+    int inner;
+
+    @Label("Estimated Flops")
+    long flops;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Bytes Allocated")
+    @DataAmount
+    long bytesAllocated;
+}
@@ -0,0 +1,75 @@
+package com.heringer.linalg;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of per-operation call counters and latency histograms.
+ * Recording is disabled by default; enable it with {@link #setEnabled(boolean)}
+ * or the system property {@code linalg.metrics=true}. While disabled, the
+ * instrumented calls only pay for reading a static flag.
+ *
+ * <p>The same calls also emit the {@code com.heringer.linalg.Operation} Java Flight
+ * Recorder event, independently of this registry.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class LinAlgMetrics {
+
+    private static volatile boolean enabled = Boolean.getBoolean("linalg.metrics");
+    private static final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    private LinAlgMetrics() {
+    }
+
+    /**
+     * Checks if recording is enabled.
+     *
+     * @return true if calls are being recorded, false otherwise.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables recording.
+     *
+     * @param value true to record calls, false to stop recording.
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Gets the metrics of an operation, such as {@code "multiply"} or {@code "inverse"}.
+     *
+     * @param operation The operation name.
+     * @return The metrics of the operation; empty if it was never recorded.
+     */
+    public static OperationMetrics get(String operation) {
+        OperationMetrics metrics = operations.get(operation);
+        return metrics != null ? metrics : new OperationMetrics(operation);
+    }
+
+    /**
+     * Gets the metrics of every recorded operation.
+     *
+     * @return A map from operation name to metrics, sorted by name.
+     */
+    public static Map<String, OperationMetrics> snapshot() {
+        return Collections.unmodifiableMap(new TreeMap<>(operations));
+    }
+
+    /**
+     * Discards every recorded value.
+     */
+    public static void reset() {
+        operations.clear();
+    }
+
+    static void record(String operation, long nanos) {
+        operations.computeIfAbsent(operation, OperationMetrics::new).record(nanos);
+    }
+}
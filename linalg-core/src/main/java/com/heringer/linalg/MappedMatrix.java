@@ -0,0 +1,686 @@
+package com.heringer.linalg;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Dense matrix stored in a memory-mapped file instead of the Java heap, for matrices that do
+ * not fit in a {@code double[][]}. The elements are raw little-endian doubles in row-major
+ * order. Files larger than 2 GB are mapped in chunks of 1 GB, so the size is only limited by
+ * the address space.
+ *
+ * <p>The blocked operations ({@link #multiply}, {@link #transpose} and {@link #lu()}) split
+ * the matrices in square tiles of {@link #getTileSize()} elements and only keep a few of them
+ * on the heap: recently read tiles live in a bounded least-recently-used cache, and every
+ * write goes straight to the file, so the cache never holds data that is not on disk.</p>
+ *
+ * <p>Instances are not thread-safe. Java cannot unmap a file explicitly, so the mapping is
+ * released by the garbage collector some time after {@link #close()}.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class MappedMatrix implements AutoCloseable {
+
+    /**
+     * Default edge of the square tiles used by the blocked operations.
+     */
+    public static final int DEFAULT_TILE_SIZE = 256;
+    /**
+     * Default bound of the tile cache, in bytes.
+     */
+    public static final long DEFAULT_CACHE_BYTES = 64L << 20;
+    /**
+     * 2<sup>27</sup> doubles, i.e. 1 GB per mapping.
+     */
+    static final int CHUNK_SHIFT = 27;
+
+    private final FileChannel channel;
+    private final int rows;
+    private final int columns;
+    private final boolean readOnly;
+    private final int chunkShift;
+    private final MappedByteBuffer[] mappings;
+    private final DoubleBuffer[] chunks;
+    private final int tileSize;
+    private final TileCache cache;
+    private boolean closed;
+
+    private MappedMatrix(FileChannel channel, long offset, int rows, int columns, boolean readOnly,
+                         int tileSize, long cacheBytes, int chunkShift) throws IOException {
+        this.channel = channel;
+        this.rows = rows;
+        this.columns = columns;
+        this.readOnly = readOnly;
+        this.chunkShift = chunkShift;
+        this.tileSize = tileSize;
+        this.cache = new TileCache(cacheBytes);
+
+        long elements = (long) rows * columns;
+        long chunkLength = 1L << chunkShift;
+        int count = (int) ((elements + chunkLength - 1) >>> chunkShift);
+        this.mappings = new MappedByteBuffer[count];
+        this.chunks = new DoubleBuffer[count];
+        FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+        for (int c = 0; c < count; c++) {
+            long first = (long) c << chunkShift;
+            long length = Math.min(chunkLength, elements - first);
+            mappings[c] = channel.map(mode, offset + 8 * first, 8 * length);
+            mappings[c].order(ByteOrder.LITTLE_ENDIAN);
+            chunks[c] = mappings[c].asDoubleBuffer();
+        }
+    }
+
+    /**
+     * Creates a file for a new matrix of zeros, replacing the file if it exists.
+     * The file is sparse where the file system supports it.
+     *
+     * @param file    The file.
+     * @param rows    The number of rows.
+     * @param columns The number of columns.
+     * @return The mapped matrix.
+     * @throws IllegalArgumentException if the dimensions are not positive.
+     * @throws UncheckedIOException     if the file cannot be created or mapped.
+     */
+    public static MappedMatrix create(Path file, int rows, int columns) {
+        return create(file, rows, columns, DEFAULT_TILE_SIZE, DEFAULT_CACHE_BYTES);
+    }
+
+    /**
+     * Creates a file for a new matrix of zeros, with a specific tile size and cache bound.
+     *
+     * @param file       The file.
+     * @param rows       The number of rows.
+     * @param columns    The number of columns.
+     * @param tileSize   The edge of the square tiles of the blocked operations.
+     * @param cacheBytes The bound of the tile cache, in bytes.
+     * @return The mapped matrix.
+     * @throws IllegalArgumentException if the dimensions, the tile size or the cache bound are not positive.
+     * @throws UncheckedIOException     if the file cannot be created or mapped.
+     */
+    public static MappedMatrix create(Path file, int rows, int columns, int tileSize, long cacheBytes) {
+        return map(file, 0, rows, columns, true, false, tileSize, cacheBytes, CHUNK_SHIFT);
+    }
+
+    /**
+     * Maps an existing file that holds a matrix in the layout of this class.
+     *
+     * @param file     The file.
+     * @param rows     The number of rows.
+     * @param columns  The number of columns.
+     * @param readOnly Whether to map the file read-only.
+     * @return The mapped matrix.
+     * @throws IllegalArgumentException if the dimensions are not positive or the file is too small.
+     * @throws UncheckedIOException     if the file cannot be opened or mapped.
+     */
+    public static MappedMatrix open(Path file, int rows, int columns, boolean readOnly) {
+        return map(file, 0, rows, columns, false, readOnly, DEFAULT_TILE_SIZE, DEFAULT_CACHE_BYTES, CHUNK_SHIFT);
+    }
+
+    /**
+     * Writes a heap Matrix to a new file and maps it.
+     *
+     * @param matrix The Matrix to copy.
+     * @param file   The file, replaced if it exists.
+     * @return The mapped copy.
+     * @throws UncheckedIOException if the file cannot be created or mapped.
+     */
+    public static MappedMatrix copyOf(Matrix matrix, Path file) {
+        MappedMatrix result = create(file, matrix.getRows(), matrix.getColumns());
+        result.writeBlock(0, 0, matrix.getRows(), matrix.getColumns(), matrix.mtx);
+        return result;
+    }
+
+    /**
+     * Maps {@code rows * columns} doubles that start {@code offset} bytes into a file.
+     */
+    static MappedMatrix map(Path file, long offset, int rows, int columns, boolean create, boolean readOnly,
+                            int tileSize, long cacheBytes, int chunkShift) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Matrix dimensions must be positive.");
+        }
+        if (tileSize <= 0 || cacheBytes <= 0) {
+            throw new IllegalArgumentException("Tile size and cache size must be positive.");
+        }
+        long bytes = offset + 8L * rows * columns;
+        FileChannel channel = null;
+        try {
+            channel = create
+                    ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : readOnly
+                    ? FileChannel.open(file, StandardOpenOption.READ)
+                    : FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (!create && channel.size() < bytes) {
+                throw new IllegalArgumentException("The file has " + channel.size() + " bytes, but a "
+                        + rows + "x" + columns + " matrix needs " + bytes + ".");
+            }
+            return new MappedMatrix(channel, offset, rows, columns, readOnly, tileSize, cacheBytes, chunkShift);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of rows in the matrix.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns in the matrix.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the edge of the square tiles used by the blocked operations.
+     *
+     * @return The tile size.
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Gets an element.
+     *
+     * @param row    The row of the element.
+     * @param column The column of the element.
+     * @return The element.
+     * @throws IndexOutOfBoundsException if the position is outside the matrix.
+     */
+    public double get(int row, int column) {
+        checkIndex(row, column);
+        ensureOpen();
+        long index = (long) row * columns + column;
+        return chunks[(int) (index >>> chunkShift)].get((int) (index & ((1L << chunkShift) - 1)));
+    }
+
+    /**
+     * Sets an element.
+     *
+     * @param row    The row of the element.
+     * @param column The column of the element.
+     * @param value  The new value.
+     * @throws IndexOutOfBoundsException if the position is outside the matrix.
+     * @throws IllegalStateException     if the matrix is read-only.
+     */
+    public void set(int row, int column, double value) {
+        checkIndex(row, column);
+        writeBlock(row, column, 1, 1, new double[][]{{value}});
+    }
+
+    /**
+     * Copies a row into an array.
+     *
+     * @param row    The row.
+     * @param target The array that receives the row, with at least {@link #getColumns()} elements.
+     * @throws IndexOutOfBoundsException if the row is outside the matrix.
+     */
+    public void readRow(int row, double[] target) {
+        checkIndex(row, 0);
+        read((long) row * columns, target, 0, columns);
+    }
+
+    /**
+     * Overwrites a row.
+     *
+     * @param row    The row.
+     * @param source The new elements of the row, with at least {@link #getColumns()} elements.
+     * @throws IndexOutOfBoundsException if the row is outside the matrix.
+     * @throws IllegalStateException     if the matrix is read-only.
+     */
+    public void writeRow(int row, double[] source) {
+        checkIndex(row, 0);
+        writeBlock(row, 0, 1, columns, new double[][]{source});
+    }
+
+    /**
+     * Copies a rectangular window of this matrix to the heap.
+     *
+     * @param row     The first row of the window.
+     * @param column  The first column of the window.
+     * @param rows    The number of rows of the window.
+     * @param columns The number of columns of the window.
+     * @return A new Matrix with the elements of the window.
+     * @throws IndexOutOfBoundsException if the window does not fit in this matrix.
+     */
+    public Matrix readTile(int row, int column, int rows, int columns) {
+        checkWindow(row, column, rows, columns);
+        double[][] tile = new double[rows][columns];
+        readBlock(row, column, rows, columns, tile);
+        return new Matrix(tile);
+    }
+
+    /**
+     * Overwrites a rectangular window of this matrix.
+     *
+     * @param row    The first row of the window.
+     * @param column The first column of the window.
+     * @param tile   The new elements of the window.
+     * @throws IndexOutOfBoundsException if the window does not fit in this matrix.
+     * @throws IllegalStateException     if the matrix is read-only.
+     */
+    public void writeTile(int row, int column, Matrix tile) {
+        checkWindow(row, column, tile.getRows(), tile.getColumns());
+        writeBlock(row, column, tile.getRows(), tile.getColumns(), tile.mtx);
+    }
+
+    /**
+     * Copies the whole matrix to the heap.
+     *
+     * @return A new Matrix with the elements of this matrix.
+     */
+    public Matrix toMatrix() {
+        return readTile(0, 0, rows, columns);
+    }
+
+    /**
+     * Multiplies two mapped matrices tile by tile, {@code C = A * B}. Only one output tile and
+     * the cached input tiles are held on the heap; each product of tiles runs on the blocked
+     * kernel of {@link BlockedBackend}.
+     *
+     * @param a The left matrix.
+     * @param b The right matrix.
+     * @param c The matrix that receives the product.
+     * @throws IllegalArgumentException if the dimensions or tile sizes differ, or C is A or B.
+     */
+    public static void multiply(MappedMatrix a, MappedMatrix b, MappedMatrix c) {
+        if (a.columns != b.rows || c.rows != a.rows || c.columns != b.columns) {
+            throw new IllegalArgumentException("The dimensions of A, B and C do not match: A is " + a.rows + "x"
+                    + a.columns + ", B is " + b.rows + "x" + b.columns + " and C is " + c.rows + "x" + c.columns + ".");
+        }
+        if (a.tileSize != b.tileSize || a.tileSize != c.tileSize) {
+            throw new IllegalArgumentException("All matrices must use the same tile size.");
+        }
+        if (c == a || c == b) {
+            throw new IllegalArgumentException("C must not be the same matrix as A or B.");
+        }
+
+        int t = c.tileSize;
+        int blockSize = Tuning.current().getGemmBlockSize();
+        OperationProbe probe = OperationProbe.begin("multiply", a.rows, b.columns, a.columns,
+                2L * a.rows * b.columns * a.columns, "mapped");
+        try {
+            for (int ii = 0; ii < c.rows; ii += t) {
+                int height = Math.min(t, c.rows - ii);
+                for (int jj = 0; jj < c.columns; jj += t) {
+                    int width = Math.min(t, c.columns - jj);
+                    double[][] result = new double[height][width];
+                    for (int kk = 0; kk < a.columns; kk += t) {
+                        int depth = Math.min(t, a.columns - kk);
+                        BlockedBackend.gemmRows(1.0, a.tile(ii, kk), false, b.tile(kk, jj), false, 1.0, result,
+                                0, height, depth, blockSize);
+                    }
+                    c.writeBlock(ii, jj, height, width, result);
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Writes the transpose of a mapped matrix into another one, one tile at a time.
+     *
+     * @param a      The matrix to transpose.
+     * @param target The matrix that receives the transpose.
+     * @throws IllegalArgumentException if the dimensions do not match or target is a.
+     */
+    public static void transpose(MappedMatrix a, MappedMatrix target) {
+        if (target.rows != a.columns || target.columns != a.rows) {
+            throw new IllegalArgumentException("The target must be " + a.columns + "x" + a.rows + ".");
+        }
+        if (target == a) {
+            throw new IllegalArgumentException("The target must not be the same matrix.");
+        }
+
+        int t = a.tileSize;
+        int blockSize = Tuning.current().getTransposeBlockSize();
+        OperationProbe probe = OperationProbe.begin("transpose", a.columns, a.rows, 0, 0, "mapped");
+        try {
+            for (int ii = 0; ii < a.rows; ii += t) {
+                int height = Math.min(t, a.rows - ii);
+                for (int jj = 0; jj < a.columns; jj += t) {
+                    int width = Math.min(t, a.columns - jj);
+                    double[][] transposed = Matrix.transpose(a.tile(ii, jj), height, width, blockSize);
+                    target.writeBlock(jj, ii, width, height, transposed);
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Computes the LU factorization with partial pivoting in place, P * A = L * U, overwriting
+     * this matrix with U on and above the diagonal and with the multipliers of L, whose diagonal
+     * is one, below it. The pivots are chosen as in {@link ScalarBackend#lu(Matrix)}.
+     *
+     * <p>The factorization is right-looking: a panel of {@link #getTileSize()} columns is read
+     * into the heap and factored, the row exchanges are applied to the rest of the file, and the
+     * trailing matrix is updated one tile at a time. The heap holds one panel and two tiles.</p>
+     *
+     * @return The permutation: row i of P * A is row {@code permutation[i]} of A.
+     * @throws IllegalArgumentException if the matrix is not square.
+     * @throws IllegalStateException    if the matrix is read-only.
+     */
+    public int[] lu() {
+        if (rows != columns) {
+            throw new IllegalArgumentException("Matrix must be square.");
+        }
+        checkWritable();
+        int n = rows;
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+        int blockSize = Tuning.current().getGemmBlockSize();
+        double[] rowK = new double[n];
+        double[] rowP = new double[n];
+
+        OperationProbe probe = OperationProbe.begin("lu", n, n, n, 2L * n * n * n / 3, "mapped");
+        try {
+            for (int k = 0; k < n; k += tileSize) {
+                int width = Math.min(tileSize, n - k);
+                double[][] panel = new double[n - k][width];
+                readBlock(k, k, n - k, width, panel);
+
+                for (int j = 0; j < width; j++) {
+                    int pivot = j;
+                    for (int i = j + 1; i < panel.length; i++) {
+                        if (Math.abs(panel[i][j]) > Math.abs(panel[pivot][j])) {
+                            pivot = i;
+                        }
+                    }
+                    if (pivot != j) {
+                        double[] temp = panel[j];
+                        panel[j] = panel[pivot];
+                        panel[pivot] = temp;
+                        int index = permutation[k + j];
+                        permutation[k + j] = permutation[k + pivot];
+                        permutation[k + pivot] = index;
+                        // A troca da linha inteira no arquivo; as colunas do painel são gravadas depois.
+                        readRow(k + j, rowK);
+                        readRow(k + pivot, rowP);
+                        writeRow(k + j, rowP);
+                        writeRow(k + pivot, rowK);
+                    }
+                    double diagonal = panel[j][j];
+                    if (diagonal == 0) {
+                        continue;
+                    }
+                    for (int i = j + 1; i < panel.length; i++) {
+                        double[] row = panel[i];
+                        double factor = row[j] / diagonal;
+                        row[j] = factor;
+                        double[] pivotRow = panel[j];
+                        for (int c = j + 1; c < width; c++) {
+                            row[c] -= factor * pivotRow[c];
+                        }
+                    }
+                }
+                writeBlock(k, k, n - k, width, panel);
+
+                for (int jj = k + width; jj < n; jj += tileSize) {
+                    int tileWidth = Math.min(tileSize, n - jj);
+                    // U12 = L11^-1 * A12, com L11 unitária.
+                    double[][] upper = new double[width][tileWidth];
+                    readBlock(k, jj, width, tileWidth, upper);
+                    for (int i = 1; i < width; i++) {
+                        double[] row = upper[i];
+                        for (int p = 0; p < i; p++) {
+                            double factor = panel[i][p];
+                            double[] source = upper[p];
+                            for (int c = 0; c < tileWidth; c++) {
+                                row[c] -= factor * source[c];
+                            }
+                        }
+                    }
+                    writeBlock(k, jj, width, tileWidth, upper);
+
+                    // A22 -= L21 * U12, um ladrilho por vez.
+                    for (int ii = k + width; ii < n; ii += tileSize) {
+                        int height = Math.min(tileSize, n - ii);
+                        double[][] tile = new double[height][tileWidth];
+                        readBlock(ii, jj, height, tileWidth, tile);
+                        double[][] lower = Arrays.copyOfRange(panel, ii - k, ii - k + height);
+                        BlockedBackend.gemmRows(-1.0, lower, false, upper, false, 1.0, tile, 0, height, width,
+                                blockSize);
+                        writeBlock(ii, jj, height, tileWidth, tile);
+                    }
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+        return permutation;
+    }
+
+    /**
+     * Writes pending changes to the storage device.
+     */
+    public void flush() {
+        ensureOpen();
+        if (!readOnly) {
+            for (MappedByteBuffer mapping : mappings) {
+                mapping.force();
+            }
+        }
+    }
+
+    /**
+     * Flushes the changes, drops the tile cache and closes the file.
+     *
+     * @throws UncheckedIOException if the file cannot be closed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        cache.clear();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the tile whose top-left element is {@code (row, column)} from the cache, reading it
+     * from the file on a miss. The returned arrays are shared and must not be modified.
+     */
+    double[][] tile(int row, int column) {
+        long key = ((long) (row / tileSize) << 32) | (column / tileSize);
+        double[][] tile = cache.get(key);
+        if (tile == null) {
+            int height = Math.min(tileSize, rows - row);
+            int width = Math.min(tileSize, columns - column);
+            tile = new double[height][width];
+            readBlock(row, column, height, width, tile);
+            cache.put(key, tile, 8L * height * width);
+        }
+        return tile;
+    }
+
+    /**
+     * Gets the bytes of the tiles in the cache.
+     */
+    long cachedBytes() {
+        return cache.bytes();
+    }
+
+    void readBlock(int row, int column, int height, int width, double[][] target) {
+        for (int i = 0; i < height; i++) {
+            read((long) (row + i) * columns + column, target[i], 0, width);
+        }
+    }
+
+    /**
+     * Writes a block to the file and to the cached tiles that overlap it.
+     */
+    void writeBlock(int row, int column, int height, int width, double[][] source) {
+        checkWritable();
+        for (int i = 0; i < height; i++) {
+            write((long) (row + i) * columns + column, source[i], 0, width);
+        }
+        if (cache.size() == 0) {
+            return;
+        }
+        for (int ti = row / tileSize; ti <= (row + height - 1) / tileSize; ti++) {
+            for (int tj = column / tileSize; tj <= (column + width - 1) / tileSize; tj++) {
+                double[][] tile = cache.get(((long) ti << 32) | tj);
+                if (tile == null) {
+                    continue;
+                }
+                int top = ti * tileSize;
+                int left = tj * tileSize;
+                int firstRow = Math.max(row, top);
+                int lastRow = Math.min(row + height, top + tile.length);
+                int firstColumn = Math.max(column, left);
+                int lastColumn = Math.min(column + width, left + tile[0].length);
+                for (int i = firstRow; i < lastRow; i++) {
+                    System.arraycopy(source[i - row], firstColumn - column, tile[i - top], firstColumn - left,
+                            lastColumn - firstColumn);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies {@code length} elements starting at a row-major element index, splitting the copy
+     * where it crosses the boundary between two mappings.
+     */
+    private void read(long index, double[] target, int targetOffset, int length) {
+        ensureOpen();
+        while (length > 0) {
+            int chunk = (int) (index >>> chunkShift);
+            int position = (int) (index & ((1L << chunkShift) - 1));
+            int count = Math.min(length, chunks[chunk].capacity() - position);
+            chunks[chunk].get(position, target, targetOffset, count);
+            index += count;
+            targetOffset += count;
+            length -= count;
+        }
+    }
+
+    private void write(long index, double[] source, int sourceOffset, int length) {
+        ensureOpen();
+        while (length > 0) {
+            int chunk = (int) (index >>> chunkShift);
+            int position = (int) (index & ((1L << chunkShift) - 1));
+            int count = Math.min(length, chunks[chunk].capacity() - position);
+            chunks[chunk].put(position, source, sourceOffset, count);
+            index += count;
+            sourceOffset += count;
+            length -= count;
+        }
+    }
+
+    private void checkIndex(int row, int column) {
+        if (row < 0 || row >= rows || column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + column + ") out of bounds for a "
+                    + rows + "x" + columns + " matrix.");
+        }
+    }
+
+    private void checkWindow(int row, int column, int height, int width) {
+        if (row < 0 || column < 0 || height <= 0 || width <= 0
+                || row + height > rows || column + width > columns) {
+            throw new IndexOutOfBoundsException("Window " + height + "x" + width + " at (" + row + ", " + column
+                    + ") does not fit in a " + rows + "x" + columns + " matrix.");
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("MappedMatrix is read-only.");
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("MappedMatrix is closed.");
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // O erro original é mais útil para quem chamou.
+            }
+        }
+    }
+
+    /**
+     * Least-recently-used map of tiles, bounded by the bytes of the tiles it holds.
+     */
+    static final class TileCache {
+
+        private final LinkedHashMap<Long, double[][]> tiles = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maxBytes;
+        private long bytes;
+
+        TileCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        double[][] get(long key) {
+            return tiles.get(key);
+        }
+
+        void put(long key, double[][] tile, long tileBytes) {
+            double[][] replaced = tiles.put(key, tile);
+            bytes += tileBytes;
+            if (replaced != null) {
+                bytes -= bytesOf(replaced);
+            }
+            Iterator<double[][]> eldest = tiles.values().iterator();
+            while (bytes > maxBytes && tiles.size() > 1) {
+                bytes -= bytesOf(eldest.next());
+                eldest.remove();
+            }
+        }
+
+        int size() {
+            return tiles.size();
+        }
+
+        long bytes() {
+            return bytes;
+        }
+
+        void clear() {
+            tiles.clear();
+            bytes = 0;
+        }
+
+        private static long bytesOf(double[][] tile) {
+            return 8L * tile.length * tile[0].length;
+        }
+    }
+}
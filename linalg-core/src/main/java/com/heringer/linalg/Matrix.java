@@ -0,0 +1,1295 @@
+package com.heringer.linalg;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Represents a mathematical matrix with double-precision floating-point elements.
+ * This class provides basic matrix operations such as addition, subtraction,
+ * multiplication, transpose, inverse, determinant, and other matrix properties.
+ *
+ * @author Emílio Heringer
+ */
+public class Matrix implements IMatrix {
+
+   
+    /**
+     * The 2D array representing the matrix elements.
+     */
+    public double[][] mtx;
+    /**
+     * The number of rows in the matrix.
+     */
+    private int row;
+    /**
+     * The number of columns in the matrix.
+     */
+    private int columns;
+
+    /**
+     * Constructs a Matrix from a 2D array of doubles.
+     * The constructor initializes the matrix with the provided 2D array.
+     * If the input matrix is null or empty, it throws an IllegalArgumentException.
+     *
+     * @param matrix The 2D array of doubles to initialize the matrix.
+     * @throws IllegalArgumentException if the matrix is null or empty.
+     */
+    public Matrix(double[][] matrix) {
+        if (matrix == null || matrix.length == 0 || matrix[0].length == 0) {
+            throw new IllegalArgumentException("Matrix cannot be null or empty.");
+        }
+        this.mtx = matrix;
+        this.row = matrix.length;
+        this.columns = matrix[0].length;
+    }
+
+    /**
+     * Constructs a Matrix by copying another Matrix.
+     * The constructor creates a new matrix with the same dimensions and elements
+     * as the provided matrix.
+     *
+     * @param other The Matrix to copy.
+     */
+    public Matrix(Matrix other) {
+        this.row = other.mtx.length;
+        this.columns = other.mtx[0].length;
+        this.mtx = new double[row][columns];
+        for (int i = 0; i < row; i++) {
+            this.mtx[i] = other.mtx[i].clone();
+        }
+    }
+
+    /**
+     * Constructs a Matrix with specified dimensions.
+     * The constructor creates a new matrix with the given number of rows and columns,
+     * and initializes all elements to zero.
+     *
+     * @param n The number of rows.
+     * @param i The number of columns.
+     * @throws IllegalArgumentException if the dimensions are not positive.
+     */
+    public Matrix(int n, int i) {
+        if (n <= 0 || i <= 0) {
+            throw new IllegalArgumentException("Matrix dimensions must be positive.");
+        }
+        this.row = n;
+        this.columns = i;
+        this.mtx = new double[n][i];
+    }
+
+    /**
+     * Gets the number of rows in the matrix.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return this.row;
+    }
+
+    /**
+     * Gets the number of columns in the matrix.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return this.columns;
+    }
+
+    /**
+     * Gets the 2D array representing the matrix elements.
+     *
+     * @return The 2D array of doubles representing the matrix.
+     */
+    public double[][] getMatrix() {
+        return mtx;
+    }
+
+    /**
+     * Displays the matrix in a formatted output to the console.
+     * Uses ANSI escape codes to color the output for better readability.
+     */
+    public void showMatrix() {
+        final String ANSI_YELLOW = "\u001B[33m";
+        final String ANSI_RESET = "\u001B[0m";
+        final String BORDER = ANSI_YELLOW + "----------" + ANSI_RESET;
+
+        for (int i = 0; i < row; i++) {
+            for (int j = 0; j < columns; j++) {
+                System.out.print(BORDER + " ");
+            }
+            System.out.println();
+
+            for (int j = 0; j < columns; j++) {
+                System.out.print(ANSI_YELLOW + "|" + ANSI_RESET);
+                String number = String.format("%.3f", mtx[i][j]);
+                int totalWidth = 10;
+                int padding = (totalWidth - number.length()) / 2;
+                String paddedNumber = " ".repeat(padding) + number + " ".repeat(totalWidth - padding - number.length());
+                System.out.print(paddedNumber);
+            }
+            System.out.print(ANSI_YELLOW + "|" + ANSI_RESET);
+            System.out.println();
+        }
+
+        for (int j = 0; j < columns; j++) {
+            System.out.print(BORDER + " ");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Computes the sum of two Matrix objects.
+     * This is a static method that returns a new Matrix containing the sum.
+     *
+     * @param a The first Matrix.
+     * @param b The second Matrix.
+     * @return A new Matrix that is the sum of a and b.
+     * @throws IllegalArgumentException if the matrices have different dimensions.
+     */
+    public static Matrix sum(Matrix a, Matrix b) {
+        if (a.getRows() != b.getRows() || a.getColumns() != b.getColumns()) {
+            throw new IllegalArgumentException("Matrix must have same number of rows and columns.");
+        }
+
+        return Backends.forOperation(BackendOperation.ELEMENTWISE).add(a, b);
+    }
+
+    /**
+     * Adds another Matrix to this Matrix.
+     * This method returns a new Matrix containing the sum.
+     *
+     * @param other The Matrix to add to this matrix.
+     * @return A new Matrix that is the sum of this matrix and other.
+     * @throws IllegalArgumentException if the matrices have different dimensions.
+     */
+    public Matrix add(Matrix other) {
+        if (this.row != other.row || this.columns != other.columns) {
+            throw new IllegalArgumentException("Matrices must have the same dimensions.");
+        }
+
+        return Backends.forOperation(BackendOperation.ELEMENTWISE).add(this, other);
+    }
+
+    /**
+     * Computes the subtraction of two Matrix objects.
+     * This is a static method that returns a new Matrix containing the result.
+     *
+     * @param a The first Matrix.
+     * @param b The second Matrix.
+     * @return A new Matrix that is the result of a - b.
+     * @throws IllegalArgumentException if the matrices have different dimensions.
+     */
+    public static Matrix subtraction(Matrix a, Matrix b) {
+        if (a.getRows() != b.getRows() || a.getColumns() != b.getColumns()) {
+            throw new IllegalArgumentException("Matrix must have same number of rows and columns.");
+        }
+
+        return Backends.forOperation(BackendOperation.ELEMENTWISE).subtract(a, b);
+    }
+
+    /**
+     * Subtracts another Matrix from this Matrix.
+     * This method returns a new Matrix containing the result.
+     *
+     * @param other The Matrix to subtract from this matrix.
+     * @return A new Matrix that is the result of this matrix - other.
+     * @throws IllegalArgumentException if the matrices have different dimensions.
+     */
+    public Matrix subtract(Matrix other) {
+        if (this.row != other.row || this.columns != other.columns) {
+            throw new IllegalArgumentException("Matrices must have the same dimensions.");
+        }
+
+        return Backends.forOperation(BackendOperation.ELEMENTWISE).subtract(this, other);
+    }
+
+    /**
+     * Multiplies two Matrix objects.
+     * This is a static method that returns a new Matrix containing the result.
+     *
+     * @param a The first Matrix.
+     * @param b The second Matrix.
+     * @return A new Matrix that is the result of a * b.
+     * @throws IllegalArgumentException if the number of columns of A does not match the number of rows of B.
+     */
+    public static Matrix multiply(Matrix a, Matrix b) {
+        return multiply(a, b, Backends.forOperation(BackendOperation.GEMM));
+    }
+
+    /**
+     * Multiplies two Matrix objects using a specific backend.
+     * This is a static method that returns a new Matrix containing the result.
+     *
+     * @param a       The first Matrix.
+     * @param b       The second Matrix.
+     * @param backend The backend that performs the multiplication.
+     * @return A new Matrix that is the result of a * b.
+     * @throws IllegalArgumentException if the number of columns of A does not match the number of rows of B.
+     */
+    public static Matrix multiply(Matrix a, Matrix b, IBackend backend) {
+        if (a.getColumns() != b.getRows()) {
+            throw new IllegalArgumentException(
+                    "O número de colunas da matriz A deve ser igual ao número de linhas da matriz B.");
+        }
+
+        OperationProbe probe = OperationProbe.begin("multiply", a.getRows(), b.getColumns(), a.getColumns(),
+                2L * a.getRows() * b.getColumns() * a.getColumns(), backend.name());
+        try {
+            return backend.multiply(a, b);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Multiplies this Matrix with another Matrix.
+     * This method returns a new Matrix containing the result.
+     *
+     * @param other The Matrix to multiply with this matrix.
+     * @return A new Matrix that is the result of this matrix * other.
+     * @throws IllegalArgumentException if the number of columns of this matrix does not match the number of rows of the other matrix.
+     */
+    public Matrix multiply(Matrix other) {
+        if (this.columns != other.row) {
+            throw new IllegalArgumentException(
+                    "O número de colunas desta matriz deve ser igual ao número de linhas da outra matriz.");
+        }
+
+        IBackend backend = Backends.forOperation(BackendOperation.GEMM);
+        OperationProbe probe = OperationProbe.begin("multiply", this.row, other.columns, this.columns,
+                2L * this.row * other.columns * this.columns, backend.name());
+        try {
+            return backend.multiply(this, other);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * General matrix multiply-accumulate, {@code C = alpha * op(A) * op(B) + beta * C},
+     * where {@code op(X)} is X or its transpose, computed in a single pass without
+     * transposed copies or temporary matrices. C is updated in place; when {@code beta}
+     * is zero its previous contents are ignored.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The left Matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param b      The right Matrix.
+     * @param transB Whether to use the transpose of B.
+     * @param beta   The multiple of the previous contents of C.
+     * @param c      The Matrix that receives the result.
+     * @throws IllegalArgumentException if the dimensions are incompatible or C is the same object as A or B.
+     */
+    public static void gemm(double alpha, Matrix a, boolean transA, Matrix b, boolean transB, double beta, Matrix c) {
+        gemm(alpha, a, transA, b, transB, beta, c, Backends.forOperation(BackendOperation.GEMM));
+    }
+
+    /**
+     * General matrix multiply-accumulate using a specific backend.
+     *
+     * @param alpha   The multiple of the product.
+     * @param a       The left Matrix.
+     * @param transA  Whether to use the transpose of A.
+     * @param b       The right Matrix.
+     * @param transB  Whether to use the transpose of B.
+     * @param beta    The multiple of the previous contents of C.
+     * @param c       The Matrix that receives the result.
+     * @param backend The backend that performs the operation.
+     * @throws IllegalArgumentException if the dimensions are incompatible or C is the same object as A or B.
+     * @see #gemm(double, Matrix, boolean, Matrix, boolean, double, Matrix)
+     */
+    public static void gemm(double alpha, Matrix a, boolean transA, Matrix b, boolean transB, double beta, Matrix c,
+                            IBackend backend) {
+        int rows = transA ? a.getColumns() : a.getRows();
+        int inner = transA ? a.getRows() : a.getColumns();
+        int innerB = transB ? b.getColumns() : b.getRows();
+        int columns = transB ? b.getRows() : b.getColumns();
+        if (inner != innerB || c.getRows() != rows || c.getColumns() != columns) {
+            throw new IllegalArgumentException("The dimensions of A, B and C do not match: op(A) is " + rows + "x"
+                    + inner + ", op(B) is " + innerB + "x" + columns + " and C is " + c.getRows() + "x" + c.getColumns() + ".");
+        }
+        if (c == a || c == b) {
+            throw new IllegalArgumentException("C must not be the same matrix as A or B.");
+        }
+
+        OperationProbe probe = OperationProbe.begin("gemm", rows, columns, inner,
+                2L * rows * columns * inner, backend.name());
+        try {
+            backend.gemm(alpha, a, transA, b, transB, beta, c);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Computes the Gram matrix A<sup>T</sup> * A, the matrix of dot products between the columns
+     * of A. Only one triangle is computed and then mirrored, which takes half the work of
+     * {@code multiply(a.transpose(), a)} and does not copy A.
+     *
+     * @param a The Matrix.
+     * @return A new symmetric Matrix with one row and one column per column of A.
+     */
+    public static Matrix gram(Matrix a) {
+        Matrix result = new Matrix(a.getColumns(), a.getColumns());
+        syrk(1.0, a, true, 0.0, result);
+        return result;
+    }
+
+    /**
+     * Symmetric rank-k update, {@code C = alpha * op(A) * op(A)<sup>T</sup> + beta * C}, where
+     * {@code op(A)} is A or its transpose: with {@code transA} it accumulates A<sup>T</sup> * A,
+     * otherwise A * A<sup>T</sup>. Only the lower triangle of C is read and computed, and it
+     * is mirrored onto the upper one, so C is symmetric on return. When {@code beta} is zero
+     * the previous contents of C are ignored.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The Matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param beta   The multiple of the previous contents of C.
+     * @param c      The square Matrix that receives the result.
+     * @throws IllegalArgumentException if the dimensions are incompatible or C is the same object as A.
+     */
+    public static void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c) {
+        syrk(alpha, a, transA, beta, c, Backends.forOperation(BackendOperation.GEMM));
+    }
+
+    /**
+     * Symmetric rank-k update using a specific backend.
+     *
+     * @param alpha   The multiple of the product.
+     * @param a       The Matrix.
+     * @param transA  Whether to use the transpose of A.
+     * @param beta    The multiple of the previous contents of C.
+     * @param c       The square Matrix that receives the result.
+     * @param backend The backend that performs the operation.
+     * @throws IllegalArgumentException if the dimensions are incompatible or C is the same object as A.
+     * @see #syrk(double, Matrix, boolean, double, Matrix)
+     */
+    public static void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c, IBackend backend) {
+        int rows = transA ? a.getColumns() : a.getRows();
+        int inner = transA ? a.getRows() : a.getColumns();
+        if (c.getRows() != rows || c.getColumns() != rows) {
+            throw new IllegalArgumentException("The dimensions of A and C do not match: op(A) is " + rows + "x"
+                    + inner + " and C is " + c.getRows() + "x" + c.getColumns() + ".");
+        }
+        if (c == a) {
+            throw new IllegalArgumentException("C must not be the same matrix as A.");
+        }
+
+        OperationProbe probe = OperationProbe.begin("syrk", rows, rows, inner,
+                (long) rows * (rows + 1) * inner, backend.name());
+        try {
+            backend.syrk(alpha, a, transA, beta, c);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Multiplies this Matrix by a column vector, without wrapping the vector in a matrix.
+     *
+     * @param vector The Vector to multiply, with one element per column of this matrix.
+     * @return A new Vector with one element per row, the result of this matrix * vector.
+     * @throws IllegalArgumentException if the length of the vector does not match the number of columns.
+     */
+    public Vector multiply(Vector vector) {
+        Vector result = new Vector(new double[this.row]);
+        gemv(1.0, this, false, vector, 0.0, result);
+        return result;
+    }
+
+    /**
+     * Multiplies the transpose of this Matrix by a column vector, without transposing the matrix.
+     *
+     * @param vector The Vector to multiply, with one element per row of this matrix.
+     * @return A new Vector with one element per column, the result of this matrix<sup>T</sup> * vector.
+     * @throws IllegalArgumentException if the length of the vector does not match the number of rows.
+     */
+    public Vector multiplyTransposed(Vector vector) {
+        Vector result = new Vector(new double[this.columns]);
+        gemv(1.0, this, true, vector, 0.0, result);
+        return result;
+    }
+
+    /**
+     * General matrix-vector multiply-accumulate, {@code y = alpha * op(A) * x + beta * y},
+     * where {@code op(A)} is A or its transpose. y is updated in place and nothing is
+     * allocated, which makes this the kernel of choice inside iterative methods. When
+     * {@code beta} is zero the previous contents of y are ignored.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The Matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param x      The input Vector.
+     * @param beta   The multiple of the previous contents of y.
+     * @param y      The Vector that receives the result.
+     * @throws IllegalArgumentException if the lengths are incompatible or y shares its elements with x.
+     */
+    public static void gemv(double alpha, Matrix a, boolean transA, Vector x, double beta, Vector y) {
+        gemv(alpha, a, transA, x, beta, y, Backends.forOperation(BackendOperation.GEMM));
+    }
+
+    /**
+     * General matrix-vector multiply-accumulate using a specific backend.
+     *
+     * @param alpha   The multiple of the product.
+     * @param a       The Matrix.
+     * @param transA  Whether to use the transpose of A.
+     * @param x       The input Vector.
+     * @param beta    The multiple of the previous contents of y.
+     * @param y       The Vector that receives the result.
+     * @param backend The backend that performs the operation.
+     * @throws IllegalArgumentException if the lengths are incompatible or y shares its elements with x.
+     * @see #gemv(double, Matrix, boolean, Vector, double, Vector)
+     */
+    public static void gemv(double alpha, Matrix a, boolean transA, Vector x, double beta, Vector y,
+                            IBackend backend) {
+        int rows = transA ? a.getColumns() : a.getRows();
+        int inner = transA ? a.getRows() : a.getColumns();
+        double[] input = x.getVector();
+        double[] output = y.getVector();
+        if (input == null || output == null || input.length != inner || output.length != rows) {
+            throw new IllegalArgumentException("The dimensions of A, x and y do not match: op(A) is " + rows + "x"
+                    + inner + ", x has " + (input == null ? 0 : input.length) + " elements and y has "
+                    + (output == null ? 0 : output.length) + ".");
+        }
+        if (input == output) {
+            throw new IllegalArgumentException("y must not share its elements with x.");
+        }
+
+        OperationProbe probe = OperationProbe.begin("gemv", rows, 1, inner, 2L * rows * inner, backend.name());
+        try {
+            backend.gemv(alpha, a, transA, input, beta, output);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Multiplies two views without copying them first.
+     * The views may be transposed, windows of a larger matrix or strided flat storage;
+     * rows that are contiguous in memory are streamed directly.
+     *
+     * @param a The left-hand view.
+     * @param b The right-hand view.
+     * @return A new Matrix that is the result of a * b.
+     * @throws IllegalArgumentException if the number of columns of A does not match the number of rows of B.
+     */
+    public static Matrix multiply(MatrixView a, MatrixView b) {
+        if (a.getColumns() != b.getRows()) {
+            throw new IllegalArgumentException(
+                    "O número de colunas da matriz A deve ser igual ao número de linhas da matriz B.");
+        }
+
+        int rows = a.getRows();
+        int inner = a.getColumns();
+        int columns = b.getColumns();
+        OperationProbe probe = OperationProbe.begin("multiply", rows, columns, inner,
+                2L * rows * columns * inner, "view");
+        try {
+            double[][] result = new double[rows][columns];
+            if (inner == 0 || rows == 0 || columns == 0) {
+                return new Matrix(result);
+            }
+            MatrixView bTransposed = b.transpose();
+            if (b.contiguousRow(0) == null && bTransposed.contiguousRow(0) != null && a.contiguousRow(0) != null) {
+                // B é a transposta de uma matriz armazenada por linhas: cada elemento é um produto escalar contíguo.
+                for (int i = 0; i < rows; i++) {
+                    double[] rowA = a.contiguousRow(i);
+                    int offsetA = a.contiguousOffset(i);
+                    for (int j = 0; j < columns; j++) {
+                        double[] rowB = bTransposed.contiguousRow(j);
+                        int offsetB = bTransposed.contiguousOffset(j);
+                        double sum = 0.0;
+                        for (int k = 0; k < inner; k++) {
+                            sum += rowA[offsetA + k] * rowB[offsetB + k];
+                        }
+                        result[i][j] = sum;
+                    }
+                }
+                return new Matrix(result);
+            }
+            for (int i = 0; i < rows; i++) {
+                double[] rowC = result[i];
+                for (int k = 0; k < inner; k++) {
+                    double aik = a.at(i, k);
+                    double[] rowB = b.contiguousRow(k);
+                    if (rowB != null) {
+                        int offsetB = b.contiguousOffset(k);
+                        for (int j = 0; j < columns; j++) {
+                            rowC[j] += aik * rowB[offsetB + j];
+                        }
+                    } else {
+                        for (int j = 0; j < columns; j++) {
+                            rowC[j] += aik * b.at(k, j);
+                        }
+                    }
+                }
+            }
+            return new Matrix(result);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Computes the sum of two views element by element, without copying them first.
+     *
+     * @param a The first view.
+     * @param b The second view.
+     * @return A new Matrix that is the sum of a and b.
+     * @throws IllegalArgumentException if the views have different dimensions.
+     */
+    public static Matrix sum(MatrixView a, MatrixView b) {
+        return combine(a, b, 1.0);
+    }
+
+    /**
+     * Computes the subtraction of two views element by element, without copying them first.
+     *
+     * @param a The first view.
+     * @param b The second view.
+     * @return A new Matrix that is the result of a - b.
+     * @throws IllegalArgumentException if the views have different dimensions.
+     */
+    public static Matrix subtraction(MatrixView a, MatrixView b) {
+        return combine(a, b, -1.0);
+    }
+
+    /**
+     * Multiplies a view by a scalar value, without copying it first.
+     *
+     * @param matrix The view to multiply.
+     * @param scalar The scalar value to multiply the view by.
+     * @return A new Matrix that is the result of the scalar multiplication.
+     */
+    public static Matrix multiplyByScalar(MatrixView matrix, double scalar) {
+        double[][] result = new double[matrix.getRows()][matrix.getColumns()];
+        for (int i = 0; i < result.length; i++) {
+            double[] row = result[i];
+            for (int j = 0; j < row.length; j++) {
+                row[j] = matrix.at(i, j) * scalar;
+            }
+        }
+        return new Matrix(result);
+    }
+
+    private static Matrix combine(MatrixView a, MatrixView b, double sign) {
+        if (a.getRows() != b.getRows() || a.getColumns() != b.getColumns()) {
+            throw new IllegalArgumentException("Matrix must have same number of rows and columns.");
+        }
+        double[][] result = new double[a.getRows()][a.getColumns()];
+        for (int i = 0; i < result.length; i++) {
+            double[] row = result[i];
+            for (int j = 0; j < row.length; j++) {
+                row[j] = a.at(i, j) + sign * b.at(i, j);
+            }
+        }
+        return new Matrix(result);
+    }
+
+    /**
+     * General matrix multiply-accumulate over views, {@code C = alpha * op(A) * op(B) + beta * C}.
+     * C may be a window of a larger matrix, such as the trailing block of a blocked
+     * factorization, and is updated in place through the view. When {@code beta} is zero
+     * the previous contents of C are ignored.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The left view.
+     * @param transA Whether to use the transpose of A.
+     * @param b      The right view.
+     * @param transB Whether to use the transpose of B.
+     * @param beta   The multiple of the previous contents of C.
+     * @param c      The view that receives the result. It must not overlap A or B.
+     * @throws IllegalArgumentException if the dimensions are incompatible.
+     * @see #gemm(double, Matrix, boolean, Matrix, boolean, double, Matrix)
+     */
+    public static void gemm(double alpha, MatrixView a, boolean transA, MatrixView b, boolean transB, double beta,
+                            MatrixView c) {
+        MatrixView opA = transA ? a.transpose() : a;
+        MatrixView opB = transB ? b.transpose() : b;
+        int rows = opA.getRows();
+        int inner = opA.getColumns();
+        int columns = opB.getColumns();
+        if (opB.getRows() != inner || c.getRows() != rows || c.getColumns() != columns) {
+            throw new IllegalArgumentException("The dimensions of A, B and C do not match: op(A) is " + rows + "x"
+                    + inner + ", op(B) is " + opB.getRows() + "x" + columns + " and C is " + c.getRows() + "x"
+                    + c.getColumns() + ".");
+        }
+
+        OperationProbe probe = OperationProbe.begin("gemm", rows, columns, inner,
+                2L * rows * columns * inner, "view");
+        try {
+            boolean empty = inner == 0 || columns == 0 || alpha == 0;
+            // Quando as colunas de op(B) são contíguas, cada elemento de C é um produto escalar.
+            boolean dots = !empty && opB.contiguousRow(0) == null && opB.transpose().contiguousRow(0) != null;
+            MatrixView columnsB = opB.transpose();
+            for (int i = 0; i < rows; i++) {
+                VectorView rowC = c.row(i);
+                scaleOrClear(rowC, beta);
+                if (empty) {
+                    continue;
+                }
+                if (dots) {
+                    VectorView rowA = opA.row(i);
+                    for (int j = 0; j < columns; j++) {
+                        rowC.put(j, rowC.at(j) + alpha * rowA.dot(columnsB.row(j)));
+                    }
+                } else {
+                    for (int k = 0; k < inner; k++) {
+                        double aik = alpha * opA.at(i, k);
+                        if (aik != 0) {
+                            rowC.axpy(aik, opB.row(k));
+                        }
+                    }
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * General matrix-vector multiply-accumulate over views, {@code y = alpha * op(A) * x + beta * y}.
+     * y is updated in place through the view. When {@code beta} is zero its previous contents
+     * are ignored.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The view of the matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param x      The view of the input vector.
+     * @param beta   The multiple of the previous contents of y.
+     * @param y      The view that receives the result. It must not overlap A or x.
+     * @throws IllegalArgumentException if the lengths are incompatible.
+     * @see #gemv(double, Matrix, boolean, Vector, double, Vector)
+     */
+    public static void gemv(double alpha, MatrixView a, boolean transA, VectorView x, double beta, VectorView y) {
+        MatrixView op = transA ? a.transpose() : a;
+        int rows = op.getRows();
+        int inner = op.getColumns();
+        if (x.length() != inner || y.length() != rows) {
+            throw new IllegalArgumentException("The dimensions of A, x and y do not match: op(A) is " + rows + "x"
+                    + inner + ", x has " + x.length() + " elements and y has " + y.length() + ".");
+        }
+
+        OperationProbe probe = OperationProbe.begin("gemv", rows, 1, inner, 2L * rows * inner, "view");
+        try {
+            scaleOrClear(y, beta);
+            if (rows == 0 || inner == 0 || alpha == 0) {
+                return;
+            }
+            if (op.contiguousRow(0) != null || op.transpose().contiguousRow(0) == null) {
+                for (int i = 0; i < rows; i++) {
+                    y.put(i, y.at(i) + alpha * op.row(i).dot(x));
+                }
+            } else {
+                // As colunas de op(A) são contíguas: y acumula uma coluna por elemento de x.
+                for (int k = 0; k < inner; k++) {
+                    double xk = alpha * x.at(k);
+                    if (xk != 0) {
+                        y.axpy(xk, op.column(k));
+                    }
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Symmetric rank-k update over views, {@code C = alpha * op(A) * op(A)<sup>T</sup> + beta * C}.
+     * Only the lower triangle of C is read and computed, and it is mirrored onto the upper one
+     * through the view. When {@code beta} is zero the previous contents of C are ignored.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The view of the matrix.
+     * @param transA Whether to use the transpose of A, which accumulates A<sup>T</sup> * A.
+     * @param beta   The multiple of the previous contents of C.
+     * @param c      The square view that receives the result. It must not overlap A.
+     * @throws IllegalArgumentException if the dimensions are incompatible.
+     * @see #syrk(double, Matrix, boolean, double, Matrix)
+     */
+    public static void syrk(double alpha, MatrixView a, boolean transA, double beta, MatrixView c) {
+        MatrixView op = transA ? a.transpose() : a;
+        int rows = op.getRows();
+        int inner = op.getColumns();
+        if (c.getRows() != rows || c.getColumns() != rows) {
+            throw new IllegalArgumentException("The dimensions of A and C do not match: op(A) is " + rows + "x"
+                    + inner + " and C is " + c.getRows() + "x" + c.getColumns() + ".");
+        }
+
+        OperationProbe probe = OperationProbe.begin("syrk", rows, rows, inner,
+                (long) rows * (rows + 1) * inner, "view");
+        try {
+            for (int i = 0; i < rows; i++) {
+                scaleOrClear(c.row(i).slice(0, i + 1), beta);
+            }
+            if (rows > 0 && inner > 0 && alpha != 0) {
+                if (op.contiguousRow(0) == null && op.transpose().contiguousRow(0) != null) {
+                    // As colunas de op(A) são contíguas (A^T A de uma matriz por linhas):
+                    // o triângulo acumula uma atualização de posto um por coluna.
+                    for (int k = 0; k < inner; k++) {
+                        VectorView column = op.column(k);
+                        for (int i = 0; i < rows; i++) {
+                            double aik = alpha * column.at(i);
+                            if (aik != 0) {
+                                c.row(i).slice(0, i + 1).axpy(aik, column.slice(0, i + 1));
+                            }
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < rows; i++) {
+                        VectorView rowA = op.row(i);
+                        for (int j = 0; j <= i; j++) {
+                            c.put(i, j, c.at(i, j) + alpha * rowA.dot(op.row(j)));
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < i; j++) {
+                    c.put(j, i, c.at(i, j));
+                }
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    private static void scaleOrClear(VectorView view, double beta) {
+        if (beta == 0) {
+            for (int i = 0; i < view.length(); i++) {
+                view.put(i, 0.0);
+            }
+        } else if (beta != 1) {
+            view.scale(beta);
+        }
+    }
+
+    /**
+     * Creates a view over this Matrix. Writes through the view change this matrix.
+     *
+     * @return A view of every element of this matrix.
+     */
+    public MatrixView view() {
+        return MatrixView.of(this);
+    }
+
+    /**
+     * Creates a transposed view over this Matrix, without copying it.
+     *
+     * @return A view whose element (i, j) is element (j, i) of this matrix.
+     */
+    public MatrixView transposedView() {
+        return MatrixView.of(this).transpose();
+    }
+
+    /**
+     * Creates a view over a rectangular window of this Matrix, without copying it.
+     *
+     * @param row     The first row of the window.
+     * @param column  The first column of the window.
+     * @param rows    The number of rows of the window.
+     * @param columns The number of columns of the window.
+     * @return The view of the window.
+     * @throws IndexOutOfBoundsException if the window does not fit in this matrix.
+     */
+    public MatrixView submatrix(int row, int column, int rows, int columns) {
+        return MatrixView.of(this).submatrix(row, column, rows, columns);
+    }
+
+    /**
+     * Creates a view over one row of this Matrix, without copying it.
+     *
+     * @param row The row index.
+     * @return The view of the row.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public VectorView rowView(int row) {
+        return MatrixView.of(this).row(row);
+    }
+
+    /**
+     * Creates a view over one column of this Matrix, without copying it.
+     *
+     * @param column The column index.
+     * @return The view of the column.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public VectorView columnView(int column) {
+        return MatrixView.of(this).column(column);
+    }
+
+    /**
+     * Creates an identity Matrix of the specified size.
+     * An identity matrix is a square matrix with ones on the main diagonal and zeros elsewhere.
+     *
+     * @param rows    The number of rows (and columns) in the identity matrix.
+     * @param columns The number of columns (and rows) in the identity matrix.
+     * @return A new Matrix representing the identity matrix.
+     * @throws IllegalStateException if the number of rows is not equal to the number of columns.
+     */
+    public static Matrix I(int rows, int columns) {
+        if (rows != columns) {
+            throw new IllegalStateException("Matrix must be rows=columns");
+        }
+
+        double[][] data = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            data[i][i] = 1.0;
+        }
+
+        return new Matrix(data);
+    }
+
+    /**
+     * Computes the inverse of a Matrix.
+     * The inverse of a matrix is a matrix that, when multiplied by the original matrix,
+     * results in the identity matrix. The working copy of the input lives in the
+     * calling thread's {@link Workspace}.
+     *
+     * @param a The Matrix to compute the inverse of.
+     * @return A new Matrix representing the inverse of the input matrix.
+     * @throws IllegalArgumentException if the matrix is not square.
+     * @throws IllegalStateException    if the matrix is singular (non-invertible).
+     */
+    public static Matrix inverse(Matrix a) {
+        return inverse(a, Workspace.current());
+    }
+
+    /**
+     * Computes the inverse of a Matrix using the scratch buffers of a workspace.
+     *
+     * @param a         The Matrix to compute the inverse of.
+     * @param workspace The workspace that supplies the scratch buffers.
+     * @return A new Matrix representing the inverse of the input matrix.
+     * @throws IllegalArgumentException if the matrix is not square.
+     * @throws IllegalStateException    if the matrix is singular (non-invertible).
+     */
+    public static Matrix inverse(Matrix a, Workspace workspace) {
+        int n = a.getRows();
+        OperationProbe probe = OperationProbe.begin("inverse", n, a.getColumns(), a.getColumns(),
+                2L * n * n * n, "gauss-jordan");
+        try {
+            return gaussJordanInverse(a, workspace);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    private static Matrix gaussJordanInverse(Matrix a, Workspace workspace) {
+        int n = a.getMatrix().length;
+        if (n != a.getMatrix()[0].length) {
+            throw new IllegalArgumentException("A matriz deve ser quadrada.");
+        }
+
+        Matrix identity = Matrix.I(n, n);
+        double[][] inverse = identity.getMatrix();
+
+        int mark = workspace.mark();
+        try {
+            double[] augmented = workspace.doubles(n * n);
+            double[][] aData = a.getMatrix();
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(aData[i], 0, augmented, i * n, n);
+            }
+
+            for (int i = 0; i < n; i++) {
+                int pivotOffset = i * n;
+                if (augmented[pivotOffset + i] == 0) {
+                    throw new IllegalStateException("A matriz não é invertível.");
+                }
+
+                double pivot = augmented[pivotOffset + i];
+                double[] pivotRow = inverse[i];
+                for (int j = 0; j < n; j++) {
+                    augmented[pivotOffset + j] /= pivot;
+                    pivotRow[j] /= pivot;
+                }
+
+                for (int j = 0; j < n; j++) {
+                    if (i != j) {
+                        int offset = j * n;
+                        double factor = augmented[offset + i];
+                        double[] row = inverse[j];
+                        for (int k = 0; k < n; k++) {
+                            augmented[offset + k] -= augmented[pivotOffset + k] * factor;
+                            row[k] -= pivotRow[k] * factor;
+                        }
+                    }
+                }
+            }
+        } finally {
+            workspace.release(mark);
+        }
+
+        return identity;
+    }
+
+    /**
+     * Computes the inverse of this Matrix.
+     *
+     * @return A new Matrix representing the inverse of this matrix.
+     * @throws IllegalArgumentException if the matrix is not square.
+     * @throws IllegalStateException    if the matrix is singular (non-invertible).
+     */
+    public Matrix inverse() {
+        return Matrix.inverse(this);
+    }
+
+    /**
+     * Computes the transpose of this Matrix.
+     * The transpose of a matrix is a new matrix where the rows and columns are swapped.
+     *
+     * @return A new Matrix representing the transpose of this matrix.
+     */
+    public Matrix transpose() {
+        return new Matrix(transpose(this.mtx, this.row, this.columns, Tuning.current().getTransposeBlockSize()));
+    }
+
+    /**
+     * Computes the transpose of a 2D array representing a matrix.
+     * The transpose of a matrix is a new matrix where the rows and columns are swapped.
+     *
+     * @param matrix The 2D array to compute the transpose of.
+     * @return A new Matrix representing the transpose of the input matrix.
+     */
+    public static Matrix transpose(double[][] matrix) {
+        return new Matrix(transpose(matrix, matrix.length, matrix[0].length, Tuning.current().getTransposeBlockSize()));
+    }
+
+    /**
+     * Computes the transpose of a Matrix.
+     * The transpose of a matrix is a new matrix where the rows and columns are swapped.
+     *
+     * @param matrix The Matrix to compute the transpose of.
+     * @return A new Matrix representing the transpose of the input matrix.
+     */
+    public static Matrix transpose(Matrix matrix) {
+        double[][] transposedData = new double[matrix.getColumns()][matrix.getRows()];
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                transposedData[j][i] = matrix.mtx[i][j];
+            }
+        }
+        return new Matrix(transposedData);
+
+    }
+
+    /**
+     * Computes the symmetrical version of a Matrix.
+     * The symmetrical version of a matrix is a new matrix where the rows and columns are swapped.
+     *
+     * @param matrix The Matrix to compute the symmetrical version of.
+     * @return A new Matrix representing the symmetrical version of the input matrix.
+     */
+    public static Matrix symmetricMatrix(Matrix matrix) {
+        return new Matrix(transpose(matrix.mtx, matrix.getRows(), matrix.getColumns(),
+                Tuning.current().getTransposeBlockSize()));
+    }
+
+    /**
+     * Transposes a rows x columns array in square tiles of {@code blockSize}, so that
+     * both the reads and the scattered writes stay within a few cache lines.
+     */
+    static double[][] transpose(double[][] matrix, int rows, int columns, int blockSize) {
+        double[][] transposedData = new double[columns][rows];
+        for (int ii = 0; ii < rows; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, rows);
+            for (int jj = 0; jj < columns; jj += blockSize) {
+                int jEnd = Math.min(jj + blockSize, columns);
+                for (int i = ii; i < iEnd; i++) {
+                    double[] source = matrix[i];
+                    for (int j = jj; j < jEnd; j++) {
+                        transposedData[j][i] = source[j];
+                    }
+                }
+            }
+        }
+        return transposedData;
+    }
+
+    /**
+     * Computes the symmetrical version of a 2D array representing a matrix.
+     * The symmetrical version of a matrix is a new matrix where the rows and columns are swapped.
+     *
+     * @param matrix The 2D array to compute the symmetrical version of.
+     * @return A new Matrix representing the symmetrical version of the input matrix.
+     */
+    public static Matrix symmetricMatrix(double[][] matrix) {
+        return new Matrix(transpose(matrix, matrix.length, matrix[0].length, Tuning.current().getTransposeBlockSize()));
+
+    }
+
+    /**
+     * Creates a diagonal matrix from a 2D array.
+     * The diagonal matrix has the same diagonal elements as the input matrix,
+     * and all other elements are zero.
+     *
+     * @param matrix The 2D array to create the diagonal matrix from.
+     * @return A new Matrix representing the diagonal matrix.
+     */
+    public static Matrix diagonalMatrix(double[][] matrix) {
+        double[][] diagonalData = new double[matrix.length][matrix[0].length];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[0].length; j++) {
+                if (i == j) {
+                    diagonalData[i][j] = matrix[i][j];
+                } else {
+                    diagonalData[i][j] = 0;
+                }
+            }
+        }
+        return new Matrix(diagonalData);
+    }
+
+    /**
+     * Converts this matrix to a diagonal matrix, setting all non-diagonal elements to zero.
+     */
+    public void diagonalMatrix() {
+        double[][] diagonalData = new double[this.mtx.length][this.mtx[0].length];
+        for (int i = 0; i < this.mtx.length; i++) {
+            for (int j = 0; j < this.mtx[0].length; j++) {
+                if (i == j) {
+                    diagonalData[i][j] = this.mtx[i][j];
+                } else {
+                    diagonalData[i][j] = 0;
+                }
+            }
+        }
+        this.mtx = diagonalData;
+    }
+
+    /**
+     * Creates an orthogonal matrix from a Matrix.
+     * The orthogonal matrix has the same diagonal elements as the input matrix,
+     * and all other elements are zero.
+     *
+     * @param matrix The Matrix to create the orthogonal matrix from.
+     * @return A new Matrix representing the orthogonal matrix.
+     * @throws IllegalArgumentException if the matrix is null or empty.
+     */
+    public static Matrix ortogonalMatrix(Matrix matrix) {
+        if (matrix == null || matrix.getRows() == 0 || matrix.getColumns() == 0) {
+            throw new IllegalArgumentException("Matrix cannot be null or empty.");
+        }
+        double[][] ortogonalData = new double[matrix.getColumns()][matrix.getRows()];
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                if (i == j) {
+                    ortogonalData[i][j] = matrix.mtx[i][j];
+                } else {
+                    ortogonalData[i][j] = 0;
+                }
+            }
+        }
+        return new Matrix(ortogonalData);
+    }
+
+    /**
+     * Calculates the rank of the matrix using Gaussian elimination.
+     * The elimination runs on scratch buffers of the calling thread's {@link Workspace}.
+     *
+     * @param matrix The Matrix to calculate the rank of.
+     * @return The rank of the matrix.
+     * @throws IllegalArgumentException if the matrix is null or empty.
+     */
+    public static int rank(Matrix matrix) {
+        return rank(matrix, Workspace.current());
+    }
+
+    /**
+     * Calculates the rank of the matrix using the scratch buffers of a workspace.
+     *
+     * @param matrix    The Matrix to calculate the rank of.
+     * @param workspace The workspace that supplies the scratch buffers.
+     * @return The rank of the matrix.
+     * @throws IllegalArgumentException if the matrix is null or empty.
+     */
+    public static int rank(Matrix matrix, Workspace workspace) {
+        if (matrix == null || matrix.getRows() == 0 || matrix.getColumns() == 0) {
+            throw new IllegalArgumentException("Matrix cannot be null or empty.");
+        }
+
+        int rows = matrix.getRows();
+        int columns = matrix.getColumns();
+        int mark = workspace.mark();
+        try {
+            double[] data = workspace.doubles(rows * columns);
+            for (int i = 0; i < rows; i++) {
+                System.arraycopy(matrix.getMatrix()[i], 0, data, i * columns, columns);
+            }
+
+            int rank = columns;
+
+            // Em matrizes com mais colunas do que linhas, cada linha recebe no máximo um pivô.
+            for (int row = 0; row < rank && row < rows; row++) {
+                int rowOffset = row * columns;
+                if (data[rowOffset + row] != 0) {
+                    for (int col = 0; col < rows; col++) {
+                        if (col != row) {
+                            int offset = col * columns;
+                            double multiplier = data[offset + row] / data[rowOffset + row];
+                            for (int i = row; i < rank; i++) {
+                                data[offset + i] -= multiplier * data[rowOffset + i];
+                            }
+                        }
+                    }
+                } else {
+                    boolean reduce = true;
+                    for (int i = row + 1; i < rows; i++) {
+                        if (data[i * columns + row] != 0) {
+                            swapRows(data, row, i, columns);
+                            reduce = false;
+                            break;
+                        }
+                    }
+
+                    if (reduce) {
+                        rank--;
+                        for (int i = 0; i < rows; i++) {
+                            data[i * columns + row] = data[i * columns + rank];
+                        }
+                    }
+                    row--;
+                }
+            }
+
+            // Verificação para matrizes 1xN ou Nx1
+            if (rows == 1 || columns == 1) {
+                for (int i = 0; i < rows * columns; i++) {
+                    if (data[i] != 0) {
+                        return 1;
+                    }
+                }
+                return 0;
+            }
+
+            return Math.min(rank, rows);
+        } finally {
+            workspace.release(mark);
+        }
+    }
+
+    /**
+     * Multiplies a Matrix by a scalar value.
+     *
+     * @param matrix The Matrix to multiply.
+     * @param scalar The scalar value to multiply the matrix by.
+     * @return A new Matrix that is the result of the scalar multiplication.
+     */
+    public static Matrix multiplyByScalar(Matrix matrix, double scalar) {
+        return Backends.forOperation(BackendOperation.ELEMENTWISE).scale(matrix, scalar);
+    }
+
+    /**
+     * Calculates the determinant of a Matrix.
+     * The elimination runs on scratch buffers of the calling thread's {@link Workspace}.
+     *
+     * @param matrix The Matrix to compute the determinant of.
+     * @return The determinant of the matrix.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static double determinant(Matrix matrix) {
+        return determinant(matrix, Workspace.current());
+    }
+
+    /**
+     * Calculates the determinant of a Matrix using the scratch buffers of a workspace.
+     *
+     * @param matrix    The Matrix to compute the determinant of.
+     * @param workspace The workspace that supplies the scratch buffers.
+     * @return The determinant of the matrix.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static double determinant(Matrix matrix, Workspace workspace) {
+        int n = matrix.getRows();
+        OperationProbe probe = OperationProbe.begin("determinant", n, matrix.getColumns(), matrix.getColumns(),
+                2L * n * n * n / 3, "gaussian-elimination");
+        try {
+            return eliminationDeterminant(matrix, workspace);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    private static double eliminationDeterminant(Matrix matrix, Workspace workspace) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square.");
+        }
+
+        int n = matrix.getRows();
+        int mark = workspace.mark();
+        try {
+            double[] data = workspace.doubles(n * n);
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(matrix.getMatrix()[i], 0, data, i * n, n);
+            }
+
+            double det = 1.0;
+
+            for (int i = 0; i < n; i++) {
+                int pivotOffset = i * n;
+                double pivot = data[pivotOffset + i];
+                if (pivot == 0) {
+                    boolean swapped = false;
+                    for (int j = i + 1; j < n; j++) {
+                        if (data[j * n + i] != 0) {
+                            swapRows(data, i, j, n);
+                            det *= -1;
+                            swapped = true;
+                            pivot = data[pivotOffset + i];
+                            break;
+                        }
+                    }
+                    if (!swapped) {
+                        return 0.0;
+                    }
+                }
+                det *= pivot;
+                for (int j = i + 1; j < n; j++) {
+                    int offset = j * n;
+                    double factor = data[offset + i] / pivot;
+                    for (int k = i; k < n; k++) {
+                        data[offset + k] -= factor * data[pivotOffset + k];
+                    }
+                }
+            }
+
+            return det;
+        } finally {
+            workspace.release(mark);
+        }
+    }
+
+    private static void swapRows(double[] data, int a, int b, int columns) {
+        int offsetA = a * columns;
+        int offsetB = b * columns;
+        for (int k = 0; k < columns; k++) {
+            double temp = data[offsetA + k];
+            data[offsetA + k] = data[offsetB + k];
+            data[offsetB + k] = temp;
+        }
+    }
+
+    /**
+     * Saves this Matrix in the binary format of {@link MatrixFile}, replacing the file if it exists.
+     *
+     * @param path The file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        MatrixFile.write(path, this);
+    }
+
+    /**
+     * Loads a Matrix saved with {@link #save(Path)}.
+     *
+     * @param path The file.
+     * @return The Matrix stored in the file.
+     * @throws IOException if the file cannot be read, holds another kind of object or fails its checksum.
+     */
+    public static Matrix load(Path path) throws IOException {
+        return MatrixFile.readMatrix(path);
+    }
+}
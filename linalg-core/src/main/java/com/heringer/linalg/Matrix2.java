@@ -0,0 +1,232 @@
+package com.heringer.linalg;
+
+/**
+ * A mutable 2x2 matrix stored in four fields. Operations that produce a matrix or a vector store
+ * the result in this matrix or in a destination, as in {@link Matrix3}, and never allocate.
+ *
+ * @author Emílio Heringer
+ */
+public final class Matrix2 {
+
+    /**
+     * The elements of row 0.
+     */
+    public double m00, m01;
+
+    /**
+     * The elements of row 1.
+     */
+    public double m10, m11;
+
+    /**
+     * Creates the identity matrix.
+     */
+    public Matrix2() {
+        identity();
+    }
+
+    /**
+     * Creates a matrix from its elements in row-major order.
+     *
+     * @param m00 The element at row 0, column 0.
+     * @param m01 The element at row 0, column 1.
+     * @param m10 The element at row 1, column 0.
+     * @param m11 The element at row 1, column 1.
+     */
+    public Matrix2(double m00, double m01, double m10, double m11) {
+        set(m00, m01, m10, m11);
+    }
+
+    /**
+     * Copies another matrix.
+     *
+     * @param other The matrix to copy.
+     */
+    public Matrix2(Matrix2 other) {
+        set(other);
+    }
+
+    /**
+     * Copies a general Matrix.
+     *
+     * @param matrix A 2x2 Matrix.
+     * @throws IllegalArgumentException if the Matrix is not 2x2.
+     */
+    public Matrix2(Matrix matrix) {
+        if (matrix.getRows() != 2 || matrix.getColumns() != 2) {
+            throw new IllegalArgumentException("The matrix must be 2x2.");
+        }
+        double[][] m = matrix.mtx;
+        set(m[0][0], m[0][1], m[1][0], m[1][1]);
+    }
+
+    /**
+     * Sets this matrix to the identity.
+     *
+     * @return This matrix.
+     */
+    public Matrix2 identity() {
+        return set(1, 0, 0, 1);
+    }
+
+    /**
+     * Sets the elements in row-major order.
+     *
+     * @param m00 The element at row 0, column 0.
+     * @param m01 The element at row 0, column 1.
+     * @param m10 The element at row 1, column 0.
+     * @param m11 The element at row 1, column 1.
+     * @return This matrix.
+     */
+    public Matrix2 set(double m00, double m01, double m10, double m11) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m10 = m10;
+        this.m11 = m11;
+        return this;
+    }
+
+    /**
+     * Copies the elements of another matrix.
+     *
+     * @param other The matrix to copy.
+     * @return This matrix.
+     */
+    public Matrix2 set(Matrix2 other) {
+        return set(other.m00, other.m01, other.m10, other.m11);
+    }
+
+    /**
+     * Replaces this matrix with {@code this * right}.
+     *
+     * @param right The right operand.
+     * @return This matrix.
+     */
+    public Matrix2 multiply(Matrix2 right) {
+        return multiply(right, this);
+    }
+
+    /**
+     * Stores {@code this * right} in {@code dest}.
+     *
+     * @param right The right operand.
+     * @param dest  The destination, which may be this matrix or {@code right}.
+     * @return {@code dest}.
+     */
+    public Matrix2 multiply(Matrix2 right, Matrix2 dest) {
+        double r00 = m00 * right.m00 + m01 * right.m10;
+        double r01 = m00 * right.m01 + m01 * right.m11;
+        double r10 = m10 * right.m00 + m11 * right.m10;
+        double r11 = m10 * right.m01 + m11 * right.m11;
+        return dest.set(r00, r01, r10, r11);
+    }
+
+    /**
+     * Replaces {@code vector} with {@code this * vector}.
+     *
+     * @param vector The vector to transform.
+     * @return {@code vector}.
+     */
+    public Vector2 transform(Vector2 vector) {
+        return transform(vector, vector);
+    }
+
+    /**
+     * Stores {@code this * vector} in {@code dest}.
+     *
+     * @param vector The vector to transform.
+     * @param dest   The destination, which may be {@code vector}.
+     * @return {@code dest}.
+     */
+    public Vector2 transform(Vector2 vector, Vector2 dest) {
+        double x = m00 * vector.x + m01 * vector.y;
+        double y = m10 * vector.x + m11 * vector.y;
+        return dest.set(x, y);
+    }
+
+    /**
+     * Replaces this matrix with its transpose.
+     *
+     * @return This matrix.
+     */
+    public Matrix2 transpose() {
+        return transpose(this);
+    }
+
+    /**
+     * Stores the transpose of this matrix in {@code dest}.
+     *
+     * @param dest The destination, which may be this matrix.
+     * @return {@code dest}.
+     */
+    public Matrix2 transpose(Matrix2 dest) {
+        return dest.set(m00, m10, m01, m11);
+    }
+
+    /**
+     * The determinant of this matrix.
+     *
+     * @return The determinant.
+     */
+    public double determinant() {
+        return m00 * m11 - m01 * m10;
+    }
+
+    /**
+     * Replaces this matrix with its inverse.
+     *
+     * @return This matrix.
+     * @throws IllegalStateException if the matrix is singular (non-invertible).
+     */
+    public Matrix2 invert() {
+        return invert(this);
+    }
+
+    /**
+     * Stores the inverse of this matrix in {@code dest}.
+     *
+     * @param dest The destination, which may be this matrix.
+     * @return {@code dest}.
+     * @throws IllegalStateException if the matrix is singular (non-invertible).
+     */
+    public Matrix2 invert(Matrix2 dest) {
+        double det = determinant();
+        if (det == 0) {
+            throw new IllegalStateException("The matrix is not invertible.");
+        }
+        double s = 1.0 / det;
+        return dest.set(m11 * s, -m01 * s, -m10 * s, m00 * s);
+    }
+
+    /**
+     * Copies this matrix into a general Matrix.
+     *
+     * @return A new 2x2 Matrix.
+     */
+    public Matrix toMatrix() {
+        return new Matrix(new double[][]{{m00, m01}, {m10, m11}});
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Matrix2 other = (Matrix2) o;
+        return Double.compare(m00, other.m00) == 0 && Double.compare(m01, other.m01) == 0
+                && Double.compare(m10, other.m10) == 0 && Double.compare(m11, other.m11) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(m00);
+        result = 31 * result + Double.hashCode(m01);
+        result = 31 * result + Double.hashCode(m10);
+        return 31 * result + Double.hashCode(m11);
+    }
+
+    @Override
+    public String toString() {
+        return "[[" + m00 + ", " + m01
+                + "], [" + m10 + ", " + m11 + "]]";
+    }
+}
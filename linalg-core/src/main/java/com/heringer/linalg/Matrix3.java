@@ -0,0 +1,281 @@
+package com.heringer.linalg;
+
+/**
+ * A mutable 3x3 matrix stored in nine fields, {@code mRC} being the element at row R and
+ * column C, with fully unrolled kernels.
+ *
+ * <p>Every operation that produces a matrix or a vector has two forms: one that stores the result
+ * in this matrix (or in the vector argument) and returns it, and one that stores it in a
+ * destination. The destination may be this matrix or an argument; each result is computed into
+ * locals before it is stored. No operation allocates, so a hot loop can reuse a few instances and
+ * the JIT can keep the fields in registers. Use {@link Matrix} for matrices of other sizes.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class Matrix3 {
+
+    /**
+     * The elements of row 0.
+     */
+    public double m00, m01, m02;
+
+    /**
+     * The elements of row 1.
+     */
+    public double m10, m11, m12;
+
+    /**
+     * The elements of row 2.
+     */
+    public double m20, m21, m22;
+
+    /**
+     * Creates the identity matrix.
+     */
+    public Matrix3() {
+        identity();
+    }
+
+    /**
+     * Creates a matrix from its elements in row-major order.
+     *
+     * @param m00 The element at row 0, column 0.
+     * @param m01 The element at row 0, column 1.
+     * @param m02 The element at row 0, column 2.
+     * @param m10 The element at row 1, column 0.
+     * @param m11 The element at row 1, column 1.
+     * @param m12 The element at row 1, column 2.
+     * @param m20 The element at row 2, column 0.
+     * @param m21 The element at row 2, column 1.
+     * @param m22 The element at row 2, column 2.
+     */
+    public Matrix3(double m00, double m01, double m02, double m10, double m11, double m12,
+            double m20, double m21, double m22) {
+        set(m00, m01, m02, m10, m11, m12, m20, m21, m22);
+    }
+
+    /**
+     * Copies another matrix.
+     *
+     * @param other The matrix to copy.
+     */
+    public Matrix3(Matrix3 other) {
+        set(other);
+    }
+
+    /**
+     * Copies a general Matrix.
+     *
+     * @param matrix A 3x3 Matrix.
+     * @throws IllegalArgumentException if the Matrix is not 3x3.
+     */
+    public Matrix3(Matrix matrix) {
+        if (matrix.getRows() != 3 || matrix.getColumns() != 3) {
+            throw new IllegalArgumentException("The matrix must be 3x3.");
+        }
+        double[][] m = matrix.mtx;
+        set(m[0][0], m[0][1], m[0][2], m[1][0], m[1][1], m[1][2], m[2][0], m[2][1], m[2][2]);
+    }
+
+    /**
+     * Sets this matrix to the identity.
+     *
+     * @return This matrix.
+     */
+    public Matrix3 identity() {
+        return set(1, 0, 0, 0, 1, 0, 0, 0, 1);
+    }
+
+    /**
+     * Sets the elements in row-major order.
+     *
+     * @param m00 The element at row 0, column 0.
+     * @param m01 The element at row 0, column 1.
+     * @param m02 The element at row 0, column 2.
+     * @param m10 The element at row 1, column 0.
+     * @param m11 The element at row 1, column 1.
+     * @param m12 The element at row 1, column 2.
+     * @param m20 The element at row 2, column 0.
+     * @param m21 The element at row 2, column 1.
+     * @param m22 The element at row 2, column 2.
+     * @return This matrix.
+     */
+    public Matrix3 set(double m00, double m01, double m02, double m10, double m11, double m12,
+            double m20, double m21, double m22) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        return this;
+    }
+
+    /**
+     * Copies the elements of another matrix.
+     *
+     * @param other The matrix to copy.
+     * @return This matrix.
+     */
+    public Matrix3 set(Matrix3 other) {
+        return set(other.m00, other.m01, other.m02, other.m10, other.m11, other.m12, other.m20,
+                other.m21, other.m22);
+    }
+
+    /**
+     * Replaces this matrix with {@code this * right}.
+     *
+     * @param right The right operand.
+     * @return This matrix.
+     */
+    public Matrix3 multiply(Matrix3 right) {
+        return multiply(right, this);
+    }
+
+    /**
+     * Stores {@code this * right} in {@code dest}.
+     *
+     * @param right The right operand.
+     * @param dest  The destination, which may be this matrix or {@code right}.
+     * @return {@code dest}.
+     */
+    public Matrix3 multiply(Matrix3 right, Matrix3 dest) {
+        double r00 = m00 * right.m00 + m01 * right.m10 + m02 * right.m20;
+        double r01 = m00 * right.m01 + m01 * right.m11 + m02 * right.m21;
+        double r02 = m00 * right.m02 + m01 * right.m12 + m02 * right.m22;
+        double r10 = m10 * right.m00 + m11 * right.m10 + m12 * right.m20;
+        double r11 = m10 * right.m01 + m11 * right.m11 + m12 * right.m21;
+        double r12 = m10 * right.m02 + m11 * right.m12 + m12 * right.m22;
+        double r20 = m20 * right.m00 + m21 * right.m10 + m22 * right.m20;
+        double r21 = m20 * right.m01 + m21 * right.m11 + m22 * right.m21;
+        double r22 = m20 * right.m02 + m21 * right.m12 + m22 * right.m22;
+        return dest.set(r00, r01, r02, r10, r11, r12, r20, r21, r22);
+    }
+
+    /**
+     * Replaces {@code vector} with {@code this * vector}.
+     *
+     * @param vector The vector to transform.
+     * @return {@code vector}.
+     */
+    public Vector3 transform(Vector3 vector) {
+        return transform(vector, vector);
+    }
+
+    /**
+     * Stores {@code this * vector} in {@code dest}.
+     *
+     * @param vector The vector to transform.
+     * @param dest   The destination, which may be {@code vector}.
+     * @return {@code dest}.
+     */
+    public Vector3 transform(Vector3 vector, Vector3 dest) {
+        double x = m00 * vector.x + m01 * vector.y + m02 * vector.z;
+        double y = m10 * vector.x + m11 * vector.y + m12 * vector.z;
+        double z = m20 * vector.x + m21 * vector.y + m22 * vector.z;
+        return dest.set(x, y, z);
+    }
+
+    /**
+     * Replaces this matrix with its transpose.
+     *
+     * @return This matrix.
+     */
+    public Matrix3 transpose() {
+        return transpose(this);
+    }
+
+    /**
+     * Stores the transpose of this matrix in {@code dest}.
+     *
+     * @param dest The destination, which may be this matrix.
+     * @return {@code dest}.
+     */
+    public Matrix3 transpose(Matrix3 dest) {
+        return dest.set(m00, m10, m20, m01, m11, m21, m02, m12, m22);
+    }
+
+    /**
+     * The determinant of this matrix.
+     *
+     * @return The determinant.
+     */
+    public double determinant() {
+        return m00 * (m11 * m22 - m12 * m21) + m01 * (m12 * m20 - m10 * m22) + m02 * (m10 * m21 - m11 * m20);
+    }
+
+    /**
+     * Replaces this matrix with its inverse.
+     *
+     * @return This matrix.
+     * @throws IllegalStateException if the matrix is singular (non-invertible).
+     */
+    public Matrix3 invert() {
+        return invert(this);
+    }
+
+    /**
+     * Stores the inverse of this matrix, from its cofactors, in {@code dest}.
+     *
+     * @param dest The destination, which may be this matrix.
+     * @return {@code dest}.
+     * @throws IllegalStateException if the matrix is singular (non-invertible).
+     */
+    public Matrix3 invert(Matrix3 dest) {
+        double c00 = m11 * m22 - m12 * m21;
+        double c01 = m12 * m20 - m10 * m22;
+        double c02 = m10 * m21 - m11 * m20;
+        double det = m00 * c00 + m01 * c01 + m02 * c02;
+        if (det == 0) {
+            throw new IllegalStateException("The matrix is not invertible.");
+        }
+        double s = 1.0 / det;
+        return dest.set(c00 * s, (m02 * m21 - m01 * m22) * s, (m01 * m12 - m02 * m11) * s,
+                c01 * s, (m00 * m22 - m02 * m20) * s, (m02 * m10 - m00 * m12) * s,
+                c02 * s, (m01 * m20 - m00 * m21) * s, (m00 * m11 - m01 * m10) * s);
+    }
+
+    /**
+     * Copies this matrix into a general Matrix.
+     *
+     * @return A new 3x3 Matrix.
+     */
+    public Matrix toMatrix() {
+        return new Matrix(new double[][]{{m00, m01, m02}, {m10, m11, m12}, {m20, m21, m22}});
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Matrix3 other = (Matrix3) o;
+        return Double.compare(m00, other.m00) == 0 && Double.compare(m01, other.m01) == 0
+                && Double.compare(m02, other.m02) == 0 && Double.compare(m10, other.m10) == 0
+                && Double.compare(m11, other.m11) == 0 && Double.compare(m12, other.m12) == 0
+                && Double.compare(m20, other.m20) == 0 && Double.compare(m21, other.m21) == 0
+                && Double.compare(m22, other.m22) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(m00);
+        result = 31 * result + Double.hashCode(m01);
+        result = 31 * result + Double.hashCode(m02);
+        result = 31 * result + Double.hashCode(m10);
+        result = 31 * result + Double.hashCode(m11);
+        result = 31 * result + Double.hashCode(m12);
+        result = 31 * result + Double.hashCode(m20);
+        result = 31 * result + Double.hashCode(m21);
+        return 31 * result + Double.hashCode(m22);
+    }
+
+    @Override
+    public String toString() {
+        return "[[" + m00 + ", " + m01 + ", " + m02
+                + "], [" + m10 + ", " + m11 + ", " + m12
+                + "], [" + m20 + ", " + m21 + ", " + m22 + "]]";
+    }
+}
@@ -0,0 +1,432 @@
+package com.heringer.linalg;
+
+/**
+ * A mutable 4x4 matrix stored in sixteen fields, such as an affine or projective transformation
+ * in homogeneous coordinates. Operations that produce a matrix or a vector store the result in
+ * this matrix or in a destination, as in {@link Matrix3}, and never allocate.
+ *
+ * @author Emílio Heringer
+ */
+public final class Matrix4 {
+
+    /**
+     * The elements of row 0.
+     */
+    public double m00, m01, m02, m03;
+
+    /**
+     * The elements of row 1.
+     */
+    public double m10, m11, m12, m13;
+
+    /**
+     * The elements of row 2.
+     */
+    public double m20, m21, m22, m23;
+
+    /**
+     * The elements of row 3.
+     */
+    public double m30, m31, m32, m33;
+
+    /**
+     * Creates the identity matrix.
+     */
+    public Matrix4() {
+        identity();
+    }
+
+    /**
+     * Creates a matrix from its elements in row-major order.
+     *
+     * @param m00 The element at row 0, column 0.
+     * @param m01 The element at row 0, column 1.
+     * @param m02 The element at row 0, column 2.
+     * @param m03 The element at row 0, column 3.
+     * @param m10 The element at row 1, column 0.
+     * @param m11 The element at row 1, column 1.
+     * @param m12 The element at row 1, column 2.
+     * @param m13 The element at row 1, column 3.
+     * @param m20 The element at row 2, column 0.
+     * @param m21 The element at row 2, column 1.
+     * @param m22 The element at row 2, column 2.
+     * @param m23 The element at row 2, column 3.
+     * @param m30 The element at row 3, column 0.
+     * @param m31 The element at row 3, column 1.
+     * @param m32 The element at row 3, column 2.
+     * @param m33 The element at row 3, column 3.
+     */
+    public Matrix4(double m00, double m01, double m02, double m03, double m10, double m11,
+            double m12, double m13, double m20, double m21, double m22, double m23, double m30,
+            double m31, double m32, double m33) {
+        set(m00, m01, m02, m03, m10, m11, m12, m13, m20, m21, m22, m23, m30, m31, m32, m33);
+    }
+
+    /**
+     * Copies another matrix.
+     *
+     * @param other The matrix to copy.
+     */
+    public Matrix4(Matrix4 other) {
+        set(other);
+    }
+
+    /**
+     * Copies a general Matrix.
+     *
+     * @param matrix A 4x4 Matrix.
+     * @throws IllegalArgumentException if the Matrix is not 4x4.
+     */
+    public Matrix4(Matrix matrix) {
+        if (matrix.getRows() != 4 || matrix.getColumns() != 4) {
+            throw new IllegalArgumentException("The matrix must be 4x4.");
+        }
+        double[][] m = matrix.mtx;
+        set(m[0][0], m[0][1], m[0][2], m[0][3], m[1][0], m[1][1], m[1][2], m[1][3], m[2][0],
+                m[2][1], m[2][2], m[2][3], m[3][0], m[3][1], m[3][2], m[3][3]);
+    }
+
+    /**
+     * Sets this matrix to the identity.
+     *
+     * @return This matrix.
+     */
+    public Matrix4 identity() {
+        return set(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1);
+    }
+
+    /**
+     * Sets the elements in row-major order.
+     *
+     * @param m00 The element at row 0, column 0.
+     * @param m01 The element at row 0, column 1.
+     * @param m02 The element at row 0, column 2.
+     * @param m03 The element at row 0, column 3.
+     * @param m10 The element at row 1, column 0.
+     * @param m11 The element at row 1, column 1.
+     * @param m12 The element at row 1, column 2.
+     * @param m13 The element at row 1, column 3.
+     * @param m20 The element at row 2, column 0.
+     * @param m21 The element at row 2, column 1.
+     * @param m22 The element at row 2, column 2.
+     * @param m23 The element at row 2, column 3.
+     * @param m30 The element at row 3, column 0.
+     * @param m31 The element at row 3, column 1.
+     * @param m32 The element at row 3, column 2.
+     * @param m33 The element at row 3, column 3.
+     * @return This matrix.
+     */
+    public Matrix4 set(double m00, double m01, double m02, double m03, double m10, double m11,
+            double m12, double m13, double m20, double m21, double m22, double m23, double m30,
+            double m31, double m32, double m33) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m03 = m03;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m13 = m13;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+        this.m23 = m23;
+        this.m30 = m30;
+        this.m31 = m31;
+        this.m32 = m32;
+        this.m33 = m33;
+        return this;
+    }
+
+    /**
+     * Copies the elements of another matrix.
+     *
+     * @param other The matrix to copy.
+     * @return This matrix.
+     */
+    public Matrix4 set(Matrix4 other) {
+        return set(other.m00, other.m01, other.m02, other.m03, other.m10, other.m11, other.m12,
+                other.m13, other.m20, other.m21, other.m22, other.m23, other.m30, other.m31,
+                other.m32, other.m33);
+    }
+
+    /**
+     * Replaces this matrix with {@code this * right}.
+     *
+     * @param right The right operand.
+     * @return This matrix.
+     */
+    public Matrix4 multiply(Matrix4 right) {
+        return multiply(right, this);
+    }
+
+    /**
+     * Stores {@code this * right} in {@code dest}.
+     *
+     * @param right The right operand.
+     * @param dest  The destination, which may be this matrix or {@code right}.
+     * @return {@code dest}.
+     */
+    public Matrix4 multiply(Matrix4 right, Matrix4 dest) {
+        double r00 = m00 * right.m00 + m01 * right.m10 + m02 * right.m20 + m03 * right.m30;
+        double r01 = m00 * right.m01 + m01 * right.m11 + m02 * right.m21 + m03 * right.m31;
+        double r02 = m00 * right.m02 + m01 * right.m12 + m02 * right.m22 + m03 * right.m32;
+        double r03 = m00 * right.m03 + m01 * right.m13 + m02 * right.m23 + m03 * right.m33;
+        double r10 = m10 * right.m00 + m11 * right.m10 + m12 * right.m20 + m13 * right.m30;
+        double r11 = m10 * right.m01 + m11 * right.m11 + m12 * right.m21 + m13 * right.m31;
+        double r12 = m10 * right.m02 + m11 * right.m12 + m12 * right.m22 + m13 * right.m32;
+        double r13 = m10 * right.m03 + m11 * right.m13 + m12 * right.m23 + m13 * right.m33;
+        double r20 = m20 * right.m00 + m21 * right.m10 + m22 * right.m20 + m23 * right.m30;
+        double r21 = m20 * right.m01 + m21 * right.m11 + m22 * right.m21 + m23 * right.m31;
+        double r22 = m20 * right.m02 + m21 * right.m12 + m22 * right.m22 + m23 * right.m32;
+        double r23 = m20 * right.m03 + m21 * right.m13 + m22 * right.m23 + m23 * right.m33;
+        double r30 = m30 * right.m00 + m31 * right.m10 + m32 * right.m20 + m33 * right.m30;
+        double r31 = m30 * right.m01 + m31 * right.m11 + m32 * right.m21 + m33 * right.m31;
+        double r32 = m30 * right.m02 + m31 * right.m12 + m32 * right.m22 + m33 * right.m32;
+        double r33 = m30 * right.m03 + m31 * right.m13 + m32 * right.m23 + m33 * right.m33;
+        return dest.set(r00, r01, r02, r03, r10, r11, r12, r13, r20, r21, r22, r23, r30, r31,
+                r32, r33);
+    }
+
+    /**
+     * Replaces {@code vector} with {@code this * vector}.
+     *
+     * @param vector The vector to transform.
+     * @return {@code vector}.
+     */
+    public Vector4 transform(Vector4 vector) {
+        return transform(vector, vector);
+    }
+
+    /**
+     * Stores {@code this * vector} in {@code dest}.
+     *
+     * @param vector The vector to transform.
+     * @param dest   The destination, which may be {@code vector}.
+     * @return {@code dest}.
+     */
+    public Vector4 transform(Vector4 vector, Vector4 dest) {
+        double x = m00 * vector.x + m01 * vector.y + m02 * vector.z + m03 * vector.w;
+        double y = m10 * vector.x + m11 * vector.y + m12 * vector.z + m13 * vector.w;
+        double z = m20 * vector.x + m21 * vector.y + m22 * vector.z + m23 * vector.w;
+        double w = m30 * vector.x + m31 * vector.y + m32 * vector.z + m33 * vector.w;
+        return dest.set(x, y, z, w);
+    }
+
+    /**
+     * Replaces {@code point} with the affine transform {@code this * (point, 1)}, ignoring the last row.
+     *
+     * @param point The point to transform.
+     * @return {@code point}.
+     */
+    public Vector3 transformPosition(Vector3 point) {
+        return transformPosition(point, point);
+    }
+
+    /**
+     * Stores the affine transform {@code this * (point, 1)} in {@code dest}, ignoring the last row.
+     *
+     * @param point The point to transform.
+     * @param dest  The destination, which may be {@code point}.
+     * @return {@code dest}.
+     */
+    public Vector3 transformPosition(Vector3 point, Vector3 dest) {
+        double x = m00 * point.x + m01 * point.y + m02 * point.z + m03;
+        double y = m10 * point.x + m11 * point.y + m12 * point.z + m13;
+        double z = m20 * point.x + m21 * point.y + m22 * point.z + m23;
+        return dest.set(x, y, z);
+    }
+
+    /**
+     * Replaces {@code direction} with {@code this * (direction, 0)}, ignoring the last row.
+     *
+     * @param direction The direction to transform.
+     * @return {@code direction}.
+     */
+    public Vector3 transformDirection(Vector3 direction) {
+        return transformDirection(direction, direction);
+    }
+
+    /**
+     * Stores {@code this * (direction, 0)} in {@code dest}, ignoring the last row.
+     *
+     * @param direction The direction to transform.
+     * @param dest      The destination, which may be {@code direction}.
+     * @return {@code dest}.
+     */
+    public Vector3 transformDirection(Vector3 direction, Vector3 dest) {
+        double x = m00 * direction.x + m01 * direction.y + m02 * direction.z;
+        double y = m10 * direction.x + m11 * direction.y + m12 * direction.z;
+        double z = m20 * direction.x + m21 * direction.y + m22 * direction.z;
+        return dest.set(x, y, z);
+    }
+
+    /**
+     * Replaces {@code point} with the projective transform of {@code (point, 1)}, divided by w.
+     *
+     * @param point The point to transform.
+     * @return {@code point}.
+     */
+    public Vector3 transformProject(Vector3 point) {
+        return transformProject(point, point);
+    }
+
+    /**
+     * Stores the projective transform of {@code (point, 1)}, divided by w, in {@code dest}.
+     *
+     * @param point The point to transform.
+     * @param dest  The destination, which may be {@code point}.
+     * @return {@code dest}.
+     */
+    public Vector3 transformProject(Vector3 point, Vector3 dest) {
+        double w = 1.0 / (m30 * point.x + m31 * point.y + m32 * point.z + m33);
+        double x = (m00 * point.x + m01 * point.y + m02 * point.z + m03) * w;
+        double y = (m10 * point.x + m11 * point.y + m12 * point.z + m13) * w;
+        double z = (m20 * point.x + m21 * point.y + m22 * point.z + m23) * w;
+        return dest.set(x, y, z);
+    }
+
+    /**
+     * Replaces this matrix with its transpose.
+     *
+     * @return This matrix.
+     */
+    public Matrix4 transpose() {
+        return transpose(this);
+    }
+
+    /**
+     * Stores the transpose of this matrix in {@code dest}.
+     *
+     * @param dest The destination, which may be this matrix.
+     * @return {@code dest}.
+     */
+    public Matrix4 transpose(Matrix4 dest) {
+        return dest.set(m00, m10, m20, m30, m01, m11, m21, m31, m02, m12, m22, m32, m03, m13,
+                m23, m33);
+    }
+
+    /**
+     * The determinant of this matrix.
+     *
+     * @return The determinant.
+     */
+    public double determinant() {
+        double s0 = m00 * m11 - m10 * m01;
+        double s1 = m00 * m12 - m10 * m02;
+        double s2 = m00 * m13 - m10 * m03;
+        double s3 = m01 * m12 - m11 * m02;
+        double s4 = m01 * m13 - m11 * m03;
+        double s5 = m02 * m13 - m12 * m03;
+        double c5 = m22 * m33 - m32 * m23;
+        double c4 = m21 * m33 - m31 * m23;
+        double c3 = m21 * m32 - m31 * m22;
+        double c2 = m20 * m33 - m30 * m23;
+        double c1 = m20 * m32 - m30 * m22;
+        double c0 = m20 * m31 - m30 * m21;
+        return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+    }
+
+    /**
+     * Replaces this matrix with its inverse.
+     *
+     * @return This matrix.
+     * @throws IllegalStateException if the matrix is singular (non-invertible).
+     */
+    public Matrix4 invert() {
+        return invert(this);
+    }
+
+    /**
+     * Stores the inverse of this matrix in {@code dest}, expanding it by the 2x2 minors of the
+     * top two and bottom two rows.
+     *
+     * @param dest The destination, which may be this matrix.
+     * @return {@code dest}.
+     * @throws IllegalStateException if the matrix is singular (non-invertible).
+     */
+    public Matrix4 invert(Matrix4 dest) {
+        double s0 = m00 * m11 - m10 * m01;
+        double s1 = m00 * m12 - m10 * m02;
+        double s2 = m00 * m13 - m10 * m03;
+        double s3 = m01 * m12 - m11 * m02;
+        double s4 = m01 * m13 - m11 * m03;
+        double s5 = m02 * m13 - m12 * m03;
+        double c5 = m22 * m33 - m32 * m23;
+        double c4 = m21 * m33 - m31 * m23;
+        double c3 = m21 * m32 - m31 * m22;
+        double c2 = m20 * m33 - m30 * m23;
+        double c1 = m20 * m32 - m30 * m22;
+        double c0 = m20 * m31 - m30 * m21;
+        double det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+        if (det == 0) {
+            throw new IllegalStateException("The matrix is not invertible.");
+        }
+        double s = 1.0 / det;
+        return dest.set(
+                (m11 * c5 - m12 * c4 + m13 * c3) * s, (-m01 * c5 + m02 * c4 - m03 * c3) * s,
+                (m31 * s5 - m32 * s4 + m33 * s3) * s, (-m21 * s5 + m22 * s4 - m23 * s3) * s,
+                (-m10 * c5 + m12 * c2 - m13 * c1) * s, (m00 * c5 - m02 * c2 + m03 * c1) * s,
+                (-m30 * s5 + m32 * s2 - m33 * s1) * s, (m20 * s5 - m22 * s2 + m23 * s1) * s,
+                (m10 * c4 - m11 * c2 + m13 * c0) * s, (-m00 * c4 + m01 * c2 - m03 * c0) * s,
+                (m30 * s4 - m31 * s2 + m33 * s0) * s, (-m20 * s4 + m21 * s2 - m23 * s0) * s,
+                (-m10 * c3 + m11 * c1 - m12 * c0) * s, (m00 * c3 - m01 * c1 + m02 * c0) * s,
+                (-m30 * s3 + m31 * s1 - m32 * s0) * s, (m20 * s3 - m21 * s1 + m22 * s0) * s);
+    }
+
+    /**
+     * Copies this matrix into a general Matrix.
+     *
+     * @return A new 4x4 Matrix.
+     */
+    public Matrix toMatrix() {
+        return new Matrix(new double[][]{
+                {m00, m01, m02, m03},
+                {m10, m11, m12, m13},
+                {m20, m21, m22, m23},
+                {m30, m31, m32, m33}});
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Matrix4 other = (Matrix4) o;
+        return Double.compare(m00, other.m00) == 0 && Double.compare(m01, other.m01) == 0
+                && Double.compare(m02, other.m02) == 0 && Double.compare(m03, other.m03) == 0
+                && Double.compare(m10, other.m10) == 0 && Double.compare(m11, other.m11) == 0
+                && Double.compare(m12, other.m12) == 0 && Double.compare(m13, other.m13) == 0
+                && Double.compare(m20, other.m20) == 0 && Double.compare(m21, other.m21) == 0
+                && Double.compare(m22, other.m22) == 0 && Double.compare(m23, other.m23) == 0
+                && Double.compare(m30, other.m30) == 0 && Double.compare(m31, other.m31) == 0
+                && Double.compare(m32, other.m32) == 0 && Double.compare(m33, other.m33) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(m00);
+        result = 31 * result + Double.hashCode(m01);
+        result = 31 * result + Double.hashCode(m02);
+        result = 31 * result + Double.hashCode(m03);
+        result = 31 * result + Double.hashCode(m10);
+        result = 31 * result + Double.hashCode(m11);
+        result = 31 * result + Double.hashCode(m12);
+        result = 31 * result + Double.hashCode(m13);
+        result = 31 * result + Double.hashCode(m20);
+        result = 31 * result + Double.hashCode(m21);
+        result = 31 * result + Double.hashCode(m22);
+        result = 31 * result + Double.hashCode(m23);
+        result = 31 * result + Double.hashCode(m30);
+        result = 31 * result + Double.hashCode(m31);
+        result = 31 * result + Double.hashCode(m32);
+        return 31 * result + Double.hashCode(m33);
+    }
+
+    @Override
+    public String toString() {
+        return "[[" + m00 + ", " + m01 + ", " + m02 + ", " + m03
+                + "], [" + m10 + ", " + m11 + ", " + m12 + ", " + m13
+                + "], [" + m20 + ", " + m21 + ", " + m22 + ", " + m23
+                + "], [" + m30 + ", " + m31 + ", " + m32 + ", " + m33 + "]]";
+    }
+}
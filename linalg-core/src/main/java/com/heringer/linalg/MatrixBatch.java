@@ -0,0 +1,404 @@
+package com.heringer.linalg;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A batch of matrices of the same shape stored one after the other, row-major, in a single
+ * {@code double[]}: element {@code (i, j)} of member {@code b} is at
+ * {@code b * rows * columns + i * columns + j}.
+ *
+ * <p>Compared with a {@code Matrix[]}, the members are contiguous and need no object each.
+ * {@link #member(int)} returns a {@link MatrixView} that reads and writes the batch directly.
+ * {@link #gemm} multiplies the batches member by member. A batch with a single member is
+ * broadcast against every member of the other operand, so a shared matrix is stored once.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class MatrixBatch {
+
+    private final int count;
+    private final int rows;
+    private final int columns;
+    final double[] data;
+
+    /**
+     * Creates a batch of {@code count} zero matrices.
+     *
+     * @param count   The number of members.
+     * @param rows    The rows of each member.
+     * @param columns The columns of each member.
+     * @throws IllegalArgumentException if a dimension is not positive or the batch is too large.
+     */
+    public MatrixBatch(int count, int rows, int columns) {
+        this(new double[length(count, rows, columns)], count, rows, columns);
+    }
+
+    private MatrixBatch(double[] data, int count, int rows, int columns) {
+        this.data = data;
+        this.count = count;
+        this.rows = rows;
+        this.columns = columns;
+    }
+
+    /**
+     * Wraps an array that holds {@code count} row-major matrices one after the other, without copying it.
+     *
+     * @param data    The array, of length {@code count * rows * columns}.
+     * @param count   The number of members.
+     * @param rows    The rows of each member.
+     * @param columns The columns of each member.
+     * @return A batch backed by the array.
+     * @throws IllegalArgumentException if a dimension is not positive or the array has the wrong length.
+     */
+    public static MatrixBatch wrap(double[] data, int count, int rows, int columns) {
+        if (data.length != length(count, rows, columns)) {
+            throw new IllegalArgumentException("The array must hold " + count + " matrices of "
+                    + rows + "x" + columns + " elements.");
+        }
+        return new MatrixBatch(data, count, rows, columns);
+    }
+
+    /**
+     * Copies matrices of the same shape into a new batch.
+     *
+     * @param matrices The matrices, in the order of the batch.
+     * @return A new batch with copies of the matrices.
+     * @throws IllegalArgumentException if there are no matrices or their shapes differ.
+     */
+    public static MatrixBatch of(Matrix... matrices) {
+        if (matrices == null || matrices.length == 0) {
+            throw new IllegalArgumentException("The batch needs at least one matrix.");
+        }
+        MatrixBatch batch = new MatrixBatch(matrices.length, matrices[0].getRows(), matrices[0].getColumns());
+        for (int b = 0; b < matrices.length; b++) {
+            batch.setMatrix(b, matrices[b]);
+        }
+        return batch;
+    }
+
+    private static int length(int count, int rows, int columns) {
+        if (count <= 0 || rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("The dimensions of the batch must be positive.");
+        }
+        long length = (long) count * rows * columns;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Batch is too large for one array: " + length + " elements.");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Gets the number of members in the batch.
+     *
+     * @return The number of members.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of rows of each member.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns of each member.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * The backing array, shared with the batch.
+     *
+     * @return The array, with the members one after the other.
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Reads one element.
+     *
+     * @param member The index of the member.
+     * @param row    The row of the element.
+     * @param column The column of the element.
+     * @return The element.
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public double get(int member, int row, int column) {
+        return data[index(member, row, column)];
+    }
+
+    /**
+     * Writes one element.
+     *
+     * @param member The index of the member.
+     * @param row    The row of the element.
+     * @param column The column of the element.
+     * @param value  The new value.
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public void set(int member, int row, int column, double value) {
+        data[index(member, row, column)] = value;
+    }
+
+    /**
+     * A view over one member; writes through the view change the batch.
+     *
+     * @param member The index of the member.
+     * @return A view backed by the batch.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public MatrixView member(int member) {
+        return MatrixView.of(data, offset(Objects.checkIndex(member, count)), rows, columns, columns, 1);
+    }
+
+    /**
+     * Copies one member into a new Matrix.
+     *
+     * @param member The index of the member.
+     * @return A new Matrix with its elements.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Matrix getMatrix(int member) {
+        int base = offset(Objects.checkIndex(member, count));
+        double[][] result = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            result[i] = new double[columns];
+            System.arraycopy(data, base + i * columns, result[i], 0, columns);
+        }
+        return new Matrix(result);
+    }
+
+    /**
+     * Replaces one member.
+     *
+     * @param member The index of the member.
+     * @param value  The new matrix.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws IllegalArgumentException if the Matrix does not have the shape of the batch.
+     */
+    public void setMatrix(int member, Matrix value) {
+        int base = offset(Objects.checkIndex(member, count));
+        if (value.getRows() != rows || value.getColumns() != columns) {
+            throw new IllegalArgumentException("The matrix must be " + rows + "x" + columns + ", but is "
+                    + value.getRows() + "x" + value.getColumns() + ".");
+        }
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(value.mtx[i], 0, data, base + i * columns, columns);
+        }
+    }
+
+    /**
+     * Copies the batch.
+     *
+     * @return A new batch with its own array.
+     */
+    public MatrixBatch copy() {
+        return new MatrixBatch(data.clone(), count, rows, columns);
+    }
+
+    /**
+     * Multiplies every member by the matching member of {@code other}; a batch of one member is broadcast.
+     *
+     * @param other The right batch.
+     * @return A new batch with the products.
+     * @throws IllegalArgumentException if the shapes or the member counts do not match.
+     * @see #gemm
+     */
+    public MatrixBatch multiply(MatrixBatch other) {
+        return multiply(this, other);
+    }
+
+    /**
+     * Multiplies every member by the same Matrix.
+     *
+     * @param other The right operand of every product.
+     * @return A new batch with the products.
+     * @throws IllegalArgumentException if the shapes do not match.
+     */
+    public MatrixBatch multiply(Matrix other) {
+        return multiply(this, of(other));
+    }
+
+    /**
+     * Multiplies the same Matrix by every member of a batch.
+     *
+     * @param a The left operand of every product.
+     * @param b The right batch.
+     * @return A new batch with the products.
+     * @throws IllegalArgumentException if the shapes do not match.
+     */
+    public static MatrixBatch multiply(Matrix a, MatrixBatch b) {
+        return multiply(of(a), b);
+    }
+
+    /**
+     * Multiplies two batches member by member; a batch of one member is broadcast.
+     *
+     * @param a The left batch.
+     * @param b The right batch.
+     * @return A new batch with the products.
+     * @throws IllegalArgumentException if the shapes or the member counts do not match.
+     */
+    public static MatrixBatch multiply(MatrixBatch a, MatrixBatch b) {
+        MatrixBatch c = new MatrixBatch(Math.max(a.count, b.count), a.rows, b.columns);
+        gemm(1.0, a, false, b, false, 0.0, c);
+        return c;
+    }
+
+    /**
+     * Batched multiply-accumulate, {@code C[i] = alpha * op(A[i]) * op(B[i]) + beta * C[i]}, where
+     * {@code op(X)} is X or its transpose, as in {@link IBackend#gemm}. A or B may have a single
+     * member, which is then used for every member of C; otherwise every batch has the member count of C.
+     *
+     * <p>Batches of small matrices are split across the common pool member by member; when each
+     * product is large enough to be parallel on its own, the members are processed one at a time and
+     * the rows of each product are split instead.</p>
+     *
+     * @param alpha  The multiple of the products.
+     * @param a      The left batch.
+     * @param transA Whether to use the transpose of each member of A.
+     * @param b      The right batch.
+     * @param transB Whether to use the transpose of each member of B.
+     * @param beta   The multiple of the previous contents of C; when zero they are ignored.
+     * @param c      The batch that receives the results. It must not share storage with A or B.
+     * @throws IllegalArgumentException if the shapes or the member counts do not match, or C shares storage.
+     */
+    public static void gemm(double alpha, MatrixBatch a, boolean transA, MatrixBatch b, boolean transB,
+                            double beta, MatrixBatch c) {
+        int m = transA ? a.columns : a.rows;
+        int inner = transA ? a.rows : a.columns;
+        int n = transB ? b.rows : b.columns;
+        if ((transB ? b.columns : b.rows) != inner) {
+            throw new IllegalArgumentException("The columns of op(A) must match the rows of op(B).");
+        }
+        if (c.rows != m || c.columns != n) {
+            throw new IllegalArgumentException("C must be " + m + "x" + n + ", but is " + c.rows + "x" + c.columns
+                    + ".");
+        }
+        if ((a.count != 1 && a.count != c.count) || (b.count != 1 && b.count != c.count)) {
+            throw new IllegalArgumentException("Batches of " + a.count + " and " + b.count
+                    + " members cannot produce " + c.count + " members.");
+        }
+        if (c.data == a.data || c.data == b.data) {
+            throw new IllegalArgumentException("C cannot share storage with A or B.");
+        }
+
+        int total = c.count;
+        long perMember = (long) m * n * inner;
+        OperationProbe probe = OperationProbe.begin("batch-gemm", m, n, inner, 2L * perMember * total, "batch");
+        try {
+            Tuning tuning = Tuning.current();
+            long threshold = tuning.getParallelThreshold();
+            int blockSize = tuning.getGemmBlockSize();
+            if (perMember * total < threshold) {
+                for (int member = 0; member < total; member++) {
+                    product(alpha, a, transA, b, transB, beta, c, member, 0, m, blockSize);
+                }
+            } else if (perMember >= threshold && m > blockSize) {
+                // Produtos grandes: um membro por vez, com as linhas de C divididas entre as tarefas.
+                int blocks = (m + blockSize - 1) / blockSize;
+                for (int member = 0; member < total; member++) {
+                    int current = member;
+                    IntStream.range(0, blocks).parallel().forEach(block -> {
+                        int start = block * blockSize;
+                        product(alpha, a, transA, b, transB, beta, c, current, start,
+                                Math.min(start + blockSize, m), blockSize);
+                    });
+                }
+            } else {
+                int tasks = 4 * ForkJoinPool.getCommonPoolParallelism();
+                int chunk = (total + tasks - 1) / tasks;
+                int chunks = (total + chunk - 1) / chunk;
+                IntStream.range(0, chunks).parallel().forEach(task -> {
+                    int end = Math.min((task + 1) * chunk, total);
+                    for (int member = task * chunk; member < end; member++) {
+                        product(alpha, a, transA, b, transB, beta, c, member, 0, m, blockSize);
+                    }
+                });
+            }
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    /**
+     * Computes the rows {@code [rowStart, rowEnd)} of member {@code member} of C.
+     */
+    private static void product(double alpha, MatrixBatch a, boolean transA, MatrixBatch b, boolean transB,
+                                double beta, MatrixBatch c, int member, int rowStart, int rowEnd, int blockSize) {
+        double[] x = a.data;
+        double[] y = b.data;
+        double[] z = c.data;
+        int baseA = a.count == 1 ? 0 : a.offset(member);
+        int baseB = b.count == 1 ? 0 : b.offset(member);
+        int baseC = c.offset(member);
+        int n = c.columns;
+        int inner = transA ? a.rows : a.columns;
+        for (int i = rowStart; i < rowEnd; i++) {
+            int rowC = baseC + i * n;
+            for (int j = 0; j < n; j++) {
+                z[rowC + j] = beta == 0 ? 0.0 : beta * z[rowC + j];
+            }
+        }
+        if (alpha == 0) {
+            return;
+        }
+        // A(i, k) está em baseA + i * strideI + k * strideK, com ou sem transposição.
+        int strideI = transA ? 1 : a.columns;
+        int strideK = transA ? a.columns : 1;
+        if (transB) {
+            // Cada elemento de C é o produto escalar de uma linha de op(A) por uma linha contígua de B.
+            for (int i = rowStart; i < rowEnd; i++) {
+                int rowA = baseA + i * strideI;
+                int rowC = baseC + i * n;
+                for (int j = 0; j < n; j++) {
+                    int rowB = baseB + j * inner;
+                    double sum = 0.0;
+                    for (int k = 0; k < inner; k++) {
+                        sum += x[rowA + k * strideK] * y[rowB + k];
+                    }
+                    z[rowC + j] += alpha * sum;
+                }
+            }
+            return;
+        }
+        // Blocos em k e j para que as linhas de B reutilizadas fiquem em cache em produtos grandes.
+        for (int kk = 0; kk < inner; kk += blockSize) {
+            int kEnd = Math.min(kk + blockSize, inner);
+            for (int jj = 0; jj < n; jj += blockSize) {
+                int jEnd = Math.min(jj + blockSize, n);
+                for (int i = rowStart; i < rowEnd; i++) {
+                    int rowA = baseA + i * strideI;
+                    int rowC = baseC + i * n;
+                    for (int k = kk; k < kEnd; k++) {
+                        double aik = alpha * x[rowA + k * strideK];
+                        int rowB = baseB + k * n;
+                        for (int j = jj; j < jEnd; j++) {
+                            z[rowC + j] += aik * y[rowB + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private int offset(int member) {
+        return member * rows * columns;
+    }
+
+    private int index(int member, int row, int column) {
+        return offset(Objects.checkIndex(member, count)) + Objects.checkIndex(row, rows) * columns
+                + Objects.checkIndex(column, columns);
+    }
+}
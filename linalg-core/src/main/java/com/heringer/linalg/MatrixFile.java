@@ -0,0 +1,341 @@
+package com.heringer.linalg;
+
+import com.heringer.Complex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes matrices and vectors in a compact binary format: a 64-byte header followed
+ * by the raw elements as little-endian doubles. Loading copies whole buffers of bytes into the
+ * rows, with no per-element parsing, and the data is checked against a CRC-32C checksum.
+ *
+ * <p>Header layout, all fields little-endian:</p>
+ * <pre>
+ * offset  size  field
+ *      0     4  magic, the ASCII bytes "LAMX"
+ *      4     2  format version, currently 1
+ *      6     1  kind: 0 = Matrix, 1 = Vector, 2 = ComplexMatrix
+ *      7     1  element type: 1 = float64, 2 = complex128 (real and imaginary parts interleaved)
+ *      8     1  layout: 0 = row-major, 1 = column-major
+ *      9     7  reserved, zero
+ *     16     8  rows
+ *     24     8  columns
+ *     32     8  CRC-32C of the data section
+ *     40    24  reserved, zero
+ *     64        data
+ * </pre>
+ *
+ * <p>Files are always written row-major; column-major files are accepted on load and
+ * transposed. A vector is stored as a single row.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class MatrixFile {
+
+    /**
+     * Size of the header, in bytes. The data section starts at this offset.
+     */
+    public static final int HEADER_BYTES = 64;
+
+    static final int MAGIC = 'L' | 'A' << 8 | 'M' << 16 | 'X' << 24;
+    static final short VERSION = 1;
+    static final byte KIND_MATRIX = 0;
+    static final byte KIND_VECTOR = 1;
+    static final byte KIND_COMPLEX_MATRIX = 2;
+    static final byte FLOAT64 = 1;
+    static final byte COMPLEX128 = 2;
+    static final byte ROW_MAJOR = 0;
+    static final byte COLUMN_MAJOR = 1;
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private MatrixFile() {
+    }
+
+    /**
+     * Writes a Matrix, replacing the file if it exists.
+     *
+     * @param path   The file.
+     * @param matrix The Matrix to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, Matrix matrix) throws IOException {
+        write(path, KIND_MATRIX, FLOAT64, matrix.getRows(), matrix.getColumns(), matrix.mtx);
+    }
+
+    /**
+     * Writes a Vector, replacing the file if it exists.
+     *
+     * @param path   The file.
+     * @param vector The Vector to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, Vector vector) throws IOException {
+        double[] elements = vector.getVector() == null ? new double[0] : vector.getVector();
+        write(path, KIND_VECTOR, FLOAT64, 1, elements.length, new double[][]{elements});
+    }
+
+    /**
+     * Writes a ComplexMatrix, replacing the file if it exists.
+     *
+     * @param path   The file.
+     * @param matrix The ComplexMatrix to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, ComplexMatrix matrix) throws IOException {
+        int rows = matrix.getRows();
+        int columns = matrix.getColumns();
+        double[][] interleaved = new double[rows][2 * columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                Complex element = matrix.getMatrix()[i][j];
+                interleaved[i][2 * j] = element.getReal();
+                interleaved[i][2 * j + 1] = element.getImaginary();
+            }
+        }
+        write(path, KIND_COMPLEX_MATRIX, COMPLEX128, rows, columns, interleaved);
+    }
+
+    /**
+     * Reads a Matrix.
+     *
+     * @param path The file.
+     * @return The Matrix stored in the file.
+     * @throws IOException if the file cannot be read, is not a Matrix file or fails the checksum.
+     */
+    public static Matrix readMatrix(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = Header.read(channel, KIND_MATRIX, FLOAT64);
+            if (header.rows == 0 || header.columns == 0) {
+                throw new IOException("The file " + path + " holds an empty matrix.");
+            }
+            double[][] data = new double[header.storedRows()][header.storedColumns()];
+            readData(channel, header, data);
+            return new Matrix(header.layout == COLUMN_MAJOR
+                    ? Matrix.transpose(data, data.length, data[0].length, Tuning.current().getTransposeBlockSize())
+                    : data);
+        }
+    }
+
+    /**
+     * Reads a Vector.
+     *
+     * @param path The file.
+     * @return The Vector stored in the file.
+     * @throws IOException if the file cannot be read, is not a Vector file or fails the checksum.
+     */
+    public static Vector readVector(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = Header.read(channel, KIND_VECTOR, FLOAT64);
+            double[] elements = new double[(int) (header.rows * header.columns)];
+            readData(channel, header, new double[][]{elements});
+            return new Vector(elements);
+        }
+    }
+
+    /**
+     * Reads a ComplexMatrix.
+     *
+     * @param path The file.
+     * @return The ComplexMatrix stored in the file.
+     * @throws IOException if the file cannot be read, is not a ComplexMatrix file or fails the checksum.
+     */
+    public static ComplexMatrix readComplexMatrix(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = Header.read(channel, KIND_COMPLEX_MATRIX, COMPLEX128);
+            int rows = (int) header.rows;
+            int columns = (int) header.columns;
+            double[][] interleaved = new double[header.storedRows()][2 * header.storedColumns()];
+            readData(channel, header, interleaved);
+            Complex[][] elements = new Complex[rows][columns];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < columns; j++) {
+                    double[] source = interleaved[header.layout == COLUMN_MAJOR ? j : i];
+                    int index = 2 * (header.layout == COLUMN_MAJOR ? i : j);
+                    elements[i][j] = new Complex(source[index], source[index + 1]);
+                }
+            }
+            return new ComplexMatrix(elements);
+        }
+    }
+
+    /**
+     * Maps the data section of a row-major Matrix file without copying it to the heap.
+     * The mapping is read-only, so the checksum stays valid; it is not verified, since that
+     * would read the whole file.
+     *
+     * @param path The file.
+     * @return The mapped matrix.
+     * @throws IOException if the file cannot be read or is not a row-major Matrix file.
+     */
+    public static MappedMatrix map(Path path) throws IOException {
+        Header header;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            header = Header.read(channel, KIND_MATRIX, FLOAT64);
+        }
+        if (header.layout != ROW_MAJOR) {
+            throw new IOException("Only row-major files can be mapped.");
+        }
+        return MappedMatrix.map(path, HEADER_BYTES, (int) header.rows, (int) header.columns, false, true,
+                MappedMatrix.DEFAULT_TILE_SIZE, MappedMatrix.DEFAULT_CACHE_BYTES, MappedMatrix.CHUNK_SHIFT);
+    }
+
+    /**
+     * Writes the header and the rows, each with the same length, through a reusable direct buffer.
+     * The header is written last, once the checksum of the data is known.
+     */
+    private static void write(Path path, byte kind, byte type, long rows, long columns, double[][] data)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C checksum = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            DoubleBuffer doubles = buffer.asDoubleBuffer();
+            long position = HEADER_BYTES;
+            for (double[] row : data) {
+                int offset = 0;
+                while (offset < row.length) {
+                    int count = Math.min(doubles.remaining(), row.length - offset);
+                    doubles.put(row, offset, count);
+                    offset += count;
+                    if (!doubles.hasRemaining()) {
+                        position += flush(channel, buffer, doubles, checksum, position);
+                    }
+                }
+            }
+            position += flush(channel, buffer, doubles, checksum, position);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putShort(VERSION).put(kind).put(type).put(ROW_MAJOR);
+            header.position(16);
+            header.putLong(rows).putLong(columns).putLong(checksum.getValue());
+            header.clear();
+            writeFully(channel, header, 0);
+        }
+    }
+
+    private static int flush(FileChannel channel, ByteBuffer buffer, DoubleBuffer doubles, CRC32C checksum,
+                             long position) throws IOException {
+        int bytes = 8 * doubles.position();
+        buffer.position(0).limit(bytes);
+        checksum.update(buffer.duplicate());
+        writeFully(channel, buffer, position);
+        buffer.clear();
+        doubles.clear();
+        return bytes;
+    }
+
+    /**
+     * Fills the rows, each of {@code target[0].length} doubles, from the data section.
+     */
+    private static void readData(FileChannel channel, Header header, double[][] target) throws IOException {
+        CRC32C checksum = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long position = HEADER_BYTES;
+        int row = 0;
+        int offset = 0;
+        long remaining = header.dataBytes();
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(BUFFER_BYTES, remaining));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file.");
+                }
+            }
+            buffer.flip();
+            checksum.update(buffer.duplicate());
+            DoubleBuffer doubles = buffer.asDoubleBuffer();
+            while (doubles.hasRemaining()) {
+                int count = Math.min(doubles.remaining(), target[row].length - offset);
+                doubles.get(target[row], offset, count);
+                offset += count;
+                if (offset == target[row].length) {
+                    row++;
+                    offset = 0;
+                }
+            }
+            position += buffer.limit();
+            remaining -= buffer.limit();
+        }
+        if (checksum.getValue() != header.checksum) {
+            throw new IOException("Checksum mismatch: the file is corrupted.");
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * The fields of a validated header.
+     */
+    private static final class Header {
+        final byte type;
+        final byte layout;
+        final long rows;
+        final long columns;
+        final long checksum;
+
+        private Header(byte type, byte layout, long rows, long columns, long checksum) {
+            this.type = type;
+            this.layout = layout;
+            this.rows = rows;
+            this.columns = columns;
+            this.checksum = checksum;
+        }
+
+        static Header read(FileChannel channel, byte kind, byte type) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, buffer.position()) < 0) {
+                    throw new IOException("File is too short for a matrix header.");
+                }
+            }
+            buffer.flip();
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a matrix file: wrong magic number.");
+            }
+            if (buffer.getShort(4) != VERSION) {
+                throw new IOException("Unsupported format version " + buffer.getShort(4) + ".");
+            }
+            if (buffer.get(6) != kind || buffer.get(7) != type) {
+                throw new IOException("The file holds another kind of object (kind " + buffer.get(6)
+                        + ", element type " + buffer.get(7) + ").");
+            }
+            byte layout = buffer.get(8);
+            long rows = buffer.getLong(16);
+            long columns = buffer.getLong(24);
+            if ((layout != ROW_MAJOR && layout != COLUMN_MAJOR) || rows < 0 || columns < 0
+                    || rows > Integer.MAX_VALUE || columns > Integer.MAX_VALUE / 2) {
+                throw new IOException("Invalid matrix header: layout " + layout + ", " + rows + "x" + columns + ".");
+            }
+            Header header = new Header(type, layout, rows, columns, buffer.getLong(32));
+            if (channel.size() != HEADER_BYTES + header.dataBytes()) {
+                throw new IOException("The file has " + channel.size() + " bytes, but should have "
+                        + (HEADER_BYTES + header.dataBytes()) + ".");
+            }
+            return header;
+        }
+
+        long dataBytes() {
+            return rows * columns * (type == COMPLEX128 ? 16 : 8);
+        }
+
+        int storedRows() {
+            return (int) (layout == COLUMN_MAJOR ? columns : rows);
+        }
+
+        int storedColumns() {
+            return (int) (layout == COLUMN_MAJOR ? rows : columns);
+        }
+    }
+}
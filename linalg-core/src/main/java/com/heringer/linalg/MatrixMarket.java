@@ -0,0 +1,464 @@
+package com.heringer.linalg;
+
+import com.heringer.Complex;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Reads and writes Matrix Market ({@code .mtx}) files, the format of the SuiteSparse collection.
+ *
+ * <p>The reader handles the {@code coordinate} and {@code array} formats, the {@code real},
+ * {@code double}, {@code integer}, {@code complex} and {@code pattern} fields, and the
+ * {@code general}, {@code symmetric}, {@code skew-symmetric} and {@code hermitian} symmetries.
+ * The body of the file is split into line-aligned chunks that are memory-mapped and parsed in
+ * parallel, each one writing its entries straight into the rows of the result; the heap holds
+ * the dense result and no copy of the file, whatever its size. An {@code array} file is scanned twice,
+ * first to count the values in each chunk and so know where each chunk starts in the matrix.</p>
+ *
+ * <p>The library has no sparse types, so coordinate files are assembled into a dense
+ * {@link Matrix} or {@link ComplexMatrix}; entries that are not listed are zero, and entries
+ * listed more than once are summed in the order of the file, as SuiteSparse does. The reader keeps
+ * two bits per element to find them, and reads the file a second time only when there are any.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class MatrixMarket {
+
+    private static final String BANNER = "%%MatrixMarket";
+    private static final long HEADER_BYTES = 1L << 30;
+
+    private enum Field {REAL, INTEGER, COMPLEX, PATTERN}
+
+    private enum Symmetry {GENERAL, SYMMETRIC, SKEW_SYMMETRIC, HERMITIAN}
+
+    private MatrixMarket() {
+    }
+
+    /**
+     * Reads a real, integer or pattern matrix; pattern entries are read as 1.
+     *
+     * @param path The file.
+     * @return A new Matrix with the entries of the file.
+     * @throws IOException if the file cannot be read, is malformed or holds a complex matrix.
+     */
+    public static Matrix readMatrix(Path path) throws IOException {
+        return readMatrix(path, ByteScanner.CHUNK_BYTES);
+    }
+
+    static Matrix readMatrix(Path path, long chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = Header.read(channel);
+            if (header.field == Field.COMPLEX) {
+                throw new IOException("The file holds a complex matrix; use readComplexMatrix.");
+            }
+            double[][] real = new double[header.rows][header.columns];
+            read(channel, header, chunkBytes, real, null);
+            return new Matrix(real);
+        }
+    }
+
+    /**
+     * Reads a matrix of any field as complex; real entries get a zero imaginary part.
+     *
+     * @param path The file.
+     * @return A new ComplexMatrix with the entries of the file.
+     * @throws IOException if the file cannot be read or is malformed.
+     */
+    public static ComplexMatrix readComplexMatrix(Path path) throws IOException {
+        return readComplexMatrix(path, ByteScanner.CHUNK_BYTES);
+    }
+
+    static ComplexMatrix readComplexMatrix(Path path, long chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = Header.read(channel);
+            double[][] real = new double[header.rows][header.columns];
+            double[][] imaginary = new double[header.rows][header.columns];
+            read(channel, header, chunkBytes, real, imaginary);
+
+            Complex[][] elements = new Complex[header.rows][header.columns];
+            IntStream.range(0, header.rows).parallel().forEach(i -> {
+                for (int j = 0; j < header.columns; j++) {
+                    elements[i][j] = new Complex(real[i][j], imaginary[i][j]);
+                }
+            });
+            return new ComplexMatrix(elements);
+        }
+    }
+
+    /**
+     * Writes a Matrix in the {@code array real general} format, column by column.
+     *
+     * @param path   The file, replaced if it exists.
+     * @param matrix The Matrix to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, Matrix matrix) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writer.write(BANNER + " matrix array real general\n");
+            writer.write(matrix.getRows() + " " + matrix.getColumns() + "\n");
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                for (int i = 0; i < matrix.getRows(); i++) {
+                    writer.write(Double.toString(matrix.mtx[i][j]));
+                    writer.write('\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the nonzero elements of a Matrix in the {@code coordinate real general} format.
+     *
+     * @param path   The file, replaced if it exists.
+     * @param matrix The Matrix to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void writeCoordinate(Path path, Matrix matrix) throws IOException {
+        long nonzeros = 0;
+        for (double[] row : matrix.mtx) {
+            for (double value : row) {
+                if (value != 0.0) {
+                    nonzeros++;
+                }
+            }
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writer.write(BANNER + " matrix coordinate real general\n");
+            writer.write(matrix.getRows() + " " + matrix.getColumns() + " " + nonzeros + "\n");
+            for (int i = 0; i < matrix.getRows(); i++) {
+                for (int j = 0; j < matrix.getColumns(); j++) {
+                    if (matrix.mtx[i][j] != 0.0) {
+                        writer.write((i + 1) + " " + (j + 1) + " " + matrix.mtx[i][j] + "\n");
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a ComplexMatrix in the {@code array complex general} format, column by column.
+     *
+     * @param path   The file, replaced if it exists.
+     * @param matrix The ComplexMatrix to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, ComplexMatrix matrix) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            writer.write(BANNER + " matrix array complex general\n");
+            writer.write(matrix.getRows() + " " + matrix.getColumns() + "\n");
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                for (int i = 0; i < matrix.getRows(); i++) {
+                    Complex value = matrix.getMatrix()[i][j];
+                    writer.write(value.getReal() + " " + value.getImaginary() + "\n");
+                }
+            }
+        }
+    }
+
+    private static void read(FileChannel channel, Header header, long chunkBytes, double[][] real,
+                             double[][] imaginary) throws IOException {
+        long[] bounds = ByteScanner.split(channel, header.dataStart, channel.size(), chunkBytes);
+        long[] counts = new long[bounds.length - 1];
+        if (header.coordinate) {
+            // Uma posição vista duas vezes é marcada em duplicated; seu valor é refeito depois, em ordem de arquivo.
+            long cells = (long) header.rows * header.columns;
+            AtomicLongArray seen = new AtomicLongArray((int) ((cells + 63) >>> 6));
+            AtomicLongArray duplicated = new AtomicLongArray(seen.length());
+            long[] repeats = new long[counts.length];
+            ByteScanner.scan(channel, bounds, (byte) ' ', (chunk, scanner) -> {
+                long count = 0;
+                long repeated = 0;
+                while (skipToEntry(scanner)) {
+                    long i = scanner.nextLong() - 1;
+                    long j = scanner.nextLong() - 1;
+                    if (i < 0 || i >= header.rows || j < 0 || j >= header.columns) {
+                        throw scanner.error("Entry (" + (i + 1) + ", " + (j + 1) + ") is outside the matrix");
+                    }
+                    long key = key(header, (int) i, (int) j);
+                    if (mark(seen, key)) {
+                        mark(duplicated, key);
+                        repeated++;
+                    }
+                    readEntry(scanner, header, (int) i, (int) j, real, imaginary);
+                    count++;
+                }
+                counts[chunk] = count;
+                repeats[chunk] = repeated;
+            });
+            long total = 0;
+            long repeated = 0;
+            for (int c = 0; c < counts.length; c++) {
+                total += counts[c];
+                repeated += repeats[c];
+            }
+            if (total != header.entries) {
+                throw new IOException("Expected " + header.entries + " entries, found " + total + ".");
+            }
+            if (repeated > 0) {
+                sumDuplicates(channel, header, bounds, duplicated, real, imaginary);
+            }
+            return;
+        }
+
+        ByteScanner.scan(channel, bounds, (byte) ' ', (chunk, scanner) -> {
+            long count = 0;
+            while (skipToEntry(scanner)) {
+                count++;
+                scanner.nextLine();
+            }
+            counts[chunk] = count;
+        });
+        long[] starts = new long[counts.length];
+        long total = 0;
+        for (int c = 0; c < counts.length; c++) {
+            starts[c] = total;
+            total += counts[c];
+        }
+        if (total != header.entries) {
+            throw new IOException("Expected " + header.entries + " values, found " + total + ".");
+        }
+        ByteScanner.scan(channel, bounds, (byte) ' ', (chunk, scanner) -> {
+            // Converte o índice do primeiro valor do trecho em (linha, coluna) da parte armazenada.
+            long index = starts[chunk];
+            int j = 0;
+            for (long length = header.rows - firstRow(header, 0); index >= length && j < header.columns - 1;
+                 length = header.rows - firstRow(header, j)) {
+                index -= length;
+                j++;
+            }
+            int i = firstRow(header, j) + (int) index;
+            while (skipToEntry(scanner)) {
+                if (i >= header.rows) {
+                    j++;
+                    i = firstRow(header, j);
+                }
+                readEntry(scanner, header, i, j, real, imaginary);
+                i++;
+            }
+        });
+    }
+
+    /**
+     * Skips blank and comment lines.
+     *
+     * @return Whether an entry follows.
+     */
+    private static boolean skipToEntry(ByteScanner scanner) {
+        while (scanner.hasMore()) {
+            if (scanner.atLineEnd() || scanner.peek() == '%') {
+                scanner.nextLine();
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void readEntry(ByteScanner scanner, Header header, int i, int j, double[][] real,
+                                  double[][] imaginary) throws IOException {
+        double re = header.field == Field.PATTERN ? 1.0 : scanner.nextDouble();
+        double im = header.field == Field.COMPLEX ? scanner.nextDouble() : 0.0;
+        if (!scanner.atLineEnd()) {
+            throw scanner.error("Unexpected data after the entry");
+        }
+        scanner.nextLine();
+        store(header, i, j, re, im, false, real, imaginary);
+    }
+
+    /**
+     * Writes an entry and, in the symmetric formats, its mirror, replacing or adding to what is there.
+     */
+    private static void store(Header header, int i, int j, double re, double im, boolean add, double[][] real,
+                              double[][] imaginary) {
+        real[i][j] = add ? real[i][j] + re : re;
+        if (imaginary != null) {
+            imaginary[i][j] = add ? imaginary[i][j] + im : im;
+        }
+        if (i != j && header.symmetry != Symmetry.GENERAL) {
+            double mirrorRe = header.symmetry == Symmetry.SKEW_SYMMETRIC ? -re : re;
+            double mirrorIm = header.symmetry == Symmetry.SYMMETRIC ? im : -im;
+            real[j][i] = add ? real[j][i] + mirrorRe : mirrorRe;
+            if (imaginary != null) {
+                imaginary[j][i] = add ? imaginary[j][i] + mirrorIm : mirrorIm;
+            }
+        }
+    }
+
+    /**
+     * Sums the repeated entries of a coordinate file, as SuiteSparse does. The first pass has left in
+     * each repeated position whichever copy was written last, so the copies are read again, in
+     * parallel, and then added up in the order of the file: the result does not depend on the chunks.
+     */
+    private static void sumDuplicates(FileChannel channel, Header header, long[] bounds, AtomicLongArray duplicated,
+                                      double[][] real, double[][] imaginary) throws IOException {
+        List<List<double[]>> copies = new ArrayList<>(Collections.nCopies(bounds.length - 1, null));
+        ByteScanner.scan(channel, bounds, (byte) ' ', (chunk, scanner) -> {
+            List<double[]> found = new ArrayList<>();
+            while (skipToEntry(scanner)) {
+                int i = (int) scanner.nextLong() - 1;
+                int j = (int) scanner.nextLong() - 1;
+                long key = key(header, i, j);
+                if ((duplicated.get((int) (key >>> 6)) & 1L << key) != 0) {
+                    double re = header.field == Field.PATTERN ? 1.0 : scanner.nextDouble();
+                    double im = header.field == Field.COMPLEX ? scanner.nextDouble() : 0.0;
+                    found.add(new double[]{i, j, re, im});
+                }
+                scanner.nextLine();
+            }
+            copies.set(chunk, found);
+        });
+        for (List<double[]> found : copies) {
+            for (double[] entry : found) {
+                store(header, (int) entry[0], (int) entry[1], 0.0, 0.0, false, real, imaginary);
+            }
+        }
+        for (List<double[]> found : copies) {
+            for (double[] entry : found) {
+                store(header, (int) entry[0], (int) entry[1], entry[2], entry[3], true, real, imaginary);
+            }
+        }
+    }
+
+    /**
+     * The position of an entry in the bit sets of the coordinate reader; in the symmetric formats
+     * (i, j) and (j, i) are the same entry.
+     */
+    private static long key(Header header, int i, int j) {
+        if (header.symmetry != Symmetry.GENERAL && i < j) {
+            return (long) j * header.columns + i;
+        }
+        return (long) i * header.columns + j;
+    }
+
+    /**
+     * Sets a bit.
+     *
+     * @return Whether it was already set.
+     */
+    private static boolean mark(AtomicLongArray bits, long index) {
+        long bit = 1L << index;
+        return (bits.getAndAccumulate((int) (index >>> 6), bit, (word, mask) -> word | mask) & bit) != 0;
+    }
+
+    /**
+     * First stored row of column {@code j} in the array format: symmetric files store the lower
+     * triangle with the diagonal, skew-symmetric files without it.
+     */
+    private static int firstRow(Header header, int j) {
+        switch (header.symmetry) {
+            case GENERAL:
+                return 0;
+            case SKEW_SYMMETRIC:
+                return j + 1;
+            default:
+                return j;
+        }
+    }
+
+    private static final class Header {
+        boolean coordinate;
+        Field field;
+        Symmetry symmetry;
+        int rows;
+        int columns;
+        long entries;
+        long dataStart;
+
+        static Header read(FileChannel channel) throws IOException {
+            ByteScanner scanner = ByteScanner.head(channel, HEADER_BYTES, (byte) ' ');
+            String[] banner = scanner.readLine().trim().toLowerCase(Locale.ROOT).split("\\s+");
+            if (banner.length != 5 || !banner[0].equals(BANNER.toLowerCase(Locale.ROOT))
+                    || !banner[1].equals("matrix")) {
+                throw new IOException("Not a Matrix Market file: missing '" + BANNER + " matrix' banner.");
+            }
+
+            Header header = new Header();
+            switch (banner[2]) {
+                case "coordinate":
+                    header.coordinate = true;
+                    break;
+                case "array":
+                    header.coordinate = false;
+                    break;
+                default:
+                    throw new IOException("Unsupported Matrix Market format '" + banner[2] + "'.");
+            }
+            switch (banner[3]) {
+                case "real":
+                case "double":
+                    header.field = Field.REAL;
+                    break;
+                case "integer":
+                    header.field = Field.INTEGER;
+                    break;
+                case "complex":
+                    header.field = Field.COMPLEX;
+                    break;
+                case "pattern":
+                    header.field = Field.PATTERN;
+                    break;
+                default:
+                    throw new IOException("Unsupported Matrix Market field '" + banner[3] + "'.");
+            }
+            switch (banner[4]) {
+                case "general":
+                    header.symmetry = Symmetry.GENERAL;
+                    break;
+                case "symmetric":
+                    header.symmetry = Symmetry.SYMMETRIC;
+                    break;
+                case "skew-symmetric":
+                    header.symmetry = Symmetry.SKEW_SYMMETRIC;
+                    break;
+                case "hermitian":
+                    header.symmetry = Symmetry.HERMITIAN;
+                    break;
+                default:
+                    throw new IOException("Unsupported Matrix Market symmetry '" + banner[4] + "'.");
+            }
+            if (header.field == Field.PATTERN && !header.coordinate) {
+                throw new IOException("The pattern field is only valid in the coordinate format.");
+            }
+
+            if (!skipToEntry(scanner)) {
+                throw new IOException("Missing size line.");
+            }
+            header.rows = dimension(scanner.nextLong(), scanner);
+            header.columns = dimension(scanner.nextLong(), scanner);
+            if (header.symmetry != Symmetry.GENERAL && header.rows != header.columns) {
+                throw new IOException("A " + banner[4] + " matrix must be square.");
+            }
+            if (header.coordinate) {
+                header.entries = scanner.nextLong();
+            } else {
+                long n = header.rows;
+                header.entries = header.symmetry == Symmetry.GENERAL ? n * header.columns
+                        : header.symmetry == Symmetry.SKEW_SYMMETRIC ? n * (n - 1) / 2 : n * (n + 1) / 2;
+            }
+            if (!scanner.atLineEnd()) {
+                throw scanner.error("Unexpected data after the size line");
+            }
+            scanner.nextLine();
+            header.dataStart = scanner.offset();
+            return header;
+        }
+
+        private static int dimension(long value, ByteScanner scanner) throws IOException {
+            if (value <= 0 || value > Integer.MAX_VALUE) {
+                throw scanner.error("Invalid dimension " + value);
+            }
+            return (int) value;
+        }
+    }
+}
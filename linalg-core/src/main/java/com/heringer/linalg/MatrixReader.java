@@ -0,0 +1,171 @@
+package com.heringer.linalg;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a {@link Matrix} from delimited text such as CSV, one line per row.
+ *
+ * <p>The file is memory-mapped in line-aligned chunks that are parsed in parallel. Each number
+ * is parsed in place from the mapped bytes, without building a {@code String}, and stored
+ * straight into its row; a chunk keeps the rows it parsed, and the rows of all chunks are then
+ * joined in file order without being copied. Blank lines are skipped, an empty field reads as
+ * {@code NaN}, and every row must have as many fields as the first one.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class MatrixReader {
+
+    private static final long HEADER_BYTES = 1L << 30;
+
+    private MatrixReader() {
+    }
+
+    /**
+     * Reads a comma-separated file. The first line is taken as a header, and skipped, when any of
+     * its fields is not a number.
+     *
+     * @param path The file.
+     * @return A new Matrix with one row per line.
+     * @throws IOException if the file cannot be read, has no rows or has malformed lines.
+     */
+    public static Matrix csv(Path path) throws IOException {
+        return read(path, (byte) ',', null, ByteScanner.CHUNK_BYTES);
+    }
+
+    /**
+     * Reads a delimited file. With a space or tab delimiter, any run of blanks separates fields.
+     *
+     * @param path      The file.
+     * @param delimiter The field delimiter, such as {@code ','}, {@code ';'} or {@code '\t'}.
+     * @param header    Whether the first line is a header to be skipped.
+     * @return A new Matrix with one row per line.
+     * @throws IOException if the file cannot be read, has no rows or has malformed lines.
+     */
+    public static Matrix delimited(Path path, char delimiter, boolean header) throws IOException {
+        if (delimiter > 127 || delimiter == '\n' || delimiter == '\r' || Character.isDigit(delimiter)
+                || delimiter == '.' || delimiter == '-' || delimiter == '+') {
+            throw new IllegalArgumentException("Invalid delimiter: '" + delimiter + "'.");
+        }
+        return read(path, (byte) delimiter, header, ByteScanner.CHUNK_BYTES);
+    }
+
+    /**
+     * @param header Whether to skip the first line, or {@code null} to detect it.
+     */
+    static Matrix read(Path path, byte delimiter, Boolean header, long chunkBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteScanner head = ByteScanner.head(channel, HEADER_BYTES, delimiter);
+            skipBlankLines(head);
+            if (!head.hasMore()) {
+                throw new IOException("The file has no rows.");
+            }
+            long firstLine = head.offset();
+            boolean skipHeader;
+            int columns;
+            if (header == null) {
+                int fields;
+                try {
+                    fields = readFields(head, delimiter, null);
+                } catch (IOException e) {
+                    fields = -1;
+                    head.nextLine();
+                }
+                skipHeader = fields < 0;
+                columns = fields;
+            } else {
+                skipHeader = header;
+                columns = header ? -1 : readFields(head, delimiter, null);
+                if (header) {
+                    head.nextLine();
+                }
+            }
+            long dataStart = firstLine;
+            if (skipHeader) {
+                skipBlankLines(head);
+                if (!head.hasMore()) {
+                    throw new IOException("The file has no rows after the header.");
+                }
+                dataStart = head.offset();
+                columns = readFields(head, delimiter, null);
+            }
+
+            int width = columns;
+            long[] bounds = ByteScanner.split(channel, dataStart, channel.size(), chunkBytes);
+            double[][][] parts = new double[bounds.length - 1][][];
+            ByteScanner.scan(channel, bounds, delimiter, (chunk, scanner) -> {
+                List<double[]> rows = new ArrayList<>();
+                while (skipBlankLines(scanner)) {
+                    long line = scanner.offset();
+                    double[] row = new double[width];
+                    int fields = readFields(scanner, delimiter, row);
+                    if (fields != width) {
+                        throw new IOException("Expected " + width + " fields, found " + fields
+                                + " in the line at byte " + line + ".");
+                    }
+                    rows.add(row);
+                }
+                parts[chunk] = rows.toArray(new double[0][]);
+            });
+
+            long total = 0;
+            for (double[][] part : parts) {
+                total += part.length;
+            }
+            if (total == 0 || total > Integer.MAX_VALUE) {
+                throw new IOException(total == 0 ? "The file has no rows." : "Too many rows: " + total + ".");
+            }
+            double[][] rows = new double[(int) total][];
+            int offset = 0;
+            for (double[][] part : parts) {
+                System.arraycopy(part, 0, rows, offset, part.length);
+                offset += part.length;
+            }
+            return new Matrix(rows);
+        }
+    }
+
+    /**
+     * @return Whether a line with data follows.
+     */
+    private static boolean skipBlankLines(ByteScanner scanner) {
+        while (scanner.hasMore() && scanner.atLineEnd()) {
+            scanner.nextLine();
+        }
+        return scanner.hasMore();
+    }
+
+    /**
+     * Parses the fields of one line into {@code row}, when given, and moves to the next line.
+     *
+     * @return The number of fields in the line; only the ones that fit are stored.
+     */
+    private static int readFields(ByteScanner scanner, byte delimiter, double[] row) throws IOException {
+        boolean blankDelimiter = delimiter == ' ' || delimiter == '\t';
+        int count = 0;
+        while (true) {
+            double value;
+            if (!blankDelimiter && (scanner.atLineEnd() || scanner.peek() == delimiter)) {
+                value = Double.NaN;
+            } else {
+                value = scanner.nextDouble();
+            }
+            if (row != null && count < row.length) {
+                row[count] = value;
+            }
+            count++;
+            if (blankDelimiter ? scanner.atLineEnd() : !scanner.skipDelimiter()) {
+                if (!scanner.atLineEnd()) {
+                    throw scanner.error("Expected '" + (char) delimiter + "'");
+                }
+                break;
+            }
+        }
+        scanner.nextLine();
+        return count;
+    }
+}
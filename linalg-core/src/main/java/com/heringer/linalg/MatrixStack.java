@@ -0,0 +1,768 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A stack of many small matrices of the same shape in one {@code double[]}, with batched LU,
+ * solve, inverse, determinant and Cholesky kernels.
+ *
+ * <p>The storage is interleaved in groups of {@link #LANES} matrices: element {@code (i, j)} of
+ * the matrices of a group occupies {@code LANES} consecutive doubles, one per matrix. Every kernel
+ * runs the same elimination step on all the matrices of a group at once, in an inner loop over the
+ * lanes that the JIT vectorizes, so the SIMD lanes work across matrices instead of along the short
+ * rows of a single one. For that, each group is first copied to one array per element, taken from
+ * the {@link Workspace} of the thread: the JIT only vectorizes loops whose arrays are all read at
+ * the same offset. A group of 6x6 matrices takes 36 KB and stays in cache while it is factored;
+ * large stacks are split into ranges of groups that run in parallel. The last group is padded with
+ * identity matrices (zero matrices if not square), which the kernels process and ignore.</p>
+ *
+ * <p>The LU, solve, determinant and inverse kernels use partial pivoting, chosen for each matrix
+ * on its own: at step {@code k} every lane takes the row with the largest magnitude in column
+ * {@code k} of its own matrix, found and swapped with arithmetic masks instead of branches, so that
+ * the lanes of a group stay in step while they swap different rows. A zero pivot leaves its column
+ * unreduced, so determinants report 0 and solve and inverse reject the matrix. Cholesky does not
+ * pivot.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class MatrixStack {
+
+    /**
+     * Matrices per interleaved group.
+     */
+    public static final int LANES = 128;
+
+    private final int count;
+    private final int rows;
+    private final int columns;
+    final double[] data;
+
+    /**
+     * Creates a stack of {@code count} zero matrices.
+     *
+     * @param count   The number of matrices.
+     * @param rows    The rows of each matrix.
+     * @param columns The columns of each matrix.
+     * @throws IllegalArgumentException if a dimension is not positive or the stack is too large.
+     */
+    public MatrixStack(int count, int rows, int columns) {
+        if (count <= 0 || rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("The dimensions of the stack must be positive.");
+        }
+        long length = (long) groups(count) * rows * columns * LANES;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Stack is too large for one array: " + length + " elements.");
+        }
+        this.count = count;
+        this.rows = rows;
+        this.columns = columns;
+        this.data = new double[(int) length];
+        if (rows == columns) {
+            for (int b = count; b < groups(count) * LANES; b++) {
+                for (int i = 0; i < rows; i++) {
+                    data[index(b, i, i)] = 1.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies matrices of the same shape into a new stack.
+     *
+     * @param matrices The matrices, in the order of the stack.
+     * @return A new stack with copies of the matrices.
+     * @throws IllegalArgumentException if there are no matrices or their shapes differ.
+     */
+    public static MatrixStack of(Matrix... matrices) {
+        if (matrices == null || matrices.length == 0) {
+            throw new IllegalArgumentException("The stack needs at least one matrix.");
+        }
+        MatrixStack stack = new MatrixStack(matrices.length, matrices[0].getRows(), matrices[0].getColumns());
+        for (int b = 0; b < matrices.length; b++) {
+            stack.setMatrix(b, matrices[b]);
+        }
+        return stack;
+    }
+
+    /**
+     * Gets the number of matrices in the stack.
+     *
+     * @return The number of matrices.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the number of rows of each matrix.
+     *
+     * @return The number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns of each matrix.
+     *
+     * @return The number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Reads one element.
+     *
+     * @param matrix The index of the matrix in the stack.
+     * @param row    The row of the element.
+     * @param column The column of the element.
+     * @return The element.
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public double get(int matrix, int row, int column) {
+        return data[index(check(matrix), Objects.checkIndex(row, rows), Objects.checkIndex(column, columns))];
+    }
+
+    /**
+     * Writes one element.
+     *
+     * @param matrix The index of the matrix in the stack.
+     * @param row    The row of the element.
+     * @param column The column of the element.
+     * @param value  The new value.
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public void set(int matrix, int row, int column, double value) {
+        data[index(check(matrix), Objects.checkIndex(row, rows), Objects.checkIndex(column, columns))] = value;
+    }
+
+    /**
+     * Copies one matrix of the stack.
+     *
+     * @param matrix The index of the matrix in the stack.
+     * @return A new Matrix with its elements.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Matrix getMatrix(int matrix) {
+        check(matrix);
+        double[][] result = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                result[i][j] = data[index(matrix, i, j)];
+            }
+        }
+        return new Matrix(result);
+    }
+
+    /**
+     * Replaces one matrix of the stack.
+     *
+     * @param matrix The index of the matrix in the stack.
+     * @param value  The new matrix.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws IllegalArgumentException if the Matrix does not have the shape of the stack.
+     */
+    public void setMatrix(int matrix, Matrix value) {
+        check(matrix);
+        if (value.getRows() != rows || value.getColumns() != columns) {
+            throw new IllegalArgumentException("The matrix must be " + rows + "x" + columns + ", but is "
+                    + value.getRows() + "x" + value.getColumns() + ".");
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                data[index(matrix, i, j)] = value.mtx[i][j];
+            }
+        }
+    }
+
+    /**
+     * The determinant of every matrix; singular matrices give 0.
+     *
+     * @return The determinants, in the order of the stack.
+     * @throws IllegalArgumentException if the matrices are not square.
+     */
+    public double[] determinants() {
+        requireSquare();
+        int n = rows;
+        double[] result = new double[count];
+        forEachGroup((long) n * n * n, (start, end, workspace) -> {
+            Group group = new Group(workspace, n);
+            for (int g = start; g < end; g++) {
+                group.load(data, g);
+                group.factor();
+                int first = g * LANES;
+                for (int l = 0; l < Math.min(LANES, count - first); l++) {
+                    double det = group.sign[l];
+                    for (int k = 0; k < n; k++) {
+                        det *= group.a[k * n + k][l];
+                    }
+                    result[first + l] = det;
+                }
+            }
+            return -1;
+        });
+        return result;
+    }
+
+    /**
+     * Computes the LU factorization with partial pivoting of every matrix, P * A = L * U.
+     *
+     * @param pivots Receives, at {@code matrix * n + k}, the row swapped with row {@code k} at step
+     *               {@code k}, as in LAPACK's {@code getrf}; it needs {@code count * n} elements.
+     * @return A new stack with L (unit diagonal, not stored) and U packed in each matrix.
+     * @throws IllegalArgumentException if the matrices are not square or the pivot array is too short.
+     */
+    public MatrixStack lu(int[] pivots) {
+        requireSquare();
+        int n = rows;
+        if (pivots.length < count * n) {
+            throw new IllegalArgumentException("The pivot array needs " + count * n + " elements.");
+        }
+        MatrixStack result = new MatrixStack(count, n, n);
+        forEachGroup((long) n * n * n, (start, end, workspace) -> {
+            Group group = new Group(workspace, n);
+            for (int g = start; g < end; g++) {
+                group.load(data, g);
+                group.factor();
+                group.store(result.data, g, false);
+                int first = g * LANES;
+                for (int l = 0; l < Math.min(LANES, count - first); l++) {
+                    for (int k = 0; k < n; k++) {
+                        pivots[(first + l) * n + k] = k + (int) group.offsets[k][l];
+                    }
+                }
+            }
+            return -1;
+        });
+        return result;
+    }
+
+    /**
+     * Solves {@code A[b] * X[b] = B[b]} for every matrix of the stack.
+     *
+     * @param rhs A stack with as many matrices, each with {@code n} rows.
+     * @return A new stack with the solutions.
+     * @throws IllegalArgumentException if the matrices are not square or the stacks do not match.
+     * @throws IllegalStateException    if any matrix is singular.
+     */
+    public MatrixStack solve(MatrixStack rhs) {
+        requireSquare();
+        if (rhs.count != count || rhs.rows != rows) {
+            throw new IllegalArgumentException("The right-hand side must hold " + count + " matrices with "
+                    + rows + " rows.");
+        }
+        MatrixStack result = new MatrixStack(count, rows, rhs.columns);
+        System.arraycopy(rhs.data, 0, result.data, 0, rhs.data.length);
+        solveInPlace(result, (long) rows * rows * (rows + rhs.columns));
+        return result;
+    }
+
+    /**
+     * Inverts every matrix of the stack.
+     *
+     * @return A new stack with the inverses.
+     * @throws IllegalArgumentException if the matrices are not square.
+     * @throws IllegalStateException    if any matrix is singular.
+     */
+    public MatrixStack inverse() {
+        requireSquare();
+        int n = rows;
+        MatrixStack result = new MatrixStack(count, n, n);
+        int failed = forEachGroup((long) n * n * n, (start, end, workspace) -> {
+            Group group = new Group(workspace, n);
+            for (int g = start; g < end; g++) {
+                group.load(data, g);
+                int first = g * LANES;
+                int lane = group.invert(Math.min(LANES, count - first));
+                if (lane >= 0) {
+                    return first + lane;
+                }
+                group.store(result.data, g, false);
+            }
+            return -1;
+        });
+        if (failed >= 0) {
+            throw new IllegalStateException("Matrix " + failed + " of the stack is not invertible.");
+        }
+        return result;
+    }
+
+    /**
+     * Computes the Cholesky factor of every matrix, A = L * L<sup>T</sup>.
+     *
+     * @return A new stack with the lower triangular factors.
+     * @throws IllegalArgumentException if any matrix is not symmetric positive definite.
+     */
+    public MatrixStack cholesky() {
+        requireSquare();
+        int n = rows;
+        MatrixStack result = new MatrixStack(count, n, n);
+        int failed = forEachGroup((long) n * n * n / 3 + 1, (start, end, workspace) -> {
+            Group group = new Group(workspace, n);
+            for (int g = start; g < end; g++) {
+                group.load(data, g);
+                int first = g * LANES;
+                int lane = group.cholesky(Math.min(LANES, count - first));
+                if (lane >= 0) {
+                    return first + lane;
+                }
+                group.store(result.data, g, true);
+            }
+            return -1;
+        });
+        if (failed >= 0) {
+            throw new IllegalArgumentException("Matrix " + failed + " must be symmetric positive definite.");
+        }
+        return result;
+    }
+
+    /**
+     * Copies the stack.
+     *
+     * @return A new stack with the same matrices.
+     */
+    public MatrixStack copy() {
+        MatrixStack copy = new MatrixStack(count, rows, columns);
+        System.arraycopy(data, 0, copy.data, 0, data.length);
+        return copy;
+    }
+
+    int index(int matrix, int row, int column) {
+        return ((matrix / LANES * rows + row) * columns + column) * LANES + matrix % LANES;
+    }
+
+    private int check(int matrix) {
+        return Objects.checkIndex(matrix, count);
+    }
+
+    private void requireSquare() {
+        if (rows != columns) {
+            throw new IllegalArgumentException("The matrices must be square.");
+        }
+    }
+
+    private static int groups(int count) {
+        return (count + LANES - 1) / LANES;
+    }
+
+    /**
+     * Runs a task over every group: a single one for small stacks, or a few on the common pool,
+     * each with a contiguous range of groups. Every task runs with a mark on its thread's
+     * {@link Workspace}, released when it returns.
+     *
+     * @return The smallest non-negative result of the tasks, or -1.
+     */
+    private int forEachGroup(long workPerMatrix, GroupTask task) {
+        int groups = groups(count);
+        boolean parallel = groups > 1 && workPerMatrix * count >= Tuning.current().getParallelThreshold();
+        int tasks = parallel ? Math.min(groups, 4 * ForkJoinPool.getCommonPoolParallelism()) : 1;
+        int chunk = (groups + tasks - 1) / tasks;
+        IntStream range = IntStream.range(0, (groups + chunk - 1) / chunk);
+        if (parallel) {
+            range = range.parallel();
+        }
+        return range.map(t -> {
+            Workspace workspace = Workspace.current();
+            int mark = workspace.mark();
+            try {
+                return task.run(t * chunk, Math.min((t + 1) * chunk, groups), workspace);
+            } finally {
+                workspace.release(mark);
+            }
+        }).filter(result -> result >= 0).min().orElse(-1);
+    }
+
+    /**
+     * Overwrites {@code x} with {@code A⁻¹ x}, group by group.
+     */
+    private void solveInPlace(MatrixStack x, long workPerMatrix) {
+        int n = rows;
+        int m = x.columns;
+        int failed = forEachGroup(workPerMatrix, (start, end, workspace) -> {
+            Group group = new Group(workspace, n);
+            double[][] rhs = lanes(workspace, n * m);
+            for (int g = start; g < end; g++) {
+                group.load(data, g);
+                group.factor();
+                int first = g * LANES;
+                for (int l = 0; l < Math.min(LANES, count - first); l++) {
+                    for (int k = 0; k < n; k++) {
+                        if (group.a[k * n + k][l] == 0) {
+                            return first + l;
+                        }
+                    }
+                }
+                load(x.data, g * n * m * LANES, rhs);
+                group.substitute(rhs, m);
+                store(rhs, x.data, g * n * m * LANES);
+            }
+            return -1;
+        });
+        if (failed >= 0) {
+            throw new IllegalStateException("Matrix " + failed + " of the stack is not invertible.");
+        }
+    }
+
+    /**
+     * Takes {@code count} arrays of {@link #LANES} doubles from a workspace.
+     */
+    private static double[][] lanes(Workspace workspace, int count) {
+        double[][] lanes = new double[count][];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = workspace.doubles(LANES);
+        }
+        return lanes;
+    }
+
+    /**
+     * Copies the group of {@code data} that starts at {@code base} to one array per element.
+     */
+    private static void load(double[] data, int base, double[][] elements) {
+        for (int e = 0; e < elements.length; e++) {
+            System.arraycopy(data, base + e * LANES, elements[e], 0, LANES);
+        }
+    }
+
+    /**
+     * Copies one array per element back to the group of {@code data} that starts at {@code base}.
+     */
+    private static void store(double[][] elements, double[] data, int base) {
+        for (int e = 0; e < elements.length; e++) {
+            System.arraycopy(elements[e], 0, data, base + e * LANES, LANES);
+        }
+    }
+
+    /**
+     * Sets {@code mask} to 1 in the lanes whose pivot is {@code distance} rows below, and to 0 in
+     * the others.
+     *
+     * @return Whether any lane is set.
+     */
+    private static boolean select(double[] offsets, int distance, double[] mask) {
+        for (int l = 0; l < LANES; l++) {
+            mask[l] = 1 - Math.min(1.0, Math.abs(offsets[l] - distance));
+        }
+        for (int l = 0; l < LANES; l++) {
+            if (mask[l] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Swaps two elements in the lanes where {@code mask} is 1. Multiplying by 0 and 1 keeps every
+     * finite value exact, up to the sign of zeros.
+     */
+    private static void swap(double[] first, double[] second, double[] mask) {
+        for (int l = 0; l < LANES; l++) {
+            double m = mask[l];
+            double x = first[l];
+            double y = second[l];
+            first[l] = m * y + (1 - m) * x;
+            second[l] = m * x + (1 - m) * y;
+        }
+    }
+
+    /**
+     * A task over the groups {@code start} (inclusive) to {@code end} (exclusive).
+     */
+    @FunctionalInterface
+    private interface GroupTask {
+
+        int run(int start, int end, Workspace workspace);
+    }
+
+    /**
+     * One square group at a time, copied to one array of {@link #LANES} doubles per element, with
+     * the kernels that run on it.
+     *
+     * <p>Every loop over the lanes then reads and writes its arrays at the same offset, which is
+     * what the JIT needs to vectorize it: a loop like {@code a[ij + l] -= a[ik + l] * a[kj + l]}
+     * over the interleaved storage stays scalar. The pivot search and the row swaps use the same
+     * loops, with arithmetic masks in place of comparisons. All the arrays come from the workspace
+     * of the task.</p>
+     */
+    private static final class Group {
+
+        /**
+         * Scales a non-negative difference of magnitudes to at least 1 when it is not zero: the
+         * smallest one is 2<sup>-1074</sup>.
+         */
+        private static final double SCALE = 0x1p600;
+
+        final int n;
+        final double[][] a;
+        /**
+         * At step {@code k}, how many rows below {@code k} the pivot of each lane was.
+         */
+        final double[][] offsets;
+        /**
+         * The sign of the row permutation of each lane.
+         */
+        final double[] sign;
+        private final double[] best;
+        private final double[] found;
+        private final double[] mask;
+        private final double[] inverse;
+
+        Group(Workspace workspace, int n) {
+            this.n = n;
+            this.a = lanes(workspace, n * n);
+            this.offsets = lanes(workspace, n);
+            this.sign = workspace.doubles(LANES);
+            this.best = workspace.doubles(LANES);
+            this.found = workspace.doubles(LANES);
+            this.mask = workspace.doubles(LANES);
+            this.inverse = workspace.doubles(LANES);
+        }
+
+        void load(double[] data, int group) {
+            MatrixStack.load(data, group * n * n * LANES, a);
+        }
+
+        /**
+         * Copies the group to {@code data}, or only its lower triangle, leaving the rest as it is.
+         */
+        void store(double[] data, int group, boolean lower) {
+            int base = group * n * n * LANES;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j <= (lower ? i : n - 1); j++) {
+                    System.arraycopy(a[i * n + j], 0, data, base + (i * n + j) * LANES, LANES);
+                }
+            }
+        }
+
+        /**
+         * Factors the group in place with partial pivoting. A zero pivot leaves its column
+         * unreduced, so that the determinant comes out as 0.
+         */
+        void factor() {
+            Arrays.fill(sign, 0, LANES, 1.0);
+            for (int k = 0; k < n; k++) {
+                pivot(k);
+                double[] offset = offsets[k];
+                for (int l = 0; l < LANES; l++) {
+                    sign[l] *= 1 - 2 * Math.min(1.0, offset[l]);
+                }
+                double[] akk = a[k * n + k];
+                for (int l = 0; l < LANES; l++) {
+                    inverse[l] = 1.0 / akk[l];
+                }
+                for (int l = 0; l < LANES; l++) {
+                    if (akk[l] == 0) {
+                        inverse[l] = 0;
+                    }
+                }
+                for (int i = k + 1; i < n; i++) {
+                    double[] aik = a[i * n + k];
+                    for (int l = 0; l < LANES; l++) {
+                        aik[l] *= inverse[l];
+                    }
+                    for (int j = k + 1; j < n; j++) {
+                        double[] aij = a[i * n + j];
+                        double[] akj = a[k * n + j];
+                        for (int l = 0; l < LANES; l++) {
+                            aij[l] -= aik[l] * akj[l];
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finds, in every lane, the row at or below {@code k} with the largest magnitude in column
+         * {@code k}, the first one on ties, records its distance in {@code offsets[k]} and swaps it
+         * with row {@code k}. Rows that no lane swaps are skipped.
+         */
+        private void pivot(int k) {
+            double[] akk = a[k * n + k];
+            for (int l = 0; l < LANES; l++) {
+                best[l] = Math.abs(akk[l]);
+            }
+            for (int i = k + 1; i < n; i++) {
+                double[] aik = a[i * n + k];
+                for (int l = 0; l < LANES; l++) {
+                    best[l] = Math.max(best[l], Math.abs(aik[l]));
+                }
+            }
+            double[] offset = offsets[k];
+            Arrays.fill(found, 0, LANES, 0.0);
+            Arrays.fill(offset, 0, LANES, 0.0);
+            for (int i = k; i < n; i++) {
+                double[] aik = a[i * n + k];
+                double distance = i - k;
+                for (int l = 0; l < LANES; l++) {
+                    double first = (1 - found[l]) * (1 - Math.min(1.0, (best[l] - Math.abs(aik[l])) * SCALE * SCALE));
+                    found[l] += first;
+                    offset[l] += first * distance;
+                }
+            }
+            for (int i = k + 1; i < n; i++) {
+                if (select(offset, i - k, mask)) {
+                    for (int j = 0; j < n; j++) {
+                        swap(a[k * n + j], a[i * n + j], mask);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Applies the row swaps and the two triangular solves of the factored group to the
+         * {@code n x m} group {@code x}, given as one array per element.
+         */
+        void substitute(double[][] x, int m) {
+            for (int k = 0; k < n; k++) {
+                for (int i = k + 1; i < n; i++) {
+                    if (select(offsets[k], i - k, mask)) {
+                        for (int j = 0; j < m; j++) {
+                            swap(x[k * m + j], x[i * m + j], mask);
+                        }
+                    }
+                }
+            }
+            for (int i = 1; i < n; i++) {
+                for (int k = 0; k < i; k++) {
+                    double[] lik = a[i * n + k];
+                    for (int j = 0; j < m; j++) {
+                        double[] xi = x[i * m + j];
+                        double[] xk = x[k * m + j];
+                        for (int l = 0; l < LANES; l++) {
+                            xi[l] -= lik[l] * xk[l];
+                        }
+                    }
+                }
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                for (int k = i + 1; k < n; k++) {
+                    double[] uik = a[i * n + k];
+                    for (int j = 0; j < m; j++) {
+                        double[] xi = x[i * m + j];
+                        double[] xk = x[k * m + j];
+                        for (int l = 0; l < LANES; l++) {
+                            xi[l] -= uik[l] * xk[l];
+                        }
+                    }
+                }
+                double[] uii = a[i * n + i];
+                for (int j = 0; j < m; j++) {
+                    double[] xi = x[i * m + j];
+                    for (int l = 0; l < LANES; l++) {
+                        xi[l] /= uii[l];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Inverts the group in place by Gauss-Jordan elimination with partial pivoting, which
+         * takes about n³ operations per matrix against 2n³ for LU followed by n solves.
+         *
+         * @return The first lane, among the {@code valid} ones, that is singular, or -1.
+         */
+        int invert(int valid) {
+            double[] coefficient = best;
+            int failed = LANES;
+            for (int k = 0; k < n; k++) {
+                pivot(k);
+                double[] akk = a[k * n + k];
+                for (int l = 0; l < LANES; l++) {
+                    inverse[l] = 1.0 / akk[l];
+                    akk[l] = 1.0;
+                }
+                for (int l = 0; l < valid; l++) {
+                    if (Double.isInfinite(inverse[l])) {
+                        failed = Math.min(failed, l);
+                    }
+                }
+                for (int j = 0; j < n; j++) {
+                    double[] akj = a[k * n + j];
+                    for (int l = 0; l < LANES; l++) {
+                        akj[l] *= inverse[l];
+                    }
+                }
+                for (int i = 0; i < n; i++) {
+                    if (i == k) {
+                        continue;
+                    }
+                    double[] aik = a[i * n + k];
+                    for (int l = 0; l < LANES; l++) {
+                        coefficient[l] = aik[l];
+                        aik[l] = 0;
+                    }
+                    for (int j = 0; j < n; j++) {
+                        double[] aij = a[i * n + j];
+                        double[] akj = a[k * n + j];
+                        for (int l = 0; l < LANES; l++) {
+                            aij[l] -= coefficient[l] * akj[l];
+                        }
+                    }
+                }
+            }
+            // As trocas de linhas de A viram trocas de colunas da inversa, desfeitas na ordem inversa.
+            for (int k = n - 1; k >= 0; k--) {
+                for (int p = k + 1; p < n; p++) {
+                    if (select(offsets[k], p - k, mask)) {
+                        for (int i = 0; i < n; i++) {
+                            swap(a[i * n + k], a[i * n + p], mask);
+                        }
+                    }
+                }
+            }
+            return failed == LANES ? -1 : failed;
+        }
+
+        /**
+         * Factors the group in place into its lower triangle; the upper one keeps A, which is
+         * compared with the lower one to check for symmetry.
+         *
+         * @return The first lane, among the {@code valid} ones, that is not symmetric positive definite, or -1.
+         */
+        int cholesky(int valid) {
+            int failed = LANES;
+            for (int j = 0; j < n; j++) {
+                double[] ajj = a[j * n + j];
+                for (int k = 0; k < j; k++) {
+                    double[] ajk = a[j * n + k];
+                    for (int l = 0; l < LANES; l++) {
+                        ajj[l] -= ajk[l] * ajk[l];
+                    }
+                }
+                for (int l = 0; l < LANES; l++) {
+                    double d = ajj[l];
+                    if (!(d > 0) && l < valid) {
+                        failed = Math.min(failed, l);
+                    }
+                }
+                for (int l = 0; l < LANES; l++) {
+                    ajj[l] = Math.sqrt(ajj[l]);
+                    inverse[l] = 1.0 / ajj[l];
+                }
+                for (int i = j + 1; i < n; i++) {
+                    double[] aij = a[i * n + j];
+                    double[] aji = a[j * n + i];
+                    for (int l = 0; l < valid; l++) {
+                        if (Math.abs(aij[l] - aji[l]) > 1e-10 * (Math.abs(aij[l]) + Math.abs(aji[l]))) {
+                            failed = Math.min(failed, l);
+                        }
+                    }
+                    for (int k = 0; k < j; k++) {
+                        double[] aik = a[i * n + k];
+                        double[] ajk = a[j * n + k];
+                        for (int l = 0; l < LANES; l++) {
+                            aij[l] -= aik[l] * ajk[l];
+                        }
+                    }
+                    for (int l = 0; l < LANES; l++) {
+                        aij[l] *= inverse[l];
+                    }
+                }
+            }
+            return failed == LANES ? -1 : failed;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.heringer.linalg;
+
+/**
+ * A matrix that reads and writes the storage of another object instead of owning it.
+ * Views are created over a {@link Matrix} (see {@link Matrix#view()}, {@link Matrix#submatrix},
+ * {@link Matrix#transposedView()}) or over a flat {@code double[]} with arbitrary row and
+ * column strides. Transposing, cutting a submatrix or taking a row or column of a view
+ * never copies elements, and writes through a view change the underlying storage.
+ *
+ * @author Emílio Heringer
+ */
+public final class MatrixView {
+
+    private final double[][] rows;
+    private final double[] data;
+    private final int offset;
+    private final int rowOffset;
+    private final int columnOffset;
+    private final int rowStride;
+    private final int columnStride;
+    private final boolean transposed;
+    private final int rowCount;
+    private final int columnCount;
+
+    private MatrixView(double[][] rows, double[] data, int offset, int rowOffset, int columnOffset,
+                       int rowStride, int columnStride, boolean transposed, int rowCount, int columnCount) {
+        this.rows = rows;
+        this.data = data;
+        this.offset = offset;
+        this.rowOffset = rowOffset;
+        this.columnOffset = columnOffset;
+        this.rowStride = rowStride;
+        this.columnStride = columnStride;
+        this.transposed = transposed;
+        this.rowCount = rowCount;
+        this.columnCount = columnCount;
+    }
+
+    /**
+     * Creates a view over a whole Matrix.
+     *
+     * @param matrix The Matrix to view.
+     * @return A view of every element of the matrix.
+     */
+    public static MatrixView of(Matrix matrix) {
+        return new MatrixView(matrix.mtx, null, 0, 0, 0, 0, 0, false, matrix.getRows(), matrix.getColumns());
+    }
+
+    /**
+     * Creates a view over flat storage: element (i, j) is {@code data[offset + i * rowStride + j * columnStride]}.
+     * Row-major storage has {@code rowStride = columns, columnStride = 1}; column-major
+     * storage has {@code rowStride = 1, columnStride = rows}.
+     *
+     * @param data         The backing array.
+     * @param offset       The index of element (0, 0).
+     * @param rows         The number of rows.
+     * @param columns      The number of columns.
+     * @param rowStride    The distance between consecutive rows.
+     * @param columnStride The distance between consecutive columns.
+     * @return The view.
+     * @throws IllegalArgumentException if the view does not fit in the array.
+     */
+    public static MatrixView of(double[] data, int offset, int rows, int columns, int rowStride, int columnStride) {
+        if (rows < 0 || columns < 0) {
+            throw new IllegalArgumentException("Dimensions must not be negative.");
+        }
+        if (rows > 0 && columns > 0) {
+            long first = offset + Math.min(0L, (long) (rows - 1) * rowStride) + Math.min(0L, (long) (columns - 1) * columnStride);
+            long last = offset + Math.max(0L, (long) (rows - 1) * rowStride) + Math.max(0L, (long) (columns - 1) * columnStride);
+            if (first < 0 || last >= data.length) {
+                throw new IllegalArgumentException("View does not fit in the array.");
+            }
+        }
+        return new MatrixView(null, data, offset, 0, 0, rowStride, columnStride, false, rows, columns);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of rows of the view.
+     */
+    public int getRows() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return The number of columns of the view.
+     */
+    public int getColumns() {
+        return columnCount;
+    }
+
+    /**
+     * Gets an element.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @return The element at (row, column).
+     * @throws IndexOutOfBoundsException if the indices are out of range.
+     */
+    public double get(int row, int column) {
+        checkIndex(row, column);
+        return at(row, column);
+    }
+
+    /**
+     * Sets an element, writing through to the underlying storage.
+     *
+     * @param row    The row index.
+     * @param column The column index.
+     * @param value  The new value.
+     * @throws IndexOutOfBoundsException if the indices are out of range.
+     */
+    public void set(int row, int column, double value) {
+        checkIndex(row, column);
+        put(row, column, value);
+    }
+
+    /**
+     * Creates a transposed view of this view.
+     *
+     * @return A view whose element (i, j) is element (j, i) of this view.
+     */
+    public MatrixView transpose() {
+        if (rows != null) {
+            return new MatrixView(rows, null, 0, rowOffset, columnOffset, 0, 0, !transposed, columnCount, rowCount);
+        }
+        return new MatrixView(null, data, offset, 0, 0, columnStride, rowStride, false, columnCount, rowCount);
+    }
+
+    /**
+     * Creates a view over a rectangular window of this view.
+     *
+     * @param row     The first row of the window.
+     * @param column  The first column of the window.
+     * @param rows    The number of rows of the window.
+     * @param columns The number of columns of the window.
+     * @return The view of the window.
+     * @throws IndexOutOfBoundsException if the window does not fit in this view.
+     */
+    public MatrixView submatrix(int row, int column, int rows, int columns) {
+        if (row < 0 || column < 0 || rows < 0 || columns < 0
+                || row + rows > rowCount || column + columns > columnCount) {
+            throw new IndexOutOfBoundsException("Window [" + row + ", " + column + ", " + rows + "x" + columns
+                    + "] does not fit in a " + rowCount + "x" + columnCount + " view");
+        }
+        if (this.rows != null) {
+            return transposed
+                    ? new MatrixView(this.rows, null, 0, rowOffset + column, columnOffset + row, 0, 0, true, rows, columns)
+                    : new MatrixView(this.rows, null, 0, rowOffset + row, columnOffset + column, 0, 0, false, rows, columns);
+        }
+        return new MatrixView(null, data, offset + row * rowStride + column * columnStride, 0, 0,
+                rowStride, columnStride, false, rows, columns);
+    }
+
+    /**
+     * Creates a view over one row.
+     *
+     * @param row The row index.
+     * @return The view of the row.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public VectorView row(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + rowCount + " rows");
+        }
+        if (rows == null) {
+            return VectorView.of(data, offset + row * rowStride, columnCount, columnStride);
+        }
+        return transposed
+                ? VectorView.column(rows, rowOffset, columnOffset + row, columnCount)
+                : VectorView.of(rows[rowOffset + row], columnOffset, columnCount, 1);
+    }
+
+    /**
+     * Creates a view over one column.
+     *
+     * @param column The column index.
+     * @return The view of the column.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public VectorView column(int column) {
+        if (column < 0 || column >= columnCount) {
+            throw new IndexOutOfBoundsException("Column " + column + " out of bounds for " + columnCount + " columns");
+        }
+        if (rows == null) {
+            return VectorView.of(data, offset + column * columnStride, rowCount, rowStride);
+        }
+        return transposed
+                ? VectorView.of(rows[rowOffset + column], columnOffset, rowCount, 1)
+                : VectorView.column(rows, rowOffset, columnOffset + column, rowCount);
+    }
+
+    /**
+     * Copies the elements into a new Matrix.
+     *
+     * @return A new Matrix with the elements of this view.
+     */
+    public Matrix toMatrix() {
+        double[][] result = new double[rowCount][columnCount];
+        for (int i = 0; i < rowCount; i++) {
+            for (int j = 0; j < columnCount; j++) {
+                result[i][j] = at(i, j);
+            }
+        }
+        return new Matrix(result);
+    }
+
+    /**
+     * Multiplies this view by another view.
+     *
+     * @param other The right-hand operand.
+     * @return A new Matrix with the product.
+     * @throws IllegalArgumentException if the inner dimensions do not match.
+     * @see Matrix#multiply(MatrixView, MatrixView)
+     */
+    public Matrix multiply(MatrixView other) {
+        return Matrix.multiply(this, other);
+    }
+
+    double at(int row, int column) {
+        if (rows == null) {
+            return data[offset + row * rowStride + column * columnStride];
+        }
+        return transposed ? rows[rowOffset + column][columnOffset + row] : rows[rowOffset + row][columnOffset + column];
+    }
+
+    void put(int row, int column, double value) {
+        if (rows == null) {
+            data[offset + row * rowStride + column * columnStride] = value;
+        } else if (transposed) {
+            rows[rowOffset + column][columnOffset + row] = value;
+        } else {
+            rows[rowOffset + row][columnOffset + column] = value;
+        }
+    }
+
+    /**
+     * Gets the backing row of a non-transposed view over a Matrix, or {@code null} for other views.
+     * Element (row, j) of the view is at index {@code contiguousOffset(row) + j} of the returned array.
+     */
+    double[] contiguousRow(int row) {
+        if (rows != null) {
+            return transposed ? null : rows[rowOffset + row];
+        }
+        return columnStride == 1 ? data : null;
+    }
+
+    /**
+     * Gets the index of element (row, 0) in the array returned by {@link #contiguousRow(int)}.
+     */
+    int contiguousOffset(int row) {
+        return rows != null ? columnOffset : offset + row * rowStride;
+    }
+
+    private void checkIndex(int row, int column) {
+        if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + column + ") out of bounds for a "
+                    + rowCount + "x" + columnCount + " view");
+        }
+    }
+}
@@ -0,0 +1,533 @@
+package com.heringer.linalg;
+
+import com.heringer.Complex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Reads and writes NumPy {@code .npy} files and {@code .npz} archives.
+ *
+ * <p>Supported element types are float64 and float32 ({@code <f8}, {@code >f8}, {@code <f4},
+ * {@code >f4}) for {@link Matrix} and {@link Vector}, and complex128 ({@code <c16},
+ * {@code >c16}) for {@link ComplexMatrix}, in C or Fortran order. A one-dimensional array is
+ * read as a Matrix with a single row. The elements are copied a buffer at a time, without
+ * parsing; files are always written as little-endian float64 or complex128 in C order.</p>
+ *
+ * <p>A little-endian float64 array in C order can also be {@linkplain #map(Path) mapped} as a
+ * {@link MappedMatrix}, which reads it in place instead of copying it to the heap.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class NumPy {
+
+    private static final byte[] MAGIC = {(byte) 0x93, 'N', 'U', 'M', 'P', 'Y'};
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final Pattern DESCR = Pattern.compile("'descr'\\s*:\\s*'([^']*)'");
+    private static final Pattern FORTRAN_ORDER = Pattern.compile("'fortran_order'\\s*:\\s*(True|False)");
+    private static final Pattern SHAPE = Pattern.compile("'shape'\\s*:\\s*\\(([^)]*)\\)");
+
+    private NumPy() {
+    }
+
+    /**
+     * Reads a real array from a {@code .npy} file.
+     *
+     * @param path The file.
+     * @return A new Matrix with the elements of the array.
+     * @throws IOException if the file cannot be read or does not hold a real 1-D or 2-D array.
+     */
+    public static Matrix readMatrix(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return toMatrix(channel, Header.read(channel));
+        }
+    }
+
+    /**
+     * Reads a real one-dimensional array, or a 2-D array with a single row or column,
+     * from a {@code .npy} file.
+     *
+     * @param path The file.
+     * @return A new Vector with the elements of the array.
+     * @throws IOException if the file cannot be read or does not hold a real vector.
+     */
+    public static Vector readVector(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = Header.read(channel);
+            if (header.complex || (header.rows != 1 && header.columns != 1)) {
+                throw new IOException("Expected a real vector, found " + header.describe() + ".");
+            }
+            double[] elements = new double[header.rows * header.columns];
+            readElements(channel, header, new double[][]{elements});
+            return new Vector(elements);
+        }
+    }
+
+    /**
+     * Reads a complex128 array from a {@code .npy} file.
+     *
+     * @param path The file.
+     * @return A new ComplexMatrix with the elements of the array.
+     * @throws IOException if the file cannot be read or does not hold a complex 1-D or 2-D array.
+     */
+    public static ComplexMatrix readComplexMatrix(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = Header.read(channel);
+            if (!header.complex) {
+                throw new IOException("Expected a complex array, found " + header.describe() + ".");
+            }
+            double[][] interleaved = new double[header.storedRows()][2 * header.storedColumns()];
+            readElements(channel, header, interleaved);
+            Complex[][] elements = new Complex[header.rows][header.columns];
+            for (int i = 0; i < header.rows; i++) {
+                for (int j = 0; j < header.columns; j++) {
+                    double[] source = interleaved[header.fortranOrder ? j : i];
+                    int index = 2 * (header.fortranOrder ? i : j);
+                    elements[i][j] = new Complex(source[index], source[index + 1]);
+                }
+            }
+            return new ComplexMatrix(elements);
+        }
+    }
+
+    /**
+     * Maps a {@code .npy} file as a read-only {@link MappedMatrix}, without copying the elements.
+     *
+     * @param path The file.
+     * @return The mapped matrix.
+     * @throws IOException if the file cannot be read or is not a little-endian float64 array in C order.
+     */
+    public static MappedMatrix map(Path path) throws IOException {
+        Header header;
+        long dataOffset;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            header = Header.read(channel);
+            dataOffset = channel.position();
+        }
+        if (!header.descr.equals("<f8") || header.fortranOrder) {
+            throw new IOException("Only little-endian float64 arrays in C order can be mapped, found "
+                    + header.describe() + ".");
+        }
+        return MappedMatrix.map(path, dataOffset, header.rows, header.columns, false, true,
+                MappedMatrix.DEFAULT_TILE_SIZE, MappedMatrix.DEFAULT_CACHE_BYTES, MappedMatrix.CHUNK_SHIFT);
+    }
+
+    /**
+     * Writes a Matrix as a 2-D little-endian float64 array in C order.
+     *
+     * @param path   The file, replaced if it exists.
+     * @param matrix The Matrix to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, Matrix matrix) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel, "<f8", "(" + matrix.getRows() + ", " + matrix.getColumns() + ")", matrix.mtx);
+        }
+    }
+
+    /**
+     * Writes a Vector as a 1-D little-endian float64 array.
+     *
+     * @param path   The file, replaced if it exists.
+     * @param vector The Vector to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, Vector vector) throws IOException {
+        double[] elements = vector.getVector() == null ? new double[0] : vector.getVector();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel, "<f8", "(" + elements.length + ",)", new double[][]{elements});
+        }
+    }
+
+    /**
+     * Writes a ComplexMatrix as a 2-D little-endian complex128 array in C order.
+     *
+     * @param path   The file, replaced if it exists.
+     * @param matrix The ComplexMatrix to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, ComplexMatrix matrix) throws IOException {
+        double[][] interleaved = new double[matrix.getRows()][2 * matrix.getColumns()];
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                interleaved[i][2 * j] = matrix.getMatrix()[i][j].getReal();
+                interleaved[i][2 * j + 1] = matrix.getMatrix()[i][j].getImaginary();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            write(channel, "<c16", "(" + matrix.getRows() + ", " + matrix.getColumns() + ")", interleaved);
+        }
+    }
+
+    /**
+     * Reads every array of a {@code .npz} archive, compressed or not.
+     *
+     * @param path The archive.
+     * @return The arrays by name, without the {@code .npy} suffix, in archive order.
+     * @throws IOException if the archive cannot be read or holds an array that is not real 1-D or 2-D.
+     */
+    public static Map<String, Matrix> readArchive(Path path) throws IOException {
+        Map<String, Matrix> arrays = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            ReadableByteChannel channel = Channels.newChannel(new UnclosableInputStream(zip));
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                String name = entry.getName();
+                if (name.endsWith(".npy")) {
+                    name = name.substring(0, name.length() - 4);
+                }
+                try {
+                    arrays.put(name, toMatrix(channel, Header.read(channel)));
+                } catch (IOException e) {
+                    throw new IOException("Entry " + entry.getName() + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return arrays;
+    }
+
+    /**
+     * Writes matrices to an uncompressed {@code .npz} archive, as {@code numpy.savez} does.
+     * Each array is encoded twice, once to compute the checksum the stored entry needs and once
+     * to write it, so that no array is ever copied whole.
+     *
+     * @param path   The archive, replaced if it exists.
+     * @param arrays The matrices by name; each is written as {@code name.npy}.
+     * @throws IOException if the archive cannot be written.
+     */
+    public static void writeArchive(Path path, Map<String, Matrix> arrays) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            for (Map.Entry<String, Matrix> array : arrays.entrySet()) {
+                Matrix matrix = array.getValue();
+                String shape = "(" + matrix.getRows() + ", " + matrix.getColumns() + ")";
+                CountingChecksum checksum = new CountingChecksum();
+                write(checksum, "<f8", shape, matrix.mtx);
+
+                ZipEntry entry = new ZipEntry(array.getKey() + ".npy");
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(checksum.bytes);
+                entry.setCompressedSize(checksum.bytes);
+                entry.setCrc(checksum.crc.getValue());
+                zip.putNextEntry(entry);
+                write(Channels.newChannel(zip), "<f8", shape, matrix.mtx);
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private static Matrix toMatrix(ReadableByteChannel channel, Header header) throws IOException {
+        if (header.complex) {
+            throw new IOException("Expected a real array, found " + header.describe() + ".");
+        }
+        if (header.rows == 0 || header.columns == 0) {
+            throw new IOException("Cannot read an empty array into a Matrix.");
+        }
+        double[][] data = new double[header.storedRows()][header.storedColumns()];
+        readElements(channel, header, data);
+        return new Matrix(header.fortranOrder
+                ? Matrix.transpose(data, data.length, data[0].length, Tuning.current().getTransposeBlockSize())
+                : data);
+    }
+
+    /**
+     * Fills the rows in order, one value per double; a complex element is two values.
+     */
+    private static void readElements(ReadableByteChannel channel, Header header, double[][] target)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(header.order);
+        long remaining = (long) header.rows * header.columns * header.itemBytes;
+        int row = 0;
+        int offset = 0;
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(BUFFER_BYTES, remaining));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Unexpected end of array data.");
+                }
+            }
+            buffer.flip();
+            remaining -= buffer.limit();
+            if (header.valueBytes == 8) {
+                DoubleBuffer doubles = buffer.asDoubleBuffer();
+                while (doubles.hasRemaining()) {
+                    int count = Math.min(doubles.remaining(), target[row].length - offset);
+                    doubles.get(target[row], offset, count);
+                    offset += count;
+                    if (offset == target[row].length) {
+                        row++;
+                        offset = 0;
+                    }
+                }
+            } else {
+                FloatBuffer floats = buffer.asFloatBuffer();
+                while (floats.hasRemaining()) {
+                    double[] destination = target[row];
+                    int end = Math.min(destination.length, offset + floats.remaining());
+                    for (int j = offset; j < end; j++) {
+                        destination[j] = floats.get();
+                    }
+                    offset = end;
+                    if (offset == destination.length) {
+                        row++;
+                        offset = 0;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a version 1.0 header, padded so that the data starts at a multiple of 64 bytes,
+     * and then the rows as little-endian doubles.
+     */
+    private static void write(WritableByteChannel channel, String descr, String shape, double[][] rows)
+            throws IOException {
+        String dictionary = "{'descr': '" + descr + "', 'fortran_order': False, 'shape': " + shape + ", }";
+        int length = MAGIC.length + 4 + dictionary.length() + 1;
+        int padded = (length + 63) / 64 * 64;
+        ByteBuffer header = ByteBuffer.allocate(padded).order(ByteOrder.LITTLE_ENDIAN);
+        header.put(MAGIC).put((byte) 1).put((byte) 0).putShort((short) (padded - MAGIC.length - 4));
+        header.put(dictionary.getBytes(StandardCharsets.US_ASCII));
+        while (header.position() < padded - 1) {
+            header.put((byte) ' ');
+        }
+        header.put((byte) '\n').flip();
+        writeFully(channel, header);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        DoubleBuffer doubles = buffer.asDoubleBuffer();
+        for (double[] row : rows) {
+            int offset = 0;
+            while (offset < row.length) {
+                int count = Math.min(doubles.remaining(), row.length - offset);
+                doubles.put(row, offset, count);
+                offset += count;
+                if (!doubles.hasRemaining()) {
+                    flush(channel, buffer, doubles);
+                }
+            }
+        }
+        flush(channel, buffer, doubles);
+    }
+
+    private static void flush(WritableByteChannel channel, ByteBuffer buffer, DoubleBuffer doubles)
+            throws IOException {
+        buffer.position(0).limit(8 * doubles.position());
+        writeFully(channel, buffer);
+        buffer.clear();
+        doubles.clear();
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of file in the .npy header.");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * The parsed header of an array; the channel is left at the first element.
+     */
+    private static final class Header {
+        String descr;
+        boolean fortranOrder;
+        boolean complex;
+        ByteOrder order;
+        int itemBytes;
+        int valueBytes;
+        int rows;
+        int columns;
+
+        static Header read(ReadableByteChannel channel) throws IOException {
+            ByteBuffer prefix = ByteBuffer.allocate(MAGIC.length + 2).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, prefix);
+            for (byte expected : MAGIC) {
+                if (prefix.get() != expected) {
+                    throw new IOException("Not a .npy file: wrong magic string.");
+                }
+            }
+            int major = prefix.get();
+            prefix.get();
+            if (major < 1 || major > 3) {
+                throw new IOException("Unsupported .npy format version " + major + ".");
+            }
+            ByteBuffer size = ByteBuffer.allocate(major == 1 ? 2 : 4).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, size);
+            int length = major == 1 ? Short.toUnsignedInt(size.getShort()) : size.getInt();
+            if (length < 0) {
+                throw new IOException("Invalid .npy header length.");
+            }
+            ByteBuffer text = ByteBuffer.allocate(length);
+            readFully(channel, text);
+            String dictionary = (major == 3 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1).decode(text)
+                    .toString();
+
+            Header header = new Header();
+            header.descr = find(DESCR, dictionary, "descr");
+            header.fortranOrder = find(FORTRAN_ORDER, dictionary, "fortran_order").equals("True");
+            header.parseType();
+            header.parseShape(find(SHAPE, dictionary, "shape"));
+            return header;
+        }
+
+        private void parseType() throws IOException {
+            if (descr.length() < 3 || "<>=|".indexOf(descr.charAt(0)) < 0) {
+                throw new IOException("Unsupported dtype " + descr + ".");
+            }
+            order = descr.charAt(0) == '>' ? ByteOrder.BIG_ENDIAN
+                    : descr.charAt(0) == '=' ? ByteOrder.nativeOrder() : ByteOrder.LITTLE_ENDIAN;
+            switch (descr.substring(1)) {
+                case "f8":
+                    itemBytes = 8;
+                    valueBytes = 8;
+                    break;
+                case "f4":
+                    itemBytes = 4;
+                    valueBytes = 4;
+                    break;
+                case "c16":
+                    itemBytes = 16;
+                    valueBytes = 8;
+                    complex = true;
+                    break;
+                default:
+                    throw new IOException("Unsupported dtype " + descr
+                            + "; expected float64, float32 or complex128.");
+            }
+        }
+
+        private void parseShape(String shape) throws IOException {
+            String[] parts = shape.split(",");
+            long[] dimensions = new long[parts.length];
+            int count = 0;
+            for (String part : parts) {
+                if (!part.isBlank()) {
+                    try {
+                        dimensions[count++] = Long.parseLong(part.trim());
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Invalid shape (" + shape + ").", e);
+                    }
+                }
+            }
+            if (count == 1) {
+                rows = 1;
+                columns = checkedDimension(dimensions[0]);
+            } else if (count == 2) {
+                rows = checkedDimension(dimensions[0]);
+                columns = checkedDimension(dimensions[1]);
+            } else {
+                throw new IOException("Only 1-D and 2-D arrays are supported, found shape (" + shape + ").");
+            }
+        }
+
+        private static int checkedDimension(long dimension) throws IOException {
+            if (dimension < 0 || dimension > Integer.MAX_VALUE / 2) {
+                throw new IOException("Invalid dimension " + dimension + ".");
+            }
+            return (int) dimension;
+        }
+
+        int storedRows() {
+            return fortranOrder ? columns : rows;
+        }
+
+        int storedColumns() {
+            return fortranOrder ? rows : columns;
+        }
+
+        String describe() {
+            return descr + " array of shape (" + rows + ", " + columns + ")";
+        }
+
+        private static String find(Pattern pattern, String dictionary, String key) throws IOException {
+            Matcher matcher = pattern.matcher(dictionary);
+            if (!matcher.find()) {
+                throw new IOException("The .npy header has no valid '" + key + "' entry.");
+            }
+            return matcher.group(1);
+        }
+    }
+
+    /**
+     * Channel that only counts the bytes and updates a CRC-32, for stored zip entries.
+     */
+    private static final class CountingChecksum implements WritableByteChannel {
+        final CRC32 crc = new CRC32();
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int count = source.remaining();
+            crc.update(source);
+            bytes += count;
+            return count;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Keeps {@link Channels#newChannel(InputStream)} from closing the zip stream between entries.
+     */
+    private static final class UnclosableInputStream extends InputStream {
+        private final InputStream in;
+
+        UnclosableInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return in.read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.heringer.linalg;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram of one operation tracked by {@link LinAlgMetrics}.
+ * Latencies are grouped in power-of-two buckets of nanoseconds: bucket {@code i}
+ * holds the calls that took less than 2<sup>i</sup> ns and at least 2<sup>i-1</sup> ns.
+ *
+ * @author Emílio Heringer
+ */
+public class OperationMetrics {
+
+    /**
+     * The number of histogram buckets.
+     */
+    public static final int BUCKETS = 64;
+
+    private final String operation;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    OperationMetrics(String operation) {
+        this.operation = operation;
+    }
+
+    void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))));
+    }
+
+    /**
+     * Gets the name of the operation.
+     *
+     * @return The operation name.
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets the number of recorded calls.
+     *
+     * @return The number of calls.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the total time spent in the recorded calls.
+     *
+     * @return The total time in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Gets the mean latency of the recorded calls.
+     *
+     * @return The mean latency in nanoseconds, or zero if nothing was recorded.
+     */
+    public double getMeanNanos() {
+        long calls = getCount();
+        return calls == 0 ? 0.0 : (double) getTotalNanos() / calls;
+    }
+
+    /**
+     * Gets a copy of the latency histogram.
+     *
+     * @return The number of calls in each power-of-two bucket.
+     */
+    public long[] getHistogram() {
+        long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = histogram.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Estimates a latency percentile from the histogram.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The upper bound, in nanoseconds, of the bucket that contains the percentile.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long[] buckets = getHistogram();
+        long total = 0;
+        for (long bucket : buckets) {
+            total += bucket;
+        }
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= target && seen > 0) {
+                return i == BUCKETS - 1 ? Long.MAX_VALUE : 1L << i;
+            }
+        }
+        return 0;
+    }
+}
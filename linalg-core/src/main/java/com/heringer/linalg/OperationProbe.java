@@ -0,0 +1,105 @@
+package com.heringer.linalg;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures one instrumented call for {@link LinAlgMetrics} and {@link LinAlgEvent}.
+ * {@link #begin} returns {@code null} when neither is enabled, so a disabled probe
+ * costs one flag check and no allocation once the JIT removes the unused event.
+ *
+ * @author Emílio Heringer
+ */
+final class OperationProbe {
+
+    private final String operation;
+    private final LinAlgEvent event;
+    private final long start;
+    private final long allocatedAtStart;
+
+    private OperationProbe(String operation, LinAlgEvent event) {
+        this.operation = operation;
+        this.event = event;
+        this.allocatedAtStart = event != null ? Allocation.currentThread() : 0;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring a call.
+     *
+     * @param operation The operation name.
+     * @param rows      The number of rows of the result or input.
+     * @param columns   The number of columns of the result or input.
+     * @param inner     The shared dimension of a multiplication, or the input columns.
+     * @param flops     The estimated number of floating-point operations.
+     * @param algorithm The algorithm or backend that executes the call.
+     * @return The probe, or {@code null} if instrumentation is disabled.
+     */
+    static OperationProbe begin(String operation, int rows, int columns, int inner, long flops, String algorithm) {
+        LinAlgEvent event = new LinAlgEvent();
+        boolean jfr = event.isEnabled();
+        if (!jfr && !LinAlgMetrics.isEnabled()) {
+            return null;
+        }
+        if (!jfr) {
+            return new OperationProbe(operation, null);
+        }
+        event.operation = operation;
+        event.rows = rows;
+        event.columns = columns;
+        event.inner = inner;
+        event.flops = flops;
+        event.algorithm = algorithm;
+        event.begin();
+        return new OperationProbe(operation, event);
+    }
+
+    /**
+     * Finishes measuring a call. Does nothing if the probe is {@code null}.
+     *
+     * @param probe The probe returned by {@link #begin}.
+     */
+    static void end(OperationProbe probe) {
+        if (probe == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - probe.start;
+        if (LinAlgMetrics.isEnabled()) {
+            LinAlgMetrics.record(probe.operation, elapsed);
+        }
+        LinAlgEvent event = probe.event;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                long allocated = Allocation.currentThread();
+                event.bytesAllocated = allocated < 0 ? -1 : allocated - probe.allocatedAtStart;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Reads the per-thread allocation counter, loaded only when a JFR recording needs it.
+     */
+    private static final class Allocation {
+        private static final com.sun.management.ThreadMXBean THREADS = load();
+
+        private static com.sun.management.ThreadMXBean load() {
+            try {
+                java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (bean instanceof com.sun.management.ThreadMXBean) {
+                    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                    if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                        return threads;
+                    }
+                }
+            } catch (LinkageError e) {
+                // java.management is not available in this runtime image.
+            }
+            return null;
+        }
+
+        static long currentThread() {
+            return THREADS != null ? THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.heringer.linalg;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Backend that splits the blocked kernels of {@link BlockedBackend} across the
+ * common fork/join pool. Operands below {@link Tuning#getParallelThreshold()}
+ * are processed on the calling thread, since the cost of scheduling tasks would
+ * outweigh the gain.
+ *
+ * <p>This is the default backend for {@link BackendOperation#GEMM}, so {@code multiply},
+ * {@code gemm}, {@code gemv} and {@code syrk} run on the blocked kernels unless another
+ * backend is configured. For the other operations it must be selected explicitly, with
+ * {@code -Dlinalg.backend=parallel} or through {@link Backends}.</p>
+ *
+ * @author Emílio Heringer
+ */
+public class ParallelBackend extends BlockedBackend {
+
+    /**
+     * Gets the name that identifies this backend.
+     *
+     * @return {@code "parallel"}.
+     */
+    @Override
+    public String name() {
+        return "parallel";
+    }
+
+    /**
+     * Gets the priority of this backend for an operation.
+     *
+     * @param operation The operation.
+     * @return {@code 1} for {@link BackendOperation#GEMM}, higher than {@link ScalarBackend},
+     *         and {@code -1} otherwise, so that the other operations are only run here when selected explicitly.
+     */
+    @Override
+    public int priority(BackendOperation operation) {
+        return operation == BackendOperation.GEMM ? 1 : -1;
+    }
+
+    @Override
+    public Matrix multiply(Matrix a, Matrix b) {
+        Tuning tuning = Tuning.current();
+        return multiply(a, b, tuning.getGemmBlockSize(), tuning.getParallelThreshold());
+    }
+
+    static Matrix multiply(Matrix a, Matrix b, int blockSize, long threshold) {
+        int rows = a.getRows();
+        double[][] result = new double[rows][b.getColumns()];
+        long work = (long) rows * a.getColumns() * b.getColumns();
+        if (work < threshold || rows <= blockSize) {
+            multiplyRows(a.mtx, b.mtx, result, 0, rows, blockSize);
+            return new Matrix(result);
+        }
+
+        int blocks = (rows + blockSize - 1) / blockSize;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int start = block * blockSize;
+            multiplyRows(a.mtx, b.mtx, result, start, Math.min(start + blockSize, rows), blockSize);
+        });
+        return new Matrix(result);
+    }
+
+    @Override
+    public void gemm(double alpha, Matrix a, boolean transA, Matrix b, boolean transB, double beta, Matrix c) {
+        Tuning tuning = Tuning.current();
+        int blockSize = tuning.getGemmBlockSize();
+        int rows = c.getRows();
+        int inner = transA ? a.getRows() : a.getColumns();
+        long work = (long) rows * inner * c.getColumns();
+        if (work < tuning.getParallelThreshold() || rows <= blockSize) {
+            gemmRows(alpha, a.mtx, transA, b.mtx, transB, beta, c.mtx, 0, rows, inner, blockSize);
+            return;
+        }
+
+        int blocks = (rows + blockSize - 1) / blockSize;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int start = block * blockSize;
+            gemmRows(alpha, a.mtx, transA, b.mtx, transB, beta, c.mtx, start, Math.min(start + blockSize, rows),
+                    inner, blockSize);
+        });
+    }
+
+    @Override
+    public void gemv(double alpha, Matrix a, boolean transA, double[] x, double beta, double[] y) {
+        Tuning tuning = Tuning.current();
+        gemv(alpha, a, transA, x, beta, y, tuning.getGemmBlockSize(), tuning.getParallelThreshold());
+    }
+
+    /**
+     * Splits y in chunks of at least {@code blockSize} elements. Without transpose each chunk
+     * is a block of rows of A; with transpose it is a block of columns, so that no two tasks
+     * write the same element and no reduction is needed.
+     */
+    static void gemv(double alpha, Matrix a, boolean transA, double[] x, double beta, double[] y,
+                     int blockSize, long threshold) {
+        int length = y.length;
+        long work = (long) length * x.length;
+        if (work < threshold || length <= blockSize) {
+            gemvRange(alpha, a.mtx, transA, x, beta, y, 0, length);
+            return;
+        }
+
+        int tasks = 4 * ForkJoinPool.getCommonPoolParallelism();
+        int chunk = Math.max(blockSize, (length + tasks - 1) / tasks);
+        int blocks = (length + chunk - 1) / chunk;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int start = block * chunk;
+            gemvRange(alpha, a.mtx, transA, x, beta, y, start, Math.min(start + chunk, length));
+        });
+    }
+
+    @Override
+    public void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c) {
+        Tuning tuning = Tuning.current();
+        syrk(alpha, a, transA, beta, c, tuning.getGemmBlockSize(), tuning.getParallelThreshold());
+    }
+
+    /**
+     * Splits the lower triangle of C in blocks of {@code blockSize} rows, one task each, and
+     * mirrors it once all of them are done.
+     */
+    static void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c, int blockSize, long threshold) {
+        int rows = c.getRows();
+        int inner = transA ? a.getRows() : a.getColumns();
+        long work = (long) rows * rows * inner / 2;
+        if (work < threshold || rows <= blockSize) {
+            syrkRows(alpha, a.mtx, transA, beta, c.mtx, 0, rows, inner, blockSize);
+        } else {
+            // Os blocos de baixo têm mais trabalho; o work stealing do pool equilibra a divisão.
+            int blocks = (rows + blockSize - 1) / blockSize;
+            IntStream.range(0, blocks).parallel().forEach(block -> {
+                int start = block * blockSize;
+                syrkRows(alpha, a.mtx, transA, beta, c.mtx, start, Math.min(start + blockSize, rows), inner, blockSize);
+            });
+        }
+        mirrorLower(c.mtx, blockSize);
+    }
+
+    @Override
+    public Matrix add(Matrix a, Matrix b) {
+        if ((long) a.getRows() * a.getColumns() < Tuning.current().getParallelThreshold()) {
+            return super.add(a, b);
+        }
+        double[][] result = new double[a.getRows()][a.getColumns()];
+        IntStream.range(0, a.getRows()).parallel().forEach(i -> {
+            double[] rowA = a.mtx[i];
+            double[] rowB = b.mtx[i];
+            double[] rowC = result[i];
+            for (int j = 0; j < rowC.length; j++) {
+                rowC[j] = rowA[j] + rowB[j];
+            }
+        });
+        return new Matrix(result);
+    }
+
+    @Override
+    public Matrix subtract(Matrix a, Matrix b) {
+        if ((long) a.getRows() * a.getColumns() < Tuning.current().getParallelThreshold()) {
+            return super.subtract(a, b);
+        }
+        double[][] result = new double[a.getRows()][a.getColumns()];
+        IntStream.range(0, a.getRows()).parallel().forEach(i -> {
+            double[] rowA = a.mtx[i];
+            double[] rowB = b.mtx[i];
+            double[] rowC = result[i];
+            for (int j = 0; j < rowC.length; j++) {
+                rowC[j] = rowA[j] - rowB[j];
+            }
+        });
+        return new Matrix(result);
+    }
+
+    @Override
+    public Matrix scale(Matrix a, double scalar) {
+        if ((long) a.getRows() * a.getColumns() < Tuning.current().getParallelThreshold()) {
+            return super.scale(a, scalar);
+        }
+        double[][] result = new double[a.getRows()][a.getColumns()];
+        IntStream.range(0, a.getRows()).parallel().forEach(i -> {
+            double[] rowA = a.mtx[i];
+            double[] rowC = result[i];
+            for (int j = 0; j < rowC.length; j++) {
+                rowC[j] = rowA[j] * scalar;
+            }
+        });
+        return new Matrix(result);
+    }
+}
@@ -0,0 +1,160 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+
+/**
+ * A set of 3D points stored as structure of arrays: one {@code double[]} for each coordinate.
+ *
+ * <p>Keeping each coordinate contiguous lets {@link PointTransform} process the points in loops
+ * that the JIT vectorizes, with no object per point. The arrays are exposed so that points can be
+ * filled or read in bulk.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class PointCloud {
+
+    /**
+     * The x coordinates, one per point.
+     */
+    public final double[] x;
+
+    /**
+     * The y coordinates, one per point.
+     */
+    public final double[] y;
+
+    /**
+     * The z coordinates, one per point.
+     */
+    public final double[] z;
+
+    /**
+     * Creates a cloud of {@code size} points at the origin.
+     *
+     * @param size The number of points.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    public PointCloud(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative.");
+        }
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+    }
+
+    /**
+     * Wraps coordinate arrays, without copying them.
+     *
+     * @param x The x coordinates, one per point.
+     * @param y The y coordinates, one per point.
+     * @param z The z coordinates, one per point.
+     * @throws IllegalArgumentException if the arrays are null, have different lengths or are the same array.
+     */
+    public PointCloud(double[] x, double[] y, double[] z) {
+        if (x == null || y == null || z == null) {
+            throw new IllegalArgumentException("Coordinate arrays cannot be null.");
+        }
+        if (x.length != y.length || x.length != z.length) {
+            throw new IllegalArgumentException("Coordinate arrays must have the same length.");
+        }
+        if (x == y || x == z || y == z) {
+            throw new IllegalArgumentException("Each coordinate needs its own array.");
+        }
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Copies the points of a Matrix with 3 columns, one point per row.
+     *
+     * @param points The Matrix of points.
+     * @return A new cloud with one point per row of the Matrix.
+     * @throws IllegalArgumentException if the Matrix does not have 3 columns.
+     */
+    public static PointCloud of(Matrix points) {
+        if (points.getColumns() != 3) {
+            throw new IllegalArgumentException("The matrix must have 3 columns.");
+        }
+        PointCloud cloud = new PointCloud(points.getRows());
+        for (int i = 0; i < points.getRows(); i++) {
+            cloud.x[i] = points.mtx[i][0];
+            cloud.y[i] = points.mtx[i][1];
+            cloud.z[i] = points.mtx[i][2];
+        }
+        return cloud;
+    }
+
+    /**
+     * Gets the number of points.
+     *
+     * @return The length of the coordinate arrays.
+     */
+    public int size() {
+        return x.length;
+    }
+
+    /**
+     * Copies a point into a vector.
+     *
+     * @param index The index of the point.
+     * @param dest  The vector that receives the coordinates.
+     * @return {@code dest}.
+     */
+    public Vector3 get(int index, Vector3 dest) {
+        return dest.set(x[index], y[index], z[index]);
+    }
+
+    /**
+     * Sets a point from a vector.
+     *
+     * @param index The index of the point.
+     * @param point The new coordinates.
+     */
+    public void set(int index, Vector3 point) {
+        set(index, point.x, point.y, point.z);
+    }
+
+    /**
+     * Sets a point from its coordinates.
+     *
+     * @param index The index of the point.
+     * @param px    The x coordinate.
+     * @param py    The y coordinate.
+     * @param pz    The z coordinate.
+     */
+    public void set(int index, double px, double py, double pz) {
+        x[index] = px;
+        y[index] = py;
+        z[index] = pz;
+    }
+
+    /**
+     * Copies the points into a Matrix with one row per point.
+     *
+     * @return A new Matrix with {@link #size()} rows and 3 columns.
+     */
+    public Matrix toMatrix() {
+        double[][] rows = new double[size()][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new double[]{x[i], y[i], z[i]};
+        }
+        return new Matrix(rows);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PointCloud other = (PointCloud) o;
+        return Arrays.equals(x, other.x) && Arrays.equals(y, other.y) && Arrays.equals(z, other.z);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(x);
+        result = 31 * result + Arrays.hashCode(y);
+        return 31 * result + Arrays.hashCode(z);
+    }
+}
@@ -0,0 +1,222 @@
+package com.heringer.linalg;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A chain of 3D transformations applied to a {@link PointCloud} in a single pass.
+ *
+ * <p>Each step is a 3x3 linear or 4x4 affine or projective matrix acting on homogeneous
+ * coordinates. {@link #then} multiplies the step into one 4x4 matrix, so a chain of any length
+ * costs the same per point as a single matrix; the perspective division, when the last row is not
+ * {@code (0, 0, 0, 1)}, happens once at the end, which gives the same points as dividing after
+ * each projective step. {@link #apply} runs one loop per block of points, reading and writing the
+ * coordinate arrays at the same index so that the JIT vectorizes it, splits the blocks across the
+ * common pool for large clouds, and allocates nothing per point.</p>
+ *
+ * <p>Instances are immutable.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class PointTransform {
+
+    /**
+     * Points per parallel task, at least.
+     */
+    static final int BLOCK_SIZE = 1 << 14;
+
+    private final Matrix4 matrix;
+    private final boolean affine;
+
+    private PointTransform(Matrix4 matrix) {
+        this.matrix = matrix;
+        this.affine = matrix.m30 == 0 && matrix.m31 == 0 && matrix.m32 == 0 && matrix.m33 == 1;
+    }
+
+    /**
+     * Starts an empty chain, which leaves every point where it is.
+     *
+     * @return The identity transform.
+     */
+    public static PointTransform identity() {
+        return new PointTransform(new Matrix4());
+    }
+
+    /**
+     * Starts a chain with a 4x4 affine or projective matrix.
+     *
+     * @param matrix The matrix, which is copied.
+     * @return A chain with one step.
+     */
+    public static PointTransform of(Matrix4 matrix) {
+        return new PointTransform(new Matrix4(matrix));
+    }
+
+    /**
+     * Starts a chain with a 3x3 linear map.
+     *
+     * @param matrix The matrix, which is copied.
+     * @return A chain with one step.
+     */
+    public static PointTransform of(Matrix3 matrix) {
+        return identity().then(matrix);
+    }
+
+    /**
+     * Starts a chain with a general 3x3 or 4x4 Matrix.
+     *
+     * @param matrix The matrix, which is copied.
+     * @return A chain with one step.
+     * @throws IllegalArgumentException if the Matrix is not 3x3 or 4x4.
+     */
+    public static PointTransform of(Matrix matrix) {
+        return identity().then(matrix);
+    }
+
+    /**
+     * Returns the chain that applies this one and then a 4x4 affine or projective matrix.
+     *
+     * @param next The matrix to apply after this chain.
+     * @return A new chain; this one is not modified.
+     */
+    public PointTransform then(Matrix4 next) {
+        return new PointTransform(next.multiply(matrix, new Matrix4()));
+    }
+
+    /**
+     * Returns the chain that applies this one and then a 3x3 linear map.
+     *
+     * @param next The matrix to apply after this chain.
+     * @return A new chain; this one is not modified.
+     */
+    public PointTransform then(Matrix3 next) {
+        Matrix4 linear = new Matrix4(next.m00, next.m01, next.m02, 0, next.m10, next.m11, next.m12, 0,
+                next.m20, next.m21, next.m22, 0, 0, 0, 0, 1);
+        return then(linear);
+    }
+
+    /**
+     * Returns the chain that applies this one and then a general 3x3 linear or 4x4 affine or
+     * projective Matrix.
+     *
+     * @param next The matrix to apply after this chain.
+     * @return A new chain; this one is not modified.
+     * @throws IllegalArgumentException if the Matrix is not 3x3 or 4x4.
+     */
+    public PointTransform then(Matrix next) {
+        if (next.getRows() == 3 && next.getColumns() == 3) {
+            return then(new Matrix3(next));
+        }
+        if (next.getRows() == 4 && next.getColumns() == 4) {
+            return then(new Matrix4(next));
+        }
+        throw new IllegalArgumentException("The matrix must be 3x3 or 4x4.");
+    }
+
+    /**
+     * Returns the chain that applies this one and then another chain.
+     *
+     * @param next The chain to apply after this one.
+     * @return A new chain; neither chain is modified.
+     */
+    public PointTransform then(PointTransform next) {
+        return then(next.matrix);
+    }
+
+    /**
+     * Gets the composed matrix of the chain.
+     *
+     * @return A copy of the 4x4 matrix.
+     */
+    public Matrix4 getMatrix() {
+        return new Matrix4(matrix);
+    }
+
+    /**
+     * Checks if the composed matrix is affine, so that no perspective division is needed.
+     *
+     * @return True if the last row of the matrix is {@code (0, 0, 0, 1)}.
+     */
+    public boolean isAffine() {
+        return affine;
+    }
+
+    /**
+     * Transforms every point in place.
+     *
+     * @param points The cloud to transform.
+     */
+    public void apply(PointCloud points) {
+        apply(points, points);
+    }
+
+    /**
+     * Stores the transformed points of {@code source} in {@code dest}, which may be the same cloud.
+     * A different destination must not share any coordinate array with the source.
+     *
+     * @param source The points to transform.
+     * @param dest   The cloud that receives the transformed points.
+     * @throws IllegalArgumentException if the clouds have different sizes, or are different clouds that
+     *                                  share an array.
+     */
+    public void apply(PointCloud source, PointCloud dest) {
+        int size = source.size();
+        if (dest.size() != size) {
+            throw new IllegalArgumentException("The point clouds must have the same size.");
+        }
+        if (source != dest && (shares(source, dest.x) || shares(source, dest.y) || shares(source, dest.z))) {
+            throw new IllegalArgumentException("The destination cannot share arrays with a different source.");
+        }
+
+        long work = 20L * size;
+        if (work < Tuning.current().getParallelThreshold() || size <= BLOCK_SIZE) {
+            applyRange(source, dest, 0, size);
+            return;
+        }
+        int tasks = 4 * ForkJoinPool.getCommonPoolParallelism();
+        int chunk = Math.max(BLOCK_SIZE, (size + tasks - 1) / tasks);
+        int blocks = (size + chunk - 1) / chunk;
+        IntStream.range(0, blocks).parallel().forEach(block -> {
+            int start = block * chunk;
+            applyRange(source, dest, start, Math.min(start + chunk, size));
+        });
+    }
+
+    private static boolean shares(PointCloud cloud, double[] array) {
+        return cloud.x == array || cloud.y == array || cloud.z == array;
+    }
+
+    private void applyRange(PointCloud source, PointCloud dest, int start, int end) {
+        double[] x = source.x;
+        double[] y = source.y;
+        double[] z = source.z;
+        double[] dx = dest.x;
+        double[] dy = dest.y;
+        double[] dz = dest.z;
+        // Copia os elementos para locais, para que o JIT os mantenha em registradores.
+        double m00 = matrix.m00, m01 = matrix.m01, m02 = matrix.m02, m03 = matrix.m03;
+        double m10 = matrix.m10, m11 = matrix.m11, m12 = matrix.m12, m13 = matrix.m13;
+        double m20 = matrix.m20, m21 = matrix.m21, m22 = matrix.m22, m23 = matrix.m23;
+        if (affine) {
+            for (int i = start; i < end; i++) {
+                double px = x[i];
+                double py = y[i];
+                double pz = z[i];
+                dx[i] = m00 * px + m01 * py + m02 * pz + m03;
+                dy[i] = m10 * px + m11 * py + m12 * pz + m13;
+                dz[i] = m20 * px + m21 * py + m22 * pz + m23;
+            }
+        } else {
+            double m30 = matrix.m30, m31 = matrix.m31, m32 = matrix.m32, m33 = matrix.m33;
+            for (int i = start; i < end; i++) {
+                double px = x[i];
+                double py = y[i];
+                double pz = z[i];
+                double w = 1.0 / (m30 * px + m31 * py + m32 * pz + m33);
+                dx[i] = (m00 * px + m01 * py + m02 * pz + m03) * w;
+                dy[i] = (m10 * px + m11 * py + m12 * pz + m13) * w;
+                dz[i] = (m20 * px + m21 * py + m22 * pz + m23) * w;
+            }
+        }
+    }
+}
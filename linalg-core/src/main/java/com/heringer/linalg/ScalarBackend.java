@@ -0,0 +1,365 @@
+package com.heringer.linalg;
+
+/**
+ * Reference backend with straightforward pure Java kernels.
+ * Every other backend is checked against this implementation, and it is the
+ * default for all operations unless a backend with a higher priority is found,
+ * as {@link ParallelBackend} is for {@link BackendOperation#GEMM}.
+ *
+ * @author Emílio Heringer
+ */
+public class ScalarBackend implements IBackend {
+
+    /**
+     * Gets the name that identifies this backend.
+     *
+     * @return {@code "scalar"}.
+     */
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * Checks if this backend implements an operation. The reference backend implements all of them.
+     *
+     * @param operation The operation to check.
+     * @return Always true.
+     */
+    @Override
+    public boolean supports(BackendOperation operation) {
+        return true;
+    }
+
+    /**
+     * Gets the priority of this backend for an operation.
+     *
+     * @param operation The operation.
+     * @return {@code 0} for every operation.
+     */
+    @Override
+    public int priority(BackendOperation operation) {
+        return 0;
+    }
+
+    @Override
+    public Matrix multiply(Matrix a, Matrix b) {
+        double[][] result = new double[a.getRows()][b.getColumns()];
+
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < b.getColumns(); j++) {
+                result[i][j] = 0;
+                for (int k = 0; k < a.getColumns(); k++) {
+                    result[i][j] += a.mtx[i][k] * b.mtx[k][j];
+                }
+            }
+        }
+
+        return new Matrix(result);
+    }
+
+    /**
+     * Computes {@code C = alpha * op(A) * op(B) + beta * C} with one dot product per element of C,
+     * instead of the blocked kernel of the default implementation.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The left Matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param b      The right Matrix.
+     * @param transB Whether to use the transpose of B.
+     * @param beta   The multiple of the previous contents of C.
+     * @param c      The Matrix that receives the result.
+     */
+    @Override
+    public void gemm(double alpha, Matrix a, boolean transA, Matrix b, boolean transB, double beta, Matrix c) {
+        gemm(alpha, a.mtx, transA, b.mtx, transB, beta, c.mtx, transA ? a.getRows() : a.getColumns());
+    }
+
+    /**
+     * Reference loop of gemm on the rows of the operands: one dot product per element of C.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The rows of A.
+     * @param transA Whether to use the transpose of A.
+     * @param b      The rows of B.
+     * @param transB Whether to use the transpose of B.
+     * @param beta   The multiple of the previous contents of C; zero ignores them, even if they are NaN.
+     * @param c      The rows of C, which receive the result.
+     * @param inner  The number of columns of op(A), which is the number of rows of op(B).
+     */
+    static void gemm(double alpha, double[][] a, boolean transA, double[][] b, boolean transB,
+                     double beta, double[][] c, int inner) {
+        for (int i = 0; i < c.length; i++) {
+            double[] rowC = c[i];
+            for (int j = 0; j < rowC.length; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < inner; k++) {
+                    sum += (transA ? a[k][i] : a[i][k]) * (transB ? b[j][k] : b[k][j]);
+                }
+                rowC[j] = (beta == 0 ? 0.0 : beta * rowC[j]) + alpha * sum;
+            }
+        }
+    }
+
+    /**
+     * Computes {@code y = alpha * op(A) * x + beta * y} with one dot product per element of y,
+     * instead of the blocked kernel of the default implementation.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The Matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param x      The elements of the input vector.
+     * @param beta   The multiple of the previous contents of y.
+     * @param y      The elements of the output vector.
+     */
+    @Override
+    public void gemv(double alpha, Matrix a, boolean transA, double[] x, double beta, double[] y) {
+        gemv(alpha, a.mtx, transA, x, beta, y);
+    }
+
+    /**
+     * Reference loop of gemv on the rows of the matrix: one dot product per element of y.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The rows of A.
+     * @param transA Whether to use the transpose of A.
+     * @param x      The elements of the input vector, one per column of op(A).
+     * @param beta   The multiple of the previous contents of y; zero ignores them, even if they are NaN.
+     * @param y      The elements of the output vector, one per row of op(A).
+     */
+    static void gemv(double alpha, double[][] a, boolean transA, double[] x, double beta, double[] y) {
+        for (int i = 0; i < y.length; i++) {
+            double sum = 0.0;
+            for (int k = 0; k < x.length; k++) {
+                sum += (transA ? a[k][i] : a[i][k]) * x[k];
+            }
+            y[i] = (beta == 0 ? 0.0 : beta * y[i]) + alpha * sum;
+        }
+    }
+
+    /**
+     * Computes C = alpha * op(A) * op(A)<sup>T</sup> + beta * C with one dot product per element of
+     * the lower triangle, mirrored to the upper one, instead of the blocked kernel of the default
+     * implementation.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The Matrix.
+     * @param transA Whether to use the transpose of A.
+     * @param beta   The multiple of the previous contents of C.
+     * @param c      The square Matrix that receives the result.
+     */
+    @Override
+    public void syrk(double alpha, Matrix a, boolean transA, double beta, Matrix c) {
+        syrk(alpha, a.mtx, transA, beta, c.mtx, transA ? a.getRows() : a.getColumns());
+    }
+
+    /**
+     * Reference loop of syrk on the rows of the operands: one dot product per element of the lower
+     * triangle, mirrored to the upper one.
+     *
+     * @param alpha  The multiple of the product.
+     * @param a      The rows of A.
+     * @param transA Whether to use the transpose of A, which computes A<sup>T</sup> * A.
+     * @param beta   The multiple of the previous contents of C; zero ignores them, even if they are NaN.
+     * @param c      The rows of the square C, which receive the result.
+     * @param inner  The number of columns of op(A).
+     */
+    static void syrk(double alpha, double[][] a, boolean transA, double beta, double[][] c, int inner) {
+        for (int i = 0; i < c.length; i++) {
+            for (int j = 0; j <= i; j++) {
+                double sum = 0.0;
+                for (int k = 0; k < inner; k++) {
+                    sum += (transA ? a[k][i] * a[k][j] : a[i][k] * a[j][k]);
+                }
+                c[i][j] = (beta == 0 ? 0.0 : beta * c[i][j]) + alpha * sum;
+                c[j][i] = c[i][j];
+            }
+        }
+    }
+
+    @Override
+    public Matrix[] lu(Matrix a) {
+        int n = a.getRows();
+        double[][] u = new double[n][];
+        for (int i = 0; i < n; i++) {
+            u[i] = a.mtx[i].clone();
+        }
+        double[][] l = new double[n][n];
+        int[] permutation = new int[n];
+        for (int i = 0; i < n; i++) {
+            permutation[i] = i;
+        }
+
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            for (int i = k + 1; i < n; i++) {
+                if (Math.abs(u[i][k]) > Math.abs(u[pivot][k])) {
+                    pivot = i;
+                }
+            }
+            if (pivot != k) {
+                double[] temp = u[k];
+                u[k] = u[pivot];
+                u[pivot] = temp;
+                temp = l[k];
+                l[k] = l[pivot];
+                l[pivot] = temp;
+                int index = permutation[k];
+                permutation[k] = permutation[pivot];
+                permutation[pivot] = index;
+            }
+            l[k][k] = 1.0;
+            if (u[k][k] == 0) {
+                continue;
+            }
+            for (int i = k + 1; i < n; i++) {
+                double factor = u[i][k] / u[k][k];
+                l[i][k] = factor;
+                u[i][k] = 0;
+                for (int j = k + 1; j < n; j++) {
+                    u[i][j] -= factor * u[k][j];
+                }
+            }
+        }
+
+        double[][] p = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            p[i][permutation[i]] = 1.0;
+        }
+        return new Matrix[]{new Matrix(l), new Matrix(u), new Matrix(p)};
+    }
+
+    @Override
+    public Matrix[] qr(Matrix a) {
+        int m = a.getRows();
+        int n = a.getColumns();
+        double[][] r = new double[m][];
+        for (int i = 0; i < m; i++) {
+            r[i] = a.mtx[i].clone();
+        }
+        double[][] q = Matrix.I(m, m).getMatrix();
+        double[] v = new double[m];
+
+        for (int k = 0; k < Math.min(m - 1, n); k++) {
+            double norm = 0.0;
+            for (int i = k; i < m; i++) {
+                norm += r[i][k] * r[i][k];
+            }
+            norm = Math.sqrt(norm);
+            if (norm == 0) {
+                continue;
+            }
+            double alpha = r[k][k] > 0 ? -norm : norm;
+            double vNorm = 0.0;
+            for (int i = k; i < m; i++) {
+                v[i] = r[i][k];
+            }
+            v[k] -= alpha;
+            for (int i = k; i < m; i++) {
+                vNorm += v[i] * v[i];
+            }
+            if (vNorm == 0) {
+                continue;
+            }
+            double beta = 2.0 / vNorm;
+
+            for (int j = k; j < n; j++) {
+                double dot = 0.0;
+                for (int i = k; i < m; i++) {
+                    dot += v[i] * r[i][j];
+                }
+                dot *= beta;
+                for (int i = k; i < m; i++) {
+                    r[i][j] -= dot * v[i];
+                }
+            }
+            for (int i = k + 1; i < m; i++) {
+                r[i][k] = 0;
+            }
+            for (int i = 0; i < m; i++) {
+                double dot = 0.0;
+                for (int j = k; j < m; j++) {
+                    dot += q[i][j] * v[j];
+                }
+                dot *= beta;
+                for (int j = k; j < m; j++) {
+                    q[i][j] -= dot * v[j];
+                }
+            }
+        }
+
+        return new Matrix[]{new Matrix(q), new Matrix(r)};
+    }
+
+    @Override
+    public Matrix cholesky(Matrix a) {
+        int n = a.getRows();
+        double[][] data = a.mtx;
+        double[][] l = new double[n][n];
+
+        for (int j = 0; j < n; j++) {
+            double sum = data[j][j];
+            for (int k = 0; k < j; k++) {
+                sum -= l[j][k] * l[j][k];
+            }
+            if (sum <= 0) {
+                throw new IllegalArgumentException("Matrix must be symmetric positive definite.");
+            }
+            l[j][j] = Math.sqrt(sum);
+            for (int i = j + 1; i < n; i++) {
+                if (Math.abs(data[i][j] - data[j][i]) > 1e-10 * (Math.abs(data[i][j]) + Math.abs(data[j][i]))) {
+                    throw new IllegalArgumentException("Matrix must be symmetric positive definite.");
+                }
+                double value = data[i][j];
+                for (int k = 0; k < j; k++) {
+                    value -= l[i][k] * l[j][k];
+                }
+                l[i][j] = value / l[j][j];
+            }
+        }
+
+        return new Matrix(l);
+    }
+
+    @Override
+    public EigenDecomposition eigen(Matrix a) {
+        return new JavaEigenSolver().decompose(a);
+    }
+
+    @Override
+    public Matrix add(Matrix a, Matrix b) {
+        double[][] result = new double[a.getRows()][a.getColumns()];
+
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < a.getColumns(); j++) {
+                result[i][j] = a.mtx[i][j] + b.mtx[i][j];
+            }
+        }
+
+        return new Matrix(result);
+    }
+
+    @Override
+    public Matrix subtract(Matrix a, Matrix b) {
+        double[][] result = new double[a.getRows()][a.getColumns()];
+
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < a.getColumns(); j++) {
+                result[i][j] = a.mtx[i][j] - b.mtx[i][j];
+            }
+        }
+
+        return new Matrix(result);
+    }
+
+    @Override
+    public Matrix scale(Matrix a, double scalar) {
+        double[][] result = new double[a.getRows()][a.getColumns()];
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < a.getColumns(); j++) {
+                result[i][j] = a.mtx[i][j] * scalar;
+            }
+        }
+        return new Matrix(result);
+    }
+}
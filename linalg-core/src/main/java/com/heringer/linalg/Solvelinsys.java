@@ -24,6 +24,18 @@ public abstract class Solvelinsys implements ISolvelinsys {
             throw new IllegalArgumentException("Matrix cannot be null or empty.");
         }
 
+        int rows = augmentedMatrix.getRows();
+        int columns = augmentedMatrix.getColumns();
+        OperationProbe probe = OperationProbe.begin("solve", rows, columns, columns,
+                (long) rows * rows * columns, "gaussian-elimination");
+        try {
+            return eliminate(augmentedMatrix);
+        } finally {
+            OperationProbe.end(probe);
+        }
+    }
+
+    private static Matrix eliminate(Matrix augmentedMatrix) {
         int rows = augmentedMatrix.getRows();
         int columns = augmentedMatrix.getColumns();
         double[][] data = augmentedMatrix.getMatrix();
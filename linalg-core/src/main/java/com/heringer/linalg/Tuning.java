@@ -0,0 +1,270 @@
+package com.heringer.linalg;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Block sizes and parallel threshold used by the blocked and parallel kernels.
+ *
+ * <p>The configuration in effect is resolved once, on first use, in this order:</p>
+ * <ol>
+ *     <li>the built-in {@link #defaults()};</li>
+ *     <li>the profile file written by {@link AutoTuner}, if it was produced on a machine
+ *     with the same number of processors. Its location is {@code ~/.linalg/tuning.properties}
+ *     unless {@code -Dlinalg.tuning.profile=<path>} says otherwise;</li>
+ *     <li>if no profile was found and {@code -Dlinalg.tuning.auto=true}, a fresh
+ *     {@link AutoTuner} run, which is saved as the new profile;</li>
+ *     <li>the system properties {@code linalg.tuning.gemm.block}, {@code linalg.tuning.lu.block},
+ *     {@code linalg.tuning.transpose.block} and {@code linalg.tuning.parallel.threshold},
+ *     which always win and make runs reproducible.</li>
+ * </ol>
+ *
+ * @author Emílio Heringer
+ */
+public final class Tuning {
+
+    private static final String PREFIX = "linalg.tuning.";
+    private static final String GEMM_BLOCK = "gemm.block";
+    private static final String LU_BLOCK = "lu.block";
+    private static final String TRANSPOSE_BLOCK = "transpose.block";
+    private static final String PARALLEL_THRESHOLD = "parallel.threshold";
+    private static final String PROCESSORS = "processors";
+
+    private static volatile Tuning current;
+
+    private final int gemmBlockSize;
+    private final int luBlockSize;
+    private final int transposeBlockSize;
+    private final long parallelThreshold;
+
+    /**
+     * Constructs a Tuning with explicit values.
+     *
+     * @param gemmBlockSize      The edge of the square tiles of the multiplication.
+     * @param luBlockSize        The width of the panels of the LU decomposition.
+     * @param transposeBlockSize The edge of the square tiles of the transpose.
+     * @param parallelThreshold  The minimum number of multiply-add operations before work is split across threads.
+     * @throws IllegalArgumentException if any value is not positive.
+     */
+    public Tuning(int gemmBlockSize, int luBlockSize, int transposeBlockSize, long parallelThreshold) {
+        if (gemmBlockSize <= 0 || luBlockSize <= 0 || transposeBlockSize <= 0 || parallelThreshold <= 0) {
+            throw new IllegalArgumentException("Tuning values must be positive.");
+        }
+        this.gemmBlockSize = gemmBlockSize;
+        this.luBlockSize = luBlockSize;
+        this.transposeBlockSize = transposeBlockSize;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Gets the built-in configuration, used when there is no profile.
+     *
+     * @return The default tuning.
+     */
+    public static Tuning defaults() {
+        return new Tuning(64, 32, 32, 1L << 18);
+    }
+
+    /**
+     * Gets the configuration in effect, resolving it on the first call.
+     *
+     * @return The current tuning.
+     */
+    public static Tuning current() {
+        Tuning tuning = current;
+        if (tuning == null) {
+            synchronized (Tuning.class) {
+                tuning = current;
+                if (tuning == null) {
+                    tuning = resolve(System.getProperties(), profilePath());
+                    current = tuning;
+                }
+            }
+        }
+        return tuning;
+    }
+
+    /**
+     * Replaces the configuration in effect. Passing {@code null} makes the next
+     * call to {@link #current()} resolve it again.
+     *
+     * @param tuning The new tuning, or {@code null}.
+     */
+    public static void set(Tuning tuning) {
+        current = tuning;
+    }
+
+    /**
+     * Gets the location of the profile file.
+     *
+     * @return The value of {@code linalg.tuning.profile}, or {@code ~/.linalg/tuning.properties}.
+     */
+    public static Path profilePath() {
+        String path = System.getProperty(PREFIX + "profile");
+        if (path != null && !path.isBlank()) {
+            return Paths.get(path);
+        }
+        return Paths.get(System.getProperty("user.home"), ".linalg", "tuning.properties");
+    }
+
+    /**
+     * Reads a profile file.
+     *
+     * @param path The profile file.
+     * @return The tuning stored in the file.
+     * @throws IOException              if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a valid profile.
+     */
+    public static Tuning load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        return override(defaults(), properties, "");
+    }
+
+    /**
+     * Writes this configuration to a profile file, creating parent directories if needed.
+     *
+     * @param path The profile file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(GEMM_BLOCK, Integer.toString(gemmBlockSize));
+        properties.setProperty(LU_BLOCK, Integer.toString(luBlockSize));
+        properties.setProperty(TRANSPOSE_BLOCK, Integer.toString(transposeBlockSize));
+        properties.setProperty(PARALLEL_THRESHOLD, Long.toString(parallelThreshold));
+        properties.setProperty(PROCESSORS, Integer.toString(Runtime.getRuntime().availableProcessors()));
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = Files.newOutputStream(path)) {
+            properties.store(out, "LinAlg tuning profile, " + System.getProperty("java.vm.name")
+                    + " " + System.getProperty("java.version") + ", " + System.getProperty("os.arch"));
+        }
+    }
+
+    static Tuning resolve(Properties system, Path profile) {
+        Tuning tuning = null;
+        if (profile != null && Files.isRegularFile(profile)) {
+            try {
+                Properties properties = new Properties();
+                try (InputStream in = Files.newInputStream(profile)) {
+                    properties.load(in);
+                }
+                String processors = properties.getProperty(PROCESSORS);
+                if (processors == null
+                        || processors.trim().equals(Integer.toString(Runtime.getRuntime().availableProcessors()))) {
+                    tuning = override(defaults(), properties, "");
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // Um perfil ilegível é ignorado; os valores padrão continuam válidos.
+            }
+        }
+        if (tuning == null && Boolean.parseBoolean(system.getProperty(PREFIX + "auto"))) {
+            tuning = AutoTuner.tune();
+            if (profile != null) {
+                try {
+                    tuning.save(profile);
+                } catch (IOException e) {
+                    // Sem permissão de escrita, o resultado vale apenas para esta JVM.
+                }
+            }
+        }
+        if (tuning == null) {
+            tuning = defaults();
+        }
+        return override(tuning, system, PREFIX);
+    }
+
+    private static Tuning override(Tuning base, Properties properties, String prefix) {
+        return new Tuning(
+                (int) parse(properties, prefix + GEMM_BLOCK, base.gemmBlockSize),
+                (int) parse(properties, prefix + LU_BLOCK, base.luBlockSize),
+                (int) parse(properties, prefix + TRANSPOSE_BLOCK, base.transposeBlockSize),
+                parse(properties, prefix + PARALLEL_THRESHOLD, base.parallelThreshold));
+    }
+
+    private static long parse(Properties properties, String key, long fallback) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed <= 0 || (!key.endsWith(PARALLEL_THRESHOLD) && parsed > Integer.MAX_VALUE)) {
+                throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Gets the edge of the square tiles of the multiplication.
+     *
+     * @return The GEMM block size.
+     */
+    public int getGemmBlockSize() {
+        return gemmBlockSize;
+    }
+
+    /**
+     * Gets the width of the panels of the LU decomposition.
+     *
+     * @return The LU block size.
+     */
+    public int getLuBlockSize() {
+        return luBlockSize;
+    }
+
+    /**
+     * Gets the edge of the square tiles of the transpose.
+     *
+     * @return The transpose block size.
+     */
+    public int getTransposeBlockSize() {
+        return transposeBlockSize;
+    }
+
+    /**
+     * Gets the minimum number of multiply-add operations before work is split across threads.
+     *
+     * @return The parallel threshold.
+     */
+    public long getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Tuning tuning = (Tuning) o;
+        return gemmBlockSize == tuning.gemmBlockSize && luBlockSize == tuning.luBlockSize
+                && transposeBlockSize == tuning.transposeBlockSize && parallelThreshold == tuning.parallelThreshold;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = gemmBlockSize;
+        result = 31 * result + luBlockSize;
+        result = 31 * result + transposeBlockSize;
+        result = 31 * result + Long.hashCode(parallelThreshold);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Tuning{gemmBlockSize=" + gemmBlockSize + ", luBlockSize=" + luBlockSize
+                + ", transposeBlockSize=" + transposeBlockSize + ", parallelThreshold=" + parallelThreshold + "}";
+    }
+}
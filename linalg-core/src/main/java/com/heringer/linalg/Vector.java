@@ -1,5 +1,7 @@
 package com.heringer.linalg;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 /**
@@ -484,6 +486,16 @@ public class Vector implements IVector {
         return rank == Math.min(vectors.length, length);
     }
 
+    /**
+     * Checks if a block of vectors is linearly independent.
+     *
+     * @param vectors The block of vectors.
+     * @return true if the vectors are linearly independent, false otherwise.
+     */
+    public static boolean isLinearlyIndependent(VectorBlock vectors) {
+        return rank(vectors) == Math.min(vectors.getCount(), vectors.getDimension());
+    }
+
     /**
      * Checks if a set of vectors is linearly dependent.
      * This is a static method that returns true if the input vectors are linearly
@@ -499,6 +511,8 @@ public class Vector implements IVector {
     /**
      * Calculates the rank of a set of vectors.
      * This is a static method that returns the rank of the input vectors.
+     * The elimination runs on scratch buffers of the calling thread's {@link Workspace},
+     * so the input vectors are not modified.
      *
      * @param vectors An array of Vectors to calculate the rank of.
      * @return The rank of the vectors.
@@ -506,6 +520,19 @@ public class Vector implements IVector {
      *                                  the vectors have zero length.
      */
     public static int rank(Vector[] vectors) {
+        return rank(vectors, Workspace.current());
+    }
+
+    /**
+     * Calculates the rank of a set of vectors using the scratch buffers of a workspace.
+     *
+     * @param vectors   An array of Vectors to calculate the rank of.
+     * @param workspace The workspace that supplies the scratch buffers.
+     * @return The rank of the vectors.
+     * @throws IllegalArgumentException if the vectors have different lengths or if
+     *                                  the vectors have zero length.
+     */
+    public static int rank(Vector[] vectors, Workspace workspace) {
         if (vectors == null || vectors.length == 0) {
             return 0; // O rank de um conjunto vazio de vetores é 0.
         }
@@ -521,25 +548,75 @@ public class Vector implements IVector {
             }
         }
 
+        return rank(vectors, vectors.length, workspace);
+    }
 
-        double[][] matrixData = new double[vectors.length][length];
-        for (int i = 0; i < vectors.length; i++) {
-            matrixData[i] = vectors[i].getVector();
+    /**
+     * Calculates the rank of the first {@code count} vectors, which must already be validated.
+     */
+    static int rank(Vector[] vectors, int count, Workspace workspace) {
+        int rows = count;
+        int columns = vectors[0].getVector().length;
+        int mark = workspace.mark();
+        try {
+            double[] matrixData = workspace.doubles(rows * columns);
+            for (int i = 0; i < rows; i++) {
+                System.arraycopy(vectors[i].getVector(), 0, matrixData, i * columns, columns);
+            }
+            return eliminate(matrixData, rows, columns, workspace.ints(rows));
+        } finally {
+            workspace.release(mark);
         }
+    }
 
+    /**
+     * Calculates the rank of a block of vectors.
+     * The elimination runs on a copy in the scratch buffers of the calling thread's
+     * {@link Workspace}; the block is copied in one piece, with no access per vector.
+     *
+     * @param vectors The block of vectors.
+     * @return The rank of the vectors.
+     */
+    public static int rank(VectorBlock vectors) {
+        return rank(vectors, vectors.getCount(), Workspace.current());
+    }
 
-        int rows = matrixData.length;
-        int columns = matrixData[0].length;
-        int rank = 0;
+    /**
+     * Calculates the rank of the first {@code count} vectors of a block.
+     */
+    static int rank(VectorBlock vectors, int count, Workspace workspace) {
+        if (count == 0) {
+            return 0;
+        }
+        int columns = vectors.getDimension();
+        int mark = workspace.mark();
+        try {
+            double[] matrixData = workspace.doubles(count * columns);
+            System.arraycopy(vectors.data, 0, matrixData, 0, count * columns);
+            return eliminate(matrixData, count, columns, workspace.ints(count));
+        } finally {
+            workspace.release(mark);
+        }
+    }
+
+    /**
+     * Gauss-Jordan elimination on a row-major matrix with one vector per row, in place.
+     *
+     * @return The number of pivots found, that is, the rank.
+     */
+    private static int eliminate(double[] matrixData, int rows, int columns, int[] rowUsed) {
+        for (int i = 0; i < rows; i++) {
+            rowUsed[i] = 0;
+        }
 
-        boolean[] rowUsed = new boolean[rows];
+        int rank = 0;
 
         for (int col = 0; col < columns; col++) {
             int pivotRow = -1;
 
             // Encontre a linha pivô
             for (int row = 0; row < rows; row++) {
-                if (!rowUsed[row] && matrixData[row][col] != 0) {
+                if (rowUsed[row] == 0 && matrixData[row * columns + col] != 0) {
                     pivotRow = row;
                     break;
                 }
@@ -549,21 +626,21 @@ public class Vector implements IVector {
                 continue;
             }
 
-            rowUsed[pivotRow] = true;
+            rowUsed[pivotRow] = 1;
             rank++;
 
-
-            double pivotValue = matrixData[pivotRow][col];
+            int pivotOffset = pivotRow * columns;
+            double pivotValue = matrixData[pivotOffset + col];
             for (int j = col; j < columns; j++) {
-                matrixData[pivotRow][j] /= pivotValue;
+                matrixData[pivotOffset + j] /= pivotValue;
             }
 
-
             for (int row = 0; row < rows; row++) {
-                if (row != pivotRow && matrixData[row][col] != 0) {
-                    double factor = matrixData[row][col];
+                int offset = row * columns;
+                if (row != pivotRow && matrixData[offset + col] != 0) {
+                    double factor = matrixData[offset + col];
                     for (int j = col; j < columns; j++) {
-                        matrixData[row][j] -= factor * matrixData[pivotRow][j];
+                        matrixData[offset + j] -= factor * matrixData[pivotOffset + j];
                     }
                 }
             }
@@ -599,4 +676,25 @@ public class Vector implements IVector {
     public int hashCode() {
         return Arrays.hashCode(vector);
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves this Vector in the binary format of {@link MatrixFile}, replacing the file if it exists.
+     *
+     * @param path The file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(Path path) throws IOException {
+        MatrixFile.write(path, this);
+    }
+
+    /**
+     * Loads a Vector saved with {@link #save(Path)}.
+     *
+     * @param path The file.
+     * @return The Vector stored in the file.
+     * @throws IOException if the file cannot be read, holds another kind of object or fails its checksum.
+     */
+    public static Vector load(Path path) throws IOException {
+        return MatrixFile.readVector(path);
+    }
+}
@@ -0,0 +1,254 @@
+package com.heringer.linalg;
+
+/**
+ * A mutable 2D vector stored in two fields. Operations that produce a vector store the result
+ * in this vector or in a destination, as in {@link Vector3}, and never allocate.
+ *
+ * @author Emílio Heringer
+ */
+public final class Vector2 {
+
+    /**
+     * The x component.
+     */
+    public double x;
+
+    /**
+     * The y component.
+     */
+    public double y;
+
+    /**
+     * Creates the zero vector.
+     */
+    public Vector2() {
+    }
+
+    /**
+     * Creates a vector from its components.
+     *
+     * @param x The x component.
+     * @param y The y component.
+     */
+    public Vector2(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Copies another vector.
+     *
+     * @param other The vector to copy.
+     */
+    public Vector2(Vector2 other) {
+        this(other.x, other.y);
+    }
+
+    /**
+     * Copies a general Vector.
+     *
+     * @param vector A Vector with 2 elements.
+     * @throws IllegalArgumentException if the Vector does not have 2 elements.
+     */
+    public Vector2(Vector vector) {
+        if (vector.vector == null || vector.vector.length != 2) {
+            throw new IllegalArgumentException("The vector must have 2 elements.");
+        }
+        set(vector.vector[0], vector.vector[1]);
+    }
+
+    /**
+     * Sets the components.
+     *
+     * @param x The x component.
+     * @param y The y component.
+     * @return This vector.
+     */
+    public Vector2 set(double x, double y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * Copies the components of another vector.
+     *
+     * @param other The vector to copy.
+     * @return This vector.
+     */
+    public Vector2 set(Vector2 other) {
+        return set(other.x, other.y);
+    }
+
+    /**
+     * Adds another vector to this one.
+     *
+     * @param other The vector to add.
+     * @return This vector.
+     */
+    public Vector2 add(Vector2 other) {
+        return add(other, this);
+    }
+
+    /**
+     * Stores {@code this + other} in {@code dest}.
+     *
+     * @param other The vector to add.
+     * @param dest  The destination, which may be this vector or {@code other}.
+     * @return {@code dest}.
+     */
+    public Vector2 add(Vector2 other, Vector2 dest) {
+        return dest.set(x + other.x, y + other.y);
+    }
+
+    /**
+     * Subtracts another vector from this one.
+     *
+     * @param other The vector to subtract.
+     * @return This vector.
+     */
+    public Vector2 subtract(Vector2 other) {
+        return subtract(other, this);
+    }
+
+    /**
+     * Stores {@code this - other} in {@code dest}.
+     *
+     * @param other The vector to subtract.
+     * @param dest  The destination, which may be this vector or {@code other}.
+     * @return {@code dest}.
+     */
+    public Vector2 subtract(Vector2 other, Vector2 dest) {
+        return dest.set(x - other.x, y - other.y);
+    }
+
+    /**
+     * Multiplies this vector by a scalar.
+     *
+     * @param factor The scalar.
+     * @return This vector.
+     */
+    public Vector2 scale(double factor) {
+        return scale(factor, this);
+    }
+
+    /**
+     * Stores {@code this * factor} in {@code dest}.
+     *
+     * @param factor The scalar.
+     * @param dest   The destination, which may be this vector.
+     * @return {@code dest}.
+     */
+    public Vector2 scale(double factor, Vector2 dest) {
+        return dest.set(x * factor, y * factor);
+    }
+
+    /**
+     * Negates this vector.
+     *
+     * @return This vector.
+     */
+    public Vector2 negate() {
+        return negate(this);
+    }
+
+    /**
+     * Stores {@code -this} in {@code dest}.
+     *
+     * @param dest The destination, which may be this vector.
+     * @return {@code dest}.
+     */
+    public Vector2 negate(Vector2 dest) {
+        return dest.set(-x, -y);
+    }
+
+    /**
+     * The dot product with another vector.
+     *
+     * @param other The other vector.
+     * @return The sum of the products of the components.
+     */
+    public double dot(Vector2 other) {
+        return x * other.x + y * other.y;
+    }
+
+    /**
+     * The z component of the 3D cross product, {@code x * other.y - y * other.x}.
+     *
+     * @param other The right operand.
+     * @return The signed area of the parallelogram spanned by the two vectors.
+     */
+    public double cross(Vector2 other) {
+        return x * other.y - y * other.x;
+    }
+
+    /**
+     * The squared Euclidean length, which needs no square root.
+     *
+     * @return The squared length.
+     */
+    public double lengthSquared() {
+        return x * x + y * y;
+    }
+
+    /**
+     * The Euclidean length.
+     *
+     * @return The length.
+     */
+    public double length() {
+        return Math.sqrt(lengthSquared());
+    }
+
+    /**
+     * Scales this vector to unit length.
+     *
+     * @return This vector.
+     * @throws IllegalArgumentException if this is the zero vector.
+     */
+    public Vector2 normalize() {
+        return normalize(this);
+    }
+
+    /**
+     * Stores this vector scaled to unit length in {@code dest}.
+     *
+     * @param dest The destination, which may be this vector.
+     * @return {@code dest}.
+     * @throws IllegalArgumentException if this is the zero vector.
+     */
+    public Vector2 normalize(Vector2 dest) {
+        double length = length();
+        if (length == 0) {
+            throw new IllegalArgumentException("Cannot normalize a zero vector.");
+        }
+        return dest.set(x / length, y / length);
+    }
+
+    /**
+     * Copies this vector into a general Vector.
+     *
+     * @return A new Vector with 2 elements.
+     */
+    public Vector toVector() {
+        return new Vector(new double[]{x, y});
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Vector2 other = (Vector2) o;
+        return Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(x) + Double.hashCode(y);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + x + ", " + y + "]";
+    }
+}
@@ -0,0 +1,281 @@
+package com.heringer.linalg;
+
+/**
+ * A mutable 3D vector stored in three fields, for geometry code that handles many small vectors.
+ *
+ * <p>Every operation that produces a vector has two forms: one that stores the result in this
+ * vector and returns it, and one that stores it in a destination, which may be this vector or
+ * the argument. Neither allocates, so a hot loop can reuse a few instances and the JIT can keep
+ * the fields in registers. Use {@link Vector} for vectors of any other length.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class Vector3 {
+
+    /**
+     * The x component.
+     */
+    public double x;
+
+    /**
+     * The y component.
+     */
+    public double y;
+
+    /**
+     * The z component.
+     */
+    public double z;
+
+    /**
+     * Creates the zero vector.
+     */
+    public Vector3() {
+    }
+
+    /**
+     * Creates a vector from its components.
+     *
+     * @param x The x component.
+     * @param y The y component.
+     * @param z The z component.
+     */
+    public Vector3(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Copies another vector.
+     *
+     * @param other The vector to copy.
+     */
+    public Vector3(Vector3 other) {
+        this(other.x, other.y, other.z);
+    }
+
+    /**
+     * Copies a general Vector.
+     *
+     * @param vector A Vector with 3 elements.
+     * @throws IllegalArgumentException if the Vector does not have 3 elements.
+     */
+    public Vector3(Vector vector) {
+        if (vector.vector == null || vector.vector.length != 3) {
+            throw new IllegalArgumentException("The vector must have 3 elements.");
+        }
+        set(vector.vector[0], vector.vector[1], vector.vector[2]);
+    }
+
+    /**
+     * Sets the components.
+     *
+     * @param x The x component.
+     * @param y The y component.
+     * @param z The z component.
+     * @return This vector.
+     */
+    public Vector3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Copies the components of another vector.
+     *
+     * @param other The vector to copy.
+     * @return This vector.
+     */
+    public Vector3 set(Vector3 other) {
+        return set(other.x, other.y, other.z);
+    }
+
+    /**
+     * Adds another vector to this one.
+     *
+     * @param other The vector to add.
+     * @return This vector.
+     */
+    public Vector3 add(Vector3 other) {
+        return add(other, this);
+    }
+
+    /**
+     * Stores {@code this + other} in {@code dest}.
+     *
+     * @param other The vector to add.
+     * @param dest  The destination, which may be this vector or {@code other}.
+     * @return {@code dest}.
+     */
+    public Vector3 add(Vector3 other, Vector3 dest) {
+        return dest.set(x + other.x, y + other.y, z + other.z);
+    }
+
+    /**
+     * Subtracts another vector from this one.
+     *
+     * @param other The vector to subtract.
+     * @return This vector.
+     */
+    public Vector3 subtract(Vector3 other) {
+        return subtract(other, this);
+    }
+
+    /**
+     * Stores {@code this - other} in {@code dest}.
+     *
+     * @param other The vector to subtract.
+     * @param dest  The destination, which may be this vector or {@code other}.
+     * @return {@code dest}.
+     */
+    public Vector3 subtract(Vector3 other, Vector3 dest) {
+        return dest.set(x - other.x, y - other.y, z - other.z);
+    }
+
+    /**
+     * Multiplies this vector by a scalar.
+     *
+     * @param factor The scalar.
+     * @return This vector.
+     */
+    public Vector3 scale(double factor) {
+        return scale(factor, this);
+    }
+
+    /**
+     * Stores {@code this * factor} in {@code dest}.
+     *
+     * @param factor The scalar.
+     * @param dest   The destination, which may be this vector.
+     * @return {@code dest}.
+     */
+    public Vector3 scale(double factor, Vector3 dest) {
+        return dest.set(x * factor, y * factor, z * factor);
+    }
+
+    /**
+     * Negates this vector.
+     *
+     * @return This vector.
+     */
+    public Vector3 negate() {
+        return negate(this);
+    }
+
+    /**
+     * Stores {@code -this} in {@code dest}.
+     *
+     * @param dest The destination, which may be this vector.
+     * @return {@code dest}.
+     */
+    public Vector3 negate(Vector3 dest) {
+        return dest.set(-x, -y, -z);
+    }
+
+    /**
+     * The dot product with another vector.
+     *
+     * @param other The other vector.
+     * @return The sum of the products of the components.
+     */
+    public double dot(Vector3 other) {
+        return x * other.x + y * other.y + z * other.z;
+    }
+
+    /**
+     * Replaces this vector with {@code this × other}.
+     *
+     * @param other The right operand.
+     * @return This vector.
+     */
+    public Vector3 cross(Vector3 other) {
+        return cross(other, this);
+    }
+
+    /**
+     * Stores {@code this × other} in {@code dest}.
+     *
+     * @param other The right operand.
+     * @param dest  The destination, which may be this vector or {@code other}.
+     * @return {@code dest}.
+     */
+    public Vector3 cross(Vector3 other, Vector3 dest) {
+        return dest.set(y * other.z - z * other.y, z * other.x - x * other.z, x * other.y - y * other.x);
+    }
+
+    /**
+     * The squared Euclidean length, which needs no square root.
+     *
+     * @return The squared length.
+     */
+    public double lengthSquared() {
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * The Euclidean length.
+     *
+     * @return The length.
+     */
+    public double length() {
+        return Math.sqrt(lengthSquared());
+    }
+
+    /**
+     * Scales this vector to unit length.
+     *
+     * @return This vector.
+     * @throws IllegalArgumentException if this is the zero vector.
+     */
+    public Vector3 normalize() {
+        return normalize(this);
+    }
+
+    /**
+     * Stores this vector scaled to unit length in {@code dest}.
+     *
+     * @param dest The destination, which may be this vector.
+     * @return {@code dest}.
+     * @throws IllegalArgumentException if this is the zero vector.
+     */
+    public Vector3 normalize(Vector3 dest) {
+        double length = length();
+        if (length == 0) {
+            throw new IllegalArgumentException("Cannot normalize a zero vector.");
+        }
+        return dest.set(x / length, y / length, z / length);
+    }
+
+    /**
+     * Copies this vector into a general Vector.
+     *
+     * @return A new Vector with 3 elements.
+     */
+    public Vector toVector() {
+        return new Vector(new double[]{x, y, z});
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Vector3 other = (Vector3) o;
+        return Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0
+                && Double.compare(z, other.z) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(x);
+        result = 31 * result + Double.hashCode(y);
+        return 31 * result + Double.hashCode(z);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + x + ", " + y + ", " + z + "]";
+    }
+}
@@ -0,0 +1,288 @@
+package com.heringer.linalg;
+
+/**
+ * A mutable 4D vector stored in four fields, typically homogeneous coordinates. Operations that
+ * produce a vector store the result in this vector or in a destination, as in {@link Vector3},
+ * and never allocate.
+ *
+ * @author Emílio Heringer
+ */
+public final class Vector4 {
+
+    /**
+     * The x component.
+     */
+    public double x;
+
+    /**
+     * The y component.
+     */
+    public double y;
+
+    /**
+     * The z component.
+     */
+    public double z;
+
+    /**
+     * The w component.
+     */
+    public double w;
+
+    /**
+     * Creates the zero vector.
+     */
+    public Vector4() {
+    }
+
+    /**
+     * Creates a vector from its components.
+     *
+     * @param x The x component.
+     * @param y The y component.
+     * @param z The z component.
+     * @param w The w component.
+     */
+    public Vector4(double x, double y, double z, double w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     * Copies another vector.
+     *
+     * @param other The vector to copy.
+     */
+    public Vector4(Vector4 other) {
+        this(other.x, other.y, other.z, other.w);
+    }
+
+    /**
+     * Creates the homogeneous vector {@code (v, w)}.
+     *
+     * @param vector The x, y and z components.
+     * @param w      The w component.
+     */
+    public Vector4(Vector3 vector, double w) {
+        this(vector.x, vector.y, vector.z, w);
+    }
+
+    /**
+     * Copies a general Vector.
+     *
+     * @param vector A Vector with 4 elements.
+     * @throws IllegalArgumentException if the Vector does not have 4 elements.
+     */
+    public Vector4(Vector vector) {
+        if (vector.vector == null || vector.vector.length != 4) {
+            throw new IllegalArgumentException("The vector must have 4 elements.");
+        }
+        set(vector.vector[0], vector.vector[1], vector.vector[2], vector.vector[3]);
+    }
+
+    /**
+     * Sets the components.
+     *
+     * @param x The x component.
+     * @param y The y component.
+     * @param z The z component.
+     * @param w The w component.
+     * @return This vector.
+     */
+    public Vector4 set(double x, double y, double z, double w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+        return this;
+    }
+
+    /**
+     * Copies the components of another vector.
+     *
+     * @param other The vector to copy.
+     * @return This vector.
+     */
+    public Vector4 set(Vector4 other) {
+        return set(other.x, other.y, other.z, other.w);
+    }
+
+    /**
+     * Adds another vector to this one.
+     *
+     * @param other The vector to add.
+     * @return This vector.
+     */
+    public Vector4 add(Vector4 other) {
+        return add(other, this);
+    }
+
+    /**
+     * Stores {@code this + other} in {@code dest}.
+     *
+     * @param other The vector to add.
+     * @param dest  The destination, which may be this vector or {@code other}.
+     * @return {@code dest}.
+     */
+    public Vector4 add(Vector4 other, Vector4 dest) {
+        return dest.set(x + other.x, y + other.y, z + other.z, w + other.w);
+    }
+
+    /**
+     * Subtracts another vector from this one.
+     *
+     * @param other The vector to subtract.
+     * @return This vector.
+     */
+    public Vector4 subtract(Vector4 other) {
+        return subtract(other, this);
+    }
+
+    /**
+     * Stores {@code this - other} in {@code dest}.
+     *
+     * @param other The vector to subtract.
+     * @param dest  The destination, which may be this vector or {@code other}.
+     * @return {@code dest}.
+     */
+    public Vector4 subtract(Vector4 other, Vector4 dest) {
+        return dest.set(x - other.x, y - other.y, z - other.z, w - other.w);
+    }
+
+    /**
+     * Multiplies this vector by a scalar.
+     *
+     * @param factor The scalar.
+     * @return This vector.
+     */
+    public Vector4 scale(double factor) {
+        return scale(factor, this);
+    }
+
+    /**
+     * Stores {@code this * factor} in {@code dest}.
+     *
+     * @param factor The scalar.
+     * @param dest   The destination, which may be this vector.
+     * @return {@code dest}.
+     */
+    public Vector4 scale(double factor, Vector4 dest) {
+        return dest.set(x * factor, y * factor, z * factor, w * factor);
+    }
+
+    /**
+     * Negates this vector.
+     *
+     * @return This vector.
+     */
+    public Vector4 negate() {
+        return negate(this);
+    }
+
+    /**
+     * Stores {@code -this} in {@code dest}.
+     *
+     * @param dest The destination, which may be this vector.
+     * @return {@code dest}.
+     */
+    public Vector4 negate(Vector4 dest) {
+        return dest.set(-x, -y, -z, -w);
+    }
+
+    /**
+     * The dot product with another vector.
+     *
+     * @param other The other vector.
+     * @return The sum of the products of the components.
+     */
+    public double dot(Vector4 other) {
+        return x * other.x + y * other.y + z * other.z + w * other.w;
+    }
+
+    /**
+     * The squared Euclidean length, which needs no square root.
+     *
+     * @return The squared length.
+     */
+    public double lengthSquared() {
+        return x * x + y * y + z * z + w * w;
+    }
+
+    /**
+     * The Euclidean length.
+     *
+     * @return The length.
+     */
+    public double length() {
+        return Math.sqrt(lengthSquared());
+    }
+
+    /**
+     * Scales this vector to unit length.
+     *
+     * @return This vector.
+     * @throws IllegalArgumentException if this is the zero vector.
+     */
+    public Vector4 normalize() {
+        return normalize(this);
+    }
+
+    /**
+     * Stores this vector scaled to unit length in {@code dest}.
+     *
+     * @param dest The destination, which may be this vector.
+     * @return {@code dest}.
+     * @throws IllegalArgumentException if this is the zero vector.
+     */
+    public Vector4 normalize(Vector4 dest) {
+        double length = length();
+        if (length == 0) {
+            throw new IllegalArgumentException("Cannot normalize a zero vector.");
+        }
+        return dest.set(x / length, y / length, z / length, w / length);
+    }
+
+    /**
+     * Stores {@code (x/w, y/w, z/w)} in {@code dest}.
+     *
+     * @param dest The destination.
+     * @return {@code dest}.
+     */
+    public Vector3 project(Vector3 dest) {
+        double inverse = 1.0 / w;
+        return dest.set(x * inverse, y * inverse, z * inverse);
+    }
+
+    /**
+     * Copies this vector into a general Vector.
+     *
+     * @return A new Vector with 4 elements.
+     */
+    public Vector toVector() {
+        return new Vector(new double[]{x, y, z, w});
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Vector4 other = (Vector4) o;
+        return Double.compare(x, other.x) == 0 && Double.compare(y, other.y) == 0
+                && Double.compare(z, other.z) == 0 && Double.compare(w, other.w) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(x);
+        result = 31 * result + Double.hashCode(y);
+        result = 31 * result + Double.hashCode(z);
+        return 31 * result + Double.hashCode(w);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + x + ", " + y + ", " + z + ", " + w + "]";
+    }
+}
@@ -0,0 +1,334 @@
+package com.heringer.linalg;
+
+import java.util.Objects;
+
+/**
+ * A block of vectors of the same dimension stored as the columns of one column-major
+ * {@code double[]}: element {@code i} of vector {@code v} is at {@code v * dimension + i}.
+ *
+ * <p>Each vector is contiguous, as in a {@link Vector}, but the whole block is one array, so
+ * operations on all the vectors at once are matrix products on the {@code dimension x count}
+ * matrix of the block: {@link #gram()}, {@link #dot(Vector)}, {@link #combine(double[])} and
+ * {@link #multiply(Matrix)} run as {@link MatrixBatch#gemm} calls.
+ * {@link Vector#rank(VectorBlock)}, {@link Vector#isLinearlyIndependent(VectorBlock)},
+ * {@link Decomposition#gramSchmidt(VectorBlock)}, {@link VectorSpace#getBlockBase(VectorBlock)} and
+ * {@link VectorSpace#getBlockDimension(VectorBlock)} accept a block directly, without a {@code Vector}
+ * per column.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class VectorBlock {
+
+    private final int dimension;
+    private final int count;
+    final double[] data;
+
+    /**
+     * Creates a block of {@code count} zero vectors of dimension {@code dimension}.
+     *
+     * @param dimension The length of each vector.
+     * @param count     The number of vectors.
+     * @throws IllegalArgumentException if the dimension is not positive, the count is negative or the block is too large.
+     */
+    public VectorBlock(int dimension, int count) {
+        this(new double[length(dimension, count)], dimension, count);
+    }
+
+    private VectorBlock(double[] data, int dimension, int count) {
+        this.data = data;
+        this.dimension = dimension;
+        this.count = count;
+    }
+
+    /**
+     * Wraps a column-major array of {@code count} vectors, without copying it.
+     *
+     * @param data      The array, with the vectors one after the other.
+     * @param dimension The length of each vector.
+     * @param count     The number of vectors.
+     * @return A block backed by the array.
+     * @throws IllegalArgumentException if the array does not hold exactly {@code dimension * count} elements.
+     */
+    public static VectorBlock wrap(double[] data, int dimension, int count) {
+        if (data.length != length(dimension, count)) {
+            throw new IllegalArgumentException("The array must hold " + count + " vectors of dimension "
+                    + dimension + ".");
+        }
+        return new VectorBlock(data, dimension, count);
+    }
+
+    /**
+     * Copies vectors of the same dimension into a new block.
+     *
+     * @param vectors The vectors, in the order of the block.
+     * @return A new block with copies of the vectors.
+     * @throws IllegalArgumentException if there are no vectors, or they have different or zero lengths.
+     */
+    public static VectorBlock of(Vector... vectors) {
+        if (vectors == null || vectors.length == 0) {
+            throw new IllegalArgumentException("The block needs at least one vector.");
+        }
+        VectorBlock block = new VectorBlock(vectors[0].getVector().length, vectors.length);
+        for (int v = 0; v < vectors.length; v++) {
+            block.setVector(v, vectors[v]);
+        }
+        return block;
+    }
+
+    /**
+     * Copies the columns of a Matrix into a new block.
+     *
+     * @param matrix The Matrix, with one vector per column.
+     * @return A new block with one vector per column of the Matrix.
+     */
+    public static VectorBlock ofColumns(Matrix matrix) {
+        VectorBlock block = new VectorBlock(matrix.getRows(), matrix.getColumns());
+        for (int i = 0; i < matrix.getRows(); i++) {
+            double[] row = matrix.mtx[i];
+            for (int v = 0; v < row.length; v++) {
+                block.data[v * block.dimension + i] = row[v];
+            }
+        }
+        return block;
+    }
+
+    private static int length(int dimension, int count) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Vectors must have non-zero length.");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of vectors cannot be negative.");
+        }
+        long length = (long) dimension * count;
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Block is too large for one array: " + length + " elements.");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Gets the length of the vectors.
+     *
+     * @return The dimension.
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Gets the number of vectors in the block.
+     *
+     * @return The number of vectors.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * The backing array, shared with the block.
+     *
+     * @return The array, with the vectors one after the other.
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Reads one element.
+     *
+     * @param vector The index of the vector.
+     * @param index  The index of the element in the vector.
+     * @return The element.
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public double get(int vector, int index) {
+        return data[Objects.checkIndex(vector, count) * dimension + Objects.checkIndex(index, dimension)];
+    }
+
+    /**
+     * Writes one element.
+     *
+     * @param vector The index of the vector.
+     * @param index  The index of the element in the vector.
+     * @param value  The new value.
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public void set(int vector, int index, double value) {
+        data[Objects.checkIndex(vector, count) * dimension + Objects.checkIndex(index, dimension)] = value;
+    }
+
+    /**
+     * Copies one vector of the block.
+     *
+     * @param vector The index of the vector.
+     * @return A new Vector with its elements.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Vector getVector(int vector) {
+        double[] result = new double[dimension];
+        System.arraycopy(data, Objects.checkIndex(vector, count) * dimension, result, 0, dimension);
+        return new Vector(result);
+    }
+
+    /**
+     * Replaces one vector of the block.
+     *
+     * @param vector The index of the vector.
+     * @param value  The new vector.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     * @throws IllegalArgumentException if the Vector does not have the dimension of the block.
+     */
+    public void setVector(int vector, Vector value) {
+        Objects.checkIndex(vector, count);
+        if (value.getVector().length != dimension) {
+            throw new IllegalArgumentException("All vectors must have the same length.");
+        }
+        System.arraycopy(value.getVector(), 0, data, vector * dimension, dimension);
+    }
+
+    /**
+     * A view over one vector; writes through the view change the block.
+     *
+     * @param vector The index of the vector.
+     * @return A view backed by the block.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public VectorView column(int vector) {
+        return VectorView.of(data, Objects.checkIndex(vector, count) * dimension, dimension, 1);
+    }
+
+    /**
+     * A {@code dimension x count} view with one vector per column.
+     *
+     * @return A view backed by the block.
+     */
+    public MatrixView view() {
+        return MatrixView.of(data, 0, dimension, count, 1, dimension);
+    }
+
+    /**
+     * Copies the vectors into a new array of Vectors.
+     *
+     * @return A new array with a copy of each vector.
+     */
+    public Vector[] toArray() {
+        Vector[] result = new Vector[count];
+        for (int v = 0; v < count; v++) {
+            result[v] = getVector(v);
+        }
+        return result;
+    }
+
+    /**
+     * Copies the vectors into the columns of a new Matrix.
+     *
+     * @return A new {@code dimension x count} Matrix.
+     */
+    public Matrix toMatrix() {
+        return view().toMatrix();
+    }
+
+    /**
+     * A new block with the first {@code count} vectors of this one.
+     *
+     * @param count The number of vectors to copy.
+     * @return A new block with copies of the vectors.
+     * @throws IndexOutOfBoundsException if {@code count} is negative or larger than the block.
+     */
+    public VectorBlock head(int count) {
+        Objects.checkFromToIndex(0, count, this.count);
+        double[] result = new double[length(dimension, count)];
+        System.arraycopy(data, 0, result, 0, result.length);
+        return new VectorBlock(result, dimension, count);
+    }
+
+    /**
+     * Copies the block.
+     *
+     * @return A new block with its own array.
+     */
+    public VectorBlock copy() {
+        return new VectorBlock(data.clone(), dimension, count);
+    }
+
+    /**
+     * The Gram matrix, whose element {@code (i, j)} is the dot product of vectors {@code i} and {@code j}.
+     *
+     * @return A new symmetric {@code count x count} Matrix.
+     */
+    public Matrix gram() {
+        if (count == 0) {
+            return new Matrix(new double[0][0]);
+        }
+        MatrixBatch result = new MatrixBatch(1, count, count);
+        MatrixBatch.gemm(1.0, rows(), false, rows(), true, 0.0, result);
+        return result.getMatrix(0);
+    }
+
+    /**
+     * The dot product of every vector of the block with {@code other}.
+     *
+     * @param other The Vector to multiply by.
+     * @return The dot products, one per vector of the block.
+     * @throws IllegalArgumentException if the Vector does not have the dimension of the block.
+     */
+    public double[] dot(Vector other) {
+        if (other.getVector().length != dimension) {
+            throw new IllegalArgumentException("All vectors must have the same length.");
+        }
+        double[] result = new double[count];
+        if (count > 0) {
+            MatrixBatch.gemm(1.0, rows(), false, MatrixBatch.wrap(other.getVector(), 1, dimension, 1),
+                    false, 0.0, MatrixBatch.wrap(result, 1, count, 1));
+        }
+        return result;
+    }
+
+    /**
+     * The linear combination of the vectors with the given coefficients.
+     *
+     * @param coefficients One coefficient per vector.
+     * @return A new Vector with the combination.
+     * @throws IllegalArgumentException if there is not one coefficient per vector.
+     */
+    public Vector combine(double[] coefficients) {
+        if (coefficients.length != count) {
+            throw new IllegalArgumentException("There must be one coefficient per vector.");
+        }
+        double[] result = new double[dimension];
+        if (count > 0) {
+            MatrixBatch.gemm(1.0, MatrixBatch.wrap(coefficients, 1, 1, count), false, rows(), false,
+                    0.0, MatrixBatch.wrap(result, 1, 1, dimension));
+        }
+        return new Vector(result);
+    }
+
+    /**
+     * The block whose vectors are the columns of {@code B * coefficients}, where B has the vectors of
+     * this block as columns: vector {@code j} of the result combines the vectors of this block with
+     * the coefficients in column {@code j}.
+     *
+     * @param coefficients A Matrix with one row per vector of this block and one column per vector of the result.
+     * @return A new block with the combinations.
+     * @throws IllegalArgumentException if the Matrix does not have one row per vector.
+     */
+    public VectorBlock multiply(Matrix coefficients) {
+        if (coefficients.getRows() != count) {
+            throw new IllegalArgumentException("The matrix must have " + count + " rows.");
+        }
+        VectorBlock result = new VectorBlock(dimension, coefficients.getColumns());
+        if (count > 0 && result.count > 0) {
+            // Por linhas, o resultado é coeficientesᵀ * (vetores do bloco como linhas).
+            MatrixBatch.gemm(1.0, MatrixBatch.of(coefficients), true, rows(), false, 0.0, result.rows());
+        }
+        return result;
+    }
+
+    /**
+     * The block as a batch with one {@code count x dimension} row-major matrix, which is the same
+     * storage as the {@code dimension x count} column-major matrix.
+     */
+    MatrixBatch rows() {
+        return MatrixBatch.wrap(data, 1, count, dimension);
+    }
+}
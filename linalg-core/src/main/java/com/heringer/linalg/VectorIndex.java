@@ -0,0 +1,227 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A hash index of vectors that finds a stored vector within a tolerance of a query, where two
+ * vectors match when every pair of elements differs by at most the tolerance.
+ *
+ * <p>Each vector is hashed by the grid cell that holds it, with cells {@code 4 * tolerance * d}
+ * wide in each of the d coordinates. A query hashes its own cell and, for every coordinate that
+ * lies within twice the tolerance of a cell boundary, the neighbouring cell across that boundary,
+ * and compares the vectors found there element by element. The cells are wide enough that a query
+ * expects about one such coordinate, so a lookup costs O(d). The hash of a cell is a sum of
+ * one term per coordinate, so each neighbouring cell costs O(1) more. A query with too many
+ * coordinates near a boundary falls back to comparing every stored vector.</p>
+ *
+ * <p>Lookups may run concurrently once no more vectors are added.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class VectorIndex {
+
+    /**
+     * Coordinates near a boundary above which a query compares every stored vector instead of probing
+     * 2<sup>n</sup> cells.
+     */
+    static final int MAX_PROBED_COORDINATES = 12;
+
+    private final int length;
+    private final double tolerance;
+    private final double width;
+    private final Map<Long, int[]> buckets = new HashMap<>();
+    private double[] data;
+    private int size;
+
+    /**
+     * Creates an empty index for vectors of {@code length} elements.
+     *
+     * @param length    The number of elements of the vectors.
+     * @param tolerance The largest difference between matching elements.
+     * @throws IllegalArgumentException if the length is not positive or the tolerance is not positive and finite.
+     */
+    public VectorIndex(int length, double tolerance) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("Vectors must have non-zero length.");
+        }
+        if (!(tolerance > 0) || Double.isInfinite(tolerance)) {
+            throw new IllegalArgumentException("Tolerance must be positive and finite.");
+        }
+        this.length = length;
+        this.tolerance = tolerance;
+        this.width = 4 * tolerance * length;
+        this.data = new double[length * 16];
+    }
+
+    /**
+     * Indexes the vectors of an array.
+     *
+     * @param vectors   The vectors, which take their positions in the index from the array.
+     * @param tolerance The largest difference between matching elements.
+     * @return A new index with copies of the vectors.
+     * @throws IllegalArgumentException if there are no vectors, they do not all have the same length or
+     *                                  the tolerance is not positive and finite.
+     */
+    public static VectorIndex of(Vector[] vectors, double tolerance) {
+        if (vectors == null || vectors.length == 0) {
+            throw new IllegalArgumentException("The index needs at least one vector.");
+        }
+        VectorIndex index = new VectorIndex(vectors[0].getVector().length, tolerance);
+        for (Vector vector : vectors) {
+            index.add(vector);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the number of vectors in the index.
+     *
+     * @return The number of vectors added so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the largest difference between matching elements.
+     *
+     * @return The tolerance.
+     */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Adds a copy of a vector.
+     *
+     * @param vector The vector to add.
+     * @return The position of the vector in the index, in order of addition.
+     * @throws IllegalArgumentException if the vector does not have the length of the index.
+     */
+    public int add(Vector vector) {
+        double[] values = check(vector);
+        if (data.length < (size + 1) * length) {
+            data = Arrays.copyOf(data, 2 * size * length);
+        }
+        System.arraycopy(values, 0, data, size * length, length);
+        long hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash += term(i, cell(values[i]));
+        }
+        int[] bucket = buckets.get(hash);
+        if (bucket == null) {
+            bucket = new int[2];
+        } else if (bucket[0] + 1 == bucket.length) {
+            bucket = Arrays.copyOf(bucket, 2 * bucket.length);
+        }
+        bucket[++bucket[0]] = size;
+        buckets.put(hash, bucket);
+        return size++;
+    }
+
+    /**
+     * Checks if a stored vector is within the tolerance of {@code vector}.
+     *
+     * @param vector The query.
+     * @return true if {@link #find} finds a vector.
+     * @throws IllegalArgumentException if the vector does not have the length of the index.
+     */
+    public boolean contains(Vector vector) {
+        return find(vector) >= 0;
+    }
+
+    /**
+     * Finds a stored vector within the tolerance of {@code vector}.
+     *
+     * @param vector The query.
+     * @return The position of one such vector, or -1 if there is none.
+     * @throws IllegalArgumentException if the vector does not have the length of the index.
+     */
+    public int find(Vector vector) {
+        return find(check(vector), new long[length], new int[length]);
+    }
+
+    /**
+     * Same as {@link #find(Vector)}, with scratch arrays of at least {@code length} elements
+     * supplied by the caller.
+     */
+    int find(double[] values, long[] deltas, int[] near) {
+        long hash = 0;
+        int probed = 0;
+        for (int i = 0; i < length; i++) {
+            long cell = cell(values[i]);
+            long term = term(i, cell);
+            hash += term;
+            // Margem de duas tolerâncias, para que arredondamentos não escondam um vizinho.
+            long below = cell(values[i] - 2 * tolerance);
+            long above = cell(values[i] + 2 * tolerance);
+            if (below != cell || above != cell) {
+                if (probed == MAX_PROBED_COORDINATES) {
+                    return scan(values);
+                }
+                deltas[probed] = term(i, below != cell ? below : above) - term;
+                near[probed++] = i;
+            }
+        }
+        for (int mask = 0; mask < 1 << probed; mask++) {
+            long probe = hash;
+            for (int b = 0; b < probed; b++) {
+                if ((mask & (1 << b)) != 0) {
+                    probe += deltas[b];
+                }
+            }
+            int[] bucket = buckets.get(probe);
+            if (bucket != null) {
+                for (int k = 1; k <= bucket[0]; k++) {
+                    if (matches(values, bucket[k])) {
+                        return bucket[k];
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int scan(double[] values) {
+        for (int v = 0; v < size; v++) {
+            if (matches(values, v)) {
+                return v;
+            }
+        }
+        return -1;
+    }
+
+    private boolean matches(double[] values, int vector) {
+        int offset = vector * length;
+        for (int i = 0; i < length; i++) {
+            if (!(Math.abs(values[i] - data[offset + i]) <= tolerance)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double[] check(Vector vector) {
+        double[] values = vector.getVector();
+        if (values.length != length) {
+            throw new IllegalArgumentException("All vectors must have the same length.");
+        }
+        return values;
+    }
+
+    private long cell(double value) {
+        return (long) Math.floor(value / width);
+    }
+
+    /**
+     * The hash term of coordinate {@code i} in cell {@code cell}, mixed as in SplitMix64.
+     */
+    private static long term(int i, long cell) {
+        long z = cell * 0x9E3779B97F4A7C15L + i * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
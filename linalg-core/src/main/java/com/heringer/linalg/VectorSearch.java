@@ -0,0 +1,451 @@
+package com.heringer.linalg;
+
+import java.util.stream.IntStream;
+
+/**
+ * Exact cosine-similarity search over a corpus of vectors: the {@code k} stored vectors with the
+ * largest cosine similarity to each query, or all the similarities at once.
+ *
+ * <p>The corpus is normalized once and stored as one contiguous {@code double[]}, a vector after the
+ * other, so that the similarity of a query to a stored vector is a plain dot product. Queries are
+ * normalized as well and compared to the corpus as a blocked matrix product: the corpus is walked in
+ * tiles that stay in cache while every query of a batch is compared to them, four queries by four
+ * stored vectors at a time, so each element loaded from memory serves four products. The best
+ * {@code k} of each query are kept in a bounded min-heap of primitive arrays, which rejects most
+ * candidates with a single comparison. Batches of queries and segments of the corpus run as
+ * separate tasks on the common pool for large searches, and the partial results are merged, so the
+ * answer is the same as that of a sequential search.</p>
+ *
+ * <p>Ties are broken by the lower index. Instances are immutable and may be shared between threads.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class VectorSearch {
+
+    /**
+     * Queries compared together against each tile of the corpus.
+     */
+    static final int QUERY_BATCH = 32;
+
+    /**
+     * Stored vectors in a segment of the corpus, the unit of work of a task besides the query batch.
+     */
+    static final int SEGMENT = 1 << 16;
+
+    /**
+     * The approximate number of elements in a tile of the corpus, 256 KB.
+     */
+    private static final int TILE_ELEMENTS = 1 << 15;
+
+    private final int dimension;
+    private final int size;
+    private final double[] data;
+
+    /**
+     * Normalizes and stores a copy of the vectors of a block.
+     *
+     * @param corpus The vectors to search, whose positions in the block are the indices of the results.
+     * @throws IllegalArgumentException if the block is empty or has a zero vector.
+     */
+    public VectorSearch(VectorBlock corpus) {
+        if (corpus.getCount() == 0) {
+            throw new IllegalArgumentException("The corpus must have at least one vector.");
+        }
+        this.dimension = corpus.getDimension();
+        this.size = corpus.getCount();
+        this.data = normalized(corpus.data, dimension, size);
+    }
+
+    /**
+     * Normalizes and stores a copy of an array of vectors.
+     *
+     * @param corpus The vectors to search, whose positions in the array are the indices of the results.
+     * @return A new search over the vectors.
+     * @throws IllegalArgumentException if there are no vectors, they have different lengths, or one of them is zero.
+     */
+    public static VectorSearch of(Vector... corpus) {
+        return new VectorSearch(VectorBlock.of(corpus));
+    }
+
+    /**
+     * The number of stored vectors.
+     *
+     * @return The size of the corpus.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the length of the stored vectors, which queries must share.
+     *
+     * @return The dimension.
+     */
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * The {@code k} stored vectors most similar to a query, from the most similar.
+     *
+     * @param query The query vector.
+     * @param k     The number of neighbours; fewer are returned when the corpus is smaller.
+     * @return The neighbours of the query.
+     * @throws IllegalArgumentException if k is not positive, or the query is zero or does not have the dimension of the corpus.
+     */
+    public Result search(Vector query, int k) {
+        return search(VectorBlock.of(query), k)[0];
+    }
+
+    /**
+     * The {@code k} stored vectors most similar to each query of a block, from the most similar.
+     *
+     * @param queries The query vectors.
+     * @param k       The number of neighbours of each query; fewer are returned when the corpus is smaller.
+     * @return One result per query, in the order of the block.
+     * @throws IllegalArgumentException if k is not positive, or a query is zero or does not have the dimension of the corpus.
+     */
+    public Result[] search(VectorBlock queries, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive.");
+        }
+        double[] normalized = normalizedQueries(queries);
+        int count = queries.getCount();
+        int batches = (count + QUERY_BATCH - 1) / QUERY_BATCH;
+        int segments = (size + SEGMENT - 1) / SEGMENT;
+        int limit = Math.min(k, size);
+        // Um heap por consulta e segmento; os segmentos são combinados no final.
+        TopK[][] partial = new TopK[segments][count];
+
+        OperationProbe probe = OperationProbe.begin("search", count, size, dimension,
+                2L * count * size * dimension, "blocked");
+        try {
+            IntStream tasks = IntStream.range(0, batches * segments);
+            if ((long) count * size * dimension >= Tuning.current().getParallelThreshold()) {
+                tasks = tasks.parallel();
+            }
+            tasks.forEach(task -> {
+                int batch = task % batches;
+                int segment = task / batches;
+                int from = batch * QUERY_BATCH;
+                int to = Math.min(count, from + QUERY_BATCH);
+                TopK[] heaps = partial[segment];
+                for (int q = from; q < to; q++) {
+                    heaps[q] = new TopK(limit);
+                }
+                scan(normalized, from, to, segment * SEGMENT, Math.min(size, (segment + 1) * SEGMENT), heaps, null);
+            });
+        } finally {
+            OperationProbe.end(probe);
+        }
+
+        Result[] results = new Result[count];
+        for (int q = 0; q < count; q++) {
+            TopK merged = partial[0][q];
+            for (int segment = 1; segment < segments; segment++) {
+                TopK other = partial[segment][q];
+                for (int e = 0; e < other.size; e++) {
+                    merged.offer(other.scores[e], other.indices[e]);
+                }
+            }
+            results[q] = merged.sorted();
+        }
+        return results;
+    }
+
+    /**
+     * The cosine similarity of every query of a block to every stored vector.
+     *
+     * @param queries The query vectors.
+     * @return A Matrix with one row per query and one column per stored vector.
+     * @throws IllegalArgumentException if the block is empty, or a query is zero or does not have the dimension of the corpus.
+     */
+    public Matrix similarities(VectorBlock queries) {
+        double[] normalized = normalizedQueries(queries);
+        int count = queries.getCount();
+        double[][] result = new double[count][size];
+        int batches = (count + QUERY_BATCH - 1) / QUERY_BATCH;
+
+        OperationProbe probe = OperationProbe.begin("similarities", count, size, dimension,
+                2L * count * size * dimension, "blocked");
+        try {
+            IntStream tasks = IntStream.range(0, batches);
+            if ((long) count * size * dimension >= Tuning.current().getParallelThreshold()) {
+                tasks = tasks.parallel();
+            }
+            tasks.forEach(batch -> scan(normalized, batch * QUERY_BATCH,
+                    Math.min(count, (batch + 1) * QUERY_BATCH), 0, size, null, result));
+        } finally {
+            OperationProbe.end(probe);
+        }
+        return new Matrix(result);
+    }
+
+    private double[] normalizedQueries(VectorBlock queries) {
+        if (queries.getDimension() != dimension) {
+            throw new IllegalArgumentException("All vectors must have the same length.");
+        }
+        if (queries.getCount() == 0) {
+            throw new IllegalArgumentException("There must be at least one query.");
+        }
+        return normalized(queries.data, dimension, queries.getCount());
+    }
+
+    private static double[] normalized(double[] source, int dimension, int count) {
+        double[] result = new double[dimension * count];
+        for (int v = 0; v < count; v++) {
+            int offset = v * dimension;
+            double sum = 0.0;
+            for (int i = 0; i < dimension; i++) {
+                sum += source[offset + i] * source[offset + i];
+            }
+            double norm = Math.sqrt(sum);
+            if (norm == 0) {
+                throw new IllegalArgumentException("Cannot normalize a zero vector.");
+            }
+            for (int i = 0; i < dimension; i++) {
+                result[offset + i] = source[offset + i] / norm;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compares queries {@code from .. to} with stored vectors {@code first .. last}, offering each
+     * similarity to the heap of its query or, when {@code heaps} is null, writing it to {@code rows}.
+     */
+    private void scan(double[] queries, int from, int to, int first, int last, TopK[] heaps, double[][] rows) {
+        int d = dimension;
+        int tile = Math.max(4, TILE_ELEMENTS / d);
+        for (int start = first; start < last; start += tile) {
+            int end = Math.min(last, start + tile);
+            for (int q = from; q < to; q += 4) {
+                // Nas bordas, as linhas que faltam repetem a última, e os resultados delas são descartados.
+                int q0 = q * d;
+                int q1 = Math.min(q + 1, to - 1) * d;
+                int q2 = Math.min(q + 2, to - 1) * d;
+                int q3 = Math.min(q + 3, to - 1) * d;
+                for (int c = start; c < end; c += 4) {
+                    int c0 = c * d;
+                    int c1 = Math.min(c + 1, end - 1) * d;
+                    int c2 = Math.min(c + 2, end - 1) * d;
+                    int c3 = Math.min(c + 3, end - 1) * d;
+                    // Bloco 4 x 4: dezesseis produtos escalares independentes com oito elementos carregados.
+                    double s00 = 0.0;
+                    double s01 = 0.0;
+                    double s02 = 0.0;
+                    double s03 = 0.0;
+                    double s10 = 0.0;
+                    double s11 = 0.0;
+                    double s12 = 0.0;
+                    double s13 = 0.0;
+                    double s20 = 0.0;
+                    double s21 = 0.0;
+                    double s22 = 0.0;
+                    double s23 = 0.0;
+                    double s30 = 0.0;
+                    double s31 = 0.0;
+                    double s32 = 0.0;
+                    double s33 = 0.0;
+                    for (int i = 0; i < d; i++) {
+                        double x0 = queries[q0 + i];
+                        double x1 = queries[q1 + i];
+                        double x2 = queries[q2 + i];
+                        double x3 = queries[q3 + i];
+                        double u0 = data[c0 + i];
+                        double u1 = data[c1 + i];
+                        double u2 = data[c2 + i];
+                        double u3 = data[c3 + i];
+                        s00 += x0 * u0;
+                        s01 += x0 * u1;
+                        s02 += x0 * u2;
+                        s03 += x0 * u3;
+                        s10 += x1 * u0;
+                        s11 += x1 * u1;
+                        s12 += x1 * u2;
+                        s13 += x1 * u3;
+                        s20 += x2 * u0;
+                        s21 += x2 * u1;
+                        s22 += x2 * u2;
+                        s23 += x2 * u3;
+                        s30 += x3 * u0;
+                        s31 += x3 * u1;
+                        s32 += x3 * u2;
+                        s33 += x3 * u3;
+                    }
+                    record(heaps, rows, q, c, s00, to, end);
+                    record(heaps, rows, q, c + 1, s01, to, end);
+                    record(heaps, rows, q, c + 2, s02, to, end);
+                    record(heaps, rows, q, c + 3, s03, to, end);
+                    record(heaps, rows, q + 1, c, s10, to, end);
+                    record(heaps, rows, q + 1, c + 1, s11, to, end);
+                    record(heaps, rows, q + 1, c + 2, s12, to, end);
+                    record(heaps, rows, q + 1, c + 3, s13, to, end);
+                    record(heaps, rows, q + 2, c, s20, to, end);
+                    record(heaps, rows, q + 2, c + 1, s21, to, end);
+                    record(heaps, rows, q + 2, c + 2, s22, to, end);
+                    record(heaps, rows, q + 2, c + 3, s23, to, end);
+                    record(heaps, rows, q + 3, c, s30, to, end);
+                    record(heaps, rows, q + 3, c + 1, s31, to, end);
+                    record(heaps, rows, q + 3, c + 2, s32, to, end);
+                    record(heaps, rows, q + 3, c + 3, s33, to, end);
+                }
+            }
+        }
+    }
+
+    private static void record(TopK[] heaps, double[][] rows, int query, int stored, double similarity,
+                               int queryEnd, int storedEnd) {
+        if (query < queryEnd && stored < storedEnd) {
+            if (heaps != null) {
+                heaps[query].offer(similarity, stored);
+            } else {
+                rows[query][stored] = similarity;
+            }
+        }
+    }
+
+    /**
+     * The neighbours found for one query, from the most similar.
+     */
+    public static final class Result {
+
+        private final int[] indices;
+        private final double[] similarities;
+
+        Result(int[] indices, double[] similarities) {
+            this.indices = indices;
+            this.similarities = similarities;
+        }
+
+        /**
+         * The number of neighbours.
+         *
+         * @return The number of neighbours, at most {@code k}.
+         */
+        public int size() {
+            return indices.length;
+        }
+
+        /**
+         * The positions of the neighbours in the corpus.
+         *
+         * @return A copy of the indices, from the most similar.
+         */
+        public int[] getIndices() {
+            return indices.clone();
+        }
+
+        /**
+         * The cosine similarities of the neighbours to the query.
+         *
+         * @return A copy of the similarities, from the largest.
+         */
+        public double[] getSimilarities() {
+            return similarities.clone();
+        }
+
+        /**
+         * The position in the corpus of one neighbour.
+         *
+         * @param rank The rank of the neighbour, 0 for the most similar.
+         * @return Its index in the corpus.
+         * @throws IndexOutOfBoundsException if the rank is not below {@link #size()}.
+         */
+        public int getIndex(int rank) {
+            return indices[rank];
+        }
+
+        /**
+         * The cosine similarity of one neighbour to the query.
+         *
+         * @param rank The rank of the neighbour, 0 for the most similar.
+         * @return Its similarity.
+         * @throws IndexOutOfBoundsException if the rank is not below {@link #size()}.
+         */
+        public double getSimilarity(int rank) {
+            return similarities[rank];
+        }
+    }
+
+    /**
+     * A min-heap of at most {@code k} (similarity, index) pairs whose root is the worst one kept.
+     */
+    static final class TopK {
+
+        final double[] scores;
+        final int[] indices;
+        int size;
+
+        TopK(int k) {
+            this.scores = new double[k];
+            this.indices = new int[k];
+        }
+
+        void offer(double score, int index) {
+            if (size < scores.length) {
+                int child = size++;
+                // Sobe o novo elemento enquanto ele for pior que o pai.
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (!worse(score, index, scores[parent], indices[parent])) {
+                        break;
+                    }
+                    scores[child] = scores[parent];
+                    indices[child] = indices[parent];
+                    child = parent;
+                }
+                scores[child] = score;
+                indices[child] = index;
+            } else if (worse(scores[0], indices[0], score, index)) {
+                siftDown(score, index);
+            }
+        }
+
+        private void siftDown(double score, int index) {
+            int parent = 0;
+            while (true) {
+                int child = 2 * parent + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && worse(scores[child + 1], indices[child + 1], scores[child], indices[child])) {
+                    child++;
+                }
+                if (!worse(scores[child], indices[child], score, index)) {
+                    break;
+                }
+                scores[parent] = scores[child];
+                indices[parent] = indices[child];
+                parent = child;
+            }
+            scores[parent] = score;
+            indices[parent] = index;
+        }
+
+        /**
+         * Empties the heap into a result, from the best pair.
+         */
+        Result sorted() {
+            int count = size;
+            int[] resultIndices = new int[count];
+            double[] resultScores = new double[count];
+            for (int position = count - 1; position >= 0; position--) {
+                resultScores[position] = scores[0];
+                resultIndices[position] = indices[0];
+                size--;
+                if (size > 0) {
+                    siftDown(scores[size], indices[size]);
+                }
+            }
+            return new Result(resultIndices, resultScores);
+        }
+
+        /**
+         * Checks if the first pair ranks below the second: lower similarity, or the same and a higher index.
+         */
+        private static boolean worse(double score, int index, double otherScore, int otherIndex) {
+            return score < otherScore || (score == otherScore && index > otherIndex);
+        }
+    }
+}
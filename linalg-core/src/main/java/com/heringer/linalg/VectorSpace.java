@@ -1,5 +1,8 @@
 package com.heringer.linalg;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 /**
  * Represents a vector space and provides methods to perform operations on vectors within that space.
  * This class includes functionalities to check if a set of vectors forms a subspace,
@@ -15,6 +18,9 @@ public class VectorSpace implements IVectorSpace {
   /**
    * Checks if a given set of vectors forms a subspace.
    * A subspace must contain the zero vector and be closed under addition and scalar multiplication.
+   * Sums and negatives are looked up in a {@link VectorIndex}, so a vector within the tolerance of
+   * one in the set counts as contained and each lookup costs O(d); the pairs are split across the
+   * common pool for large sets.
    *
    * @param vectors An array of Vector objects to check.
    * @return true if the set of vectors forms a subspace; false otherwise.
@@ -31,25 +37,38 @@ public class VectorSpace implements IVectorSpace {
     if (!containsZeroVector(vectors))
       return false;
 
-    // Fechamento sob adição
-    for (Vector v1 : vectors) {
-      for (Vector v2 : vectors) {
-        Vector sum = Vector.sum(v1.getVector(), v2.getVector());
-        if (!containsVector(vectors, sum))
-          return false;
-      }
-    }
+    VectorIndex index = VectorIndex.of(vectors, TOLERANCE);
+    IntStream rows = IntStream.range(0, vectors.length);
+    if ((long) vectors.length * vectors.length * dimension / 2 >= Tuning.current().getParallelThreshold())
+      rows = rows.parallel();
+    return rows.allMatch(i -> isClosed(vectors, index, i));
+  }
 
-    // Fechamento sob multiplicação escalar apenas para -1, 0, 1
-    double[] testScalars = { -1.0, 0.0, 1.0 };
-    for (Vector v : vectors) {
-      for (double k : testScalars) {
-        Vector prod = Vector.multiplyByScalar(v.getVector(), k);
-        if (!containsVector(vectors, prod))
-          return false;
-      }
-    }
+  /**
+   * Checks that the negative of vector {@code i} and its sums with the vectors from {@code i} on are in the index.
+   * The products by 0 and 1 are the zero vector and the vector itself, and the sums are symmetric.
+   */
+  private static boolean isClosed(Vector[] vectors, VectorIndex index, int i) {
+    double[] v = vectors[i].getVector();
+    int dimension = v.length;
+    double[] buffer = new double[dimension];
+    long[] deltas = new long[dimension];
+    int[] near = new int[dimension];
 
+    // Fechamento sob multiplicação escalar por -1
+    for (int t = 0; t < dimension; t++)
+      buffer[t] = -v[t];
+    if (index.find(buffer, deltas, near) < 0)
+      return false;
+
+    // Fechamento sob adição
+    for (int j = i; j < vectors.length; j++) {
+      double[] w = vectors[j].getVector();
+      for (int t = 0; t < dimension; t++)
+        buffer[t] = v[t] + w[t];
+      if (index.find(buffer, deltas, near) < 0)
+        return false;
+    }
     return true;
   }
 
@@ -80,20 +99,6 @@ public class VectorSpace implements IVectorSpace {
     return true;
   }
 
-  /**
-   * Checks if a given vector is contained within a set of vectors.
-   *
-   * @param vectors An array of Vector objects to check.
-   * @param target The Vector object to search for.
-   * @return true if the target vector is found within the set; false otherwise.
-   */
-  private boolean containsVector(Vector[] vectors, Vector target) {
-    for (Vector v : vectors)
-      if (v.equals(target))
-        return true;
-    return false;
-  }
-
   /**
    * Computes a linear combination of a set of vectors using given scalars.
    *
@@ -123,6 +128,8 @@ public class VectorSpace implements IVectorSpace {
   /**
    * Finds a base (basis) for a given set of vectors.
    * A base is a set of linearly independent vectors that span the same vector space.
+   * The vectors are streamed through an {@link IncrementalBasis}: each one is kept, in order, if it
+   * is not in the span of the ones kept before, which costs O(d·r) per vector.
    *
    * @param vectors An array of Vector objects to find the base for.
    * @return An array of Vector objects representing the base.
@@ -135,28 +142,25 @@ public class VectorSpace implements IVectorSpace {
     for (Vector v : vectors)
       if (v.getVector().length != dimension)
         return new Vector[0];
+    if (dimension == 0)
+      throw new IllegalArgumentException("Vectors must have non-zero length.");
 
-    Vector[] base = new Vector[vectors.length];
+    Vector[] base = new Vector[Math.min(vectors.length, dimension)];
     int baseSize = 0;
 
+    IncrementalBasis basis = new IncrementalBasis(dimension);
     for (Vector v : vectors) {
-      Vector[] temp = new Vector[baseSize + 1];
-      System.arraycopy(base, 0, temp, 0, baseSize);
-      temp[baseSize] = v;
-      if (Vector.rank(temp) > baseSize) {
+      if (basis.add(v)) {
         base[baseSize++] = v;
       }
     }
 
-    Vector[] result = new Vector[baseSize];
-    System.arraycopy(base, 0, result, 0, baseSize);
-    return result;
-
+    return Arrays.copyOf(base, baseSize);
   }
 
   /**
    * Gets the dimension of a vector space spanned by a given set of vectors.
-   * The dimension is the number of vectors in a base for the space.
+   * The dimension is the number of vectors in a base for the space, as counted by an {@link IncrementalBasis}.
    *
    * @param vectors An array of Vector objects that span the vector space.
    * @return The dimension of the vector space.
@@ -170,125 +174,136 @@ public class VectorSpace implements IVectorSpace {
       if (v.getVector().length != dimension)
         return 0;
 
-    return Vector.rank(vectors);
+    if (dimension == 0)
+      throw new IllegalArgumentException("Vectors must have non-zero length.");
+
+    IncrementalBasis basis = new IncrementalBasis(dimension);
+    for (Vector v : vectors)
+      basis.add(v);
+    return basis.dimension();
+  }
+
+  /**
+   * Finds a base for a block of vectors, keeping the vectors that increase the rank, in order.
+   * It has its own name because {@code getBase(null)} must keep resolving to {@link #getBase(Vector[])}.
+   *
+   * @param vectors The block of vectors to find the base for.
+   * @return A new block with the vectors of the base.
+   */
+  public VectorBlock getBlockBase(VectorBlock vectors) {
+    int dimension = vectors.getDimension();
+    VectorBlock base = new VectorBlock(dimension, Math.min(vectors.getCount(), dimension));
+    int baseSize = 0;
+
+    IncrementalBasis basis = new IncrementalBasis(dimension);
+    for (int v = 0; v < vectors.getCount(); v++) {
+      if (basis.add(vectors.data, v * dimension)) {
+        System.arraycopy(vectors.data, v * dimension, base.data, baseSize * dimension, dimension);
+        baseSize++;
+      }
+    }
+    return base.head(baseSize);
+  }
+
+  /**
+   * Gets the dimension of the vector space spanned by a block of vectors.
+   *
+   * @param vectors The block of vectors that span the vector space.
+   * @return The dimension of the vector space.
+   */
+  public int getBlockDimension(VectorBlock vectors) {
+    IncrementalBasis basis = new IncrementalBasis(vectors.getDimension());
+    for (int v = 0; v < vectors.getCount(); v++)
+      basis.add(vectors.data, v * vectors.getDimension());
+    return basis.dimension();
   }
 
   /**
    * Changes the base of a set of vectors to a new base.
-   * This method expresses the given vectors in terms of the new base vectors.
+   * This method expresses the given vectors in terms of the new base vectors: the result for each
+   * vector v is the c that solves B * c = v, where B has the new base vectors as columns. The base is
+   * factorized once by a {@link ChangeOfBasis} and all the vectors are converted against the factors.
    *
    * @param vectors An array of Vector objects to change the base of.
    * @param newBase An array of Vector objects representing the new base.
    * @return An array of Vector objects representing the vectors in the new base.
    * @throws IllegalArgumentException if the input is invalid (null vectors or newBase, empty vectors or newBase, or mismatched dimensions).
+   * @throws IllegalStateException if the vectors of the new base are linearly dependent.
    */
   public Vector[] changeBase(Vector[] vectors, Vector[] newBase) {
-    if (vectors == null || newBase == null) {
-      throw new IllegalArgumentException("Vectors and newBase cannot be null.");
-  }
-  if (vectors.length == 0 || newBase.length == 0) {
-      throw new IllegalArgumentException("Vectors and newBase cannot be empty.");
-  }
-  int dimension = vectors[0].getVector().length;
-  for (Vector v : vectors) {
-      if (v.getVector().length != dimension) {
-          throw new IllegalArgumentException("All vectors must have the same dimension.");
-      }
-  }
-  for (Vector b : newBase) {
-      if (b.getVector().length != dimension) {
-          throw new IllegalArgumentException("All base vectors must have the same dimension as the input vectors.");
-      }
-  }
-
-    Vector[] result = new Vector[vectors.length];
-    for (int i = 0; i < vectors.length; i++) {
-      double[] temp = new double[dimension];
-      for (int j = 0; j < dimension; j++) {
-        temp[j] += vectors[i].getVector()[j] * newBase[i].getVector()[j];
-      }
-      result[i] = new Vector(temp);
-    }
-    return result;
+    validate(vectors, newBase);
+    return new ChangeOfBasis(newBase).coordinates(vectors);
   }
 
   /**
    * Computes the relative coordinates of a set of vectors with respect to a new base.
    * The relative coordinates are the coefficients needed to express the vectors as a linear combination of the new base vectors.
+   * When the new base has fewer vectors than their dimension, they are the coordinates of the orthogonal projection onto its span.
    *
    * @param vectors An array of Vector objects to compute the relative coordinates of.
    * @param newBase An array of Vector objects representing the new base.
    * @return An array of Vector objects representing the relative coordinates.
    * @throws IllegalArgumentException if the input is invalid (null vectors or newBase, empty vectors or newBase, or mismatched dimensions).
+   * @throws IllegalStateException if the vectors of the new base are linearly dependent.
    */
   public Vector[] relativeCoordinates(Vector[] vectors, Vector[] newBase) {
-    if (vectors == null || newBase == null) {
-      throw new IllegalArgumentException("Vectors and newBase cannot be null.");
-  }
-  if (vectors.length == 0 || newBase.length == 0) {
-      throw new IllegalArgumentException("Vectors and newBase cannot be empty.");
-  }
-  int dimension = vectors[0].getVector().length;
-  for (Vector v : vectors) {
-      if (v.getVector().length != dimension) {
-          throw new IllegalArgumentException("All vectors must have the same dimension.");
-      }
-  }
-  for (Vector b : newBase) {
-      if (b.getVector().length != dimension) {
-          throw new IllegalArgumentException("All base vectors must have the same dimension as the input vectors.");
-      }
-  }
-
-    Vector[] result = new Vector[vectors.length];
-    for (int i = 0; i < vectors.length; i++) {
-      double[] temp = new double[dimension];
-      for (int j = 0; j < dimension; j++) {
-        temp[j] += vectors[i].getVector()[j] * newBase[i].getVector()[j];
-      }
-      result[i] = new Vector(temp);
-    }
-    return result;
+    validate(vectors, newBase);
+    return new ChangeOfBasis(newBase).coordinates(vectors);
   }
 
   /**
    * Computes the relative coordinates of a set of vectors with respect to a new base, using given scalars.
-   * This method is similar to relativeCoordinates(Vector[], Vector[]), but it also takes an array of scalars as input.
+   * This method is similar to relativeCoordinates(Vector[], Vector[]), but the coordinates of each vector are multiplied by its scalar.
    *
    * @param vectors An array of Vector objects to compute the relative coordinates of.
    * @param newBase An array of Vector objects representing the new base.
    * @param scalars An array of double values representing the scalars for each vector.
    * @return An array of Vector objects representing the relative coordinates.
    * @throws IllegalArgumentException if the input is invalid (null vectors, newBase, or scalars; empty vectors, newBase, or scalars; or mismatched dimensions).
+   * @throws IllegalStateException if the vectors of the new base are linearly dependent.
    */
   public Vector[] relativeCoordinates(Vector[] vectors, Vector[] newBase, double[] scalars) {
     if (vectors == null || newBase == null || scalars == null) {
       throw new IllegalArgumentException("Vectors, newBase and scalars cannot be null.");
-  }
-  if (vectors.length == 0 || newBase.length == 0 || scalars.length == 0) {
+    }
+    if (vectors.length == 0 || newBase.length == 0 || scalars.length == 0) {
       throw new IllegalArgumentException("Vectors, newBase and scalars cannot be empty.");
-  } 
-  int dimension = vectors[0].getVector().length;
-  for (Vector v : vectors) {
-      if (v.getVector().length != dimension) {
-          throw new IllegalArgumentException("All vectors must have the same dimension.");
-      }
-  }
-  for (Vector b : newBase) {
-      if (b.getVector().length != dimension) {
-          throw new IllegalArgumentException("All base vectors must have the same dimension as the input vectors.");
-      }
-  }
+    }
+    validate(vectors, newBase);
+    if (scalars.length != vectors.length) {
+      throw new IllegalArgumentException("There must be one scalar per vector.");
+    }
 
+    VectorBlock coordinates = new ChangeOfBasis(newBase).coordinates(VectorBlock.of(vectors));
     Vector[] result = new Vector[vectors.length];
     for (int i = 0; i < vectors.length; i++) {
-      double[] temp = new double[dimension];
-      for (int j = 0; j < dimension; j++) {
-        temp[j] += vectors[i].getVector()[j] * newBase[i].getVector()[j] * scalars[i];
+      double[] temp = coordinates.getVector(i).getVector();
+      for (int j = 0; j < temp.length; j++) {
+        temp[j] *= scalars[i];
       }
       result[i] = new Vector(temp);
     }
     return result;
   }
-  
-}
\ No newline at end of file
+
+  private static void validate(Vector[] vectors, Vector[] newBase) {
+    if (vectors == null || newBase == null) {
+      throw new IllegalArgumentException("Vectors and newBase cannot be null.");
+    }
+    if (vectors.length == 0 || newBase.length == 0) {
+      throw new IllegalArgumentException("Vectors and newBase cannot be empty.");
+    }
+    int dimension = vectors[0].getVector().length;
+    for (Vector v : vectors) {
+      if (v.getVector().length != dimension) {
+        throw new IllegalArgumentException("All vectors must have the same dimension.");
+      }
+    }
+    for (Vector b : newBase) {
+      if (b.getVector().length != dimension) {
+        throw new IllegalArgumentException("All base vectors must have the same dimension as the input vectors.");
+      }
+    }
+  }
+
+}
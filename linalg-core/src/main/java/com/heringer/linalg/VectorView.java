@@ -0,0 +1,237 @@
+package com.heringer.linalg;
+
+/**
+ * A vector that reads and writes the storage of another object instead of owning it.
+ * A view is either a strided window over a {@code double[]} (a row of a {@link Matrix},
+ * a slice of a {@link Vector}, a column of flat storage) or a column of a {@link Matrix},
+ * and creating one never copies elements. Writes through a view change the
+ * underlying object.
+ *
+ * @author Emílio Heringer
+ */
+public final class VectorView {
+
+    private final double[] data;
+    private final double[][] rows;
+    private final int offset;
+    private final int stride;
+    private final int length;
+
+    private VectorView(double[] data, double[][] rows, int offset, int stride, int length) {
+        this.data = data;
+        this.rows = rows;
+        this.offset = offset;
+        this.stride = stride;
+        this.length = length;
+    }
+
+    /**
+     * Creates a view over a whole Vector.
+     *
+     * @param vector The Vector to view.
+     * @return A view of every element of the vector.
+     */
+    public static VectorView of(Vector vector) {
+        double[] data = vector.getVector();
+        return new VectorView(data, null, 0, 1, data.length);
+    }
+
+    /**
+     * Creates a strided view over an array: element {@code i} is {@code data[offset + i * stride]}.
+     *
+     * @param data   The backing array.
+     * @param offset The index of the first element.
+     * @param length The number of elements.
+     * @param stride The distance between consecutive elements; may be negative.
+     * @return The view.
+     * @throws IllegalArgumentException if the view does not fit in the array.
+     */
+    public static VectorView of(double[] data, int offset, int length, int stride) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative.");
+        }
+        if (length > 0) {
+            long last = offset + (long) (length - 1) * stride;
+            if (offset < 0 || offset >= data.length || last < 0 || last >= data.length) {
+                throw new IllegalArgumentException("View does not fit in the array.");
+            }
+        }
+        return new VectorView(data, null, offset, stride, length);
+    }
+
+    /**
+     * Creates a view over rows {@code [rowStart, rowStart + length)} of one column of a jagged array.
+     */
+    static VectorView column(double[][] rows, int rowStart, int column, int length) {
+        return new VectorView(null, rows, rowStart, column, length);
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return The length of the view.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets an element.
+     *
+     * @param index The index of the element.
+     * @return The element at the index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        return at(index);
+    }
+
+    /**
+     * Sets an element, writing through to the underlying storage.
+     *
+     * @param index The index of the element.
+     * @param value The new value.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public void set(int index, double value) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        put(index, value);
+    }
+
+    /**
+     * Creates a view over a contiguous range of this view.
+     *
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     * @return The view of {@code [from, to)}.
+     * @throws IndexOutOfBoundsException if the range is invalid.
+     */
+    public VectorView slice(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ") for length " + length);
+        }
+        if (rows != null) {
+            return new VectorView(null, rows, offset + from, stride, to - from);
+        }
+        return new VectorView(data, null, offset + from * stride, stride, to - from);
+    }
+
+    /**
+     * Computes the dot product with another view.
+     *
+     * @param other The other view.
+     * @return The dot product.
+     * @throws IllegalArgumentException if the views have different lengths.
+     */
+    public double dot(VectorView other) {
+        checkLength(other);
+        double result = 0.0;
+        if (rows == null && other.rows == null) {
+            double[] x = data;
+            double[] y = other.data;
+            int ix = offset;
+            int iy = other.offset;
+            for (int i = 0; i < length; i++, ix += stride, iy += other.stride) {
+                result += x[ix] * y[iy];
+            }
+            return result;
+        }
+        for (int i = 0; i < length; i++) {
+            result += at(i) * other.at(i);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the Euclidean norm.
+     *
+     * @return The norm of the view.
+     */
+    public double norm() {
+        return Math.sqrt(dot(this));
+    }
+
+    /**
+     * Multiplies every element by a scalar, in place.
+     *
+     * @param scalar The scalar.
+     */
+    public void scale(double scalar) {
+        for (int i = 0; i < length; i++) {
+            put(i, at(i) * scalar);
+        }
+    }
+
+    /**
+     * Adds a multiple of another view to this one, in place: {@code this += alpha * x}.
+     *
+     * @param alpha The multiple.
+     * @param x     The view to add.
+     * @throws IllegalArgumentException if the views have different lengths.
+     */
+    public void axpy(double alpha, VectorView x) {
+        checkLength(x);
+        if (rows == null && x.rows == null) {
+            double[] y = data;
+            double[] source = x.data;
+            int iy = offset;
+            int ix = x.offset;
+            for (int i = 0; i < length; i++, iy += stride, ix += x.stride) {
+                y[iy] += alpha * source[ix];
+            }
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            put(i, at(i) + alpha * x.at(i));
+        }
+    }
+
+    /**
+     * Copies the elements of another view into this one.
+     *
+     * @param source The view to copy.
+     * @throws IllegalArgumentException if the views have different lengths.
+     */
+    public void assign(VectorView source) {
+        checkLength(source);
+        for (int i = 0; i < length; i++) {
+            put(i, source.at(i));
+        }
+    }
+
+    /**
+     * Copies the elements into a new Vector.
+     *
+     * @return A new Vector with the elements of this view.
+     */
+    public Vector toVector() {
+        double[] result = new double[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = at(i);
+        }
+        return new Vector(result);
+    }
+
+    double at(int index) {
+        return rows != null ? rows[offset + index][stride] : data[offset + index * stride];
+    }
+
+    void put(int index, double value) {
+        if (rows != null) {
+            rows[offset + index][stride] = value;
+        } else {
+            data[offset + index * stride] = value;
+        }
+    }
+
+    private void checkLength(VectorView other) {
+        if (other.length != length) {
+            throw new IllegalArgumentException("Views must have the same length.");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+
+/**
+ * Reusable arena of scratch buffers for the elimination algorithms.
+ * Buffers are handed out in stack order: take a {@link #mark()}, request
+ * buffers with {@link #doubles(int)} or {@link #ints(int)}, and give them all
+ * back with {@link #release(int)}. Each slot keeps its array between calls and
+ * only grows when a larger buffer is requested, so repeated calls of the same
+ * size do not allocate.
+ *
+ * <p>{@link #current()} returns a workspace bound to the calling thread, which is
+ * what the methods without a workspace parameter use. A workspace is not
+ * thread-safe and must not be shared between threads.</p>
+ *
+ * <pre>{@code
+ * Workspace workspace = Workspace.current();
+ * int mark = workspace.mark();
+ * try {
+ *     double[] scratch = workspace.doubles(n * n);
+ *     ...
+ * } finally {
+ *     workspace.release(mark);
+ * }
+ * }</pre>
+ *
+ * @author Emílio Heringer
+ */
+public final class Workspace {
+
+    private static final ThreadLocal<Workspace> CURRENT = ThreadLocal.withInitial(Workspace::new);
+
+    private double[][] doubleSlots = new double[4][];
+    private int[][] intSlots = new int[4][];
+    private int doubleTop;
+    private int intTop;
+    private long allocatedBytes;
+
+    /**
+     * Constructs an empty workspace.
+     */
+    public Workspace() {
+    }
+
+    /**
+     * Gets the workspace bound to the calling thread.
+     *
+     * @return The thread-local workspace.
+     */
+    public static Workspace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Marks the current position so that later buffers can be released together.
+     *
+     * @return The mark to pass to {@link #release(int)}.
+     */
+    public int mark() {
+        return (doubleTop << 16) | intTop;
+    }
+
+    /**
+     * Releases every buffer requested after a mark.
+     *
+     * @param mark A value returned by {@link #mark()}.
+     * @throws IllegalStateException if buffers requested before the mark were already released.
+     */
+    public void release(int mark) {
+        int doubles = mark >>> 16;
+        int ints = mark & 0xFFFF;
+        if (doubles > doubleTop || ints > intTop) {
+            throw new IllegalStateException("Workspace released out of order.");
+        }
+        doubleTop = doubles;
+        intTop = ints;
+    }
+
+    /**
+     * Requests a scratch {@code double[]}. The array may be longer than requested
+     * and its contents are undefined.
+     *
+     * @param length The minimum length.
+     * @return A buffer of at least {@code length} elements.
+     */
+    public double[] doubles(int length) {
+        if (doubleTop == doubleSlots.length) {
+            doubleSlots = Arrays.copyOf(doubleSlots, doubleSlots.length * 2);
+        }
+        double[] buffer = doubleSlots[doubleTop];
+        if (buffer == null || buffer.length < length) {
+            buffer = new double[grow(buffer == null ? 0 : buffer.length, length)];
+            allocatedBytes += 8L * buffer.length;
+            doubleSlots[doubleTop] = buffer;
+        }
+        doubleTop++;
+        return buffer;
+    }
+
+    /**
+     * Requests a scratch {@code int[]}. The array may be longer than requested
+     * and its contents are undefined.
+     *
+     * @param length The minimum length.
+     * @return A buffer of at least {@code length} elements.
+     */
+    public int[] ints(int length) {
+        if (intTop == intSlots.length) {
+            intSlots = Arrays.copyOf(intSlots, intSlots.length * 2);
+        }
+        int[] buffer = intSlots[intTop];
+        if (buffer == null || buffer.length < length) {
+            buffer = new int[grow(buffer == null ? 0 : buffer.length, length)];
+            allocatedBytes += 4L * buffer.length;
+            intSlots[intTop] = buffer;
+        }
+        intTop++;
+        return buffer;
+    }
+
+    /**
+     * Gets the total size of the buffers this workspace has allocated.
+     * The value stops changing once the workspace has reached its steady state.
+     *
+     * @return The number of bytes allocated for buffers.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Drops every buffer held by this workspace, returning the memory to the garbage collector.
+     *
+     * @throws IllegalStateException if buffers are still in use.
+     */
+    public void clear() {
+        if (doubleTop != 0 || intTop != 0) {
+            throw new IllegalStateException("Workspace is still in use.");
+        }
+        Arrays.fill(doubleSlots, null);
+        Arrays.fill(intSlots, null);
+    }
+
+    private static int grow(int current, int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length must not be negative.");
+        }
+        long doubled = 2L * current;
+        return Math.max(length, (int) Math.min(Integer.MAX_VALUE - 8, doubled));
+    }
+}
@@ -0,0 +1,36 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutoTunerTest {
+
+    @Test
+    void tune_picksCandidateBlockSizes() {
+        Tuning tuning = AutoTuner.tune(40, 40, 64);
+        assertTrue(Arrays.stream(AutoTuner.BLOCK_CANDIDATES).anyMatch(b -> b == tuning.getGemmBlockSize()));
+        assertTrue(Arrays.stream(AutoTuner.BLOCK_CANDIDATES).anyMatch(b -> b == tuning.getLuBlockSize()));
+        assertTrue(Arrays.stream(AutoTuner.BLOCK_CANDIDATES).anyMatch(b -> b == tuning.getTransposeBlockSize()));
+        assertTrue(tuning.getParallelThreshold() > 0);
+    }
+
+    @Test
+    void transpose_tiledMatchesForEveryBlockSize() {
+        double[][] data = new double[37][53];
+        for (int i = 0; i < 37; i++) {
+            for (int j = 0; j < 53; j++) {
+                data[i][j] = i * 100 + j;
+            }
+        }
+        for (int block : AutoTuner.BLOCK_CANDIDATES) {
+            double[][] transposed = Matrix.transpose(data, 37, 53, block);
+            for (int i = 0; i < 37; i++) {
+                for (int j = 0; j < 53; j++) {
+                    assertEquals(data[i][j], transposed[j][i]);
+                }
+            }
+        }
+    }
+}
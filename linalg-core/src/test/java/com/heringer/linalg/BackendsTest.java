@@ -0,0 +1,276 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+class BackendsTest {
+
+    @Test
+    void forOperation_defaultsToParallelGemmAndScalarOtherwise() {
+        Backends.reset();
+        for (BackendOperation operation : BackendOperation.values()) {
+            String expected = operation == BackendOperation.GEMM ? "parallel" : "scalar";
+            assertEquals(expected, Backends.forOperation(operation).name());
+        }
+    }
+
+    @Test
+    void get_unknownBackend_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> Backends.get("unknown"));
+    }
+
+    @Test
+    void available_containsBuiltInBackends() {
+        assertNotNull(Backends.get("scalar"));
+        assertNotNull(Backends.get("blocked"));
+        assertNotNull(Backends.get("parallel"));
+        assertTrue(Backends.available().size() >= 3);
+    }
+
+    @Test
+    void setDefault_perOperation_overridesGlobalDefault() {
+        try {
+            Backends.setDefault(Backends.get("blocked"));
+            Backends.setDefault(BackendOperation.GEMM, Backends.get("parallel"));
+            assertEquals("parallel", Backends.forOperation(BackendOperation.GEMM).name());
+            assertEquals("blocked", Backends.forOperation(BackendOperation.LU).name());
+        } finally {
+            Backends.reset();
+        }
+        assertEquals("parallel", Backends.forOperation(BackendOperation.GEMM).name());
+    }
+
+    @Test
+    void multiply_allBackendsAgree() {
+        Matrix a = random(150, 70, 1);
+        Matrix b = random(70, 90, 2);
+        Matrix expected = Matrix.multiply(a, b, Backends.get("scalar"));
+        assertMatrixEquals(expected, Matrix.multiply(a, b, Backends.get("blocked")), 1e-12);
+        assertMatrixEquals(expected, Matrix.multiply(a, b, Backends.get("parallel")), 1e-12);
+    }
+
+    @Test
+    void multiply_usesSelectedBackend() {
+        Matrix a = random(100, 100, 3);
+        Matrix b = random(100, 100, 4);
+        Matrix expected = a.multiply(b);
+        try {
+            Backends.setDefault(Backends.get("parallel"));
+            assertMatrixEquals(expected, a.multiply(b), 1e-12);
+        } finally {
+            Backends.reset();
+        }
+    }
+
+    @Test
+    void elementwise_allBackendsAgree() {
+        Matrix a = random(600, 500, 5);
+        Matrix b = random(600, 500, 6);
+        for (IBackend backend : Backends.available()) {
+            if (!backend.supports(BackendOperation.ELEMENTWISE)) {
+                continue;
+            }
+            assertMatrixEquals(new ScalarBackend().add(a, b), backend.add(a, b), 0);
+            assertMatrixEquals(new ScalarBackend().subtract(a, b), backend.subtract(a, b), 0);
+            assertMatrixEquals(new ScalarBackend().scale(a, 2.5), backend.scale(a, 2.5), 0);
+        }
+    }
+
+    @Test
+    void lu_blockedMatchesScalarForEveryBlockSize() {
+        Matrix a = random(75, 75, 7);
+        a.mtx[3] = a.mtx[10].clone();
+        Matrix[] expected = new ScalarBackend().lu(a);
+        for (int blockSize : new int[]{1, 4, 16, 32, 75, 100}) {
+            Matrix[] actual = BlockedBackend.lu(a, blockSize);
+            assertMatrixEquals(expected[0], actual[0], 1e-10);
+            assertMatrixEquals(expected[1], actual[1], 1e-10);
+            assertMatrixEquals(expected[2], actual[2], 0);
+        }
+    }
+
+    @Test
+    void multiply_parallelWithSmallBlocksAgrees() {
+        Matrix a = random(70, 33, 8);
+        Matrix b = random(33, 41, 9);
+        Matrix expected = new ScalarBackend().multiply(a, b);
+        assertMatrixEquals(expected, ParallelBackend.multiply(a, b, 8, 1), 1e-12);
+        assertMatrixEquals(expected, ParallelBackend.multiply(a, b, 128, 1), 1e-12);
+    }
+
+    @Test
+    void gemm_allBackendsAndTransposeCombinationsAgree() {
+        Matrix a = random(70, 45, 10);
+        Matrix aT = a.transpose();
+        Matrix b = random(45, 38, 11);
+        Matrix bT = b.transpose();
+        Matrix c0 = random(70, 38, 12);
+        Matrix expected = Matrix.sum(Matrix.multiplyByScalar(Matrix.multiply(a, b), 1.5),
+                Matrix.multiplyByScalar(c0, -0.5));
+
+        for (IBackend backend : Backends.available()) {
+            if (!backend.supports(BackendOperation.GEMM)) {
+                continue;
+            }
+            for (int mode = 0; mode < 4; mode++) {
+                boolean transA = (mode & 1) != 0;
+                boolean transB = (mode & 2) != 0;
+                Matrix c = new Matrix(c0);
+                Matrix.gemm(1.5, transA ? aT : a, transA, transB ? bT : b, transB, -0.5, c, backend);
+                assertMatrixEquals(expected, c, 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void gemm_parallelSplitsLargeOutputs() {
+        Matrix a = random(300, 120, 13);
+        Matrix b = random(300, 90, 14);
+        Matrix expected = Matrix.multiply(a.transpose(), b);
+        Matrix c = new Matrix(new double[120][90]);
+        try {
+            Tuning.set(new Tuning(16, 32, 32, 1));
+            Matrix.gemm(1.0, a, true, b, false, 0.0, c, Backends.get("parallel"));
+        } finally {
+            Tuning.set(null);
+        }
+        assertMatrixEquals(expected, c, 1e-12);
+    }
+
+    @Test
+    void gemv_allBackendsAgreeWithMatrixProduct() {
+        Matrix a = random(67, 43, 15);
+        Matrix x = random(43, 1, 16);
+        Matrix xT = random(67, 1, 17);
+        Matrix y0 = random(67, 1, 18);
+        Matrix y0T = random(43, 1, 19);
+        double[] expected = Matrix.sum(Matrix.multiplyByScalar(Matrix.multiply(a, x), 2.0),
+                Matrix.multiplyByScalar(y0, -1.0)).transpose().getMatrix()[0];
+        double[] expectedT = Matrix.sum(Matrix.multiplyByScalar(Matrix.multiply(a.transpose(), xT), 2.0),
+                Matrix.multiplyByScalar(y0T, -1.0)).transpose().getMatrix()[0];
+
+        for (IBackend backend : Backends.available()) {
+            if (!backend.supports(BackendOperation.GEMM)) {
+                continue;
+            }
+            Vector y = new Vector(y0.transpose().getMatrix()[0]);
+            Matrix.gemv(2.0, a, false, new Vector(x.transpose().getMatrix()[0]), -1.0, y, backend);
+            assertArrayEquals(expected, y.getVector(), 1e-12);
+            Vector yT = new Vector(y0T.transpose().getMatrix()[0]);
+            Matrix.gemv(2.0, a, true, new Vector(xT.transpose().getMatrix()[0]), -1.0, yT, backend);
+            assertArrayEquals(expectedT, yT.getVector(), 1e-12);
+        }
+    }
+
+    @Test
+    void gemv_parallelSplitsLongOutputs() {
+        Matrix a = random(500, 300, 20);
+        Vector x = new Vector(random(300, 1, 21).transpose().getMatrix()[0]);
+        Vector xT = new Vector(random(500, 1, 22).transpose().getMatrix()[0]);
+        Vector expected = new Vector(new double[500]);
+        Vector expectedT = new Vector(new double[300]);
+        Matrix.gemv(1.0, a, false, x, 0.0, expected, new ScalarBackend());
+        Matrix.gemv(1.0, a, true, xT, 0.0, expectedT, new ScalarBackend());
+
+        double[] y = new double[500];
+        double[] yT = new double[300];
+        ParallelBackend.gemv(1.0, a, false, x.getVector(), 0.0, y, 8, 1);
+        ParallelBackend.gemv(1.0, a, true, xT.getVector(), 0.0, yT, 8, 1);
+        assertArrayEquals(expected.getVector(), y, 1e-12);
+        assertArrayEquals(expectedT.getVector(), yT, 1e-12);
+    }
+
+    @Test
+    void gemv_defaultDispatchMatchesReferenceLoop() {
+        Matrix a = random(400, 260, 27);
+        double[] x = random(1, 260, 28).getMatrix()[0];
+        double[] xT = random(1, 400, 29).getMatrix()[0];
+        double[] expected = new double[400];
+        double[] expectedT = new double[260];
+        ScalarBackend.gemv(1.0, a.mtx, false, x, 0.0, expected);
+        ScalarBackend.gemv(1.0, a.mtx, true, xT, 0.0, expectedT);
+
+        for (long threshold : new long[]{Long.MAX_VALUE, 1}) {
+            Vector y = new Vector(new double[400]);
+            Vector yT = new Vector(new double[260]);
+            try {
+                Tuning.set(new Tuning(16, 32, 32, threshold));
+                Matrix.gemv(1.0, a, false, new Vector(x), 0.0, y);
+                Matrix.gemv(1.0, a, true, new Vector(xT), 0.0, yT);
+            } finally {
+                Tuning.set(null);
+            }
+            assertArrayEquals(expected, y.getVector(), 1e-12);
+            assertArrayEquals(expectedT, yT.getVector(), 1e-12);
+        }
+    }
+
+    @Test
+    void syrk_allBackendsAgreeWithMatrixProduct() {
+        Matrix a = random(83, 37, 23);
+        Matrix c0 = random(37, 37, 24);
+        Matrix c0T = random(83, 83, 25);
+        for (IBackend backend : Backends.available()) {
+            if (!backend.supports(BackendOperation.GEMM)) {
+                continue;
+            }
+            for (boolean transA : new boolean[]{true, false}) {
+                Matrix start = transA ? c0 : c0T;
+                Matrix product = transA ? Matrix.multiply(a.transpose(), a) : Matrix.multiply(a, a.transpose());
+                double[][] expected = new double[start.getRows()][start.getRows()];
+                for (int i = 0; i < expected.length; i++) {
+                    for (int j = 0; j < expected.length; j++) {
+                        // Só o triângulo inferior de C entra na conta.
+                        double previous = start.mtx[Math.max(i, j)][Math.min(i, j)];
+                        expected[i][j] = 0.5 * product.mtx[i][j] + 2.0 * previous;
+                    }
+                }
+                Matrix c = new Matrix(start);
+                Matrix.syrk(0.5, a, transA, 2.0, c, backend);
+                assertMatrixEquals(new Matrix(expected), c, 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void gram_defaultDispatchMatchesReferenceLoop() {
+        Matrix a = random(140, 90, 30);
+        double[][] expected = new double[90][90];
+        double[][] expectedT = new double[140][140];
+        ScalarBackend.syrk(1.0, a.mtx, true, 0.0, expected, 140);
+        ScalarBackend.syrk(1.0, a.mtx, false, 0.0, expectedT, 90);
+
+        for (long threshold : new long[]{Long.MAX_VALUE, 1}) {
+            Matrix gram;
+            Matrix outer = new Matrix(140, 140);
+            try {
+                Tuning.set(new Tuning(16, 32, 32, threshold));
+                gram = Matrix.gram(a);
+                Matrix.syrk(1.0, a, false, 0.0, outer);
+            } finally {
+                Tuning.set(null);
+            }
+            assertMatrixEquals(new Matrix(expected), gram, 1e-12);
+            assertMatrixEquals(new Matrix(expectedT), outer, 1e-12);
+        }
+    }
+
+    @Test
+    void syrk_parallelSplitsLargeOutputs() {
+        Matrix a = random(150, 210, 26);
+        Matrix expected = Matrix.multiply(a, a.transpose());
+        Matrix expectedT = Matrix.multiply(a.transpose(), a);
+        Matrix c = new Matrix(150, 150);
+        Matrix cT = new Matrix(210, 210);
+        try {
+            Tuning.set(new Tuning(16, 32, 32, 1));
+            Matrix.syrk(1.0, a, false, 0.0, c, Backends.get("parallel"));
+            Matrix.syrk(1.0, a, true, 0.0, cT, Backends.get("parallel"));
+        } finally {
+            Tuning.set(null);
+        }
+        assertMatrixEquals(expected, c, 1e-12);
+        assertMatrixEquals(expectedT, cT, 1e-12);
+    }
+}
@@ -0,0 +1,105 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class ChangeOfBasisTest {
+
+    @Test
+    void squareBasisSolvesForCoordinates() {
+        VectorBlock basis = randomBlock(12, 12, 1);
+        VectorBlock coordinates = randomBlock(12, 37, 2);
+        VectorBlock vectors = basis.multiply(coordinates.toMatrix());
+
+        ChangeOfBasis change = new ChangeOfBasis(basis);
+        assertFalse(change.isOrthonormal());
+        VectorBlock solved = change.coordinates(vectors);
+        assertArrayEquals(coordinates.getData(), solved.getData(), 1e-10);
+        assertArrayEquals(vectors.getData(), change.toVectors(solved).getData(), 1e-12);
+
+        Vector single = change.coordinates(vectors.getVector(5));
+        assertArrayEquals(coordinates.getVector(5).getVector(), single.getVector(), 1e-10);
+        assertArrayEquals(vectors.getVector(5).getVector(), change.toVector(single).getVector(), 1e-12);
+
+        try {
+            Tuning.set(new Tuning(16, 32, 32, 1));
+            assertArrayEquals(solved.getData(), change.coordinates(vectors).getData(), 0);
+        } finally {
+            Tuning.set(null);
+        }
+    }
+
+    @Test
+    void tallBasisGivesCoordinatesOfTheProjection() {
+        VectorBlock basis = randomBlock(9, 4, 3);
+        VectorBlock coordinates = randomBlock(4, 10, 4);
+        VectorBlock inSpan = basis.multiply(coordinates.toMatrix());
+        ChangeOfBasis change = new ChangeOfBasis(basis);
+        assertArrayEquals(coordinates.getData(), change.coordinates(inSpan).getData(), 1e-12);
+
+        // Um vetor fora do espaço gerado tem as coordenadas da sua projeção ortogonal.
+        Vector outside = randomBlock(9, 1, 5).getVector(0);
+        IncrementalBasis span = new IncrementalBasis(9);
+        for (int v = 0; v < 4; v++) {
+            span.add(basis.getVector(v));
+        }
+        Vector projection = span.project(outside);
+        Vector reconstructed = change.toVector(change.coordinates(outside));
+        assertArrayEquals(projection.getVector(), reconstructed.getVector(), 1e-12);
+    }
+
+    @Test
+    void orthonormalBasisUsesTheTranspose() {
+        Vector[] rotated = {
+                new Vector(new double[]{0.6, 0.8, 0}),
+                new Vector(new double[]{-0.8, 0.6, 0}),
+                new Vector(new double[]{0, 0, 1})};
+        ChangeOfBasis change = new ChangeOfBasis(rotated);
+        assertTrue(change.isOrthonormal());
+        Vector[] result = change.coordinates(new Vector[]{new Vector(new double[]{1, 2, 3})});
+        assertArrayEquals(new double[]{2.2, 0.4, 3}, result[0].getVector(), 1e-15);
+
+        VectorBlock orthonormal = Decomposition.gramSchmidt(randomBlock(20, 20, 6));
+        ChangeOfBasis fast = new ChangeOfBasis(orthonormal);
+        assertTrue(fast.isOrthonormal());
+        VectorBlock vectors = randomBlock(20, 15, 7);
+        assertArrayEquals(vectors.getData(), fast.toVectors(fast.coordinates(vectors)).getData(), 1e-12);
+    }
+
+    @Test
+    void vectorSpaceSolvesForCoordinates() {
+        Vector[] newBase = {new Vector(new double[]{1, 1}), new Vector(new double[]{1, -1})};
+        Vector[] vectors = {new Vector(new double[]{3, 1}), new Vector(new double[]{0, 2})};
+        VectorSpace space = new VectorSpace();
+
+        Vector[] expected = {new Vector(new double[]{2, 1}), new Vector(new double[]{1, -1})};
+        Vector[] changed = space.changeBase(vectors, newBase);
+        Vector[] relative = space.relativeCoordinates(vectors, newBase);
+        for (int v = 0; v < 2; v++) {
+            assertArrayEquals(expected[v].getVector(), changed[v].getVector(), 1e-15);
+            assertArrayEquals(expected[v].getVector(), relative[v].getVector(), 1e-15);
+        }
+        assertArrayEquals(new double[]{-1, 1}, space.relativeCoordinates(vectors, newBase, new double[]{2, -1})[1].getVector(), 1e-15);
+        assertThrows(IllegalArgumentException.class, () -> space.relativeCoordinates(vectors, newBase, new double[]{1}));
+    }
+
+    @Test
+    void dependentOrInvalidBasesAreRejected() {
+        Vector[] dependent = {new Vector(new double[]{1, 2}), new Vector(new double[]{2, 4})};
+        assertThrows(IllegalStateException.class, () -> new ChangeOfBasis(dependent));
+        Vector[] tallDependent = {new Vector(new double[]{1, 2, 3}), new Vector(new double[]{-2, -4, -6})};
+        assertThrows(IllegalStateException.class, () -> new ChangeOfBasis(tallDependent));
+        assertThrows(IllegalStateException.class,
+                () -> new VectorSpace().changeBase(new Vector[]{new Vector(new double[]{1, 1})}, dependent));
+
+        assertThrows(IllegalArgumentException.class, () -> new ChangeOfBasis(new VectorBlock(2, 3)));
+        assertThrows(IllegalArgumentException.class, () -> new ChangeOfBasis(new VectorBlock(2, 0)));
+        ChangeOfBasis change = new ChangeOfBasis(randomBlock(3, 2, 8));
+        assertThrows(IllegalArgumentException.class, () -> change.coordinates(new Vector(new double[2])));
+        assertThrows(IllegalArgumentException.class, () -> change.toVector(new Vector(new double[3])));
+        assertThrows(IllegalArgumentException.class, () -> change.toVectors(new VectorBlock(3, 1)));
+        assertEquals(0, change.coordinates(new VectorBlock(3, 0)).getCount());
+    }
+}
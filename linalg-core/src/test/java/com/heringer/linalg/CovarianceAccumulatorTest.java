@@ -0,0 +1,144 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class CovarianceAccumulatorTest {
+
+    private static double[][] rows(int count, int dimension, double offset, long seed) {
+        Random random = new Random(seed);
+        double[][] rows = new double[count][dimension];
+        for (double[] row : rows) {
+            for (int j = 0; j < dimension; j++) {
+                row[j] = offset + random.nextGaussian() * (j + 1);
+            }
+        }
+        return rows;
+    }
+
+    // Covariância amostral calculada em duas passadas, como referência.
+    private static double[][] twoPassCovariance(double[][] rows) {
+        int d = rows[0].length;
+        double[] mean = new double[d];
+        for (double[] row : rows) {
+            for (int j = 0; j < d; j++) {
+                mean[j] += row[j] / rows.length;
+            }
+        }
+        double[][] covariance = new double[d][d];
+        for (double[] row : rows) {
+            for (int i = 0; i < d; i++) {
+                for (int j = 0; j < d; j++) {
+                    covariance[i][j] += (row[i] - mean[i]) * (row[j] - mean[j]) / (rows.length - 1);
+                }
+            }
+        }
+        return covariance;
+    }
+
+    @Test
+    void rowByRowMatchesTwoPassCovariance() {
+        double[][] data = rows(500, 6, 3.0, 1);
+        CovarianceAccumulator accumulator = new CovarianceAccumulator(6);
+        for (double[] row : data) {
+            accumulator.add(row);
+        }
+
+        assertEquals(500, accumulator.getCount());
+        assertMatrixEquals(twoPassCovariance(data), accumulator.getCovariance(), 1e-10);
+        assertMatrixEquals(Matrix.gram(new Matrix(data)).getMatrix(), accumulator.getGram(), 1e-8);
+    }
+
+    @Test
+    void blocksMatchRowByRow() {
+        double[][] data = rows(1000, 9, -2.0, 2);
+        CovarianceAccumulator byRow = new CovarianceAccumulator(9);
+        for (double[] row : data) {
+            byRow.add(row);
+        }
+        CovarianceAccumulator byBlock = new CovarianceAccumulator(9);
+        byBlock.add(Arrays.copyOfRange(data, 0, 130));
+        byBlock.add(new Matrix(Arrays.copyOfRange(data, 130, 1000)));
+
+        assertArrayEquals(byRow.getMean().getVector(), byBlock.getMean().getVector(), 1e-12);
+        assertMatrixEquals(byRow.getCovariance().getMatrix(), byBlock.getCovariance(), 1e-10);
+        assertMatrixEquals(byRow.getScatter().getMatrix(), byBlock.getScatter(), 1e-8);
+    }
+
+    @Test
+    void largeOffsetDoesNotCancel() {
+        // Com média 1e9 e desvio ~1, a fórmula ingênua E[x²] - E[x]² perde todos os dígitos.
+        double[][] data = rows(2000, 3, 1e9, 3);
+        CovarianceAccumulator accumulator = new CovarianceAccumulator(3);
+        accumulator.add(data);
+
+        assertMatrixEquals(twoPassCovariance(data), accumulator.getCovariance(), 1e-6);
+    }
+
+    @Test
+    void partialsMergeLikeOneAccumulator() {
+        double[][] data = rows(900, 5, 10.0, 4);
+        CovarianceAccumulator whole = new CovarianceAccumulator(5);
+        whole.add(data);
+
+        List<CovarianceAccumulator> partials = new ArrayList<>();
+        for (int start = 0; start < 900; start += 200) {
+            CovarianceAccumulator partial = new CovarianceAccumulator(5);
+            partial.add(Arrays.copyOfRange(data, start, Math.min(start + 200, 900)));
+            partials.add(partial);
+        }
+        partials.add(new CovarianceAccumulator(5));
+        CovarianceAccumulator combined = CovarianceAccumulator.combine(5, partials);
+
+        assertEquals(900, combined.getCount());
+        assertEquals(200, partials.get(0).getCount());
+        assertMatrixEquals(whole.getCovariance().getMatrix(), combined.getCovariance(), 1e-10);
+
+        CovarianceAccumulator collected = Arrays.stream(data).parallel()
+                .collect(CovarianceAccumulator.collector(5));
+        assertMatrixEquals(whole.getCovariance().getMatrix(), collected.getCovariance(), 1e-10);
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws InterruptedException {
+        double[][] data = rows(4000, 4, 0.0, 5);
+        CovarianceAccumulator accumulator = new CovarianceAccumulator(4);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int first = t * 1000;
+            executor.execute(() -> {
+                for (int r = first; r < first + 1000; r++) {
+                    accumulator.add(data[r]);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(4000, accumulator.getCount());
+        assertMatrixEquals(twoPassCovariance(data), accumulator.getCovariance(), 1e-10);
+    }
+
+    @Test
+    void invalidUse() {
+        CovarianceAccumulator accumulator = new CovarianceAccumulator(2);
+        assertThrows(IllegalArgumentException.class, () -> new CovarianceAccumulator(0));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.add(new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.merge(new CovarianceAccumulator(3)));
+        assertThrows(IllegalArgumentException.class, () -> accumulator.merge(accumulator));
+        assertThrows(IllegalStateException.class, accumulator::getMean);
+        accumulator.add(new double[]{1, 2});
+        assertThrows(IllegalStateException.class, accumulator::getCovariance);
+        assertMatrixEquals(new double[2][2], accumulator.getPopulationCovariance(), 0);
+    }
+}
@@ -0,0 +1,287 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+public class DecompositionTest {
+
+    @Test
+    void isOrthogonal_orthogonalVectors_returnsTrue() {
+        Vector a = new Vector(new double[]{1, 0});
+        Vector b = new Vector(new double[]{0, 1});
+        assertTrue(Decomposition.isOrthogonal(a, b));
+    }
+
+    @Test
+    void isOrthogonal_nonOrthogonalVectors_returnsFalse() {
+        Vector a = new Vector(new double[]{1, 1});
+        Vector b = new Vector(new double[]{1, 0});
+        assertFalse(Decomposition.isOrthogonal(a, b));
+    }
+
+    @Test
+    void isOrthogonal_zeroVector_returnsTrue() {
+        Vector a = new Vector(new double[]{0, 0});
+        Vector b = new Vector(new double[]{1, 1});
+        assertTrue(Decomposition.isOrthogonal(a, b));
+    }
+
+    @Test
+    void isOrthogonal_sameVector_returnsFalse() {
+        Vector a = new Vector(new double[]{1, 1});
+        Vector b = new Vector(new double[]{1, 1});
+        assertFalse(Decomposition.isOrthogonal(a, b));
+    }
+
+    @Test
+    void gramSchmidt_orthonormalizesVectors() {
+        Vector[] vectors = {
+            new Vector(new double[]{1, 0}),
+            new Vector(new double[]{1, 1})
+        };
+        Vector[] result = Decomposition.gramSchmidt(vectors);
+        assertTrue(Decomposition.isOrthogonal(result[0], result[1]));
+        assertEquals(1.0, Vector.magnitude(result[0]), 1e-6);
+        assertEquals(1.0, Vector.magnitude(result[1]), 1e-6);
+    }
+
+    @Test
+    void qrDecomposition_squareMatrix_returnsQMatrix() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2},
+            {3, 4}
+        });
+        Matrix qMatrix = Decomposition.qrDecomposition(matrix);
+        assertEquals(2, qMatrix.getRows());
+        assertEquals(2, qMatrix.getColumns());
+    }
+
+    @Test
+    void qrDecomposition_matchesGramSchmidtOfColumns() {
+        double[][] data = {
+            {2, -1, 0},
+            {1, 3, 1},
+            {0, 1, 4}
+        };
+        Matrix matrix = new Matrix(data);
+        Vector[] columns = new Vector[3];
+        for (int j = 0; j < 3; j++) {
+            columns[j] = new Vector(new double[]{data[0][j], data[1][j], data[2][j]});
+        }
+        Vector[] basis = Decomposition.gramSchmidt(columns);
+
+        Matrix q = Decomposition.qrDecomposition(matrix);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                assertEquals(basis[j].getVector()[i], q.getMatrix()[i][j], 0.0);
+            }
+        }
+        assertArrayEquals(new double[]{2, -1, 0}, matrix.getMatrix()[0], 0.0);
+    }
+
+    @Test
+    void qrDecomposition_nonSquareMatrix_throwsException() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2, 3},
+            {4, 5, 6}
+        });
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.qrDecomposition(matrix));
+    }
+
+    @Test
+    void luDecomposition_squareMatrix_returnsLMatrix() {
+        Matrix matrix = new Matrix(new double[][]{
+            {4, 3},
+            {6, 3}
+        });
+        Matrix lMatrix = Decomposition.luDecomposition(matrix);
+        assertEquals(2, lMatrix.getRows());
+        assertEquals(2, lMatrix.getColumns());
+    }
+
+    @Test
+    void luDecomposition_nonSquareMatrix_throwsException() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2, 3},
+            {4, 5, 6}
+        });
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.luDecomposition(matrix));
+    }
+
+    @Test
+    void spectralDecomposition_squareMatrix_returnsEigenDecomposition() {
+        Matrix matrix = new Matrix(new double[][]{
+            {4, -2},
+            {1, 1}
+        });
+        EigenDecomposition evd = Decomposition.spectralDecomposition(matrix);
+        assertNotNull(evd);
+        assertEquals(2, evd.getNumberOfEigenvalues());
+        assertEquals(3.0, evd.getEigenvalueReal(0), 1e-9);
+        assertEquals(2.0, evd.getEigenvalueReal(1), 1e-9);
+    }
+
+    @Test
+    void spectralDecomposition_nonSquareMatrix_throwsException() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2, 3},
+            {4, 5, 6}
+        });
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.spectralDecomposition(matrix));
+    }
+
+    private static void assertProduct(Matrix expected, Matrix left, Matrix right) {
+        Matrix product = Matrix.multiply(left, right);
+        for (int i = 0; i < expected.getRows(); i++) {
+            assertArrayEquals(expected.getMatrix()[i], product.getMatrix()[i], 1e-9);
+        }
+    }
+
+    @Test
+    void lu_squareMatrix_satisfiesPivotedFactorization() {
+        Matrix matrix = new Matrix(new double[][]{
+            {0, 2, 1},
+            {4, 1, 3},
+            {2, 5, 7}
+        });
+        Matrix[] lu = Decomposition.lu(matrix);
+        assertEquals(0.0, lu[0].getMatrix()[0][1]);
+        assertEquals(1.0, lu[0].getMatrix()[1][1]);
+        assertEquals(0.0, lu[1].getMatrix()[2][0]);
+        assertProduct(Matrix.multiply(lu[2], matrix), lu[0], lu[1]);
+        assertArrayEquals(new double[]{0, 2, 1}, matrix.getMatrix()[0]);
+    }
+
+    @Test
+    void lu_nonSquareMatrix_throwsException() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2, 3},
+            {4, 5, 6}
+        });
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.lu(matrix));
+    }
+
+    @Test
+    void qr_rectangularMatrix_returnsOrthogonalQAndTriangularR() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2},
+            {3, 4},
+            {5, 6}
+        });
+        Matrix[] qr = Decomposition.qr(matrix);
+        assertEquals(3, qr[0].getRows());
+        assertEquals(3, qr[0].getColumns());
+        assertEquals(0.0, qr[1].getMatrix()[1][0]);
+        assertEquals(0.0, qr[1].getMatrix()[2][1]);
+        assertProduct(matrix, qr[0], qr[1]);
+        assertProduct(Matrix.I(3, 3), qr[0].transpose(), qr[0]);
+    }
+
+    @Test
+    void cholesky_positiveDefiniteMatrix_returnsLowerFactor() {
+        Matrix matrix = new Matrix(new double[][]{
+            {4, 12, -16},
+            {12, 37, -43},
+            {-16, -43, 98}
+        });
+        Matrix l = Decomposition.cholesky(matrix);
+        assertArrayEquals(new double[]{2, 0, 0}, l.getMatrix()[0], 1e-12);
+        assertArrayEquals(new double[]{6, 1, 0}, l.getMatrix()[1], 1e-12);
+        assertArrayEquals(new double[]{-8, 5, 3}, l.getMatrix()[2], 1e-12);
+    }
+
+    @Test
+    void cholesky_indefiniteMatrix_throwsException() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2},
+            {2, 1}
+        });
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.cholesky(matrix));
+    }
+
+    @Test
+    void lu_view_factorsAWindowInPlace() {
+        Matrix matrix = new Matrix(new double[][]{
+            {0, 2, 1},
+            {4, 1, 3},
+            {2, 5, 7}
+        });
+        Matrix host = new Matrix(5, 5);
+        for (int i = 0; i < 5; i++) {
+            Arrays.fill(host.getMatrix()[i], -1);
+        }
+        MatrixView window = host.submatrix(1, 2, 3, 3);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                window.set(i, j, matrix.getMatrix()[i][j]);
+            }
+        }
+
+        int[] pivots = Decomposition.lu(window);
+        Matrix[] expected = Decomposition.lu(matrix);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                double factor = i > j ? expected[0].getMatrix()[i][j] : expected[1].getMatrix()[i][j];
+                assertEquals(factor, window.get(i, j), 1e-12);
+            }
+        }
+        assertArrayEquals(new int[]{1, 2, 2}, pivots);
+        assertEquals(-1.0, host.getMatrix()[0][2]);
+        assertEquals(-1.0, host.getMatrix()[2][1]);
+        assertEquals(-1.0, host.getMatrix()[4][4]);
+    }
+
+    @Test
+    void qr_view_storesRAndReflectorsInPlace() {
+        double[] columnMajor = {1, 3, 5, 2, 4, 6};
+        MatrixView view = MatrixView.of(columnMajor, 0, 3, 2, 1, 3);
+        double[] tau = Decomposition.qr(view);
+
+        // Reaplica os refletores sobre R, do último para o primeiro, para reconstruir A.
+        double[][] product = new double[3][2];
+        for (int i = 0; i < 2; i++) {
+            for (int j = i; j < 2; j++) {
+                product[i][j] = view.get(i, j);
+            }
+        }
+        for (int k = tau.length - 1; k >= 0; k--) {
+            for (int j = 0; j < 2; j++) {
+                double w = product[k][j];
+                for (int i = k + 1; i < 3; i++) {
+                    w += view.get(i, k) * product[i][j];
+                }
+                product[k][j] -= tau[k] * w;
+                for (int i = k + 1; i < 3; i++) {
+                    product[i][j] -= tau[k] * w * view.get(i, k);
+                }
+            }
+        }
+        assertArrayEquals(new double[]{1, 2}, product[0], 1e-12);
+        assertArrayEquals(new double[]{3, 4}, product[1], 1e-12);
+        assertArrayEquals(new double[]{5, 6}, product[2], 1e-12);
+        Matrix r = Decomposition.qr(new Matrix(new double[][]{{1, 2}, {3, 4}, {5, 6}}))[1];
+        assertEquals(Math.abs(r.getMatrix()[0][0]), Math.abs(view.get(0, 0)), 1e-12);
+        assertEquals(Math.abs(r.getMatrix()[1][1]), Math.abs(view.get(1, 1)), 1e-12);
+    }
+
+    @Test
+    void cholesky_view_overwritesOnlyTheLowerTriangle() {
+        Matrix matrix = new Matrix(new double[][]{
+            {4, 99, 99},
+            {12, 37, 99},
+            {-16, -43, 98}
+        });
+        Decomposition.cholesky(matrix.view());
+        assertArrayEquals(new double[]{2, 99, 99}, matrix.getMatrix()[0], 1e-12);
+        assertArrayEquals(new double[]{6, 1, 99}, matrix.getMatrix()[1], 1e-12);
+        assertArrayEquals(new double[]{-8, 5, 3}, matrix.getMatrix()[2], 1e-12);
+
+        Matrix indefinite = new Matrix(new double[][]{{1, 2}, {2, 1}});
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.cholesky(indefinite.view()));
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.cholesky(matrix.submatrix(0, 0, 2, 3)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class FixedSizeMatrixTest {
+
+    @Test
+    void matrix3MatchesTheGeneralMatrix() {
+        Matrix a = random(3, 3, 1);
+        Matrix b = random(3, 3, 2);
+        Matrix3 a3 = new Matrix3(a);
+        Matrix3 b3 = new Matrix3(b);
+
+        assertMatrixEquals(Matrix.multiply(a, b), a3.multiply(b3, new Matrix3()).toMatrix(), 1e-15);
+        assertMatrixEquals(Matrix.inverse(a), a3.invert(new Matrix3()).toMatrix(), 1e-12);
+        assertMatrixEquals(a.transpose(), a3.transpose(new Matrix3()).toMatrix(), 0);
+        assertEquals(Matrix.determinant(a), a3.determinant(), 1e-14);
+
+        Vector3 v = new Vector3(0.3, -1.2, 2.5);
+        Matrix product = Matrix.multiply(a, new Matrix(new double[][]{{0.3}, {-1.2}, {2.5}}));
+        a3.transform(v);
+        assertArrayEquals(new double[]{product.mtx[0][0], product.mtx[1][0], product.mtx[2][0]},
+                new double[]{v.x, v.y, v.z}, 1e-15);
+        assertThrows(IllegalArgumentException.class, () -> new Matrix3(random(4, 4, 3)));
+    }
+
+    @Test
+    void matrix4AndMatrix2MatchTheGeneralMatrix() {
+        Matrix a = random(4, 4, 4);
+        Matrix b = random(4, 4, 5);
+        Matrix4 a4 = new Matrix4(a);
+        assertMatrixEquals(Matrix.multiply(a, b), a4.multiply(new Matrix4(b), new Matrix4()).toMatrix(), 1e-15);
+        assertMatrixEquals(Matrix.inverse(a), a4.invert(new Matrix4()).toMatrix(), 1e-11);
+        assertMatrixEquals(a.transpose(), a4.transpose(new Matrix4()).toMatrix(), 0);
+        assertEquals(Matrix.determinant(a), a4.determinant(), 1e-14);
+
+        Matrix c = random(2, 2, 6);
+        Matrix2 c2 = new Matrix2(c);
+        assertMatrixEquals(Matrix.inverse(c), c2.invert(new Matrix2()).toMatrix(), 1e-12);
+        assertEquals(Matrix.determinant(c), c2.determinant(), 1e-15);
+        assertMatrixEquals(Matrix.multiply(c, c), c2.multiply(c2, new Matrix2()).toMatrix(), 1e-15);
+    }
+
+    @Test
+    void destinationMayAliasTheOperands() {
+        Matrix4 a = new Matrix4(random(4, 4, 7));
+        Matrix4 expected = a.multiply(a, new Matrix4());
+        a.multiply(a);
+        assertEquals(expected, a);
+
+        Matrix4 inverse = a.invert(new Matrix4());
+        a.invert();
+        assertEquals(inverse, a);
+
+        Matrix3 b = new Matrix3(random(3, 3, 8));
+        Matrix3 original = new Matrix3(b);
+        b.transpose().transpose();
+        assertEquals(original, b);
+        assertEquals(original.hashCode(), b.hashCode());
+
+        Matrix4 product = new Matrix4(random(4, 4, 9));
+        Matrix4 right = new Matrix4(random(4, 4, 10));
+        Matrix4 expectedProduct = product.multiply(right, new Matrix4());
+        product.multiply(right, right);
+        assertEquals(expectedProduct, right);
+    }
+
+    @Test
+    void matrix4TransformsPointsAndDirections() {
+        // Rotação de 90 graus em torno de z seguida de translação (1, 2, 3).
+        Matrix4 transform = new Matrix4(0, -1, 0, 1, 1, 0, 0, 2, 0, 0, 1, 3, 0, 0, 0, 1);
+        assertEquals(new Vector3(1, 3, 3), transform.transformPosition(new Vector3(1, 0, 0)));
+        assertEquals(new Vector3(0, 1, 0), transform.transformDirection(new Vector3(1, 0, 0)));
+        assertEquals(new Vector4(1, 3, 3, 1), transform.transform(new Vector4(1, 0, 0, 1)));
+
+        Matrix4 projective = new Matrix4(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0.5, 0);
+        assertEquals(new Vector3(1, 2, 2), projective.transformProject(new Vector3(2, 4, 4)));
+        Vector4 homogeneous = projective.transform(new Vector4(2, 4, 4, 1));
+        assertEquals(new Vector3(1, 2, 2), homogeneous.project(new Vector3()));
+    }
+
+    @Test
+    void singularMatricesAreRejected() {
+        assertThrows(IllegalStateException.class, () -> new Matrix2(1, 2, 2, 4).invert());
+        assertThrows(IllegalStateException.class, () -> new Matrix3(1, 2, 3, 4, 5, 6, 7, 8, 9).invert());
+        assertThrows(IllegalStateException.class, () -> new Matrix4(1, 2, 3, 4, 2, 4, 6, 8, 0, 0, 1, 0, 0, 0, 0, 1).invert());
+        assertEquals(new Matrix3(), new Matrix3(1, 0, 0, 0, 1, 0, 0, 0, 1));
+    }
+}
@@ -0,0 +1,48 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedSizeVectorTest {
+
+    @Test
+    void vector3MatchesTheGeneralVector() {
+        Vector a = new Vector(new double[]{1.5, -2, 0.25});
+        Vector b = new Vector(new double[]{-3, 0.5, 4});
+        Vector3 a3 = new Vector3(a);
+        Vector3 b3 = new Vector3(b);
+
+        assertEquals(new Vector3(Vector.cross(a, b)), a3.cross(b3, new Vector3()));
+        assertEquals(a.dot(b), a3.dot(b3));
+        assertEquals(a.getNorm(), a3.length(), 1e-15);
+        assertArrayEquals(a.normalize().getVector(), a3.normalize(new Vector3()).toVector().getVector(), 0);
+        assertThrows(IllegalArgumentException.class, () -> new Vector3(new Vector(new double[]{1, 2})));
+        assertThrows(IllegalArgumentException.class, () -> new Vector3().normalize());
+    }
+
+    @Test
+    void inPlaceOperationsReuseTheInstance() {
+        Vector3 v = new Vector3(1, 2, 3);
+        Vector3 w = new Vector3(4, 5, 6);
+        assertSame(v, v.add(w).subtract(new Vector3(1, 1, 1)).scale(2));
+        assertEquals(new Vector3(8, 12, 16), v);
+
+        // O produto vetorial com destino igual ao operando usa os valores anteriores.
+        Vector3 x = new Vector3(1, 0, 0);
+        Vector3 y = new Vector3(0, 1, 0);
+        x.cross(y, y);
+        assertEquals(new Vector3(0, 0, 1), y);
+        assertEquals(new Vector3(-8, -12, -16), v.negate());
+
+        Vector2 p = new Vector2(3, 4);
+        assertEquals(5, p.length());
+        assertEquals(-3, p.cross(new Vector2(0, -1)));
+        assertEquals(new Vector2(0.6, 0.8), p.normalize());
+
+        Vector4 q = new Vector4(new Vector3(1, 2, 3), 1);
+        assertEquals(15, q.dot(new Vector4(1, 1, 1, 9)));
+        assertEquals(new Vector4(2, 4, 6, 2), q.scale(2));
+        assertEquals("[2.0, 4.0, 6.0, 2.0]", q.toString());
+    }
+}
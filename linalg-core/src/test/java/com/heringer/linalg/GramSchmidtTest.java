@@ -0,0 +1,102 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class GramSchmidtTest {
+
+    /**
+     * Columns t^j of a Vandermonde matrix on [0, 1], with a condition number of about 1e10.
+     */
+    private static VectorBlock vandermonde(int dimension, int count) {
+        VectorBlock block = new VectorBlock(dimension, count);
+        for (int v = 0; v < count; v++) {
+            for (int i = 0; i < dimension; i++) {
+                block.set(v, i, Math.pow((double) i / (dimension - 1), v));
+            }
+        }
+        return block;
+    }
+
+    private static double lossOfOrthogonality(VectorBlock q) {
+        Matrix gram = q.gram();
+        double worst = 0.0;
+        for (int i = 0; i < gram.getRows(); i++) {
+            for (int j = 0; j < gram.getColumns(); j++) {
+                worst = Math.max(worst, Math.abs(gram.mtx[i][j] - (i == j ? 1.0 : 0.0)));
+            }
+        }
+        return worst;
+    }
+
+    @Test
+    void everyMethodFactorsTheBlock() {
+        for (GramSchmidt.Method method : GramSchmidt.Method.values()) {
+            VectorBlock a = randomBlock(50, 23, 1);
+            VectorBlock q = a.copy();
+            Matrix r = GramSchmidt.orthonormalize(q, method, 5);
+
+            assertTrue(lossOfOrthogonality(q) < 1e-14, method.name());
+            VectorBlock product = q.multiply(r);
+            assertArrayEquals(a.getData(), product.getData(), 1e-14, method.name());
+            for (int i = 0; i < 23; i++) {
+                assertTrue(r.mtx[i][i] > 0);
+                for (int j = 0; j < i; j++) {
+                    assertEquals(0.0, r.mtx[i][j]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void reorthogonalizationKeepsIllConditionedBlocksOrthogonal() {
+        double modified = lossOfOrthogonality(orthonormalized(GramSchmidt.Method.MODIFIED));
+        double twice = lossOfOrthogonality(orthonormalized(GramSchmidt.Method.REORTHOGONALIZED));
+        double block = lossOfOrthogonality(orthonormalized(GramSchmidt.Method.BLOCK));
+        assertTrue(twice < 1e-14, "CGS2: " + twice);
+        assertTrue(block < 1e-14, "block: " + block);
+        assertTrue(modified > 100 * twice, "MGS: " + modified);
+
+        Vector[] columns = vandermonde(40, 12).toArray();
+        VectorBlock basis = VectorBlock.of(Decomposition.gramSchmidt(columns));
+        assertTrue(lossOfOrthogonality(basis) < 1e-14);
+    }
+
+    private static VectorBlock orthonormalized(GramSchmidt.Method method) {
+        VectorBlock q = vandermonde(40, 12);
+        GramSchmidt.orthonormalize(q, method, 4);
+        return q;
+    }
+
+    @Test
+    void parallelKernelsMatchTheSequentialOnes() {
+        for (GramSchmidt.Method method : GramSchmidt.Method.values()) {
+            VectorBlock sequential = randomBlock(1100, 20, 2);
+            VectorBlock parallel = sequential.copy();
+            Matrix r = GramSchmidt.orthonormalize(sequential, method, 6);
+            Matrix parallelR;
+            try {
+                Tuning.set(new Tuning(16, 32, 32, 1));
+                parallelR = GramSchmidt.orthonormalize(parallel, method, 6);
+            } finally {
+                Tuning.set(null);
+            }
+            assertArrayEquals(sequential.getData(), parallel.getData(), 0, method.name());
+            for (int i = 0; i < 20; i++) {
+                assertArrayEquals(r.mtx[i], parallelR.mtx[i], 0);
+            }
+        }
+    }
+
+    @Test
+    void zeroResidualIsRejected() {
+        VectorBlock block = VectorBlock.of(new Vector(new double[]{1, 2, 0}), new Vector(new double[]{0, 0, 0}));
+        for (GramSchmidt.Method method : GramSchmidt.Method.values()) {
+            assertThrows(IllegalArgumentException.class, () -> GramSchmidt.orthonormalize(block.copy(), method));
+        }
+        assertThrows(IllegalArgumentException.class, () -> GramSchmidt.orthonormalize(new VectorBlock(3, 0), GramSchmidt.Method.BLOCK));
+        assertEquals(0, Decomposition.gramSchmidt(new VectorBlock(3, 0)).getCount());
+    }
+}
@@ -0,0 +1,113 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalBasisTest {
+
+    /**
+     * Random combinations of {@code span} random vectors of {@code length} elements.
+     */
+    private static Vector[] subspace(int count, int length, int span, long seed) {
+        Random random = new Random(seed);
+        double[][] generators = new double[span][length];
+        for (double[] generator : generators) {
+            for (int i = 0; i < length; i++) {
+                generator[i] = random.nextGaussian();
+            }
+        }
+        Vector[] vectors = new Vector[count];
+        for (int v = 0; v < count; v++) {
+            double[] data = new double[length];
+            for (double[] generator : generators) {
+                double coefficient = random.nextGaussian();
+                for (int i = 0; i < length; i++) {
+                    data[i] += coefficient * generator[i];
+                }
+            }
+            vectors[v] = new Vector(data);
+        }
+        return vectors;
+    }
+
+    @Test
+    void findsTheDimensionOfASubspace() {
+        Vector[] vectors = subspace(500, 40, 7, 1);
+        IncrementalBasis basis = new IncrementalBasis(40);
+        int accepted = 0;
+        for (Vector vector : vectors) {
+            if (basis.add(vector)) {
+                accepted++;
+            }
+        }
+        assertEquals(7, accepted);
+        assertEquals(7, basis.dimension());
+        for (Vector vector : vectors) {
+            assertTrue(basis.contains(vector));
+        }
+        assertFalse(basis.contains(subspace(1, 40, 1, 2)[0]));
+
+        Matrix gram = basis.getBasis().gram();
+        for (int i = 0; i < 7; i++) {
+            for (int j = 0; j < 7; j++) {
+                assertEquals(i == j ? 1.0 : 0.0, gram.mtx[i][j], 1e-14);
+            }
+        }
+    }
+
+    @Test
+    void projectsOntoTheSpan() {
+        IncrementalBasis basis = new IncrementalBasis(3);
+        assertTrue(basis.add(new Vector(new double[]{1, 1, 0})));
+        assertTrue(basis.add(new Vector(new double[]{1, -1, 0})));
+        assertFalse(basis.add(new Vector(new double[]{2, 5, 0})));
+        assertFalse(basis.add(new Vector(new double[3])));
+
+        Vector projection = basis.project(new Vector(new double[]{3, 4, 5}));
+        assertArrayEquals(new double[]{3, 4, 0}, projection.getVector(), 1e-15);
+        assertTrue(basis.contains(new Vector(new double[]{0, 0, 1e-12}), 1.0));
+        assertFalse(basis.contains(new Vector(new double[]{0, 1, 1}), 0.5));
+
+        assertTrue(basis.add(new Vector(new double[]{0, 0, 2})));
+        assertFalse(basis.add(new Vector(new double[]{7, 8, 9})));
+        assertEquals(3, basis.dimension());
+    }
+
+    @Test
+    void toleranceIsRelative() {
+        IncrementalBasis strict = new IncrementalBasis(2, 0);
+        strict.add(new Vector(new double[]{1, 0}));
+        assertTrue(strict.add(new Vector(new double[]{1, 1e-12})));
+
+        IncrementalBasis loose = new IncrementalBasis(2);
+        loose.add(new Vector(new double[]{1e-20, 0}));
+        assertFalse(loose.add(new Vector(new double[]{1e-20, 1e-31})));
+        assertTrue(loose.add(new Vector(new double[]{0, 1e-20})));
+        assertFalse(new IncrementalBasis(2).add(new Vector(new double[]{Double.NaN, 0})));
+    }
+
+    @Test
+    void vectorSpaceMatchesBasis() {
+        Vector[] vectors = subspace(300, 20, 5, 3);
+        VectorSpace space = new VectorSpace();
+        Vector[] base = space.getBase(vectors);
+        assertEquals(5, base.length);
+        assertSame(vectors[0], base[0]);
+        assertEquals(5, space.getDimension(vectors));
+        assertEquals(5, space.getBlockDimension(VectorBlock.of(vectors)));
+        assertEquals(base[4], space.getBlockBase(VectorBlock.of(vectors)).getVector(4));
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalBasis(0));
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalBasis(3, -1));
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalBasis(3, Double.NaN));
+        IncrementalBasis basis = new IncrementalBasis(3);
+        assertThrows(IllegalArgumentException.class, () -> basis.add(new Vector(new double[2])));
+        assertThrows(IllegalArgumentException.class, () -> basis.project(new Vector(new double[4])));
+    }
+}
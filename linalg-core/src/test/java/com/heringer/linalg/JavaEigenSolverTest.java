@@ -0,0 +1,120 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JavaEigenSolverTest {
+
+    private static void assertEigenPair(Matrix matrix, EigenDecomposition evd, int index) {
+        Vector v = evd.getEigenvector(index);
+        assertNotNull(v);
+        assertEquals(1.0, v.getNorm(), 1e-9);
+        double lambda = evd.getEigenvalueReal(index);
+        double[][] a = matrix.getMatrix();
+        for (int i = 0; i < a.length; i++) {
+            double av = 0;
+            for (int j = 0; j < a.length; j++) {
+                av += a[i][j] * v.getVector()[j];
+            }
+            assertEquals(lambda * v.getVector()[i], av, 1e-8);
+        }
+    }
+
+    @Test
+    void decompose_nonSymmetricMatrix_returnsRealEigenpairs() {
+        Matrix matrix = new Matrix(new double[][]{
+            {4, -2},
+            {1, 1}
+        });
+        EigenDecomposition evd = new JavaEigenSolver().decompose(matrix);
+
+        assertEquals(2, evd.getNumberOfEigenvalues());
+        assertEquals(3.0, evd.getEigenvalueReal(0), 1e-9);
+        assertEquals(2.0, evd.getEigenvalueReal(1), 1e-9);
+        assertTrue(evd.isReal(0));
+        assertTrue(evd.isReal(1));
+        assertEigenPair(matrix, evd, 0);
+        assertEigenPair(matrix, evd, 1);
+    }
+
+    @Test
+    void decompose_symmetricMatrix_returnsOrthonormalEigenvectors() {
+        Matrix matrix = new Matrix(new double[][]{
+            {2, 1, 0},
+            {1, 2, 1},
+            {0, 1, 2}
+        });
+        EigenDecomposition evd = new JavaEigenSolver().decompose(matrix);
+
+        assertEquals(2 + Math.sqrt(2), evd.getEigenvalueReal(0), 1e-9);
+        assertEquals(2.0, evd.getEigenvalueReal(1), 1e-9);
+        assertEquals(2 - Math.sqrt(2), evd.getEigenvalueReal(2), 1e-9);
+        for (int i = 0; i < 3; i++) {
+            assertEigenPair(matrix, evd, i);
+            for (int j = i + 1; j < 3; j++) {
+                assertEquals(0.0, evd.getEigenvector(i).dot(evd.getEigenvector(j)), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void decompose_rotationMatrix_returnsComplexConjugatePair() {
+        Matrix matrix = new Matrix(new double[][]{
+            {0, -1},
+            {1, 0}
+        });
+        EigenDecomposition evd = new JavaEigenSolver().decompose(matrix);
+
+        assertEquals(0.0, evd.getEigenvalueReal(0), 1e-9);
+        assertEquals(1.0, evd.getEigenvalueImaginary(0), 1e-9);
+        assertEquals(-1.0, evd.getEigenvalueImaginary(1), 1e-9);
+        assertFalse(evd.isReal(0));
+        assertNull(evd.getEigenvector(0));
+    }
+
+    @Test
+    void decompose_generalMatrix_eigenvaluesMatchTraceAndDeterminant() {
+        Matrix matrix = new Matrix(new double[][]{
+            {2, 0, 1, 3},
+            {1, 4, 0, 2},
+            {0, 3, 1, 1},
+            {5, 1, 2, 0}
+        });
+        EigenDecomposition evd = new JavaEigenSolver().decompose(matrix);
+
+        double sumRe = 0;
+        double prodRe = 1;
+        double prodIm = 0;
+        for (int i = 0; i < evd.getNumberOfEigenvalues(); i++) {
+            double re = evd.getEigenvalueReal(i);
+            double im = evd.getEigenvalueImaginary(i);
+            sumRe += re;
+            double t = prodRe * re - prodIm * im;
+            prodIm = prodRe * im + prodIm * re;
+            prodRe = t;
+            if (evd.isReal(i)) {
+                assertEigenPair(matrix, evd, i);
+            }
+        }
+        assertEquals(7.0, sumRe, 1e-9);
+        assertEquals(Matrix.determinant(matrix), prodRe, 1e-8);
+        assertEquals(0.0, prodIm, 1e-8);
+    }
+
+    @Test
+    void decompose_doesNotModifyInput() {
+        double[][] data = {{4, -2}, {1, 1}};
+        new JavaEigenSolver().decompose(new Matrix(data));
+        assertArrayEquals(new double[]{4, -2}, data[0]);
+        assertArrayEquals(new double[]{1, 1}, data[1]);
+    }
+
+    @Test
+    void decompose_nonSquareMatrix_throwsException() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2, 3},
+            {4, 5, 6}
+        });
+        assertThrows(IllegalArgumentException.class, () -> new JavaEigenSolver().decompose(matrix));
+    }
+}
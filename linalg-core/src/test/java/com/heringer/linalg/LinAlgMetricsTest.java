@@ -0,0 +1,116 @@
+package com.heringer.linalg;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinAlgMetricsTest {
+
+    private final Matrix a = new Matrix(new double[][]{{4, 7}, {2, 6}});
+    private final Matrix b = new Matrix(new double[][]{{1, 0, 2}, {0, 1, 3}});
+
+    @BeforeEach
+    public void setUp() {
+        LinAlgMetrics.reset();
+        LinAlgMetrics.setEnabled(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        LinAlgMetrics.setEnabled(false);
+        LinAlgMetrics.reset();
+    }
+
+    @Test
+    public void testRecordsCallsPerOperation() {
+        Matrix.multiply(a, b);
+        a.multiply(b);
+        Matrix.inverse(a);
+        Matrix.determinant(a);
+        Solvelinsys.gaussianElimination(new Matrix(new double[][]{{2, 1, 3}, {1, 3, 5}}));
+        Decomposition.spectralDecomposition(new Matrix(new double[][]{{2, 0}, {0, 3}}));
+
+        assertEquals(2, LinAlgMetrics.get("multiply").getCount());
+        assertEquals(1, LinAlgMetrics.get("inverse").getCount());
+        assertEquals(1, LinAlgMetrics.get("determinant").getCount());
+        assertEquals(1, LinAlgMetrics.get("solve").getCount());
+        assertEquals(1, LinAlgMetrics.get("eigen").getCount());
+        assertTrue(LinAlgMetrics.snapshot().containsKey("inverse"));
+    }
+
+    @Test
+    public void testHistogramMatchesCount() {
+        for (int i = 0; i < 10; i++) {
+            Matrix.multiply(a, b);
+        }
+
+        OperationMetrics metrics = LinAlgMetrics.get("multiply");
+        long total = 0;
+        for (long bucket : metrics.getHistogram()) {
+            total += bucket;
+        }
+        assertEquals(10, total);
+        assertTrue(metrics.getTotalNanos() > 0);
+        assertTrue(metrics.getMeanNanos() > 0);
+        assertTrue(metrics.getPercentileNanos(50) <= metrics.getPercentileNanos(99));
+        assertTrue(metrics.getPercentileNanos(100) >= metrics.getMeanNanos());
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        LinAlgMetrics.setEnabled(false);
+        Matrix.multiply(a, b);
+
+        assertEquals(0, LinAlgMetrics.get("multiply").getCount());
+        assertTrue(LinAlgMetrics.snapshot().isEmpty());
+    }
+
+    @Test
+    public void testFailedCallIsStillRecorded() {
+        Matrix singular = new Matrix(new double[][]{{0, 1}, {1, 0}});
+        assertThrows(IllegalStateException.class, () -> Matrix.inverse(singular));
+
+        assertEquals(1, LinAlgMetrics.get("inverse").getCount());
+    }
+
+    @Test
+    public void testInvalidPercentile() {
+        assertThrows(IllegalArgumentException.class, () -> LinAlgMetrics.get("multiply").getPercentileNanos(101));
+    }
+
+    @Test
+    public void testFlightRecorderEvent() throws Exception {
+        LinAlgMetrics.setEnabled(false);
+        Path file = Files.createTempFile("linalg", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.heringer.linalg.Operation").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            Matrix.multiply(a, b, new ScalarBackend());
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent event = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("com.heringer.linalg.Operation"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("multiply", event.getString("operation"));
+            assertEquals(2, event.getInt("rows"));
+            assertEquals(3, event.getInt("columns"));
+            assertEquals(2, event.getInt("inner"));
+            assertEquals(24, event.getLong("flops"));
+            assertEquals("scalar", event.getString("algorithm"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class MappedMatrixTest {
+
+    // Mapeamentos de 16 doubles, para que linhas e ladrilhos atravessem a fronteira entre eles.
+    private static MappedMatrix small(Path file, Matrix source, int tileSize, long cacheBytes) {
+        MappedMatrix matrix = MappedMatrix.map(file, 0, source.getRows(), source.getColumns(), true, false,
+                tileSize, cacheBytes, 4);
+        matrix.writeTile(0, 0, source);
+        return matrix;
+    }
+
+    @Test
+    void elementsRowsAndTilesCrossChunkBoundaries() throws IOException {
+        Path file = Files.createTempFile("mapped", ".bin");
+        Matrix source = random(7, 9, 1);
+        try (MappedMatrix matrix = small(file, source, 4, 1 << 20)) {
+            assertMatrixEquals(source, matrix.toMatrix(), 0);
+            assertEquals(source.mtx[5][8], matrix.get(5, 8));
+
+            matrix.set(1, 7, 42.0);
+            double[] row = new double[9];
+            matrix.readRow(1, row);
+            assertEquals(42.0, row[7]);
+
+            Matrix tile = matrix.readTile(1, 6, 2, 3);
+            assertEquals(42.0, tile.mtx[0][1]);
+            assertEquals(source.mtx[2][8], tile.mtx[1][2]);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void reopenedFileKeepsTheElements() throws IOException {
+        Path file = Files.createTempFile("mapped", ".bin");
+        Matrix source = random(20, 11, 2);
+        try {
+            MappedMatrix.copyOf(source, file).close();
+            assertEquals(8L * 20 * 11, Files.size(file));
+            try (MappedMatrix matrix = MappedMatrix.open(file, 20, 11, true)) {
+                assertMatrixEquals(source, matrix.toMatrix(), 0);
+                assertThrows(IllegalStateException.class, () -> matrix.set(0, 0, 1.0));
+            }
+            assertThrows(IllegalArgumentException.class, () -> MappedMatrix.open(file, 21, 11, true));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void tileCacheCountsReplacedAndEvictedTiles() {
+        MappedMatrix.TileCache cache = new MappedMatrix.TileCache(100);
+        cache.put(1, new double[2][2], 32);
+        cache.put(1, new double[2][2], 32);
+        assertEquals(32, cache.bytes());
+        assertEquals(1, cache.size());
+
+        cache.put(2, new double[3][3], 72);
+        assertEquals(72, cache.bytes());
+        assertNull(cache.get(1));
+        cache.clear();
+        assertEquals(0, cache.bytes());
+    }
+
+    @Test
+    void multiplyStreamsTilesThroughABoundedCache() throws IOException {
+        Matrix a = random(37, 29, 3);
+        Matrix b = random(29, 23, 4);
+        Path fileA = Files.createTempFile("mapped", ".bin");
+        Path fileB = Files.createTempFile("mapped", ".bin");
+        Path fileC = Files.createTempFile("mapped", ".bin");
+        long cacheBytes = 3 * 8 * 8 * 8;
+        try (MappedMatrix mappedA = small(fileA, a, 8, cacheBytes);
+             MappedMatrix mappedB = small(fileB, b, 8, cacheBytes);
+             MappedMatrix mappedC = MappedMatrix.map(fileC, 0, 37, 23, true, false, 8, cacheBytes, 4)) {
+            MappedMatrix.multiply(mappedA, mappedB, mappedC);
+
+            assertMatrixEquals(Matrix.multiply(a, b), mappedC.toMatrix(), 1e-12);
+            assertTrue(mappedA.cachedBytes() > 0 && mappedA.cachedBytes() <= cacheBytes);
+            assertTrue(mappedB.cachedBytes() > 0 && mappedB.cachedBytes() <= cacheBytes);
+            assertThrows(IllegalArgumentException.class, () -> MappedMatrix.multiply(mappedA, mappedA, mappedC));
+        } finally {
+            Files.deleteIfExists(fileA);
+            Files.deleteIfExists(fileB);
+            Files.deleteIfExists(fileC);
+        }
+    }
+
+    @Test
+    void writesUpdateCachedTiles() throws IOException {
+        Path file = Files.createTempFile("mapped", ".bin");
+        Path target = Files.createTempFile("mapped", ".bin");
+        Matrix source = random(10, 10, 5);
+        try (MappedMatrix matrix = small(file, source, 4, 1 << 20);
+             MappedMatrix transposed = MappedMatrix.map(target, 0, 10, 10, true, false, 4, 1 << 20, 4)) {
+            MappedMatrix.transpose(matrix, transposed);
+            matrix.set(2, 3, 99.0);
+            MappedMatrix.transpose(matrix, transposed);
+
+            source.mtx[2][3] = 99.0;
+            assertMatrixEquals(source.transpose(), transposed.toMatrix(), 0);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    void transposeOfRectangularMatrix() throws IOException {
+        Path file = Files.createTempFile("mapped", ".bin");
+        Path target = Files.createTempFile("mapped", ".bin");
+        Matrix source = random(13, 30, 6);
+        try (MappedMatrix matrix = small(file, source, 8, 1 << 20);
+             MappedMatrix transposed = MappedMatrix.map(target, 0, 30, 13, true, false, 8, 1 << 20, 4)) {
+            MappedMatrix.transpose(matrix, transposed);
+            assertMatrixEquals(source.transpose(), transposed.toMatrix(), 0);
+            assertThrows(IllegalArgumentException.class, () -> MappedMatrix.transpose(matrix, matrix));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(target);
+        }
+    }
+
+    @Test
+    void luMatchesScalarBackend() throws IOException {
+        Matrix source = random(45, 45, 7);
+        source.mtx[30] = source.mtx[4].clone();
+        Matrix[] expected = new ScalarBackend().lu(source);
+        Path file = Files.createTempFile("mapped", ".bin");
+        try (MappedMatrix matrix = small(file, source, 8, 1 << 20)) {
+            int[] permutation = matrix.lu();
+            Matrix packed = matrix.toMatrix();
+
+            for (int i = 0; i < 45; i++) {
+                assertEquals(1.0, expected[2].mtx[i][permutation[i]]);
+                for (int j = 0; j < 45; j++) {
+                    double l = j < i ? packed.mtx[i][j] : (i == j ? 1.0 : 0.0);
+                    double u = j >= i ? packed.mtx[i][j] : 0.0;
+                    assertEquals(expected[0].mtx[i][j], l, 1e-10);
+                    assertEquals(expected[1].mtx[i][j], u, 1e-10);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void closedMatrixCannotBeUsed() throws IOException {
+        Path file = Files.createTempFile("mapped", ".bin");
+        try {
+            MappedMatrix matrix = MappedMatrix.create(file, 3, 3);
+            matrix.close();
+            matrix.close();
+            assertThrows(IllegalStateException.class, () -> matrix.get(0, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> matrix.readTile(2, 2, 2, 2));
+            assertThrows(IllegalArgumentException.class, () -> MappedMatrix.create(file, 0, 3));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class MatrixBatchTest {
+
+    private static MatrixBatch batch(int count, int rows, int columns, long seed) {
+        Random random = new Random(seed);
+        MatrixBatch batch = new MatrixBatch(count, rows, columns);
+        for (int b = 0; b < count; b++) {
+            batch.setMatrix(b, random(rows, columns, random));
+        }
+        return batch;
+    }
+
+    @Test
+    void multiplyMatchesMatrixMemberByMember() {
+        MatrixBatch a = batch(20, 4, 5, 1);
+        MatrixBatch b = batch(20, 5, 3, 2);
+        MatrixBatch c = a.multiply(b);
+        assertEquals(20, c.getCount());
+        for (int i = 0; i < 20; i++) {
+            assertMatrixEquals(Matrix.multiply(a.getMatrix(i), b.getMatrix(i)), c.getMatrix(i), 1e-15);
+        }
+    }
+
+    @Test
+    void sharedOperandIsBroadcast() {
+        MatrixBatch points = batch(30, 3, 7, 3);
+        Matrix rotation = random(3, 3, new Random(4));
+        MatrixBatch left = MatrixBatch.multiply(rotation, points);
+        MatrixBatch right = points.multiply(random(7, 2, new Random(5)));
+        for (int i = 0; i < 30; i++) {
+            assertMatrixEquals(Matrix.multiply(rotation, points.getMatrix(i)), left.getMatrix(i), 1e-15);
+        }
+        assertEquals(30, right.getCount());
+        assertEquals(2, right.getColumns());
+    }
+
+    @Test
+    void gemmWithTransposesAndAccumulation() {
+        MatrixBatch a = batch(6, 5, 4, 6);
+        MatrixBatch b = batch(1, 3, 5, 7);
+        MatrixBatch c = batch(6, 4, 3, 8);
+        MatrixBatch original = c.copy();
+        MatrixBatch.gemm(2.0, a, true, b, true, -1.0, c);
+        Matrix shared = b.getMatrix(0).transpose();
+        for (int i = 0; i < 6; i++) {
+            Matrix product = Matrix.multiply(a.getMatrix(i).transpose(), shared);
+            Matrix expected = Matrix.subtraction(Matrix.multiplyByScalar(product, 2.0), original.getMatrix(i));
+            assertMatrixEquals(expected, c.getMatrix(i), 1e-14);
+        }
+
+        MatrixBatch d = batch(6, 5, 2, 9);
+        MatrixBatch e = new MatrixBatch(6, 4, 2);
+        MatrixBatch.gemm(1.0, a, true, d, false, 0.0, e);
+        for (int i = 0; i < 6; i++) {
+            assertMatrixEquals(Matrix.multiply(a.getMatrix(i).transpose(), d.getMatrix(i)), e.getMatrix(i), 1e-15);
+        }
+    }
+
+    @Test
+    void parallelPathsMatchSequential() {
+        MatrixBatch small = batch(100, 6, 6, 11);
+        MatrixBatch large = batch(3, 70, 50, 12);
+        MatrixBatch shared = batch(1, 50, 40, 13);
+        MatrixBatch smallSequential = small.multiply(small);
+        MatrixBatch largeSequential = large.multiply(shared);
+        try {
+            Tuning.set(new Tuning(16, 32, 32, 1));
+            assertArrayEquals(smallSequential.getData(), small.multiply(small).getData(), 0);
+            assertArrayEquals(largeSequential.getData(), large.multiply(shared).getData(), 1e-14);
+        } finally {
+            Tuning.set(null);
+        }
+        assertMatrixEquals(Matrix.multiply(large.getMatrix(2), shared.getMatrix(0)), largeSequential.getMatrix(2), 1e-13);
+    }
+
+    @Test
+    void memberViewsWriteThrough() {
+        double[] data = new double[2 * 2 * 3];
+        MatrixBatch batch = MatrixBatch.wrap(data, 2, 2, 3);
+        batch.member(1).set(1, 2, 5.0);
+        assertEquals(5.0, data[11]);
+        assertEquals(5.0, batch.get(1, 1, 2));
+        assertEquals(5.0, batch.member(1).transpose().get(2, 1));
+        batch.set(0, 0, 1, 3.0);
+        assertMatrixEquals(new Matrix(new double[][]{{0, 3, 0}, {0, 0, 0}}), batch.member(0).toMatrix(), 0);
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        MatrixBatch a = batch(4, 2, 3, 14);
+        assertThrows(IllegalArgumentException.class, () -> a.multiply(batch(4, 2, 3, 15)));
+        assertThrows(IllegalArgumentException.class, () -> a.multiply(batch(3, 3, 2, 16)));
+        assertThrows(IllegalArgumentException.class,
+                () -> MatrixBatch.gemm(1.0, a, false, batch(4, 3, 2, 17), false, 0.0, new MatrixBatch(4, 2, 3)));
+        MatrixBatch square = batch(4, 3, 3, 18);
+        assertThrows(IllegalArgumentException.class,
+                () -> MatrixBatch.gemm(1.0, square, false, square, false, 0.0, square));
+        assertThrows(IllegalArgumentException.class, () -> MatrixBatch.wrap(new double[5], 1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> new MatrixBatch(0, 1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> a.member(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> a.get(0, 2, 0));
+    }
+}
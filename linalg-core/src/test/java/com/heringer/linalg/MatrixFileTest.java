@@ -0,0 +1,125 @@
+package com.heringer.linalg;
+
+import com.heringer.Complex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class MatrixFileTest {
+
+    @Test
+    void matrixRoundTripAcrossBufferBoundaries() throws IOException {
+        // 400 x 400 doubles ocupam mais de um buffer de 1 MB, e as linhas cruzam a divisa.
+        Matrix matrix = random(400, 400, 1);
+        Path file = Files.createTempFile("matrix", ".lamx");
+        try {
+            matrix.save(file);
+            assertEquals(MatrixFile.HEADER_BYTES + 8L * 400 * 400, Files.size(file));
+
+            Matrix loaded = Matrix.load(file);
+            for (int i = 0; i < 400; i++) {
+                assertArrayEquals(matrix.mtx[i], loaded.mtx[i], 0);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void vectorAndComplexMatrixRoundTrip() throws IOException {
+        Path file = Files.createTempFile("vector", ".lamx");
+        try {
+            new Vector(new double[]{1.5, -2, Double.NaN, Double.MAX_VALUE}).save(file);
+            assertArrayEquals(new double[]{1.5, -2, Double.NaN, Double.MAX_VALUE}, Vector.load(file).getVector(), 0);
+
+            ComplexMatrix complex = new ComplexMatrix(new Complex[][]{
+                    {new Complex(1, 2), new Complex(3, -4), new Complex(0, 0)},
+                    {new Complex(-5, 6), new Complex(7, 8), new Complex(9, -1)}});
+            complex.save(file);
+            ComplexMatrix loaded = ComplexMatrix.load(file);
+            assertEquals(2, loaded.getRows());
+            assertEquals(3, loaded.getColumns());
+            for (int i = 0; i < 2; i++) {
+                for (int j = 0; j < 3; j++) {
+                    assertEquals(complex.getMatrix()[i][j].getReal(), loaded.getMatrix()[i][j].getReal());
+                    assertEquals(complex.getMatrix()[i][j].getImaginary(), loaded.getMatrix()[i][j].getImaginary());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void columnMajorFileIsTransposedOnLoad() throws IOException {
+        double[] columns = {1, 4, 2, 5, 3, 6};
+        ByteBuffer data = ByteBuffer.allocate(8 * columns.length).order(ByteOrder.LITTLE_ENDIAN);
+        for (double value : columns) {
+            data.putDouble(value);
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(data.array());
+        ByteBuffer file = ByteBuffer.allocate(MatrixFile.HEADER_BYTES + data.capacity()).order(ByteOrder.LITTLE_ENDIAN);
+        file.putInt(MatrixFile.MAGIC).putShort(MatrixFile.VERSION).put(MatrixFile.KIND_MATRIX)
+                .put(MatrixFile.FLOAT64).put(MatrixFile.COLUMN_MAJOR);
+        file.position(16);
+        file.putLong(2).putLong(3).putLong(checksum.getValue());
+        file.position(MatrixFile.HEADER_BYTES);
+        file.put(data.array());
+
+        Path path = Files.createTempFile("columns", ".lamx");
+        try {
+            Files.write(path, file.array());
+            Matrix loaded = Matrix.load(path);
+            assertArrayEquals(new double[]{1, 2, 3}, loaded.mtx[0], 0);
+            assertArrayEquals(new double[]{4, 5, 6}, loaded.mtx[1], 0);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void corruptedOrMismatchedFilesAreRejected() throws IOException {
+        Path file = Files.createTempFile("matrix", ".lamx");
+        try {
+            random(5, 5, 2).save(file);
+            assertThrows(IOException.class, () -> Vector.load(file));
+            assertThrows(IOException.class, () -> ComplexMatrix.load(file));
+
+            byte[] bytes = Files.readAllBytes(file);
+            bytes[MatrixFile.HEADER_BYTES + 17] ^= 1;
+            Files.write(file, bytes);
+            IOException corrupted = assertThrows(IOException.class, () -> Matrix.load(file));
+            assertTrue(corrupted.getMessage().contains("Checksum"));
+
+            Files.write(file, new byte[]{1, 2, 3});
+            assertThrows(IOException.class, () -> Matrix.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void mapReadsTheDataSectionInPlace() throws IOException {
+        Matrix matrix = random(30, 17, 3);
+        Path file = Files.createTempFile("matrix", ".lamx");
+        try {
+            matrix.save(file);
+            try (MappedMatrix mapped = MatrixFile.map(file)) {
+                assertEquals(30, mapped.getRows());
+                assertEquals(matrix.mtx[29][16], mapped.get(29, 16));
+                assertThrows(IllegalStateException.class, () -> mapped.set(0, 0, 1.0));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class MatrixMarketTest {
+
+    private static Matrix sparse(int rows, int columns, long seed) {
+        Random random = new Random(seed);
+        double[][] data = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                data[i][j] = random.nextInt(4) == 0 ? 0.0 : random.nextDouble() - 0.5;
+            }
+        }
+        return new Matrix(data);
+    }
+
+    private static Path file(String contents) throws IOException {
+        Path path = Files.createTempFile("matrix", ".mtx");
+        Files.write(path, contents.getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+
+    @Test
+    void arrayAndCoordinateRoundTripAcrossChunks() throws IOException {
+        Matrix matrix = sparse(23, 17, 1);
+        Path path = Files.createTempFile("matrix", ".mtx");
+        try {
+            // Trechos de 64 bytes: cada um tem só algumas linhas, e os índices iniciais variam.
+            MatrixMarket.write(path, matrix);
+            assertMatrixEquals(matrix, MatrixMarket.readMatrix(path, 64), 0);
+            assertMatrixEquals(matrix, MatrixMarket.readMatrix(path), 0);
+
+            MatrixMarket.writeCoordinate(path, matrix);
+            assertMatrixEquals(matrix, MatrixMarket.readMatrix(path, 64), 0);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void symmetricAndPatternCoordinateFiles() throws IOException {
+        Path path = file("%%MatrixMarket matrix coordinate real symmetric\n"
+                + "% comentário\n"
+                + "\n"
+                + "3 3 4\n"
+                + "1 1 2.5\n"
+                + "2 1 -1e-3\n"
+                + "% no meio dos dados\n"
+                + "3 2  7\r\n"
+                + "3 3 4E2\n");
+        try {
+            Matrix matrix = MatrixMarket.readMatrix(path, 16);
+            assertArrayEquals(new double[]{2.5, -1e-3, 0}, matrix.mtx[0], 0);
+            assertArrayEquals(new double[]{-1e-3, 0, 7}, matrix.mtx[1], 0);
+            assertArrayEquals(new double[]{0, 7, 400}, matrix.mtx[2], 0);
+
+            Files.write(path, ("%%MatrixMarket matrix coordinate pattern general\n2 3 2\n1 3\n2 1\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            matrix = MatrixMarket.readMatrix(path);
+            assertArrayEquals(new double[]{0, 0, 1}, matrix.mtx[0], 0);
+            assertArrayEquals(new double[]{1, 0, 0}, matrix.mtx[1], 0);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void repeatedCoordinateEntriesAreSummedInFileOrder() throws IOException {
+        // Três cópias de (1, 2) em trechos diferentes: a soma segue a ordem do arquivo, qualquer que seja o trecho.
+        Path path = file("%%MatrixMarket matrix coordinate real general\n2 2 5\n"
+                + "1 2 1e16\n2 2 3\n1 2 1\n2 1 4\n1 2 -1e16\n");
+        try {
+            double expected = (1e16 + 1) + -1e16;
+            for (long chunkBytes : new long[]{8, 16, 1 << 20}) {
+                Matrix matrix = MatrixMarket.readMatrix(path, chunkBytes);
+                assertArrayEquals(new double[]{0, expected}, matrix.mtx[0], 0);
+                assertArrayEquals(new double[]{4, 3}, matrix.mtx[1], 0);
+            }
+
+            // Nos formatos simétricos, (i, j) e (j, i) são a mesma entrada.
+            Files.write(path, ("%%MatrixMarket matrix coordinate complex hermitian\n2 2 4\n"
+                    + "2 1 1 2\n1 1 5 0\n1 2 3 -1\n2 1 1 1\n").getBytes(StandardCharsets.US_ASCII));
+            ComplexMatrix complex = MatrixMarket.readComplexMatrix(path, 8);
+            assertEquals(5, complex.getMatrix()[0][0].getReal());
+            assertEquals(5, complex.getMatrix()[1][0].getReal());
+            assertEquals(4, complex.getMatrix()[1][0].getImaginary());
+            assertEquals(5, complex.getMatrix()[0][1].getReal());
+            assertEquals(-4, complex.getMatrix()[0][1].getImaginary());
+
+            Files.write(path, ("%%MatrixMarket matrix coordinate pattern general\n1 2 3\n1 2\n1 1\n1 2\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            assertArrayEquals(new double[]{1, 2}, MatrixMarket.readMatrix(path, 8).mtx[0], 0);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void skewSymmetricArrayStoresTheStrictLowerTriangle() throws IOException {
+        Path path = file("%%MatrixMarket matrix array real skew-symmetric\n3 3\n1\n2\n3\n");
+        try {
+            Matrix matrix = MatrixMarket.readMatrix(path, 4);
+            assertArrayEquals(new double[]{0, -1, -2}, matrix.mtx[0], 0);
+            assertArrayEquals(new double[]{1, 0, -3}, matrix.mtx[1], 0);
+            assertArrayEquals(new double[]{2, 3, 0}, matrix.mtx[2], 0);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void hermitianAndComplexFiles() throws IOException {
+        Path path = file("%%MatrixMarket matrix coordinate complex hermitian\n2 2 3\n1 1 1 0\n2 1 2 3\n2 2 4 0\n");
+        try {
+            ComplexMatrix matrix = MatrixMarket.readComplexMatrix(path);
+            assertEquals(2, matrix.getMatrix()[0][1].getReal());
+            assertEquals(-3, matrix.getMatrix()[0][1].getImaginary());
+            assertEquals(3, matrix.getMatrix()[1][0].getImaginary());
+            assertThrows(IOException.class, () -> MatrixMarket.readMatrix(path));
+
+            MatrixMarket.write(path, matrix);
+            ComplexMatrix loaded = MatrixMarket.readComplexMatrix(path, 8);
+            for (int i = 0; i < 2; i++) {
+                for (int j = 0; j < 2; j++) {
+                    assertEquals(matrix.getMatrix()[i][j].getReal(), loaded.getMatrix()[i][j].getReal());
+                    assertEquals(matrix.getMatrix()[i][j].getImaginary(), loaded.getMatrix()[i][j].getImaginary());
+                }
+            }
+
+            Files.write(path, ("%%MatrixMarket matrix array integer general\n1 2\n5\n-6\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            loaded = MatrixMarket.readComplexMatrix(path);
+            assertEquals(-6, loaded.getMatrix()[0][1].getReal());
+            assertEquals(0, loaded.getMatrix()[0][1].getImaginary());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void parserMatchesDoubleParseDouble() throws IOException {
+        String[] values = {"0", "-0.0", "1", "0.1", "123456789.987654321", "1e22", "1e23", "4.9e-324",
+                "1.7976931348623157e308", "9007199254740993", "2.2250738585072014E-308", "+.5", "5.",
+                "Infinity", "-Infinity", "NaN", "3.14159265358979323846"};
+        StringBuilder contents = new StringBuilder("%%MatrixMarket matrix array real general\n")
+                .append(values.length).append(" 1\n");
+        for (String value : values) {
+            contents.append(value).append('\n');
+        }
+        Path path = file(contents.toString());
+        try {
+            Matrix matrix = MatrixMarket.readMatrix(path, 32);
+            for (int i = 0; i < values.length; i++) {
+                assertEquals(Double.parseDouble(values[i]), matrix.mtx[i][0], 0, values[i]);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void malformedFilesAreRejected() throws IOException {
+        String[] contents = {
+                "not a matrix\n1 1 1\n1 1 1\n",
+                "%%MatrixMarket matrix coordinate real general\n2 2 2\n1 1 1\n",
+                "%%MatrixMarket matrix coordinate real general\n2 2 1\n3 1 1\n",
+                "%%MatrixMarket matrix coordinate real general\n2 2 1\n1 1 abc\n",
+                "%%MatrixMarket matrix coordinate real general\n2 2 1\n1 1 1 2\n",
+                "%%MatrixMarket matrix array real general\n2 2\n1\n2\n3\n",
+                "%%MatrixMarket matrix array real symmetric\n2 3\n1\n2\n3\n",
+                "%%MatrixMarket matrix array pattern general\n1 1\n1\n",
+                "%%MatrixMarket matrix coordinate real lower\n1 1 1\n1 1 1\n"};
+        for (String content : contents) {
+            Path path = file(content);
+            try {
+                assertThrows(IOException.class, () -> MatrixMarket.readMatrix(path), content);
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
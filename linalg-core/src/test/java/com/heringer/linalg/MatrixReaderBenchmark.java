@@ -0,0 +1,148 @@
+package com.heringer.linalg;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares {@link MatrixReader#csv(Path)} with the naive reader it replaces, a
+ * {@code BufferedReader} with {@code String.split} and {@code Double.parseDouble} per cell.
+ *
+ * <p>Not a test: it is run by hand, after {@code mvn test-compile}, from {@code linalg-core}:</p>
+ *
+ * <pre>
+ * java -Xmx4g -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *     com.heringer.linalg.MatrixReaderBenchmark [megabytes] [columns] [runs]
+ * </pre>
+ *
+ * <p>where {@code cp.txt} comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ * The defaults are a 1024 MB file of 16 columns and 5 runs of each reader. The file is generated
+ * from a fixed seed in the temporary directory and deleted at the end, so every run reads the same
+ * bytes; the first run of each reader warms up the JIT and the page cache and is not counted. The
+ * two results are compared element by element before the times are printed.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class MatrixReaderBenchmark {
+
+    private static final long SEED = 42;
+
+    private MatrixReaderBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        long megabytes = args.length > 0 ? Long.parseLong(args[0]) : 1024;
+        int columns = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Path path = Files.createTempFile("matrix-reader-benchmark", ".csv");
+        try {
+            long bytes = generate(path, megabytes << 20, columns);
+            System.out.printf(Locale.ROOT, "%s: %.1f MB, %d columns, %d processors%n", path,
+                    bytes / 1e6, columns, Runtime.getRuntime().availableProcessors());
+
+            Matrix fast = null;
+            Matrix naive = null;
+            long[] fastTimes = new long[runs];
+            long[] naiveTimes = new long[runs];
+            for (int run = 0; run <= runs; run++) {
+                fast = null;
+                System.gc();
+                long start = System.nanoTime();
+                fast = MatrixReader.csv(path);
+                long fastTime = System.nanoTime() - start;
+
+                naive = null;
+                System.gc();
+                start = System.nanoTime();
+                naive = naive(path);
+                long naiveTime = System.nanoTime() - start;
+                if (run > 0) {
+                    fastTimes[run - 1] = fastTime;
+                    naiveTimes[run - 1] = naiveTime;
+                }
+            }
+
+            check(naive, fast);
+            System.out.printf(Locale.ROOT, "%d x %d elements, identical%n", fast.getRows(), fast.getColumns());
+            report("MatrixReader.csv", fastTimes, bytes);
+            report("naive", naiveTimes, bytes);
+            System.out.printf(Locale.ROOT, "speedup (median): %.2fx%n",
+                    (double) median(naiveTimes) / median(fastTimes));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Writes rows of uniform values in [-0.5, 0.5) until the file reaches {@code target} bytes.
+     *
+     * @return The size of the file.
+     */
+    private static long generate(Path path, long target, int columns) throws IOException {
+        Random random = new Random(SEED);
+        long bytes = 0;
+        StringBuilder line = new StringBuilder();
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            while (bytes < target) {
+                line.setLength(0);
+                for (int j = 0; j < columns; j++) {
+                    line.append(j == 0 ? "" : ",").append(random.nextDouble() - 0.5);
+                }
+                line.append('\n');
+                writer.append(line);
+                bytes += line.length();
+            }
+        }
+        return bytes;
+    }
+
+    private static Matrix naive(Path path) throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                double[] row = new double[fields.length];
+                for (int j = 0; j < fields.length; j++) {
+                    row[j] = Double.parseDouble(fields[j]);
+                }
+                rows.add(row);
+            }
+        }
+        return new Matrix(rows.toArray(new double[0][]));
+    }
+
+    private static void check(Matrix expected, Matrix actual) {
+        if (expected.getRows() != actual.getRows() || expected.getColumns() != actual.getColumns()) {
+            throw new IllegalStateException("The readers disagree on the shape: " + expected.getRows() + " x "
+                    + expected.getColumns() + " and " + actual.getRows() + " x " + actual.getColumns() + ".");
+        }
+        for (int i = 0; i < expected.getRows(); i++) {
+            if (!Arrays.equals(expected.mtx[i], actual.mtx[i])) {
+                throw new IllegalStateException("The readers disagree on row " + i + ".");
+            }
+        }
+    }
+
+    private static void report(String name, long[] times, long bytes) {
+        long best = Arrays.stream(times).min().getAsLong();
+        long median = median(times);
+        System.out.printf(Locale.ROOT, "%-18s best %8.1f ms  median %8.1f ms  %7.1f MB/s%n", name,
+                best / 1e6, median / 1e6, bytes / 1e6 / (median / 1e9));
+    }
+
+    private static long median(long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
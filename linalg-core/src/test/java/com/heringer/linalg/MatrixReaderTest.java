@@ -0,0 +1,96 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatrixReaderTest {
+
+    private static Path file(String contents) throws IOException {
+        Path path = Files.createTempFile("matrix", ".csv");
+        Files.write(path, contents.getBytes(StandardCharsets.US_ASCII));
+        return path;
+    }
+
+    @Test
+    void csvKeepsRowOrderAcrossChunks() throws IOException {
+        Random random = new Random(1);
+        double[][] expected = new double[200][6];
+        StringBuilder contents = new StringBuilder();
+        for (double[] row : expected) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = j % 2 == 0 ? random.nextDouble() - 0.5 : Math.round(random.nextDouble() * 1e6) / 1e3;
+                contents.append(j == 0 ? "" : ",").append(row[j]);
+            }
+            contents.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        Path path = file(contents.toString());
+        try {
+            // Trechos de 100 bytes: cada linha cai em um trecho diferente, ou quase.
+            Matrix matrix = MatrixReader.read(path, (byte) ',', null, 100);
+            assertEquals(200, matrix.getRows());
+            for (int i = 0; i < 200; i++) {
+                assertArrayEquals(expected[i], matrix.mtx[i], 0);
+            }
+            Matrix whole = MatrixReader.csv(path);
+            for (int i = 0; i < 200; i++) {
+                assertArrayEquals(expected[i], whole.mtx[i], 0);
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void headerIsDetectedAndEmptyFieldsAreNaN() throws IOException {
+        Path path = file("\nx,y,z\n1,2.5,-3e2\n\n4, ,6\n7,8,\n");
+        try {
+            Matrix matrix = MatrixReader.csv(path);
+            assertEquals(3, matrix.getRows());
+            assertArrayEquals(new double[]{1, 2.5, -300}, matrix.mtx[0], 0);
+            assertArrayEquals(new double[]{4, Double.NaN, 6}, matrix.mtx[1], 0);
+            assertArrayEquals(new double[]{7, 8, Double.NaN}, matrix.mtx[2], 0);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void otherDelimiters() throws IOException {
+        Path path = file("a;b\n1,5;2\n");
+        try {
+            assertThrows(IOException.class, () -> MatrixReader.delimited(path, ';', false));
+            Files.write(path, "a;b\n1.5;2\n3;4\n".getBytes(StandardCharsets.US_ASCII));
+            Matrix matrix = MatrixReader.delimited(path, ';', true);
+            assertArrayEquals(new double[]{1.5, 2}, matrix.mtx[0], 0);
+            assertArrayEquals(new double[]{3, 4}, matrix.mtx[1], 0);
+
+            Files.write(path, "1\t 2   3\n  4\t5\t6  \n".getBytes(StandardCharsets.US_ASCII));
+            matrix = MatrixReader.delimited(path, '\t', false);
+            assertArrayEquals(new double[]{1, 2, 3}, matrix.mtx[0], 0);
+            assertArrayEquals(new double[]{4, 5, 6}, matrix.mtx[1], 0);
+            assertThrows(IllegalArgumentException.class, () -> MatrixReader.delimited(path, '.', false));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    void malformedFilesAreRejected() throws IOException {
+        String[] contents = {"", "\n\n", "x,y\n", "1,2\n3\n", "1,2\n3,4,5\n", "1,2\n3,abc\n", "1,2\n3 4\n"};
+        for (String content : contents) {
+            Path path = file(content);
+            try {
+                assertThrows(IOException.class, () -> MatrixReader.csv(path), content);
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
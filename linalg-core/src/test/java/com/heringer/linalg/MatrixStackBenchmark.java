@@ -0,0 +1,153 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Compares the batched kernels of {@link MatrixStack} with a loop of the single-matrix methods
+ * they replace: {@link Matrix#determinant(Matrix, Workspace)}, {@link Matrix#inverse(Matrix, Workspace)}
+ * and {@link Decomposition#lu(Matrix)}.
+ *
+ * <p>Not a test: it is run by hand, after {@code mvn test-compile}, from {@code linalg-core}:</p>
+ *
+ * <pre>
+ * java -Xmx4g -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *     com.heringer.linalg.MatrixStackBenchmark [count] [n] [runs] [dominant]
+ * </pre>
+ *
+ * <p>where {@code cp.txt} comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ * The defaults are 1000000 matrices of 6x6 and 5 runs. The matrices are drawn from a fixed seed
+ * and made diagonally dominant, so that no side swaps rows; with {@code false} as the last argument
+ * they are left as drawn, and every matrix swaps rows at almost every step. The time to build the
+ * stack is not counted. The first run of each kernel warms up the JIT and is not counted, and the results of
+ * both sides are compared before the times are printed.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class MatrixStackBenchmark {
+
+    private static final long SEED = 42;
+
+    private MatrixStackBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int n = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        boolean dominant = args.length <= 3 || Boolean.parseBoolean(args[3]);
+
+        Random random = new Random(SEED);
+        Matrix[] matrices = new Matrix[count];
+        for (int b = 0; b < count; b++) {
+            matrices[b] = TestMatrices.random(n, n, random);
+            for (int i = 0; dominant && i < n; i++) {
+                matrices[b].mtx[i][i] += n;
+            }
+        }
+        MatrixStack stack = MatrixStack.of(matrices);
+        // Entre um milhão de matrizes sorteadas sem dominância, algumas são mal condicionadas.
+        double tolerance = dominant ? 1e-9 : 1e-6;
+        System.out.printf(Locale.ROOT, "%d %s matrices of %dx%d, %d processors%n", count,
+                dominant ? "diagonally dominant" : "random", n, n, Runtime.getRuntime().availableProcessors());
+
+        double[][] determinants = new double[2][];
+        compare("determinants", runs,
+                () -> determinants[0] = stack.determinants(),
+                () -> {
+                    Workspace workspace = Workspace.current();
+                    determinants[1] = new double[count];
+                    for (int b = 0; b < count; b++) {
+                        determinants[1][b] = Matrix.determinant(matrices[b], workspace);
+                    }
+                });
+        for (int b = 0; b < count; b++) {
+            check(determinants[1][b], determinants[0][b], "determinant", b, tolerance);
+        }
+
+        MatrixStack[] inverses = new MatrixStack[1];
+        Matrix[] loopInverses = new Matrix[count];
+        compare("inverse", runs,
+                () -> inverses[0] = stack.inverse(),
+                () -> {
+                    Workspace workspace = Workspace.current();
+                    for (int b = 0; b < count; b++) {
+                        loopInverses[b] = Matrix.inverse(matrices[b], workspace);
+                    }
+                });
+        for (int b = 0; b < count; b++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    check(loopInverses[b].mtx[i][j], inverses[0].get(b, i, j), "inverse", b, tolerance);
+                }
+            }
+        }
+
+        int[] pivots = new int[count * n];
+        MatrixStack[] factors = new MatrixStack[1];
+        Matrix[][] loopFactors = new Matrix[count][];
+        compare("lu", runs,
+                () -> factors[0] = stack.lu(pivots),
+                () -> {
+                    for (int b = 0; b < count; b++) {
+                        loopFactors[b] = Decomposition.lu(matrices[b]);
+                    }
+                });
+        for (int b = 0; b < count; b++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = i; j < n; j++) {
+                    check(loopFactors[b][1].mtx[i][j], factors[0].get(b, i, j), "lu", b, tolerance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Times both sides {@code runs + 1} times, dropping the first run, and prints the medians. Each
+     * side starts after a collection, so that neither pays for the garbage of the other.
+     */
+    private static void compare(String name, int runs, Runnable stack, Runnable loop) {
+        long[] stackTimes = new long[runs];
+        long[] loopTimes = new long[runs];
+        for (int run = 0; run <= runs; run++) {
+            System.gc();
+            long start = System.nanoTime();
+            stack.run();
+            long stackTime = System.nanoTime() - start;
+
+            System.gc();
+            start = System.nanoTime();
+            loop.run();
+            long loopTime = System.nanoTime() - start;
+            if (run > 0) {
+                stackTimes[run - 1] = stackTime;
+                loopTimes[run - 1] = loopTime;
+            }
+        }
+        System.out.printf(Locale.ROOT, "%-13s stack best %8.1f ms  median %8.1f ms | loop best %8.1f ms  median %8.1f ms"
+                        + " | speedup (median) %.2fx%n", name,
+                best(stackTimes) / 1e6, median(stackTimes) / 1e6, best(loopTimes) / 1e6, median(loopTimes) / 1e6,
+                (double) median(loopTimes) / median(stackTimes));
+    }
+
+    /**
+     * Both sides choose the same pivots, so the results only differ by rounding.
+     */
+    private static void check(double expected, double actual, String name, int matrix, double tolerance) {
+        if (Math.abs(expected - actual) > tolerance * Math.max(1, Math.abs(expected))) {
+            throw new IllegalStateException("The " + name + " of matrix " + matrix + " differs: " + expected
+                    + " and " + actual + ".");
+        }
+    }
+
+    private static long best(long[] times) {
+        return Arrays.stream(times).min().getAsLong();
+    }
+
+    private static long median(long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
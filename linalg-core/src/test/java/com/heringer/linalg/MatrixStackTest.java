@@ -0,0 +1,130 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class MatrixStackTest {
+
+    private static Matrix[] matrices(int count, int n, long seed) {
+        Random random = new Random(seed);
+        Matrix[] matrices = new Matrix[count];
+        for (int b = 0; b < count; b++) {
+            matrices[b] = random(n, n, random);
+        }
+        return matrices;
+    }
+
+    @Test
+    void determinantsAndInversesMatchMatrix() {
+        // 150 matrizes: dois grupos completos e um parcial, com enchimento.
+        Matrix[] matrices = matrices(150, 6, 1);
+        matrices[70] = new Matrix(new double[6][6]);
+        MatrixStack stack = MatrixStack.of(matrices);
+
+        double[] determinants = stack.determinants();
+        for (int b = 0; b < 150; b++) {
+            assertEquals(Matrix.determinant(matrices[b]), determinants[b], 1e-14, "matrix " + b);
+        }
+        IllegalStateException singular = assertThrows(IllegalStateException.class, stack::inverse);
+        assertTrue(singular.getMessage().contains("70"));
+
+        stack.setMatrix(70, matrices(1, 6, 2)[0]);
+        matrices[70] = stack.getMatrix(70);
+        MatrixStack inverses = stack.inverse();
+        for (int b = 0; b < 150; b++) {
+            assertMatrixEquals(Matrix.inverse(matrices[b]), inverses.getMatrix(b), 1e-9);
+        }
+    }
+
+    @Test
+    void luAndSolve() {
+        Matrix[] matrices = matrices(70, 5, 3);
+        MatrixStack stack = MatrixStack.of(matrices);
+        Matrix[] rhs = new Matrix[70];
+        Random random = new Random(4);
+        for (int b = 0; b < 70; b++) {
+            rhs[b] = new Matrix(new double[][]{{random.nextDouble()}, {1}, {2}, {3}, {random.nextDouble()}});
+        }
+        MatrixStack solutions = stack.solve(MatrixStack.of(rhs));
+        assertEquals(1, solutions.getColumns());
+        for (int b = 0; b < 70; b++) {
+            assertMatrixEquals(rhs[b], Matrix.multiply(matrices[b], solutions.getMatrix(b)), 1e-12);
+        }
+
+        int[] pivots = new int[70 * 5];
+        MatrixStack lu = stack.lu(pivots);
+        Matrix packed = lu.getMatrix(69);
+        double[][] l = new double[5][5];
+        double[][] u = new double[5][5];
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                l[i][j] = j < i ? packed.mtx[i][j] : (i == j ? 1 : 0);
+                u[i][j] = j >= i ? packed.mtx[i][j] : 0;
+            }
+        }
+        double[][] permuted = matrices[69].mtx.clone();
+        for (int k = 0; k < 5; k++) {
+            double[] t = permuted[k];
+            permuted[k] = permuted[pivots[69 * 5 + k]];
+            permuted[pivots[69 * 5 + k]] = t;
+        }
+        assertMatrixEquals(new Matrix(permuted), Matrix.multiply(new Matrix(l), new Matrix(u)), 1e-14);
+        assertThrows(IllegalArgumentException.class, () -> stack.lu(new int[10]));
+        assertThrows(IllegalArgumentException.class, () -> stack.solve(new MatrixStack(69, 5, 1)));
+    }
+
+    @Test
+    void choleskyMatchesDecomposition() {
+        Matrix[] matrices = matrices(100, 4, 5);
+        Matrix[] spd = new Matrix[100];
+        for (int b = 0; b < 100; b++) {
+            spd[b] = Matrix.sum(Matrix.multiply(matrices[b], matrices[b].transpose()), Matrix.I(4, 4));
+        }
+        MatrixStack factors = MatrixStack.of(spd).cholesky();
+        for (int b = 0; b < 100; b++) {
+            assertMatrixEquals(Decomposition.cholesky(spd[b]), factors.getMatrix(b), 1e-13);
+        }
+
+        spd[99] = new Matrix(new double[][]{{1, 2, 0, 0}, {2, 1, 0, 0}, {0, 0, 1, 0}, {0, 0, 0, 1}});
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> MatrixStack.of(spd).cholesky());
+        assertTrue(error.getMessage().contains("99"));
+        spd[99] = new Matrix(new double[][]{{2, 1, 0, 0}, {0, 2, 0, 0}, {0, 0, 1, 0}, {0, 0, 0, 1}});
+        assertThrows(IllegalArgumentException.class, () -> MatrixStack.of(spd).cholesky());
+    }
+
+    @Test
+    void parallelGroupsGiveTheSameResults() {
+        MatrixStack stack = MatrixStack.of(matrices(300, 3, 6));
+        double[] sequential = stack.determinants();
+        MatrixStack inverse = stack.inverse();
+        try {
+            Tuning.set(new Tuning(16, 32, 32, 1));
+            assertArrayEquals(sequential, stack.determinants(), 0);
+            MatrixStack parallel = stack.inverse();
+            for (int b = 0; b < 300; b++) {
+                assertMatrixEquals(inverse.getMatrix(b), parallel.getMatrix(b), 0);
+            }
+        } finally {
+            Tuning.set(null);
+        }
+    }
+
+    @Test
+    void accessorsAndShapes() {
+        MatrixStack stack = new MatrixStack(3, 2, 3);
+        stack.set(2, 1, 2, 7.0);
+        assertEquals(7.0, stack.get(2, 1, 2));
+        assertEquals(7.0, stack.copy().getMatrix(2).mtx[1][2]);
+        assertThrows(IndexOutOfBoundsException.class, () -> stack.get(3, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> stack.set(0, 2, 0, 1.0));
+        assertThrows(IllegalArgumentException.class, stack::determinants);
+        assertThrows(IllegalArgumentException.class, () -> stack.setMatrix(0, Matrix.I(2, 2)));
+        assertThrows(IllegalArgumentException.class, () -> new MatrixStack(0, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> MatrixStack.of(Matrix.I(2, 2), Matrix.I(3, 3)));
+    }
+}
@@ -500,6 +500,17 @@ void testRankZeroMatrix() {
         assertEquals(0, rank, "The rank of a zero matrix should be 0.");
 }
 
+@Test
+void testRankWideMatrix() {
+        Matrix matrix = new Matrix(new double[][] {
+                        { 1, 2, 3 },
+                        { 2, 4, 7 }
+        });
+
+        assertEquals(2, Matrix.rank(matrix));
+        assertEquals(1, Matrix.rank(new Matrix(new double[][] { { 1, 2, 3 } })));
+}
+
 @Test
 void testOrthogonalMatrix() {
         Matrix matrix = new Matrix(new double[][] {
@@ -689,6 +700,91 @@ void testDeterminant10x10Matrix() {
 
 
 
+    @Test
+    void testGemmAccumulatesIntoC() {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}, {5, 6}});
+        Matrix b = new Matrix(new double[][]{{1, 0}, {0, 1}, {1, 1}});
+        Matrix c = new Matrix(new double[][]{{1, 1}, {1, 1}});
+
+        // C = 2 * A^T * B + 1 * C
+        Matrix.gemm(2.0, a, true, b, false, 1.0, c);
+
+        assertTrue(areMatricesEqual(new Matrix(new double[][]{{13, 17}, {17, 21}}), c));
+    }
+
+    @Test
+    void testGemmBetaZeroIgnoresC() {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        Matrix c = new Matrix(new double[][]{{Double.NaN, 0}, {0, Double.NaN}});
+
+        Matrix.gemm(1.0, a, false, a, true, 0.0, c);
+
+        assertTrue(areMatricesEqual(new Matrix(new double[][]{{5, 11}, {11, 25}}), c));
+    }
+
+    @Test
+    void testGemmInvalidArguments() {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        Matrix square = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        assertThrows(IllegalArgumentException.class, () -> Matrix.gemm(1, a, false, a, false, 0, new Matrix(new double[2][3])));
+        assertThrows(IllegalArgumentException.class, () -> Matrix.gemm(1, a, false, a, true, 0, new Matrix(new double[3][3])));
+        assertThrows(IllegalArgumentException.class, () -> Matrix.gemm(1, square, false, square, false, 0, square));
+    }
+
+    @Test
+    void testMultiplyVector() {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+
+        assertArrayEquals(new double[]{14, 32}, a.multiply(new Vector(new double[]{1, 2, 3})).getVector(), 1e-12);
+        assertArrayEquals(new double[]{9, 12, 15}, a.multiplyTransposed(new Vector(new double[]{1, 2})).getVector(), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> a.multiply(new Vector(new double[]{1, 2})));
+        assertThrows(IllegalArgumentException.class, () -> a.multiplyTransposed(new Vector(new double[]{1, 2, 3})));
+    }
+
+    @Test
+    void testGemvAccumulatesIntoY() {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        Vector y = new Vector(new double[]{1, 1});
+
+        // y = 2 * A * x + 3 * y
+        Matrix.gemv(2.0, a, false, new Vector(new double[]{1, -1}), 3.0, y);
+        assertArrayEquals(new double[]{1, 1}, y.getVector(), 1e-12);
+
+        // beta = 0 ignora o conteúdo anterior de y, mesmo NaN
+        Vector z = new Vector(new double[]{Double.NaN, Double.NaN});
+        Matrix.gemv(1.0, a, true, new Vector(new double[]{1, 1}), 0.0, z);
+        assertArrayEquals(new double[]{4, 6}, z.getVector(), 1e-12);
+    }
+
+    @Test
+    void testGemvInvalidArguments() {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        Vector x = new Vector(new double[]{1, 2});
+        assertThrows(IllegalArgumentException.class, () -> Matrix.gemv(1, a, false, x, 0, x));
+        assertThrows(IllegalArgumentException.class, () -> Matrix.gemv(1, a, false, x, 0, new Vector(new double[3])));
+        assertThrows(IllegalArgumentException.class, () -> Matrix.gemv(1, a, false, new Vector(), 0, new Vector(new double[2])));
+    }
+
+    @Test
+    void testGram() {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}, {5, 6}});
+
+        assertTrue(areMatricesEqual(new Matrix(new double[][]{{35, 44}, {44, 56}}), Matrix.gram(a)));
+
+        Matrix c = new Matrix(3, 3);
+        Matrix.syrk(1.0, a, false, 0.0, c);
+        assertTrue(areMatricesEqual(new Matrix(new double[][]{{5, 11, 17}, {11, 25, 39}, {17, 39, 61}}), c));
+    }
+
+    @Test
+    void testSyrkInvalidArguments() {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        Matrix square = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        assertThrows(IllegalArgumentException.class, () -> Matrix.syrk(1, a, true, 0, new Matrix(2, 2)));
+        assertThrows(IllegalArgumentException.class, () -> Matrix.syrk(1, a, false, 0, new Matrix(2, 3)));
+        assertThrows(IllegalArgumentException.class, () -> Matrix.syrk(1, square, false, 0, square));
+    }
+
     // Método auxiliar para comparar duas matrizes
     private boolean areMatricesEqual(Matrix m1, Matrix m2) {
         if (m1.getRows() != m2.getRows() || m1.getColumns() != m2.getColumns()) {
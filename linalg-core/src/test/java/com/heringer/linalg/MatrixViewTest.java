@@ -0,0 +1,164 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrixViewTest {
+
+    private static Matrix sample() {
+        return new Matrix(new double[][]{
+            {1, 2, 3, 4},
+            {5, 6, 7, 8},
+            {9, 10, 11, 12}
+        });
+    }
+
+    private static void assertViewEquals(Matrix expected, MatrixView actual) {
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        for (int i = 0; i < expected.getRows(); i++) {
+            for (int j = 0; j < expected.getColumns(); j++) {
+                assertEquals(expected.getMatrix()[i][j], actual.get(i, j), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void transposedView_matchesTranspose() {
+        Matrix matrix = sample();
+        assertViewEquals(matrix.transpose(), matrix.transposedView());
+        assertViewEquals(matrix, matrix.transposedView().transpose());
+    }
+
+    @Test
+    void submatrix_readsAndWritesThrough() {
+        Matrix matrix = sample();
+        MatrixView window = matrix.submatrix(1, 1, 2, 2);
+        assertEquals(6, window.get(0, 0));
+        assertEquals(11, window.get(1, 1));
+
+        window.set(1, 0, -1);
+        assertEquals(-1, matrix.getMatrix()[2][1]);
+    }
+
+    @Test
+    void submatrixOfTransposedView_mapsToOriginal() {
+        Matrix matrix = sample();
+        MatrixView window = matrix.transposedView().submatrix(1, 0, 3, 2);
+        assertViewEquals(new Matrix(new double[][]{{2, 6}, {3, 7}, {4, 8}}), window);
+        assertArrayEquals(new double[]{2, 3, 4}, window.column(0).toVector().getVector());
+        assertArrayEquals(new double[]{3, 7}, window.row(1).toVector().getVector());
+    }
+
+    @Test
+    void submatrix_outOfBoundsThrows() {
+        assertThrows(IndexOutOfBoundsException.class, () -> sample().submatrix(2, 0, 2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> sample().view().get(3, 0));
+    }
+
+    @Test
+    void flatStorage_supportsBothLayouts() {
+        double[] columnMajor = {1, 5, 9, 2, 6, 10, 3, 7, 11, 4, 8, 12};
+        MatrixView view = MatrixView.of(columnMajor, 0, 3, 4, 1, 3);
+        assertViewEquals(sample(), view);
+        assertViewEquals(sample().transpose(), view.transpose());
+        assertViewEquals(new Matrix(new double[][]{{7, 8}, {11, 12}}), view.submatrix(1, 2, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> MatrixView.of(columnMajor, 1, 3, 4, 1, 3));
+    }
+
+    @Test
+    void multiply_acceptsEveryKindOfView() {
+        Matrix a = sample();
+        Matrix expected = Matrix.multiply(a, a.transpose());
+        assertViewEquals(expected, Matrix.multiply(a.view(), a.transposedView()).view());
+        assertViewEquals(expected, a.view().multiply(a.transpose().view()).view());
+
+        double[] columnMajor = {1, 5, 9, 2, 6, 10, 3, 7, 11, 4, 8, 12};
+        MatrixView flat = MatrixView.of(columnMajor, 0, 3, 4, 1, 3);
+        assertViewEquals(expected, Matrix.multiply(flat, flat.transpose()).view());
+
+        Matrix window = Matrix.multiply(a.submatrix(0, 1, 2, 3), a.submatrix(0, 0, 3, 2));
+        assertViewEquals(new Matrix(new double[][]{{2 * 1 + 3 * 5 + 4 * 9, 2 * 2 + 3 * 6 + 4 * 10},
+                {6 * 1 + 7 * 5 + 8 * 9, 6 * 2 + 7 * 6 + 8 * 10}}), window.view());
+    }
+
+    @Test
+    void multiply_dimensionMismatchThrows() {
+        Matrix a = sample();
+        assertThrows(IllegalArgumentException.class, () -> Matrix.multiply(a.view(), a.view()));
+    }
+
+    @Test
+    void toMatrix_copies() {
+        Matrix matrix = sample();
+        Matrix copy = matrix.transposedView().toMatrix();
+        copy.getMatrix()[0][0] = 100;
+        assertEquals(1, matrix.getMatrix()[0][0]);
+    }
+
+    @Test
+    void elementwise_acceptsViews() {
+        Matrix matrix = sample();
+        MatrixView left = matrix.submatrix(0, 0, 2, 2);
+        MatrixView right = matrix.transposedView().submatrix(1, 1, 2, 2);
+        assertViewEquals(new Matrix(new double[][]{{7, 12}, {12, 17}}), Matrix.sum(left, right).view());
+        assertViewEquals(new Matrix(new double[][]{{-5, -8}, {-2, -5}}), Matrix.subtraction(left, right).view());
+        assertViewEquals(new Matrix(new double[][]{{2, 4}, {10, 12}}), Matrix.multiplyByScalar(left, 2).view());
+        assertThrows(IllegalArgumentException.class, () -> Matrix.sum(left, matrix.view()));
+    }
+
+    @Test
+    void gemm_updatesAWindowInPlace() {
+        Matrix a = sample();
+        Matrix expected = Matrix.multiply(a, a.transpose());
+        for (boolean transB : new boolean[]{false, true}) {
+            Matrix host = new Matrix(5, 5);
+            MatrixView c = host.submatrix(1, 1, 3, 3);
+            c.set(0, 0, 10);
+            MatrixView b = transB ? a.view() : a.transposedView();
+            Matrix.gemm(2.0, a.view(), false, b, transB, 0.5, c);
+            for (int i = 0; i < 3; i++) {
+                for (int j = 0; j < 3; j++) {
+                    double previous = i == 0 && j == 0 ? 5 : 0;
+                    assertEquals(2 * expected.getMatrix()[i][j] + previous, c.get(i, j), 1e-12);
+                }
+            }
+            assertEquals(0.0, host.getMatrix()[0][0]);
+            assertEquals(0.0, host.getMatrix()[4][4]);
+        }
+
+        double[] columnMajor = {1, 5, 9, 2, 6, 10, 3, 7, 11, 4, 8, 12};
+        MatrixView flat = MatrixView.of(columnMajor, 0, 3, 4, 1, 3);
+        Matrix gram = new Matrix(4, 4);
+        Matrix.gemm(1.0, flat, true, flat, false, 0.0, gram.view());
+        assertViewEquals(Matrix.multiply(a.transpose(), a), gram.view());
+        assertThrows(IllegalArgumentException.class,
+                () -> Matrix.gemm(1.0, a.view(), false, a.view(), false, 0.0, new Matrix(3, 3).view()));
+    }
+
+    @Test
+    void gemvAndSyrk_acceptViews() {
+        Matrix a = sample();
+        double[] strided = {1, 0, 1, 0, 1, 0, 1};
+        VectorView x = VectorView.of(strided, 0, 4, 2);
+        double[] out = new double[3];
+        Matrix.gemv(1.0, a.view(), false, x, 0.0, VectorView.of(out, 0, 3, 1));
+        assertArrayEquals(new double[]{10, 26, 42}, out, 1e-12);
+
+        Matrix column = new Matrix(4, 1);
+        Matrix.gemv(2.0, a.view(), true, VectorView.of(new double[]{1, 1, 1}, 0, 3, 1), 0.0, column.columnView(0));
+        assertArrayEquals(new double[]{30, 36, 42, 48}, column.transpose().getMatrix()[0], 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> Matrix.gemv(1.0, a.view(), true, x, 0.0, x));
+
+        for (boolean transA : new boolean[]{false, true}) {
+            Matrix expected = transA ? Matrix.multiply(a.transpose(), a) : Matrix.multiply(a, a.transpose());
+            int n = expected.getRows();
+            Matrix host = new Matrix(n + 1, n + 1);
+            Matrix.syrk(1.0, a.view(), transA, 0.0, host.submatrix(1, 0, n, n));
+            assertViewEquals(expected, host.submatrix(1, 0, n, n));
+            Matrix flat = new Matrix(n, n);
+            Matrix.syrk(1.0, a.transposedView(), !transA, 0.0, flat.view());
+            assertViewEquals(expected, flat.view());
+        }
+    }
+}
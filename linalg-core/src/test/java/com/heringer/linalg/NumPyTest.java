@@ -0,0 +1,171 @@
+package com.heringer.linalg;
+
+import com.heringer.Complex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class NumPyTest {
+
+    // Monta um .npy à mão, como o numpy.save gravaria, com cabeçalho de versão 1 ou 2.
+    private static byte[] npy(int major, String dictionary, ByteBuffer data) {
+        int prefix = major == 1 ? 10 : 12;
+        int padded = (prefix + dictionary.length() + 1 + 63) / 64 * 64;
+        ByteBuffer file = ByteBuffer.allocate(padded + data.capacity()).order(ByteOrder.LITTLE_ENDIAN);
+        file.put(new byte[]{(byte) 0x93, 'N', 'U', 'M', 'P', 'Y', (byte) major, 0});
+        if (major == 1) {
+            file.putShort((short) (padded - prefix));
+        } else {
+            file.putInt(padded - prefix);
+        }
+        file.put(dictionary.getBytes(StandardCharsets.US_ASCII));
+        while (file.position() < padded - 1) {
+            file.put((byte) ' ');
+        }
+        file.put((byte) '\n');
+        file.put(data.array());
+        return file.array();
+    }
+
+    @Test
+    void matrixRoundTripAcrossBufferBoundaries() throws IOException {
+        Matrix matrix = random(400, 401, 1);
+        Path file = Files.createTempFile("matrix", ".npy");
+        try {
+            NumPy.write(file, matrix);
+            assertEquals(0, (Files.size(file) - 8L * 400 * 401) % 64);
+
+            Matrix loaded = NumPy.readMatrix(file);
+            for (int i = 0; i < 400; i++) {
+                assertArrayEquals(matrix.mtx[i], loaded.mtx[i], 0);
+            }
+            try (MappedMatrix mapped = NumPy.map(file)) {
+                assertEquals(matrix.mtx[399][400], mapped.get(399, 400));
+                assertEquals(matrix.mtx[17][3], mapped.get(17, 3));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void fortranOrderFloat32AndBigEndianFiles() throws IOException {
+        ByteBuffer floats = ByteBuffer.allocate(4 * 6).order(ByteOrder.LITTLE_ENDIAN);
+        for (float value : new float[]{1, 4, 2, 5, 3, 6.5f}) {
+            floats.putFloat(value);
+        }
+        ByteBuffer doubles = ByteBuffer.allocate(8 * 3).order(ByteOrder.BIG_ENDIAN);
+        doubles.putDouble(1.25).putDouble(-2).putDouble(1e300);
+
+        Path file = Files.createTempFile("array", ".npy");
+        try {
+            Files.write(file, npy(1, "{'descr': '<f4', 'fortran_order': True, 'shape': (2, 3), }", floats));
+            Matrix loaded = NumPy.readMatrix(file);
+            assertArrayEquals(new double[]{1, 2, 3}, loaded.mtx[0], 0);
+            assertArrayEquals(new double[]{4, 5, 6.5}, loaded.mtx[1], 0);
+            assertThrows(IOException.class, () -> NumPy.map(file));
+
+            Files.write(file, npy(2, "{'descr': '>f8', 'fortran_order': False, 'shape': (3,), }", doubles));
+            assertArrayEquals(new double[]{1.25, -2, 1e300}, NumPy.readVector(file).getVector(), 0);
+            assertArrayEquals(new double[]{1.25, -2, 1e300}, NumPy.readMatrix(file).mtx[0], 0);
+            assertThrows(IOException.class, () -> NumPy.readComplexMatrix(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void complexMatrixRoundTripAndFortranOrder() throws IOException {
+        ComplexMatrix complex = new ComplexMatrix(new Complex[][]{
+                {new Complex(1, 2), new Complex(3, -4), new Complex(0, 0)},
+                {new Complex(-5, 6), new Complex(7, 8), new Complex(9, -1)}});
+        Path file = Files.createTempFile("complex", ".npy");
+        try {
+            NumPy.write(file, complex);
+            ComplexMatrix loaded = NumPy.readComplexMatrix(file);
+            for (int i = 0; i < 2; i++) {
+                for (int j = 0; j < 3; j++) {
+                    assertEquals(complex.getMatrix()[i][j].getReal(), loaded.getMatrix()[i][j].getReal());
+                    assertEquals(complex.getMatrix()[i][j].getImaginary(), loaded.getMatrix()[i][j].getImaginary());
+                }
+            }
+            assertThrows(IOException.class, () -> NumPy.readMatrix(file));
+
+            ByteBuffer columns = ByteBuffer.allocate(16 * 4).order(ByteOrder.LITTLE_ENDIAN);
+            columns.putDouble(1).putDouble(-1).putDouble(3).putDouble(-3).putDouble(2).putDouble(-2)
+                    .putDouble(4).putDouble(-4);
+            Files.write(file, npy(1, "{'descr': '<c16', 'fortran_order': True, 'shape': (2, 2), }", columns));
+            loaded = NumPy.readComplexMatrix(file);
+            assertEquals(2, loaded.getMatrix()[0][1].getReal());
+            assertEquals(-3, loaded.getMatrix()[1][0].getImaginary());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void archiveRoundTripAndCompressedEntries() throws IOException {
+        Map<String, Matrix> arrays = new LinkedHashMap<>();
+        arrays.put("a", random(30, 20, 2));
+        arrays.put("weights", random(1, 7, 3));
+        Path file = Files.createTempFile("arrays", ".npz");
+        try {
+            NumPy.writeArchive(file, arrays);
+            Map<String, Matrix> loaded = NumPy.readArchive(file);
+            assertEquals(arrays.keySet(), loaded.keySet());
+            for (String name : arrays.keySet()) {
+                for (int i = 0; i < arrays.get(name).getRows(); i++) {
+                    assertArrayEquals(arrays.get(name).mtx[i], loaded.get(name).mtx[i], 0);
+                }
+            }
+
+            // numpy.savez_compressed grava as entradas com DEFLATE.
+            ByteBuffer data = ByteBuffer.allocate(8 * 4).order(ByteOrder.LITTLE_ENDIAN);
+            data.putDouble(1).putDouble(2).putDouble(3).putDouble(4);
+            try (OutputStream out = Files.newOutputStream(file); ZipOutputStream zip = new ZipOutputStream(out)) {
+                zip.putNextEntry(new ZipEntry("x.npy"));
+                zip.write(npy(1, "{'descr': '<f8', 'fortran_order': False, 'shape': (2, 2), }", data));
+                zip.closeEntry();
+                zip.putNextEntry(new ZipEntry("y.npy"));
+                zip.write(npy(1, "{'descr': '<f8', 'fortran_order': True, 'shape': (2, 2), }", data));
+                zip.closeEntry();
+            }
+            loaded = NumPy.readArchive(file);
+            assertArrayEquals(new double[]{3, 4}, loaded.get("x").mtx[1], 0);
+            assertArrayEquals(new double[]{2, 4}, loaded.get("y").mtx[1], 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void malformedFilesAreRejected() throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(8 * 8).order(ByteOrder.LITTLE_ENDIAN);
+        Path file = Files.createTempFile("bad", ".npy");
+        try {
+            Files.write(file, npy(1, "{'descr': '<i8', 'fortran_order': False, 'shape': (2, 4), }", data));
+            assertThrows(IOException.class, () -> NumPy.readMatrix(file));
+            Files.write(file, npy(1, "{'descr': '<f8', 'fortran_order': False, 'shape': (2, 2, 2), }", data));
+            assertThrows(IOException.class, () -> NumPy.readMatrix(file));
+            Files.write(file, npy(1, "{'descr': '<f8', 'fortran_order': False, 'shape': (3, 4), }", data));
+            assertThrows(IOException.class, () -> NumPy.readMatrix(file));
+            Files.write(file, new byte[]{'P', 'K', 3, 4});
+            assertThrows(IOException.class, () -> NumPy.readMatrix(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointTransformTest {
+
+    private static PointCloud random(int size, long seed) {
+        Random random = new Random(seed);
+        PointCloud cloud = new PointCloud(size);
+        for (int i = 0; i < size; i++) {
+            cloud.set(i, random.nextDouble() - 0.5, random.nextDouble() - 0.5, random.nextDouble() + 2);
+        }
+        return cloud;
+    }
+
+    // Rotação em torno de z, translação e projeção perspectiva com w = z.
+    private static final Matrix3 ROTATION = new Matrix3(0.6, -0.8, 0, 0.8, 0.6, 0, 0, 0, 1);
+    private static final Matrix4 TRANSLATION = new Matrix4(1, 0, 0, 0.5, 0, 1, 0, -1, 0, 0, 1, 3, 0, 0, 0, 1);
+    private static final Matrix4 PERSPECTIVE = new Matrix4(2, 0, 0, 0, 0, 2, 0, 0, 0, 0, 1, -1, 0, 0, 1, 0);
+
+    @Test
+    void chainMatchesApplyingEachMatrixInTurn() {
+        PointCloud points = random(1000, 1);
+        PointTransform chain = PointTransform.of(ROTATION).then(TRANSLATION).then(PERSPECTIVE);
+        assertFalse(chain.isAffine());
+
+        PointCloud result = new PointCloud(1000);
+        chain.apply(points, result);
+
+        Vector3 expected = new Vector3();
+        Vector3 actual = new Vector3();
+        for (int i = 0; i < 1000; i++) {
+            points.get(i, expected);
+            ROTATION.transform(expected);
+            TRANSLATION.transformPosition(expected);
+            PERSPECTIVE.transformProject(expected);
+            result.get(i, actual);
+            assertEquals(expected.x, actual.x, 1e-13);
+            assertEquals(expected.y, actual.y, 1e-13);
+            assertEquals(expected.z, actual.z, 1e-13);
+        }
+    }
+
+    @Test
+    void parallelInPlaceApplyMatchesSequential() {
+        int size = 3 * PointTransform.BLOCK_SIZE + 17;
+        PointCloud points = random(size, 2);
+        PointTransform affine = PointTransform.of(new Matrix(new double[][]{{1, 2, 0}, {0, 1, 0}, {0, 0, 3}}))
+                .then(PointTransform.of(TRANSLATION));
+        assertTrue(affine.isAffine());
+
+        PointCloud sequential = new PointCloud(size);
+        affine.apply(points, sequential);
+        try {
+            Tuning.set(new Tuning(16, 32, 32, 1));
+            affine.apply(points);
+        } finally {
+            Tuning.set(null);
+        }
+        assertEquals(sequential, points);
+        assertEquals(sequential.toMatrix().mtx[size - 1][2], points.z[size - 1]);
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        PointCloud points = random(10, 3);
+        PointTransform identity = PointTransform.identity();
+        assertThrows(IllegalArgumentException.class, () -> identity.apply(points, new PointCloud(9)));
+        assertThrows(IllegalArgumentException.class,
+                () -> identity.apply(points, new PointCloud(points.y, points.x, new double[10])));
+        assertThrows(IllegalArgumentException.class, () -> identity.then(new Matrix(new double[2][2])));
+        assertThrows(IllegalArgumentException.class, () -> new PointCloud(points.x, points.x, points.z));
+        assertThrows(IllegalArgumentException.class, () -> PointCloud.of(new Matrix(new double[3][2])));
+
+        PointCloud copy = PointCloud.of(points.toMatrix());
+        identity.apply(copy);
+        assertEquals(points, copy);
+    }
+}
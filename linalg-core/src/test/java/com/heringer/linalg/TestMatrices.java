@@ -0,0 +1,59 @@
+package com.heringer.linalg;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Random operands and comparisons shared by the tests.
+ */
+final class TestMatrices {
+
+    private TestMatrices() {
+    }
+
+    /**
+     * A matrix with elements drawn uniformly from [-0.5, 0.5).
+     */
+    static Matrix random(int rows, int columns, long seed) {
+        return random(rows, columns, new Random(seed));
+    }
+
+    /**
+     * A matrix with elements drawn uniformly from [-0.5, 0.5), row by row, from a shared generator.
+     */
+    static Matrix random(int rows, int columns, Random random) {
+        double[][] data = new double[rows][columns];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                data[i][j] = random.nextDouble() - 0.5;
+            }
+        }
+        return new Matrix(data);
+    }
+
+    /**
+     * A block of {@code count} vectors with elements drawn uniformly from [-0.5, 0.5), vector by vector.
+     */
+    static VectorBlock randomBlock(int dimension, int count, long seed) {
+        Random random = new Random(seed);
+        VectorBlock block = new VectorBlock(dimension, count);
+        for (int v = 0; v < count; v++) {
+            for (int i = 0; i < dimension; i++) {
+                block.set(v, i, random.nextDouble() - 0.5);
+            }
+        }
+        return block;
+    }
+
+    static void assertMatrixEquals(Matrix expected, Matrix actual, double delta) {
+        assertMatrixEquals(expected.mtx, actual, delta);
+    }
+
+    static void assertMatrixEquals(double[][] expected, Matrix actual, double delta) {
+        assertEquals(expected.length, actual.getRows());
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], actual.mtx[i], delta);
+        }
+    }
+}
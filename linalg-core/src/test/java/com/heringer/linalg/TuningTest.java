@@ -0,0 +1,82 @@
+package com.heringer.linalg;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TuningTest {
+
+    @Test
+    void resolve_withoutProfileUsesDefaults() {
+        assertEquals(Tuning.defaults(), Tuning.resolve(new Properties(), Path.of("does-not-exist.properties")));
+    }
+
+    @Test
+    void save_thenLoadRoundTrips() throws Exception {
+        Path file = Files.createTempDirectory("linalg").resolve("nested").resolve("tuning.properties");
+        Tuning tuning = new Tuning(48, 16, 128, 12345L);
+        try {
+            tuning.save(file);
+            assertEquals(tuning, Tuning.load(file));
+            assertEquals(tuning, Tuning.resolve(new Properties(), file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void resolve_systemPropertiesOverrideProfile() throws Exception {
+        Path file = Files.createTempFile("tuning", ".properties");
+        try {
+            new Tuning(48, 16, 128, 12345L).save(file);
+            Properties system = new Properties();
+            system.setProperty("linalg.tuning.gemm.block", "96");
+            system.setProperty("linalg.tuning.parallel.threshold", "1000");
+
+            assertEquals(new Tuning(96, 16, 128, 1000L), Tuning.resolve(system, file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void resolve_invalidOverrideThrows() {
+        Properties system = new Properties();
+        system.setProperty("linalg.tuning.lu.block", "zero");
+        assertThrows(IllegalArgumentException.class, () -> Tuning.resolve(system, null));
+    }
+
+    @Test
+    void resolve_ignoresProfileFromAnotherMachine() throws Exception {
+        Path file = Files.createTempFile("tuning", ".properties");
+        try {
+            int processors = Runtime.getRuntime().availableProcessors() + 1;
+            Files.writeString(file, "gemm.block=16\nprocessors=" + processors + "\n");
+            assertEquals(Tuning.defaults(), Tuning.resolve(new Properties(), file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveValues() {
+        assertThrows(IllegalArgumentException.class, () -> new Tuning(0, 32, 32, 1));
+    }
+
+    @Test
+    void set_replacesCurrent() {
+        Tuning tuning = new Tuning(8, 8, 8, 1);
+        try {
+            Tuning.set(tuning);
+            assertSame(tuning, Tuning.current());
+            Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+            assertArrayEquals(new double[]{1, 4}, a.transpose().getMatrix()[0]);
+            assertArrayEquals(new double[]{3, 6}, a.transpose().getMatrix()[2]);
+        } finally {
+            Tuning.set(null);
+        }
+    }
+}
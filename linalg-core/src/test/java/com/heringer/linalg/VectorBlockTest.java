@@ -0,0 +1,108 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class VectorBlockTest {
+
+    @Test
+    void storageIsColumnMajor() {
+        VectorBlock block = VectorBlock.of(new Vector(new double[]{1, 2, 3}), new Vector(new double[]{4, 5, 6}));
+        assertArrayEquals(new double[]{1, 2, 3, 4, 5, 6}, block.getData(), 0);
+        assertEquals(5.0, block.get(1, 1));
+        assertEquals(5.0, block.view().get(1, 1));
+        assertEquals(6.0, block.toMatrix().mtx[2][1]);
+        assertEquals(block.getVector(1), VectorBlock.ofColumns(block.toMatrix()).getVector(1));
+
+        block.column(0).set(2, 9.0);
+        assertEquals(9.0, block.get(0, 2));
+        block.set(1, 0, -1.0);
+        assertEquals(new Vector(new double[]{-1, 5, 6}), block.toArray()[1]);
+        assertEquals(1, block.head(1).getCount());
+        assertEquals(0, block.head(0).getCount());
+    }
+
+    @Test
+    void batchedProductsMatchPerVectorLoops() {
+        Vector[] vectors = randomBlock(5, 7, 1).toArray();
+        VectorBlock block = VectorBlock.of(vectors);
+        Vector other = randomBlock(5, 1, 2).toArray()[0];
+
+        Matrix gram = block.gram();
+        double[] dots = block.dot(other);
+        for (int i = 0; i < 7; i++) {
+            assertEquals(Vector.dot(vectors[i], other), dots[i], 1e-15);
+            for (int j = 0; j < 7; j++) {
+                assertEquals(Vector.dot(vectors[i], vectors[j]), gram.mtx[i][j], 1e-15);
+            }
+        }
+
+        double[] scalars = {1, -2, 0.5, 3, 0, 1, 2};
+        Vector expected = new VectorSpace().linearCombination(vectors, scalars);
+        assertArrayEquals(expected.getVector(), block.combine(scalars).getVector(), 1e-15);
+
+        Matrix coefficients = new Matrix(new double[][]{{1, 0}, {0, 1}, {2, 0}, {0, 0}, {1, 1}, {0, 3}, {0, 0}});
+        Matrix product = Matrix.multiply(block.toMatrix(), coefficients);
+        VectorBlock combined = block.multiply(coefficients);
+        assertEquals(2, combined.getCount());
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(product.mtx[i], new double[]{combined.get(0, i), combined.get(1, i)}, 1e-15);
+        }
+    }
+
+    @Test
+    void rankAndIndependenceMatchVectorArrays() {
+        Vector[] vectors = randomBlock(6, 4, 3).toArray();
+        vectors[3] = Vector.sum(vectors[0].getVector(), vectors[2].getVector());
+        VectorBlock block = VectorBlock.of(vectors);
+        double[] before = block.getData().clone();
+
+        assertEquals(Vector.rank(vectors), Vector.rank(block));
+        assertEquals(3, Vector.rank(block));
+        assertArrayEquals(before, block.getData(), 0);
+        assertFalse(Vector.isLinearlyIndependent(block));
+        assertTrue(Vector.isLinearlyIndependent(block.head(3)));
+        assertEquals(0, Vector.rank(new VectorBlock(6, 0)));
+
+        VectorSpace space = new VectorSpace();
+        assertEquals(space.getDimension(vectors), space.getBlockDimension(block));
+        Vector[] base = space.getBase(vectors);
+        VectorBlock blockBase = space.getBlockBase(block);
+        assertEquals(base.length, blockBase.getCount());
+        for (int v = 0; v < base.length; v++) {
+            assertEquals(base[v], blockBase.getVector(v));
+        }
+    }
+
+    @Test
+    void gramSchmidtMatchesVectorArrays() {
+        Vector[] vectors = randomBlock(8, 5, 4).toArray();
+        Vector[] expected = Decomposition.gramSchmidt(vectors);
+        VectorBlock basis = Decomposition.gramSchmidt(VectorBlock.of(vectors));
+        for (int v = 0; v < 5; v++) {
+            assertArrayEquals(expected[v].getVector(), basis.getVector(v).getVector(), 1e-14);
+        }
+        Matrix gram = basis.gram();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1.0, gram.mtx[i][i], 1e-14);
+        }
+
+        VectorBlock dependent = VectorBlock.of(vectors[0], new Vector(new double[8]));
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.gramSchmidt(dependent));
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        VectorBlock block = new VectorBlock(3, 2);
+        assertThrows(IllegalArgumentException.class, () -> new VectorBlock(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> VectorBlock.wrap(new double[5], 3, 2));
+        assertThrows(IllegalArgumentException.class, () -> block.setVector(0, new Vector(new double[2])));
+        assertThrows(IllegalArgumentException.class, () -> block.dot(new Vector(new double[2])));
+        assertThrows(IllegalArgumentException.class, () -> block.combine(new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> block.multiply(new Matrix(new double[3][1])));
+        assertThrows(IndexOutOfBoundsException.class, () -> block.get(2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> block.head(3));
+    }
+}
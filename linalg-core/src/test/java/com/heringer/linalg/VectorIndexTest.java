@@ -0,0 +1,118 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VectorIndexTest {
+
+    private static boolean bruteForce(Vector[] vectors, double[] query, double tolerance) {
+        for (Vector vector : vectors) {
+            boolean match = true;
+            for (int i = 0; i < query.length; i++) {
+                match &= Math.abs(vector.getVector()[i] - query[i]) <= tolerance;
+            }
+            if (match) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void findsNearMatchesLikeAFullScan() {
+        Random random = new Random(1);
+        int dimension = 6;
+        double tolerance = 0.01;
+        Vector[] vectors = new Vector[2000];
+        for (int v = 0; v < vectors.length; v++) {
+            double[] data = new double[dimension];
+            for (int i = 0; i < dimension; i++) {
+                // Poucos valores distintos, para que muitas consultas caiam perto dos vetores guardados.
+                data[i] = random.nextInt(5) * 0.24;
+            }
+            vectors[v] = new Vector(data);
+        }
+        VectorIndex index = VectorIndex.of(vectors, tolerance);
+        assertEquals(2000, index.size());
+
+        for (int q = 0; q < 5000; q++) {
+            Vector stored = vectors[random.nextInt(vectors.length)];
+            double[] query = stored.getVector().clone();
+            for (int i = 0; i < dimension; i++) {
+                query[i] += (random.nextDouble() - 0.5) * 0.03;
+            }
+            Vector target = new Vector(query);
+            int found = index.find(target);
+            assertEquals(bruteForce(vectors, query, tolerance), found >= 0);
+            if (found >= 0) {
+                assertTrue(bruteForce(new Vector[]{vectors[found]}, query, tolerance));
+            }
+        }
+    }
+
+    @Test
+    void matchesAcrossCellBoundaries() {
+        // As células têm 4 * 0.5 * 2 = 4 de largura: 3.875 e 4.125 ficam em células vizinhas.
+        VectorIndex index = new VectorIndex(2, 0.5);
+        index.add(new Vector(new double[]{3.875, -0.125}));
+        assertTrue(index.contains(new Vector(new double[]{4.125, 0.125})));
+        assertTrue(index.contains(new Vector(new double[]{4.375, 0.375})));
+        assertFalse(index.contains(new Vector(new double[]{4.5, 0.0})));
+        assertFalse(index.contains(new Vector(new double[]{Double.NaN, 0.0})));
+    }
+
+    @Test
+    void fallsBackToAScanWithManyBoundaryCoordinates() {
+        int dimension = VectorIndex.MAX_PROBED_COORDINATES + 4;
+        double tolerance = 0.001;
+        double width = 4 * tolerance * dimension;
+        double[] stored = new double[dimension];
+        double[] query = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            stored[i] = width * (i + 1) - tolerance / 4;
+            query[i] = width * (i + 1) + tolerance / 4;
+        }
+        VectorIndex index = new VectorIndex(dimension, tolerance);
+        assertEquals(0, index.add(new Vector(stored)));
+        assertEquals(0, index.find(new Vector(query)));
+    }
+
+    @Test
+    void isSubspaceToleratesRoundingAndChecksClosure() {
+        VectorSpace space = new VectorSpace();
+        assertTrue(space.isSubspace(new Vector[]{new Vector(new double[]{0, 0})}));
+        // Somas e opostos ficam a menos de 1e-6 de um vetor do conjunto.
+        assertTrue(space.isSubspace(new Vector[]{
+                new Vector(new double[]{0, 0}), new Vector(new double[]{1e-7, 0}), new Vector(new double[]{-0.0, 2e-7})}));
+        assertFalse(space.isSubspace(new Vector[]{
+                new Vector(new double[]{0, 0}), new Vector(new double[]{1, 2}), new Vector(new double[]{-1, -2})}));
+
+        Vector[] many = new Vector[300];
+        for (int v = 0; v < many.length; v++) {
+            many[v] = new Vector(new double[]{v * 1e-9, -v * 1e-9, 0});
+        }
+        Vector[] open = many.clone();
+        open[299] = new Vector(new double[]{1, 0, 0});
+        try {
+            Tuning.set(new Tuning(16, 32, 32, 1));
+            assertTrue(space.isSubspace(many));
+            assertFalse(space.isSubspace(open));
+        } finally {
+            Tuning.set(null);
+        }
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new VectorIndex(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VectorIndex(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VectorIndex(2, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> VectorIndex.of(new Vector[0], 1));
+        VectorIndex index = new VectorIndex(2, 1);
+        assertThrows(IllegalArgumentException.class, () -> index.add(new Vector(new double[3])));
+        assertThrows(IllegalArgumentException.class, () -> index.find(new Vector(new double[1])));
+    }
+}
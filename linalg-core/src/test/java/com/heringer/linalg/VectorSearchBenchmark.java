@@ -0,0 +1,137 @@
+package com.heringer.linalg;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Measures the query throughput of {@link VectorSearch#search(VectorBlock, int)} against the
+ * pair-by-pair search it replaces, {@link Vector#dot} and {@link Vector#magnitude} for every query
+ * and stored vector.
+ *
+ * <p>Not a test: it is run by hand, after {@code mvn test-compile}, from {@code linalg-core}:</p>
+ *
+ * <pre>
+ * java -Xmx4g -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *     com.heringer.linalg.VectorSearchBenchmark [corpus] [dimension] [queries] [k] [runs]
+ * </pre>
+ *
+ * <p>where {@code cp.txt} comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ * The defaults are 200000 stored vectors of 128 elements, 256 queries, k = 10 and 5 runs. The
+ * vectors are drawn from a fixed seed, so every run searches the same data; the first run of each
+ * search warms up the JIT and is not counted, and the time to build the index is reported apart.
+ * The neighbours of both searches are compared before the times are printed.</p>
+ *
+ * @author Emílio Heringer
+ */
+public final class VectorSearchBenchmark {
+
+    private static final long SEED = 42;
+
+    private VectorSearchBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int dimension = args.length > 1 ? Integer.parseInt(args[1]) : 128;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        int k = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int runs = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+
+        VectorBlock corpus = TestMatrices.randomBlock(dimension, size, SEED);
+        VectorBlock queries = TestMatrices.randomBlock(dimension, count, SEED + 1);
+        Vector[] corpusVectors = corpus.toArray();
+        Vector[] queryVectors = queries.toArray();
+        System.out.printf(Locale.ROOT, "%d stored vectors of %d elements, %d queries, k = %d, %d processors%n",
+                size, dimension, count, k, Runtime.getRuntime().availableProcessors());
+
+        long start = System.nanoTime();
+        VectorSearch search = new VectorSearch(corpus);
+        System.out.printf(Locale.ROOT, "index built in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        VectorSearch.Result[] fast = null;
+        int[][] naive = null;
+        long[] fastTimes = new long[runs];
+        long[] naiveTimes = new long[runs];
+        for (int run = 0; run <= runs; run++) {
+            start = System.nanoTime();
+            fast = search.search(queries, k);
+            long fastTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            naive = naive(corpusVectors, queryVectors, k);
+            long naiveTime = System.nanoTime() - start;
+            if (run > 0) {
+                fastTimes[run - 1] = fastTime;
+                naiveTimes[run - 1] = naiveTime;
+            }
+        }
+
+        check(naive, fast, corpusVectors, queryVectors);
+        System.out.printf(Locale.ROOT, "%d x %d neighbours, matching%n", count, Math.min(k, size));
+        report("VectorSearch", fastTimes, count);
+        report("pair by pair", naiveTimes, count);
+        System.out.printf(Locale.ROOT, "speedup (median): %.2fx%n", (double) median(naiveTimes) / median(fastTimes));
+    }
+
+    /**
+     * The {@code k} most similar stored vectors of each query, one cosine at a time, kept in an
+     * array sorted by insertion.
+     */
+    private static int[][] naive(Vector[] corpus, Vector[] queries, int k) {
+        int limit = Math.min(k, corpus.length);
+        int[][] result = new int[queries.length][];
+        for (int q = 0; q < queries.length; q++) {
+            int[] indices = new int[limit];
+            double[] best = new double[limit];
+            Arrays.fill(best, Double.NEGATIVE_INFINITY);
+            for (int c = 0; c < corpus.length; c++) {
+                double cosine = cosine(queries[q], corpus[c]);
+                if (cosine > best[limit - 1]) {
+                    int position = limit - 1;
+                    while (position > 0 && cosine > best[position - 1]) {
+                        best[position] = best[position - 1];
+                        indices[position] = indices[position - 1];
+                        position--;
+                    }
+                    best[position] = cosine;
+                    indices[position] = c;
+                }
+            }
+            result[q] = indices;
+        }
+        return result;
+    }
+
+    private static double cosine(Vector x, Vector y) {
+        return Vector.dot(x, y) / (Vector.magnitude(x) * Vector.magnitude(y));
+    }
+
+    /**
+     * Both searches must find the same neighbours. The two compute the cosines in a different
+     * order, so neighbours whose similarities differ only by rounding may swap places.
+     */
+    private static void check(int[][] expected, VectorSearch.Result[] actual, Vector[] corpus, Vector[] queries) {
+        for (int q = 0; q < expected.length; q++) {
+            for (int rank = 0; rank < expected[q].length; rank++) {
+                int index = actual[q].getIndex(rank);
+                if (index != expected[q][rank]
+                        && Math.abs(cosine(queries[q], corpus[index]) - cosine(queries[q], corpus[expected[q][rank]])) > 1e-12) {
+                    throw new IllegalStateException("The searches disagree on neighbour " + rank + " of query " + q + ".");
+                }
+            }
+        }
+    }
+
+    private static void report(String name, long[] times, int queries) {
+        long best = Arrays.stream(times).min().getAsLong();
+        long median = median(times);
+        System.out.printf(Locale.ROOT, "%-14s best %9.1f ms  median %9.1f ms  %10.1f queries/s%n", name,
+                best / 1e6, median / 1e6, queries / (median / 1e9));
+    }
+
+    private static long median(long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
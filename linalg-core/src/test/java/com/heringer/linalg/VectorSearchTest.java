@@ -0,0 +1,110 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static com.heringer.linalg.TestMatrices.*;
+
+public class VectorSearchTest {
+
+    private static double cosine(VectorBlock a, int i, VectorBlock b, int j) {
+        Vector x = a.getVector(i);
+        Vector y = b.getVector(j);
+        return Vector.dot(x, y) / (Vector.magnitude(x) * Vector.magnitude(y));
+    }
+
+    /**
+     * The k best indices by a full sort, ties by the lower index.
+     */
+    private static int[] bruteForce(VectorBlock corpus, VectorBlock queries, int query, int k) {
+        return IntStream.range(0, corpus.getCount()).boxed()
+                .sorted(Comparator.<Integer>comparingDouble(c -> -cosine(queries, query, corpus, c))
+                        .thenComparingInt(c -> c))
+                .limit(k).mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void findsTheSameNeighboursAsAFullSort() {
+        VectorBlock corpus = randomBlock(13, 501, 1);
+        VectorBlock queries = randomBlock(13, 37, 2);
+        VectorSearch search = new VectorSearch(corpus);
+        assertEquals(501, search.size());
+        assertEquals(13, search.getDimension());
+
+        VectorSearch.Result[] results = search.search(queries, 10);
+        assertEquals(37, results.length);
+        for (int q = 0; q < 37; q++) {
+            assertArrayEquals(bruteForce(corpus, queries, q, 10), results[q].getIndices());
+            for (int rank = 0; rank < 10; rank++) {
+                assertEquals(cosine(queries, q, corpus, results[q].getIndex(rank)), results[q].getSimilarity(rank), 1e-14);
+            }
+        }
+
+        VectorSearch.Result single = search.search(queries.getVector(3), 4);
+        assertArrayEquals(Arrays.copyOf(results[3].getIndices(), 4), single.getIndices());
+        assertEquals(501, search.search(queries.getVector(0), 1000).size());
+    }
+
+    @Test
+    void similaritiesAreCosines() {
+        VectorBlock corpus = randomBlock(6, 9, 3);
+        VectorBlock queries = randomBlock(6, 5, 4);
+        Matrix similarities = new VectorSearch(corpus).similarities(queries);
+        assertEquals(5, similarities.getRows());
+        assertEquals(9, similarities.getColumns());
+        for (int q = 0; q < 5; q++) {
+            for (int c = 0; c < 9; c++) {
+                assertEquals(cosine(queries, q, corpus, c), similarities.mtx[q][c], 1e-14);
+            }
+        }
+    }
+
+    @Test
+    void tiesAndScaleAreHandled() {
+        VectorSearch search = VectorSearch.of(
+                new Vector(new double[]{2, 0}), new Vector(new double[]{0, 1}),
+                new Vector(new double[]{5, 0}), new Vector(new double[]{-1, 0}));
+        VectorSearch.Result result = search.search(new Vector(new double[]{3, 0}), 3);
+        // Vetores paralelos têm similaridade 1 qualquer que seja a norma; o empate fica com o menor índice.
+        assertArrayEquals(new int[]{0, 2, 1}, result.getIndices());
+        assertArrayEquals(new double[]{1, 1, 0}, result.getSimilarities(), 0);
+    }
+
+    @Test
+    void parallelSegmentsMatchTheSequentialSearch() {
+        VectorBlock corpus = randomBlock(3, VectorSearch.SEGMENT + 1000, 5);
+        VectorBlock queries = randomBlock(3, VectorSearch.QUERY_BATCH + 3, 6);
+        VectorSearch search = new VectorSearch(corpus);
+        VectorSearch.Result[] sequential = search.search(queries, 7);
+        VectorSearch.Result[] parallel;
+        Matrix all;
+        try {
+            Tuning.set(new Tuning(16, 32, 32, 1));
+            parallel = search.search(queries, 7);
+            all = search.similarities(queries.head(2));
+        } finally {
+            Tuning.set(null);
+        }
+        for (int q = 0; q < queries.getCount(); q++) {
+            assertArrayEquals(sequential[q].getIndices(), parallel[q].getIndices());
+            assertArrayEquals(sequential[q].getSimilarities(), parallel[q].getSimilarities(), 0);
+        }
+        assertArrayEquals(bruteForce(corpus, queries, 1, 7), parallel[1].getIndices());
+        assertEquals(parallel[1].getSimilarity(0), all.mtx[1][parallel[1].getIndex(0)], 0);
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        VectorSearch search = new VectorSearch(randomBlock(3, 4, 7));
+        assertThrows(IllegalArgumentException.class, () -> new VectorSearch(new VectorBlock(3, 0)));
+        assertThrows(IllegalArgumentException.class, () -> VectorSearch.of(new Vector(new double[]{1, 0}), new Vector(new double[2])));
+        assertThrows(IllegalArgumentException.class, () -> search.search(new Vector(new double[]{1, 0, 0}), 0));
+        assertThrows(IllegalArgumentException.class, () -> search.search(new Vector(new double[]{1, 0}), 1));
+        assertThrows(IllegalArgumentException.class, () -> search.search(new Vector(new double[3]), 1));
+        assertThrows(IllegalArgumentException.class, () -> search.similarities(new VectorBlock(3, 0)));
+    }
+}
@@ -342,8 +342,9 @@ public Vector[] getBase(Vector[] vectors) {
         VectorSpace vs = new VectorSpace();
         Vector[] result = vs.relativeCoordinates(vectors, newBase, scalars);
 
-        assertArrayEquals(new double[]{2, 0}, result[0].getVector(), 1e-6);
-        assertArrayEquals(new double[]{0, 4}, result[1].getVector(), 1e-6);
+        // (1, 2) = 0.5 * (2, 0) + 1 * (0, 2), e (3, 4) = 1.5 * (2, 0) + 2 * (0, 2), multiplicado por 0.5.
+        assertArrayEquals(new double[]{0.5, 1}, result[0].getVector(), 1e-6);
+        assertArrayEquals(new double[]{0.75, 1}, result[1].getVector(), 1e-6);
     }
 
     @Test
@@ -538,6 +538,17 @@ class VectorTest {
         assertFalse(Vector.isLinearlyIndependent(vectors));
     }
 
+    @Test
+    void testRankDoesNotModifyVectors() {
+        Vector[] vectors = {
+            new Vector(new double[]{2.0, 4.0, 6.0}),
+            new Vector(new double[]{1.0, 3.0, 5.0})
+        };
+        assertEquals(2, Vector.rank(vectors));
+        assertArrayEquals(new double[]{2.0, 4.0, 6.0}, vectors[0].getVector());
+        assertArrayEquals(new double[]{1.0, 3.0, 5.0}, vectors[1].getVector());
+    }
+
     @Test
     void testIsLinearlyIndependentWithDifferentLengths() {
         Vector[] vectors = {
@@ -0,0 +1,54 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorViewTest {
+
+    @Test
+    void rowAndColumnViews_readAndWriteThrough() {
+        Matrix matrix = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        VectorView row = matrix.rowView(1);
+        VectorView column = matrix.columnView(1);
+        assertArrayEquals(new double[]{3, 4}, row.toVector().getVector());
+        assertArrayEquals(new double[]{2, 4}, column.toVector().getVector());
+
+        column.set(0, 20);
+        assertEquals(20, matrix.getMatrix()[0][1]);
+    }
+
+    @Test
+    void stridedView_selectsEveryOtherElement() {
+        double[] data = {0, 1, 2, 3, 4, 5, 6};
+        VectorView view = VectorView.of(data, 1, 3, 2);
+        assertArrayEquals(new double[]{1, 3, 5}, view.toVector().getVector());
+        assertArrayEquals(new double[]{5, 3, 1}, VectorView.of(data, 5, 3, -2).toVector().getVector());
+        assertArrayEquals(new double[]{3, 5}, view.slice(1, 3).toVector().getVector());
+        assertThrows(IllegalArgumentException.class, () -> VectorView.of(data, 1, 4, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(3));
+    }
+
+    @Test
+    void dotNormAndAxpy() {
+        Matrix matrix = new Matrix(new double[][]{{3, 1}, {4, 2}});
+        VectorView column = matrix.columnView(0);
+        VectorView other = VectorView.of(new Vector(new double[]{1, 1}));
+        assertEquals(5, column.norm(), 1e-12);
+        assertEquals(7, column.dot(other), 1e-12);
+
+        column.axpy(2, other);
+        assertEquals(5, matrix.getMatrix()[0][0]);
+        assertEquals(6, matrix.getMatrix()[1][0]);
+
+        column.scale(0.5);
+        assertEquals(2.5, matrix.getMatrix()[0][0]);
+        assertThrows(IllegalArgumentException.class, () -> column.dot(VectorView.of(new Vector(new double[]{1}))));
+    }
+
+    @Test
+    void assign_copiesBetweenViews() {
+        Matrix matrix = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        matrix.rowView(0).assign(matrix.columnView(1));
+        assertArrayEquals(new double[]{2, 4}, matrix.getMatrix()[0]);
+    }
+}
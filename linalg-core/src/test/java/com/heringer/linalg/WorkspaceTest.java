@@ -0,0 +1,114 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkspaceTest {
+
+    @Test
+    void doubles_reusesBuffersAfterRelease() {
+        Workspace workspace = new Workspace();
+        int mark = workspace.mark();
+        double[] first = workspace.doubles(16);
+        double[] second = workspace.doubles(8);
+        workspace.release(mark);
+
+        assertNotSame(first, second);
+        assertSame(first, workspace.doubles(10));
+        assertSame(second, workspace.doubles(4));
+    }
+
+    @Test
+    void doubles_growsOnDemand() {
+        Workspace workspace = new Workspace();
+        int mark = workspace.mark();
+        double[] small = workspace.doubles(4);
+        workspace.release(mark);
+
+        double[] large = workspace.doubles(100);
+        assertNotSame(small, large);
+        assertTrue(large.length >= 100);
+    }
+
+    @Test
+    void release_outOfOrderThrows() {
+        Workspace workspace = new Workspace();
+        int outer = workspace.mark();
+        workspace.doubles(4);
+        int inner = workspace.mark();
+        workspace.release(outer);
+
+        assertThrows(IllegalStateException.class, () -> workspace.release(inner));
+    }
+
+    @Test
+    void clear_whileInUseThrows() {
+        Workspace workspace = new Workspace();
+        workspace.ints(3);
+
+        assertThrows(IllegalStateException.class, workspace::clear);
+    }
+
+    @Test
+    void current_isBoundToThread() throws Exception {
+        Workspace mine = Workspace.current();
+        Workspace[] other = new Workspace[1];
+        Thread thread = new Thread(() -> other[0] = Workspace.current());
+        thread.start();
+        thread.join();
+
+        assertSame(mine, Workspace.current());
+        assertNotSame(mine, other[0]);
+    }
+
+    @Test
+    void repeatedCalls_doNotAllocateScratch() {
+        Workspace workspace = new Workspace();
+        Matrix matrix = new Matrix(new double[][]{{4, 7, 2}, {3, 6, 1}, {2, 5, 3}});
+        Vector[] vectors = {
+                new Vector(new double[]{1, 2, 3}),
+                new Vector(new double[]{2, 4, 6}),
+                new Vector(new double[]{0, 1, 0})
+        };
+
+        Matrix.inverse(matrix, workspace);
+        Matrix.determinant(matrix, workspace);
+        Matrix.rank(matrix, workspace);
+        Vector.rank(vectors, workspace);
+        long steady = workspace.getAllocatedBytes();
+
+        for (int i = 0; i < 100; i++) {
+            Matrix.inverse(matrix, workspace);
+            Matrix.determinant(matrix, workspace);
+            Matrix.rank(matrix, workspace);
+            Vector.rank(vectors, workspace);
+        }
+
+        assertEquals(steady, workspace.getAllocatedBytes());
+    }
+
+    @Test
+    void explicitWorkspace_matchesThreadLocal() {
+        Matrix matrix = new Matrix(new double[][]{{4, 7, 2}, {3, 6, 1}, {2, 5, 3}});
+        Workspace workspace = new Workspace();
+
+        Matrix expected = Matrix.inverse(matrix);
+        Matrix actual = Matrix.inverse(matrix, workspace);
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(expected.getMatrix()[i], actual.getMatrix()[i], 1e-12);
+        }
+        assertEquals(Matrix.determinant(matrix), Matrix.determinant(matrix, workspace), 1e-12);
+        assertEquals(3, Matrix.rank(matrix, workspace));
+    }
+
+    @Test
+    void failedInverse_releasesBuffers() {
+        Workspace workspace = new Workspace();
+        Matrix singular = new Matrix(new double[][]{{0, 1}, {1, 0}});
+        int mark = workspace.mark();
+
+        assertThrows(IllegalStateException.class, () -> Matrix.inverse(singular, workspace));
+        assertEquals(mark, workspace.mark());
+    }
+}
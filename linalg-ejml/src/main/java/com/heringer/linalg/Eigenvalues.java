@@ -15,6 +15,7 @@ import org.ejml.simple.SimpleEVD;
  * <ul>
  *   <li>{@link #eigenvalues(double[][])}: Computes the eigenvalues of a given matrix.</li>
  *   <li>{@link #eig(double[][])}: Computes the eigenvectors of a given matrix.</li>
+ *   <li>{@link #spectralDecomposition(Matrix)}: Computes the EJML spectral decomposition of a given matrix.</li>
  * </ul>
  * 
  * @author Emílio Heringer
@@ -50,5 +51,22 @@ public abstract class Eigenvalues implements IEigenvalues {
     
         return autovetores;
     }
-    
+
+    /**
+     * Performs spectral decomposition on a given matrix using EJML.
+     * This method keeps the EJML result type that {@code Decomposition.spectralDecomposition}
+     * returned before the library was split into the {@code linalg-core} and
+     * {@code linalg-ejml} modules.
+     *
+     * @param matrix The Matrix to decompose.
+     * @return A SimpleEVD object representing the spectral decomposition.
+     * @throws IllegalArgumentException if the matrix is not square.
+     */
+    public static SimpleEVD<SimpleMatrix> spectralDecomposition(Matrix matrix) {
+        if (matrix.getRows() != matrix.getColumns()) {
+            throw new IllegalArgumentException("Matrix must be square for spectral decomposition.");
+        }
+
+        return new SimpleMatrix(matrix.getMatrix()).eig();
+    }
 }
@@ -0,0 +1,148 @@
+package com.heringer.linalg;
+
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.CholeskyDecomposition_F64;
+import org.ejml.interfaces.decomposition.QRDecomposition;
+import org.ejml.simple.SimpleEVD;
+import org.ejml.simple.SimpleMatrix;
+
+/**
+ * Backend that delegates to the EJML library. It is registered through
+ * {@link java.util.ServiceLoader} and, whenever the {@code linalg-ejml} module is on
+ * the classpath, it is selected automatically for eigen decompositions.
+ *
+ * <p>Multiplication, QR and Cholesky are also available but must be selected
+ * explicitly (for example with {@code -Dlinalg.backend=ejml}), since copying the
+ * operands into EJML matrices only pays off for large inputs. LU and element-wise
+ * operations are not implemented with EJML: automatic selection skips this backend for
+ * them, and when it is passed explicitly they run on {@link ScalarBackend}.</p>
+ *
+ * @author Emílio Heringer
+ */
+public class EjmlBackend implements IBackend {
+
+    private static final ScalarBackend FALLBACK = new ScalarBackend();
+
+    /**
+     * Gets the name that identifies this backend.
+     *
+     * @return {@code "ejml"}.
+     */
+    @Override
+    public String name() {
+        return "ejml";
+    }
+
+    /**
+     * Checks if this backend implements an operation.
+     *
+     * @param operation The operation to check.
+     * @return true for GEMM, QR, Cholesky and eigen decomposition.
+     */
+    @Override
+    public boolean supports(BackendOperation operation) {
+        switch (operation) {
+            case GEMM:
+            case QR:
+            case CHOLESKY:
+            case EIGEN:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Gets the priority of this backend for an operation.
+     *
+     * @param operation The operation.
+     * @return {@code 10} for eigen decomposition, higher than the pure Java backends, and {@code -1} otherwise.
+     */
+    @Override
+    public int priority(BackendOperation operation) {
+        return operation == BackendOperation.EIGEN ? 10 : -1;
+    }
+
+    @Override
+    public Matrix multiply(Matrix a, Matrix b) {
+        DMatrixRMaj result = new DMatrixRMaj(a.getRows(), b.getColumns());
+        CommonOps_DDRM.mult(new DMatrixRMaj(a.getMatrix()), new DMatrixRMaj(b.getMatrix()), result);
+        return toMatrix(result);
+    }
+
+    @Override
+    public Matrix[] lu(Matrix a) {
+        return FALLBACK.lu(a);
+    }
+
+    @Override
+    public Matrix[] qr(Matrix a) {
+        QRDecomposition<DMatrixRMaj> qr = DecompositionFactory_DDRM.qr(a.getRows(), a.getColumns());
+        if (!qr.decompose(new DMatrixRMaj(a.getMatrix()))) {
+            throw new IllegalStateException("QR decomposition failed.");
+        }
+        return new Matrix[]{toMatrix(qr.getQ(null, false)), toMatrix(qr.getR(null, false))};
+    }
+
+    @Override
+    public Matrix cholesky(Matrix a) {
+        CholeskyDecomposition_F64<DMatrixRMaj> cholesky = DecompositionFactory_DDRM.chol(a.getRows(), true);
+        if (!cholesky.decompose(new DMatrixRMaj(a.getMatrix()))) {
+            throw new IllegalArgumentException("Matrix must be symmetric positive definite.");
+        }
+        return toMatrix(cholesky.getT(null));
+    }
+
+    @Override
+    public EigenDecomposition eigen(Matrix a) {
+        SimpleEVD<SimpleMatrix> evd = new SimpleMatrix(a.getMatrix()).eig();
+        int n = evd.getNumberOfEigenvalues();
+        double[] real = new double[n];
+        double[] imaginary = new double[n];
+        Vector[] vectors = new Vector[n];
+
+        for (int i = 0; i < n; i++) {
+            Complex_F64 value = evd.getEigenvalue(i);
+            real[i] = value.getReal();
+            imaginary[i] = value.getImaginary();
+            SimpleMatrix vector = evd.getEigenVector(i);
+            if (vector != null) {
+                double[] data = new double[vector.getNumRows()];
+                for (int j = 0; j < data.length; j++) {
+                    data[j] = vector.get(j, 0);
+                }
+                vectors[i] = new Vector(data);
+            }
+        }
+
+        return new EigenDecomposition(real, imaginary, vectors);
+    }
+
+    @Override
+    public Matrix add(Matrix a, Matrix b) {
+        return FALLBACK.add(a, b);
+    }
+
+    @Override
+    public Matrix subtract(Matrix a, Matrix b) {
+        return FALLBACK.subtract(a, b);
+    }
+
+    @Override
+    public Matrix scale(Matrix a, double scalar) {
+        return FALLBACK.scale(a, scalar);
+    }
+
+    private static Matrix toMatrix(DMatrixRMaj matrix) {
+        double[][] data = new double[matrix.getNumRows()][matrix.getNumCols()];
+        for (int i = 0; i < data.length; i++) {
+            for (int j = 0; j < data[i].length; j++) {
+                data[i][j] = matrix.get(i, j);
+            }
+        }
+        return new Matrix(data);
+    }
+}
@@ -1,6 +1,7 @@
 package com.heringer.linalg;
 
 import org.ejml.data.Complex_F64;
+import org.ejml.simple.SimpleEVD;
 import org.ejml.simple.SimpleMatrix;
 
 /**
@@ -25,4 +26,8 @@ public interface IEigenvalues {
     static SimpleMatrix[] eig(double[][] A) {
         return new SimpleMatrix[0];
     }
+
+    static SimpleEVD<SimpleMatrix> spectralDecomposition(Matrix matrix) {
+        return null;
+    }
 }
@@ -1,6 +1,7 @@
 package com.heringer.linalg;
 
 import org.ejml.data.Complex_F64;
+import org.ejml.simple.SimpleEVD;
 import org.ejml.simple.SimpleMatrix;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -53,4 +54,24 @@ class EigenvaluesTest {
         SimpleMatrix scaledEigenvector2 = eigenvector2.scale(Eigenvalues.eigenvalues(matrix)[1].getReal());
         assertTrue(result2.isIdentical(scaledEigenvector2, 1e-6));
     }
-}
\ No newline at end of file
+
+    @Test
+    void spectralDecomposition_squareMatrix_returnsSimpleEVD() {
+        Matrix matrix = new Matrix(new double[][]{
+            {4, -2},
+            {1, 1}
+        });
+        SimpleEVD<SimpleMatrix> evd = Eigenvalues.spectralDecomposition(matrix);
+        assertNotNull(evd);
+        assertEquals(2, evd.getNumberOfEigenvalues());
+    }
+
+    @Test
+    void spectralDecomposition_nonSquareMatrix_throwsException() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2, 3},
+            {4, 5, 6}
+        });
+        assertThrows(IllegalArgumentException.class, () -> Eigenvalues.spectralDecomposition(matrix));
+    }
+}
@@ -0,0 +1,88 @@
+package com.heringer.linalg;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EjmlBackendTest {
+
+    private static void assertMatrixEquals(Matrix expected, Matrix actual) {
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        for (int i = 0; i < expected.getRows(); i++) {
+            assertArrayEquals(expected.getMatrix()[i], actual.getMatrix()[i], 1e-9);
+        }
+    }
+
+    @Test
+    void serviceLoader_selectsEjmlForEigenOnly() {
+        Backends.reset();
+        assertEquals("ejml", Backends.forOperation(BackendOperation.EIGEN).name());
+        assertEquals("parallel", Backends.forOperation(BackendOperation.GEMM).name());
+    }
+
+    @Test
+    void eigen_matchesScalarBackend() {
+        Matrix matrix = new Matrix(new double[][]{
+            {4, -2},
+            {1, 1}
+        });
+        EigenDecomposition ejml = new EjmlBackend().eigen(matrix);
+        EigenDecomposition java = new ScalarBackend().eigen(matrix);
+
+        assertEquals(java.getNumberOfEigenvalues(), ejml.getNumberOfEigenvalues());
+        double ejmlSum = 0;
+        double javaSum = 0;
+        for (int i = 0; i < ejml.getNumberOfEigenvalues(); i++) {
+            ejmlSum += ejml.getEigenvalueReal(i);
+            javaSum += java.getEigenvalueReal(i);
+            assertNotNull(ejml.getEigenvector(i));
+        }
+        assertEquals(javaSum, ejmlSum, 1e-9);
+    }
+
+    @Test
+    void multiply_matchesScalarBackend() {
+        Matrix a = new Matrix(new double[][]{{1, 2, 3}, {4, 5, 6}});
+        Matrix b = new Matrix(new double[][]{{7, 8}, {9, 10}, {11, 12}});
+        assertMatrixEquals(Matrix.multiply(a, b, new ScalarBackend()), Matrix.multiply(a, b, new EjmlBackend()));
+    }
+
+    @Test
+    void cholesky_matchesScalarBackend() {
+        Matrix a = new Matrix(new double[][]{{4, 2}, {2, 3}});
+        assertMatrixEquals(Decomposition.cholesky(a, new ScalarBackend()), Decomposition.cholesky(a, new EjmlBackend()));
+    }
+
+    @Test
+    void elementwise_isNotSupported() {
+        assertFalse(new EjmlBackend().supports(BackendOperation.ELEMENTWISE));
+        assertThrows(IllegalArgumentException.class,
+                () -> Backends.setDefault(BackendOperation.ELEMENTWISE, new EjmlBackend()));
+    }
+
+    @Test
+    void explicitUnsupportedOperations_runOnScalarBackend() {
+        Matrix a = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        Matrix b = new Matrix(new double[][]{{5, 6}, {7, 8}});
+        EjmlBackend ejml = new EjmlBackend();
+        ScalarBackend scalar = new ScalarBackend();
+
+        assertMatrixEquals(scalar.add(a, b), ejml.add(a, b));
+        assertMatrixEquals(scalar.subtract(a, b), ejml.subtract(a, b));
+        assertMatrixEquals(scalar.scale(a, 3), ejml.scale(a, 3));
+        Matrix[] expected = Decomposition.lu(a, scalar);
+        Matrix[] actual = Decomposition.lu(a, ejml);
+        for (int i = 0; i < expected.length; i++) {
+            assertMatrixEquals(expected[i], actual[i]);
+        }
+    }
+
+    @Test
+    void spectralDecomposition_nonSquareMatrix_throwsException() {
+        Matrix matrix = new Matrix(new double[][]{
+            {1, 2, 3},
+            {4, 5, 6}
+        });
+        assertThrows(IllegalArgumentException.class, () -> Decomposition.spectralDecomposition(matrix, new EjmlBackend()));
+    }
+}